@@ -0,0 +1,32 @@
+package com.timetrak.config;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+
+/**
+ * Tables are still created by Hibernate ({@code ddl-auto=update}); Flyway only adds constraints
+ * and indexes on top. Boot would run Flyway before the EntityManagerFactory, so migration is
+ * deferred until Hibernate has updated the schema.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.flyway.enabled", matchIfMissing = true)
+public class FlywayConfig {
+
+    @Bean
+    public FlywayMigrationStrategy deferredFlywayMigrationStrategy() {
+        return flyway -> {
+            // Migrated by flywayAfterHibernate once the schema exists
+        };
+    }
+
+    @Bean
+    @DependsOn("entityManagerFactory")
+    public InitializingBean flywayAfterHibernate(Flyway flyway) {
+        return () -> flyway.migrate();
+    }
+}
@@ -9,4 +9,15 @@ public final class ClockConstants {
     public static final String NOT_CLOCKED_IN = "Employee is not clocked in. Must clock in first.";
 
     public static final String OUT_OF_RADIUS = "Clock operation failed: not at workplace location";
+
+    public static final int MAX_SYNC_BATCH_SIZE = 500;
+    public static final String SYNC_FUTURE_EVENT_MSG = "Event time cannot be in the future";
+    public static final String SYNC_CONCURRENT_CHANGE_MSG = "Active shift changed while syncing, please retry";
+    public static final String SYNC_EVENT_TOO_OLD_MSG = "Event is older than the offline sync window";
+    public static final String SYNC_PAID_PERIOD_MSG = "Event falls in a pay period that has already been calculated";
+    public static final String SYNC_OVERLAPPING_SHIFT_MSG = "Shift would overlap an existing shift";
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final int MAX_IDEMPOTENCY_KEY_LENGTH = 128;
+    public static final String INVALID_IDEMPOTENCY_KEY = "Idempotency-Key must be 1 to " + MAX_IDEMPOTENCY_KEY_LENGTH + " characters";
 }
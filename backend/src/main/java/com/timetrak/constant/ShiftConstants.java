@@ -11,6 +11,13 @@ public final class ShiftConstants {
     public static final String CLOCK_OUT_FUTURE_TIME_MSG = "Clock out time cannot be in the future";
 
     public static final double PRECISION_FACTOR = 100.0;
-    public static final int MAX_GROUP_OPERATION_SIZE = 100;
+    public static final int MAX_GROUP_OPERATION_SIZE = 1000;
+    public static final int MAX_SUMMARY_EMPLOYEES = 200;
     public static final int MAX_SHIFT_DURATION_HOURS = 24;
+    public static final int SHIFT_JDBC_BATCH_SIZE = 500;
+    // JDBC fetch size of the streamed exports, shift and payment alike
+    public static final int EXPORT_FETCH_SIZE = 500;
+
+    // Partial unique index: one ACTIVE, non-deleted shift per employee (db/migration V1)
+    public static final String SHIFT_ACTIVE_EMPLOYEE_CONSTRAINT = "uq_shift_active_employee";
 }
@@ -0,0 +1,61 @@
+package com.timetrak.controller.admin;
+
+import com.timetrak.dto.site.CompanySiteRequestDTO;
+import com.timetrak.dto.site.CompanySiteResponseDTO;
+import com.timetrak.service.auth.AuthContextService;
+import com.timetrak.service.site.CompanySiteService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@Slf4j
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+@RequestMapping("/api/admin/sites")
+@Validated
+public class CompanySiteController {
+
+    private final AuthContextService authContextService;
+    private final CompanySiteService siteService;
+
+    @PostMapping
+    public ResponseEntity<CompanySiteResponseDTO> createSite(@Valid @RequestBody CompanySiteRequestDTO request) {
+        CompanySiteResponseDTO site = siteService.createSite(request, currentCompanyId());
+        return ResponseEntity.status(HttpStatus.CREATED).body(site);
+    }
+
+    @PutMapping("/{siteId}")
+    public ResponseEntity<CompanySiteResponseDTO> updateSite(@PathVariable Long siteId,
+                                                             @Valid @RequestBody CompanySiteRequestDTO request) {
+        CompanySiteResponseDTO site = siteService.updateSite(siteId, request, currentCompanyId());
+        return ResponseEntity.ok(site);
+    }
+
+    @DeleteMapping("/{siteId}")
+    public ResponseEntity<Void> deleteSite(@PathVariable Long siteId) {
+        siteService.deleteSite(siteId, currentCompanyId());
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping
+    public ResponseEntity<List<CompanySiteResponseDTO>> getSites() {
+        return ResponseEntity.ok(siteService.getSites(currentCompanyId()));
+    }
+
+    @GetMapping("/{siteId}")
+    public ResponseEntity<CompanySiteResponseDTO> getSite(@PathVariable Long siteId) {
+        return ResponseEntity.ok(siteService.getSite(siteId, currentCompanyId()));
+    }
+
+    private Long currentCompanyId() {
+        return authContextService.getCurrentCompanyId();
+    }
+}
@@ -1,8 +1,11 @@
 package com.timetrak.controller.admin;
 
 import com.timetrak.dto.payment.PaymentDetailsDTO;
+import com.timetrak.dto.payment.PaymentFilter;
+import com.timetrak.dto.payment.Period;
 import com.timetrak.dto.payment.status.StatusUpdateRequest;
 import com.timetrak.dto.payment.status.StatusUpdateResponse;
+import com.timetrak.dto.response.CursorPage;
 import com.timetrak.enums.PaymentStatus;
 import com.timetrak.service.auth.AuthContextService;
 import com.timetrak.service.payment.PaymentService;
@@ -20,6 +23,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 
 @RestController
@@ -58,6 +62,29 @@ public class PaymentController {
     }
 
 
+    /**
+     * Keyset-paginated payments, latest period first. Start without a cursor and pass the
+     * returned nextCursor back.
+     */
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPage<PaymentDetailsDTO>> getPaymentsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            @RequestParam(required = false) Long employeeId,
+            @RequestParam(required = false) PaymentStatus status,
+            @RequestParam(required = false) Integer periodNumber) {
+
+        PaymentFilter filter = PaymentFilter.builder()
+                .companyId(authContext.getCurrentCompanyId())
+                .employeeId(employeeId)
+                .status(status)
+                .periodNumber(periodNumber)
+                .build();
+        return ResponseEntity.ok(paymentService.getPaymentsAfter(filter, cursor, size, includeTotal));
+    }
+
+
     @PostMapping("/updateStatus")
     public ResponseEntity<StatusUpdateResponse> updatePaymentStatus(@Valid @RequestBody StatusUpdateRequest request) {
         StatusUpdateResponse response =manager.updatePaymentStatus(request,
@@ -80,18 +107,19 @@ public class PaymentController {
     }
 
     @GetMapping("/export/period/{periodNumber}")
-    public ResponseEntity<byte[]> exportPayments(
+    public ResponseEntity<StreamingResponseBody> exportPayments(
             @PathVariable @Min(value = 1, message = "Period number can not be null or zero") Integer periodNumber) {
 
         Long companyId = authContext.getCurrentCompanyId();
-        byte[] pdfData = exporter.exportPayments(periodNumber, companyId);
+        Period period = exporter.resolvePaymentPeriod(periodNumber, companyId);
+        StreamingResponseBody body = out -> exporter.exportPayments(period, companyId, out);
 
         String filename = String.format("payments_period_%d.pdf", periodNumber);
 
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + filename)
                 .contentType(MediaType.parseMediaType("application/pdf"))
-                .body(pdfData);
+                .body(body);
     }
 
     @GetMapping("/employee/{employeeId}")
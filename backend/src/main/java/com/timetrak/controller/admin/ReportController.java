@@ -1,19 +1,28 @@
 package com.timetrak.controller.admin;
 
 import com.timetrak.dto.company.AdminDashboardDTO;
+import com.timetrak.dto.payment.Period;
+import com.timetrak.enums.ExportFormat;
 import com.timetrak.service.auth.AuthContextService;
 import com.timetrak.service.dashboard.DashboardService;
+import com.timetrak.service.report.ShiftExportService;
 import com.timetrak.service.report.ShiftReportService;
+import com.timetrak.service.shift.LaborRollupService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/admin/reports")
@@ -22,29 +31,31 @@ import java.util.List;
 public class ReportController {
 
     private final ShiftReportService shiftReportService;
+    private final ShiftExportService shiftExportService;
     private final AuthContextService authContextService;
     private final DashboardService dashboardService;
+    private final LaborRollupService laborRollupService;
 
     @GetMapping("/shifts/company")
-    public ResponseEntity<byte[]> exportCompanyShifts(
+    public ResponseEntity<StreamingResponseBody> exportCompanyShifts(
             @RequestParam(required = false) Integer periodNumber) {
 
-        Long companyId = getCurrentCompanyId();
-        byte[] pdfData = shiftReportService.exportShifts(periodNumber, companyId, null);
+        ShiftReportService.ReportScope scope = shiftReportService.resolveScope(periodNumber, getCurrentCompanyId(), null);
+        StreamingResponseBody body = out -> shiftReportService.exportShifts(scope, out);
 
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=company-shifts-report.pdf")
                 .header(HttpHeaders.CONTENT_TYPE, "application/pdf")
-                .body(pdfData);
+                .body(body);
     }
 
     @GetMapping("/shifts/departments")
-    public ResponseEntity<byte[]> exportDepartmentShifts(
+    public ResponseEntity<StreamingResponseBody> exportDepartmentShifts(
             @RequestParam List<Long> departmentIds,
             @RequestParam(required = false) Integer periodNumber) {
 
-        Long companyId = getCurrentCompanyId();
-        byte[] pdfData = shiftReportService.exportShifts(periodNumber, companyId, departmentIds);
+        ShiftReportService.ReportScope scope = shiftReportService.resolveScope(periodNumber, getCurrentCompanyId(), departmentIds);
+        StreamingResponseBody body = out -> shiftReportService.exportShifts(scope, out);
 
         String filename = departmentIds.size() == 1 ?
                 "department-shifts-report.pdf" : "multi-department-shifts-report.pdf";
@@ -52,7 +63,30 @@ public class ReportController {
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + filename)
                 .header(HttpHeaders.CONTENT_TYPE, "application/pdf")
-                .body(pdfData);
+                .body(body);
+    }
+
+    /**
+     * Streams the company's shifts as CSV or NDJSON for a date range, a pay period, or the current period
+     */
+    @GetMapping("/shifts/export")
+    public ResponseEntity<StreamingResponseBody> streamCompanyShifts(
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) Integer periodNumber) {
+
+        Long companyId = getCurrentCompanyId();
+        Period range = shiftExportService.resolveRange(periodNumber, startDate, endDate, companyId);
+
+        String filename = String.format("shifts_%s_%s.%s", range.getStartDate(), range.getEndDate(), format.getExtension());
+        StreamingResponseBody body = out -> shiftExportService.exportShifts(
+                companyId, range.getStartDate(), range.getEndDate(), format, out);
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + filename)
+                .header(HttpHeaders.CONTENT_TYPE, format.getContentType())
+                .body(body);
     }
 
     @GetMapping("/dashboard")
@@ -61,6 +95,15 @@ public class ReportController {
         return ResponseEntity.ok(dto);
     }
 
+    /**
+     * Recomputes the company's daily labor rollup from its shifts, e.g. after shifts were changed outside the API
+     */
+    @PostMapping("/dashboard/rebuild")
+    public ResponseEntity<Map<String, Integer>> rebuildLaborRollup() {
+        int days = laborRollupService.rebuildCompany(getCurrentCompanyId());
+        return ResponseEntity.ok(Map.of("rebuiltDays", days));
+    }
+
     private Long getCurrentCompanyId() {
         return authContextService.getCurrentCompanyId();
     }
@@ -0,0 +1,53 @@
+package com.timetrak.controller.admin;
+
+import com.timetrak.dto.report.ReportJobDTO;
+import com.timetrak.dto.report.ReportJobRequest;
+import com.timetrak.service.auth.AuthContextService;
+import com.timetrak.service.report.job.ReportJobService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Background report rendering: submit a report, poll the job, download the PDF once it is done.
+ */
+@RestController
+@RequestMapping("/api/admin/reports/jobs")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class ReportJobController {
+
+    private final ReportJobService reportJobService;
+    private final AuthContextService authContextService;
+
+    @PostMapping
+    public ResponseEntity<ReportJobDTO> submitReport(@Valid @RequestBody ReportJobRequest request) {
+        ReportJobDTO job = reportJobService.submit(request, authContextService.getCurrentCompanyId());
+        return ResponseEntity.accepted().body(job);
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ReportJobDTO> getReportJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(reportJobService.getJob(jobId, authContextService.getCurrentCompanyId()));
+    }
+
+    /**
+     * 409 while the job is still queued or running, or when it failed; the job status says which.
+     */
+    @GetMapping("/{jobId}/download")
+    public ResponseEntity<Resource> downloadReport(@PathVariable String jobId) {
+        return reportJobService.findArtifact(jobId, authContextService.getCurrentCompanyId())
+                .map(artifact -> ResponseEntity.ok()
+                        .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + artifact.filename())
+                        .contentType(MediaType.APPLICATION_PDF)
+                        .<Resource>body(new FileSystemResource(artifact.file())))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.CONFLICT).build());
+    }
+}
@@ -3,13 +3,17 @@ package com.timetrak.controller.admin;
 import com.timetrak.dto.clock.AdminClockRequestDTO;
 import com.timetrak.dto.shift.ShiftRequestDTO;
 import com.timetrak.dto.clock.ClockResponseDTO;
+import com.timetrak.dto.response.CursorPage;
+import com.timetrak.dto.shift.ShiftFilter;
 import com.timetrak.dto.shift.ShiftResponseDTO;
+import com.timetrak.dto.shift.ShiftSummaryDTO;
 import com.timetrak.enums.ShiftStatus;
 import com.timetrak.misc.PageableHelper;
 import com.timetrak.service.auth.AuthContextService;
 import com.timetrak.service.clock.ClockService;
 import com.timetrak.service.shift.ShiftPersistenceService;
 import com.timetrak.service.shift.ShiftService;
+import com.timetrak.service.shift.board.ShiftBoardBroadcaster;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
@@ -17,10 +21,16 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDate;
+import java.util.List;
 
 
 /**
@@ -39,6 +49,7 @@ public class ShiftController {
     private final ClockService clockService;
     private final ShiftPersistenceService persistenceService;
     private final AuthContextService authContextService;
+    private final ShiftBoardBroadcaster shiftBoardBroadcaster;
 
     @GetMapping("/department/{departmentId}")
     public ResponseEntity<Page<ShiftResponseDTO>> getShiftsByDepartment(
@@ -125,6 +136,14 @@ public class ShiftController {
 
 
 
+    /**
+     * Live board of who is on shift: a snapshot of active shifts, then clock-in/clock-out events as they commit
+     */
+    @GetMapping(value = "/board", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamShiftBoard() {
+        return shiftBoardBroadcaster.subscribe(currentCompanyId());
+    }
+
     /**
      * Get a specific shift by ID
      */
@@ -153,6 +172,22 @@ public class ShiftController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Get shift summaries for several employees (at most MAX_SUMMARY_EMPLOYEES) within a date range
+     */
+    @GetMapping("/summary")
+    public ResponseEntity<List<ShiftSummaryDTO>> getShiftSummaries(
+            @RequestParam List<Long> employeeIds,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+
+        log.debug("Get shift summaries for {} employees from {} to {}", employeeIds.size(), startDate, endDate);
+
+        List<ShiftSummaryDTO> response =
+                shiftService.getShiftSummariesForEmployees(employeeIds, currentCompanyId(), startDate, endDate);
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Get this month's shifts
      */
@@ -234,6 +269,37 @@ public class ShiftController {
         return ResponseEntity.ok(shifts);
     }
 
+    /**
+     * Keyset-paginated shifts, newest first, for long histories. Start without a cursor and pass the
+     * returned nextCursor back; the offset endpoints above keep working for existing clients.
+     */
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPage<ShiftResponseDTO>> getShiftsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            @RequestParam(required = false) Long employeeId,
+            @RequestParam(required = false) Long departmentId,
+            @RequestParam(required = false) ShiftStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) Integer periodNumber) {
+
+        ShiftFilter filter = ShiftFilter.builder()
+                .companyId(currentCompanyId())
+                .employeeId(employeeId)
+                .departmentId(departmentId)
+                .status(status)
+                .startDate(startDate)
+                .endDate(endDate)
+                .periodNumber(periodNumber)
+                .build();
+
+        log.debug("Get shifts by cursor - size: {}, filter: {}", size, filter);
+
+        return ResponseEntity.ok(shiftService.getShiftsAfter(filter, cursor, size, includeTotal));
+    }
+
     private Long currentEmployeeId() {
         return authContextService.getCurrentEmployeeId();
     }
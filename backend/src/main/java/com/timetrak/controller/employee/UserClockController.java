@@ -8,6 +8,7 @@ import com.timetrak.enums.ClockAction;
 import com.timetrak.service.auth.AuthContextService;
 import com.timetrak.service.employeeJob.EmployeeJobQueryService;
 import com.timetrak.service.clock.ClockService;
+import com.timetrak.service.clock.idempotency.IdempotentClockExecutor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -15,6 +16,8 @@ import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 
+import static com.timetrak.constant.ClockConstants.IDEMPOTENCY_KEY_HEADER;
+
 @RestController
 @RequestMapping("/api/employee/clock")
 @RequiredArgsConstructor
@@ -23,6 +26,7 @@ public class UserClockController {
     private final ClockService clockService;
     private final AuthContextService authContextService;
     private final EmployeeJobQueryService empJobService;
+    private final IdempotentClockExecutor idempotentClockExecutor;
 
     @GetMapping("/determineAction/{employeeId}")
     public ResponseEntity<ClockAction> determineAction(@PathVariable Long employeeId) {
@@ -37,15 +41,19 @@ public class UserClockController {
     }
 
     @PostMapping("/clockIn")
-    public ResponseEntity<ShiftResponseDTO> clockIn(@RequestBody EmployeeClockRequestDTO request) {
+    public ResponseEntity<ShiftResponseDTO> clockIn(@RequestBody EmployeeClockRequestDTO request,
+                                                    @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
         //frontend passes empJobId
-        ShiftResponseDTO newShift = clockService.employeeClockIn(request,companyId());
+        ShiftResponseDTO newShift = idempotentClockExecutor.execute(idempotencyKey,
+                "employee:clock-in:" + employeeId(), () -> clockService.employeeClockIn(request,companyId()));
         return ResponseEntity.ok(newShift);
     }
 
     @PostMapping("/clockOut")
-    public ResponseEntity<ShiftResponseDTO> clockOut(@RequestBody EmployeeClockRequestDTO request) {
-        ShiftResponseDTO newShift = clockService.employeeClockOut(request,companyId());
+    public ResponseEntity<ShiftResponseDTO> clockOut(@RequestBody EmployeeClockRequestDTO request,
+                                                     @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        ShiftResponseDTO newShift = idempotentClockExecutor.execute(idempotencyKey,
+                "employee:clock-out:" + employeeId(), () -> clockService.employeeClockOut(request,companyId()));
         return ResponseEntity.ok(newShift);
     }
 
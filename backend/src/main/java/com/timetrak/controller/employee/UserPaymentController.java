@@ -1,6 +1,7 @@
 package com.timetrak.controller.employee;
 
 import com.timetrak.dto.payment.PaymentDetailsDTO;
+import com.timetrak.dto.response.CursorPage;
 import com.timetrak.service.auth.AuthContextService;
 import com.timetrak.service.payment.PaymentService;
 import lombok.RequiredArgsConstructor;
@@ -32,4 +33,14 @@ public class UserPaymentController {
         return ResponseEntity.ok(paymentService.getAllPaymentsForEmployee(employeeId,companyId,pageable));
     }
 
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPage<PaymentDetailsDTO>> getPaymentsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        Long companyId = authContext.getCurrentCompanyId();
+        Long employeeId = authContext.getCurrentEmployeeId();
+        return ResponseEntity.ok(paymentService.getPaymentsForEmployeeAfter(employeeId, companyId, cursor, size, includeTotal));
+    }
+
 }
@@ -1,6 +1,8 @@
 package com.timetrak.controller.employee;
 
 
+import com.timetrak.dto.response.CursorPage;
+import com.timetrak.dto.shift.ShiftFilter;
 import com.timetrak.dto.shift.ShiftResponseDTO;
 import com.timetrak.dto.shift.ShiftSummaryDTO;
 import com.timetrak.misc.PageableHelper;
@@ -126,6 +128,34 @@ public class UserShiftController {
 
 
 
+    /**
+     * Keyset-paginated own shift history, newest first. Start without a cursor and pass the
+     * returned nextCursor back.
+     */
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPage<ShiftResponseDTO>> getShiftsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            @RequestParam(required = false) String jobTitle,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) Integer periodNumber) {
+
+        ShiftFilter filter = ShiftFilter.builder()
+                .companyId(currentCompanyId())
+                .employeeId(currentEmployeeId())
+                .jobTitle(jobTitle)
+                .startDate(startDate)
+                .endDate(endDate)
+                .periodNumber(periodNumber)
+                .build();
+
+        return ResponseEntity.ok(shiftService.getShiftsAfter(filter, cursor, size, includeTotal));
+    }
+
+
+
     // =============== ANALYTICS & REPORTING ===============
 
     /**
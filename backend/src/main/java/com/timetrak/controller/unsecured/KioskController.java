@@ -1,6 +1,9 @@
 package com.timetrak.controller.unsecured;
 
 import com.timetrak.dto.clock.EmployeeClockRequestDTO;
+import com.timetrak.dto.clock.KioskSessionDTO;
+import com.timetrak.dto.clock.KioskSyncRequestDTO;
+import com.timetrak.dto.clock.KioskSyncResponseDTO;
 import com.timetrak.dto.employeeJob.EmployeeJobResponseDTO;
 import com.timetrak.dto.employee.EmployeeResponseDTO;
 import com.timetrak.dto.shift.ShiftResponseDTO;
@@ -8,6 +11,9 @@ import com.timetrak.enums.ClockAction;
 import com.timetrak.service.employee.EmployeeService;
 import com.timetrak.service.employeeJob.EmployeeJobQueryService;
 import com.timetrak.service.clock.ClockService;
+import com.timetrak.service.clock.KioskSessionService;
+import com.timetrak.service.clock.KioskSyncService;
+import com.timetrak.service.clock.idempotency.IdempotentClockExecutor;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import lombok.RequiredArgsConstructor;
@@ -18,6 +24,8 @@ import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 
+import static com.timetrak.constant.ClockConstants.IDEMPOTENCY_KEY_HEADER;
+
 @RestController
 @Slf4j
 @RequiredArgsConstructor
@@ -26,6 +34,9 @@ public class KioskController {
     private final ClockService clockService;
     private final EmployeeService employeeService;
     private final EmployeeJobQueryService empJobService;
+    private final IdempotentClockExecutor idempotentClockExecutor;
+    private final KioskSyncService kioskSyncService;
+    private final KioskSessionService kioskSessionService;
 
 
     @GetMapping("/{username}")
@@ -34,6 +45,12 @@ public class KioskController {
         return ResponseEntity.ok(employee);
     }
 
+    @GetMapping("/session/{username}")
+    public ResponseEntity<KioskSessionDTO> getSession(@PathVariable String username) {
+        KioskSessionDTO session = kioskSessionService.getSession(username);
+        return ResponseEntity.ok(session);
+    }
+
     @GetMapping("/determineAction/{employeeId}")
     public ResponseEntity<ClockAction> determineAction(@PathVariable Long employeeId) {
         ClockAction action = clockService.determineAction(employeeId);
@@ -49,20 +66,29 @@ public class KioskController {
     }
 
     @PostMapping("/clock-in")
-    public ResponseEntity<ShiftResponseDTO> clockIn(@Valid @NotNull @RequestBody EmployeeClockRequestDTO request) {
-
+    public ResponseEntity<ShiftResponseDTO> clockIn(@Valid @NotNull @RequestBody EmployeeClockRequestDTO request,
+                                                    @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
 
-        ShiftResponseDTO response = clockService.kioskClockIn(request);
+        ShiftResponseDTO response = idempotentClockExecutor.execute(idempotencyKey,
+                "kiosk:clock-in:" + request.getId(), () -> clockService.kioskClockIn(request));
 
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
     @PostMapping("/clock-out")
-    public ResponseEntity<ShiftResponseDTO> clockOut(@Valid @NotNull @RequestBody EmployeeClockRequestDTO request) {
+    public ResponseEntity<ShiftResponseDTO> clockOut(@Valid @NotNull @RequestBody EmployeeClockRequestDTO request,
+                                                     @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
 
-        ShiftResponseDTO response = clockService.kioskClockOut(request);
+        ShiftResponseDTO response = idempotentClockExecutor.execute(idempotencyKey,
+                "kiosk:clock-out:" + request.getId(), () -> clockService.kioskClockOut(request));
 
 
         return ResponseEntity.ok(response);
     }
+
+    @PostMapping("/sync")
+    public ResponseEntity<KioskSyncResponseDTO> sync(@Valid @NotNull @RequestBody KioskSyncRequestDTO request) {
+        KioskSyncResponseDTO response = kioskSyncService.sync(request);
+        return ResponseEntity.ok(response);
+    }
 }
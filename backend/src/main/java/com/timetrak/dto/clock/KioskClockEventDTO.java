@@ -0,0 +1,41 @@
+package com.timetrak.dto.clock;
+
+import com.timetrak.enums.ClockAction;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Clock event captured by a kiosk while offline.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class KioskClockEventDTO {
+
+    @NotBlank(message = "Client event ID is required")
+    @Size(max = 64, message = "Client event ID must be at most 64 characters")
+    private String clientEventId;
+
+    @NotNull(message = "Action is required")
+    private ClockAction action;
+
+    @NotNull(message = "Employee ID/EmployeeJobId cannot be null")
+    private Long id; // EmployeeJobId for CLOCK_IN, EmployeeId for CLOCK_OUT, as on the live kiosk endpoints
+
+    @NotNull(message = "Event time is required")
+    private LocalDateTime occurredAt;
+
+    @NotNull(message = "Latitude is required")
+    private Double latitude;
+
+    @NotNull(message = "Longitude is required")
+    private Double longitude;
+}
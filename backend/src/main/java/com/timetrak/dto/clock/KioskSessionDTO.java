@@ -0,0 +1,28 @@
+package com.timetrak.dto.clock;
+
+import com.timetrak.dto.employee.EmployeeResponseDTO;
+import com.timetrak.dto.employeeJob.EmployeeJobResponseDTO;
+import com.timetrak.enums.ClockAction;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Everything a kiosk needs after a username is entered: who it is, which jobs they can
+ * clock in to and whether the next action is a clock-in or a clock-out.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class KioskSessionDTO {
+
+    private EmployeeResponseDTO employee;
+
+    private List<EmployeeJobResponseDTO> jobs;
+
+    private ClockAction nextAction;
+}
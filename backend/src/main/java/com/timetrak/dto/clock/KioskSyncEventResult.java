@@ -0,0 +1,31 @@
+package com.timetrak.dto.clock;
+
+import com.timetrak.dto.shift.ShiftResponseDTO;
+import com.timetrak.enums.SyncEventStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class KioskSyncEventResult {
+
+    private String clientEventId;
+
+    private SyncEventStatus status;
+
+    /**
+     * Resulting shift for ACCEPTED and DUPLICATE events
+     */
+    private ShiftResponseDTO shift;
+
+    /**
+     * ClockErrorCode name for REJECTED events
+     */
+    private String errorCode;
+
+    private String errorMessage;
+}
@@ -0,0 +1,22 @@
+package com.timetrak.dto.clock;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+import static com.timetrak.constant.ClockConstants.MAX_SYNC_BATCH_SIZE;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class KioskSyncRequestDTO {
+
+    @NotEmpty(message = "Event list cannot be empty")
+    @Size(max = MAX_SYNC_BATCH_SIZE, message = "At most " + MAX_SYNC_BATCH_SIZE + " events per sync")
+    private List<@Valid KioskClockEventDTO> events;
+}
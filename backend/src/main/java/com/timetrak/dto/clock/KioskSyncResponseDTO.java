@@ -0,0 +1,27 @@
+package com.timetrak.dto.clock;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class KioskSyncResponseDTO {
+
+    private int totalEvents;
+    private int acceptedCount;
+    private int duplicateCount;
+    private int rejectedCount;
+    private LocalDateTime syncTime;
+
+    /**
+     * One result per submitted event, in request order
+     */
+    private List<KioskSyncEventResult> results;
+}
@@ -0,0 +1,9 @@
+package com.timetrak.dto.payment;
+
+import java.time.LocalDate;
+
+/**
+ * The last day of an employee's latest calculated (non-voided) pay period.
+ */
+public record EmployeePaidThrough(Long employeeId, LocalDate paidThrough) {
+}
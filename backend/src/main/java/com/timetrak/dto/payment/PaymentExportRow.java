@@ -0,0 +1,22 @@
+package com.timetrak.dto.payment;
+
+import com.timetrak.enums.PaymentStatus;
+
+import java.math.BigDecimal;
+
+/**
+ * One line of the payment PDF export, selected straight from the query so the export never
+ * hydrates Payment or Employee entities.
+ */
+public record PaymentExportRow(Long id,
+                               Long employeeId,
+                               String firstName,
+                               String lastName,
+                               Double totalHours,
+                               BigDecimal totalEarnings,
+                               PaymentStatus status) {
+
+    public String fullName() {
+        return firstName + " " + lastName;
+    }
+}
@@ -0,0 +1,15 @@
+package com.timetrak.dto.payment;
+
+import com.timetrak.enums.PaymentStatus;
+import lombok.Builder;
+
+/**
+ * Criteria for a keyset-paginated payment listing. Only {@code companyId} is required.
+ */
+@Builder
+public record PaymentFilter(Long companyId,
+                            Long employeeId,
+                            PaymentStatus status,
+                            Integer periodNumber,
+                            boolean excludeVoided) {
+}
@@ -0,0 +1,32 @@
+package com.timetrak.dto.report;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.timetrak.enums.ReportJobStatus;
+import com.timetrak.enums.ReportType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ReportJobDTO {
+    private String id;
+    private ReportType type;
+    private ReportJobStatus status;
+    // 0-100, from rows written out of the rows the report will contain
+    private int progress;
+    private long rowsWritten;
+    private Long totalRows;
+    private String filename;
+    private Instant createdAt;
+    private Instant completedAt;
+    // When the stored file is deleted and identical requests start a new job
+    private Instant expiresAt;
+    private String error;
+}
@@ -0,0 +1,26 @@
+package com.timetrak.dto.report;
+
+import com.timetrak.enums.ReportType;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportJobRequest {
+
+    @NotNull(message = "Report type is required")
+    private ReportType type;
+
+    // Current pay period when missing
+    private Integer periodNumber;
+
+    // Shift reports only; the whole company when missing
+    private List<Long> departmentIds;
+}
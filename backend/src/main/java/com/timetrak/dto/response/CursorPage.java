@@ -0,0 +1,58 @@
+package com.timetrak.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.timetrak.misc.SeekCursor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated listing. Pass {@code nextCursor} back as {@code cursor} to get the
+ * following page. {@code totalElements} is only computed, and only serialized, when the client asks for it.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    public static final int MAX_SIZE = 200;
+
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long totalElements;
+
+    public static void checkSize(int size) {
+        if (size < 1 || size > MAX_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_SIZE);
+        }
+    }
+
+    /**
+     * Builds a page from rows fetched with a limit of {@code size + 1}; the extra row, if present,
+     * only tells that another page exists.
+     */
+    public static <R, T> CursorPage<T> of(List<R> rows,
+                                          int size,
+                                          Function<R, SeekCursor> cursorOf,
+                                          Function<R, T> mapper,
+                                          Long totalElements) {
+        boolean hasNext = rows.size() > size;
+        List<R> page = hasNext ? rows.subList(0, size) : rows;
+        return CursorPage.<T>builder()
+                .content(page.stream().map(mapper).toList())
+                .size(size)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? cursorOf.apply(page.get(page.size() - 1)).encode() : null)
+                .totalElements(totalElements)
+                .build();
+    }
+}
@@ -0,0 +1,9 @@
+package com.timetrak.dto.shift;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lightweight view of an ACTIVE shift: who is clocked in, on which shift and since when.
+ */
+public record ActiveShiftEntry(Long employeeId, Long shiftId, LocalDateTime clockIn) {
+}
@@ -0,0 +1,9 @@
+package com.timetrak.dto.shift;
+
+import java.time.LocalDateTime;
+
+/**
+ * Employee left over after a bulk clock-out, with the clock-in of their ACTIVE shift if they have one.
+ */
+public record ClockOutCandidate(Long employeeId, String fullName, LocalDateTime activeClockIn) {
+}
@@ -0,0 +1,7 @@
+package com.timetrak.dto.shift;
+
+/**
+ * Shift closed by a bulk clock-out, with the company it belongs to (not part of the response).
+ */
+public record ClosedShift(Long companyId, ShiftResponseDTO shift) {
+}
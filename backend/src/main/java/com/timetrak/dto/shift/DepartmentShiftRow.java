@@ -0,0 +1,32 @@
+package com.timetrak.dto.shift;
+
+import com.timetrak.enums.ShiftStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A {@link ShiftRow} tagged with the department of the employee who worked it, so a report can load
+ * every department in one query (see {@code ShiftRepository#findDepartmentRowsForDateRange}).
+ */
+public record DepartmentShiftRow(Long departmentId, String departmentName, ShiftRow shift) {
+
+    // JPQL constructor expressions cannot nest, so the query selects the flat column list
+    public DepartmentShiftRow(Long departmentId,
+                              String departmentName,
+                              Long id,
+                              LocalDateTime clockIn,
+                              LocalDateTime clockOut,
+                              ShiftStatus status,
+                              Long siteId,
+                              Long employeeId,
+                              Long employeeJobId,
+                              String username,
+                              String firstName,
+                              String lastName,
+                              String jobTitle,
+                              BigDecimal hourlyWage) {
+        this(departmentId, departmentName, new ShiftRow(id, clockIn, clockOut, status, siteId,
+                employeeId, employeeJobId, username, firstName, lastName, jobTitle, hourlyWage));
+    }
+}
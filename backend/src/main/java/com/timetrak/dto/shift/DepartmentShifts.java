@@ -0,0 +1,9 @@
+package com.timetrak.dto.shift;
+
+import java.util.List;
+
+/**
+ * The shifts of one department in a report period, in clock-in order.
+ */
+public record DepartmentShifts(Long departmentId, String departmentName, List<ShiftResponseDTO> shifts) {
+}
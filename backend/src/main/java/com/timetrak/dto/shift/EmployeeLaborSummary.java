@@ -0,0 +1,11 @@
+package com.timetrak.dto.shift;
+
+/**
+ * An employee's completed-shift totals from the daily rollup plus the number of their shifts still
+ * active in the same range.
+ */
+public record EmployeeLaborSummary(Long employeeId,
+                                   String employeeName,
+                                   LaborTotals totals,
+                                   long activeShifts) {
+}
@@ -0,0 +1,9 @@
+package com.timetrak.dto.shift;
+
+import java.math.BigDecimal;
+
+/**
+ * Rollup totals of one employee for one job title; {@code hourlyWage} is the current effective wage.
+ */
+public record JobLaborTotals(String jobTitle, BigDecimal hourlyWage, LaborTotals totals) {
+}
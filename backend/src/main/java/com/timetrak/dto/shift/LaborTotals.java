@@ -0,0 +1,21 @@
+package com.timetrak.dto.shift;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Summed completed-shift labor read from the daily rollup: whole minutes worked, earnings in cents
+ * (each shift rounded to the cent like {@link ShiftResponseDTO#getShiftEarnings()}) and shift count.
+ */
+public record LaborTotals(long minutes, long earningsCents, long shiftCount) {
+
+    public static final LaborTotals EMPTY = new LaborTotals(0, 0, 0);
+
+    public BigDecimal hours() {
+        return BigDecimal.valueOf(minutes).divide(BigDecimal.valueOf(60), 2, RoundingMode.HALF_UP);
+    }
+
+    public BigDecimal earnings() {
+        return BigDecimal.valueOf(earningsCents, 2);
+    }
+}
@@ -0,0 +1,28 @@
+package com.timetrak.dto.shift;
+
+import com.timetrak.enums.ShiftStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Committed state of a shift that was just written, read back for the live shift board: the
+ * shift is on the board while it is ACTIVE and not deleted.
+ */
+public record ShiftBoardChange(Long companyId,
+                               Long shiftId,
+                               Long employeeId,
+                               String firstName,
+                               String lastName,
+                               String jobTitle,
+                               LocalDateTime clockIn,
+                               ShiftStatus status,
+                               LocalDateTime deletedAt) {
+
+    public boolean onShift() {
+        return status == ShiftStatus.ACTIVE && deletedAt == null;
+    }
+
+    public ShiftBoardEntry toEntry() {
+        return new ShiftBoardEntry(shiftId, employeeId, firstName, lastName, jobTitle, clockIn);
+    }
+}
@@ -0,0 +1,14 @@
+package com.timetrak.dto.shift;
+
+import java.time.LocalDateTime;
+
+/**
+ * One employee currently on shift, as shown on the live shift board.
+ */
+public record ShiftBoardEntry(Long shiftId,
+                              Long employeeId,
+                              String firstName,
+                              String lastName,
+                              String jobTitle,
+                              LocalDateTime clockIn) {
+}
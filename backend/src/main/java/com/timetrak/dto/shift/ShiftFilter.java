@@ -0,0 +1,21 @@
+package com.timetrak.dto.shift;
+
+import com.timetrak.enums.ShiftStatus;
+import lombok.Builder;
+
+import java.time.LocalDate;
+
+/**
+ * Criteria for a keyset-paginated shift listing. Only {@code companyId} is required; a period
+ * number, when given, replaces {@code startDate}/{@code endDate} with the period's dates.
+ */
+@Builder(toBuilder = true)
+public record ShiftFilter(Long companyId,
+                          Long employeeId,
+                          Long departmentId,
+                          String jobTitle,
+                          ShiftStatus status,
+                          LocalDate startDate,
+                          LocalDate endDate,
+                          Integer periodNumber) {
+}
@@ -0,0 +1,16 @@
+package com.timetrak.dto.shift;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lightweight view of a completed shift's time span, for overlap checks.
+ */
+public record ShiftInterval(Long employeeId, LocalDateTime clockIn, LocalDateTime clockOut) {
+
+    /**
+     * Whether {@code [from, to)} overlaps this shift; an open shift is passed as {@code to == null}.
+     */
+    public boolean overlaps(LocalDateTime from, LocalDateTime to) {
+        return clockOut.isAfter(from) && (to == null || clockIn.isBefore(to));
+    }
+}
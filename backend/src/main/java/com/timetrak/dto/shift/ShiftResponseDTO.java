@@ -22,6 +22,7 @@ public class ShiftResponseDTO {
     private LocalDateTime clockOut;
     private Double hours;
     private ShiftStatus status;
+    private Long siteId;
 
     private Long employeeId;
     private Long employeeJobId;
@@ -0,0 +1,25 @@
+package com.timetrak.dto.shift;
+
+import com.timetrak.enums.ShiftStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only shift listing row, selected straight from the query (see {@code ShiftRepository#SHIFT_ROW})
+ * so listings never hydrate or track Shift entities. {@code hourlyWage} is already the effective
+ * wage: the employee job override, otherwise the job's default.
+ */
+public record ShiftRow(Long id,
+                       LocalDateTime clockIn,
+                       LocalDateTime clockOut,
+                       ShiftStatus status,
+                       Long siteId,
+                       Long employeeId,
+                       Long employeeJobId,
+                       String username,
+                       String firstName,
+                       String lastName,
+                       String jobTitle,
+                       BigDecimal hourlyWage) {
+}
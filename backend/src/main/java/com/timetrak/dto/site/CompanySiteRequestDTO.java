@@ -0,0 +1,38 @@
+package com.timetrak.dto.site;
+
+import com.timetrak.enums.SiteShape;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CompanySiteRequestDTO {
+
+    @NotBlank(message = "Site name is required")
+    @Size(max = 100, message = "Site name must be at most 100 characters")
+    private String name;
+
+    @NotNull(message = "Site shape is required")
+    private SiteShape shape;
+
+    // CIRCLE
+    @DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
+    @DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
+    private Double latitude;
+
+    @DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
+    @DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
+    private Double longitude;
+
+    @Positive(message = "Radius must be positive")
+    private Double radius;
+
+    // POLYGON
+    @Valid
+    private List<GeoPointDTO> vertices;
+}
@@ -0,0 +1,23 @@
+package com.timetrak.dto.site;
+
+import com.timetrak.enums.SiteShape;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CompanySiteResponseDTO {
+    private Long id;
+    private String name;
+    private SiteShape shape;
+    private Double latitude;
+    private Double longitude;
+    private Double radius;
+    private List<GeoPointDTO> vertices;
+}
@@ -0,0 +1,50 @@
+package com.timetrak.entity;
+
+import com.timetrak.enums.SiteShape;
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A clock-in location of a company: either a circle (center and radius) or a polygon.
+ * Companies without sites fall back to the single geofence on {@link Company}.
+ */
+@Entity
+@Getter
+@Setter
+@SuperBuilder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "company_site", indexes = @Index(name = "idx_company_site_company", columnList = "company_id"))
+public class CompanySite extends BaseEntity {
+
+    @Column(name = "company_id", nullable = false)
+    private Long companyId;
+
+    @Column(name = "name", nullable = false, length = 100)
+    private String name;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "shape", nullable = false, length = 20)
+    private SiteShape shape;
+
+    // CIRCLE only
+    @Column(name = "latitude")
+    private Double latitude;
+
+    @Column(name = "longitude")
+    private Double longitude;
+
+    @Column(name = "radius")
+    private Double radius;
+
+    // POLYGON only, in drawing order
+    @ElementCollection(fetch = FetchType.LAZY)
+    @CollectionTable(name = "company_site_vertex", joinColumns = @JoinColumn(name = "site_id"))
+    @OrderColumn(name = "position")
+    @Builder.Default
+    private List<GeoPoint> vertices = new ArrayList<>();
+}
@@ -62,12 +62,12 @@ public class Employee extends BaseEntity {
     @Column(name = "role", nullable = false, length = 20)
     private Role role;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "company_id",nullable = false)
     @NotNull(message = "Company is required")
     private Company company;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "department_id")
     private Department department;
 
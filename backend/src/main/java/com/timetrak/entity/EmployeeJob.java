@@ -14,13 +14,19 @@ import java.util.List;
 @NoArgsConstructor
 @SuperBuilder
 @Table(name = "employee_job")
+@NamedEntityGraph(name = "EmployeeJob.details", // what EmployeeJobMapper.toDTO reads
+        attributeNodes = {
+                @NamedAttributeNode("employee"),
+                @NamedAttributeNode(value = "job", subgraph = "job.department")
+        },
+        subgraphs = @NamedSubgraph(name = "job.department", attributeNodes = @NamedAttributeNode("department")))
 public class EmployeeJob extends BaseEntity {
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "employee_id", nullable = false)
     private Employee employee;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "job_id", nullable = false)
     private Job job;
 
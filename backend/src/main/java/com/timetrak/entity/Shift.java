@@ -18,13 +18,28 @@ import java.time.LocalDateTime;
 @Setter
 @EqualsAndHashCode(callSuper = false)
 @Table(name="shift")
+@NamedEntityGraph(name = "Shift.listing", // what ShiftMapper.toDTO reads
+        attributeNodes = {
+                @NamedAttributeNode("employee"),
+                @NamedAttributeNode(value = "employeeJob", subgraph = "employeeJob.job")
+        },
+        subgraphs = @NamedSubgraph(name = "employeeJob.job", attributeNodes = @NamedAttributeNode("job")))
+@NamedEntityGraph(name = "Shift.payroll", // listing plus the employee's company for payment validation
+        attributeNodes = {
+                @NamedAttributeNode(value = "employee", subgraph = "employee.company"),
+                @NamedAttributeNode(value = "employeeJob", subgraph = "employeeJob.job")
+        },
+        subgraphs = {
+                @NamedSubgraph(name = "employee.company", attributeNodes = @NamedAttributeNode("company")),
+                @NamedSubgraph(name = "employeeJob.job", attributeNodes = @NamedAttributeNode("job"))
+        })
 public class Shift extends BaseEntity{
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name="employee_job_id")
     private EmployeeJob employeeJob;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "employee_id")
     @JsonIgnoreProperties({"hibernateLazyInitializer"})
     private Employee employee;
@@ -33,6 +48,10 @@ public class Shift extends BaseEntity{
     @Column(name = "company_id", nullable = false)
     private Long companyId;
 
+    // Company site the employee clocked in at; null when the company uses its single geofence
+    @Column(name = "site_id")
+    private Long siteId;
+
 
     @Column(name="clock_in")
     private LocalDateTime clockIn;
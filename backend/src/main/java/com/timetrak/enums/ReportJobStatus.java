@@ -0,0 +1,5 @@
+package com.timetrak.enums;
+
+public enum ReportJobStatus {
+    QUEUED, RUNNING, COMPLETED, FAILED
+}
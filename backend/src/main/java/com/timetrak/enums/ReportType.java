@@ -0,0 +1,5 @@
+package com.timetrak.enums;
+
+public enum ReportType {
+    SHIFTS, PAYMENTS
+}
@@ -0,0 +1,6 @@
+package com.timetrak.enums;
+
+public enum SiteShape {
+    CIRCLE,
+    POLYGON
+}
@@ -0,0 +1,7 @@
+package com.timetrak.enums;
+
+public enum SyncEventStatus {
+    ACCEPTED,
+    DUPLICATE,
+    REJECTED
+}
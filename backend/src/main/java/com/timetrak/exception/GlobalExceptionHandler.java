@@ -274,6 +274,23 @@ public class GlobalExceptionHandler {
         return HttpStatus.INTERNAL_SERVER_ERROR;
     }
 
+    // === 503 SERVICE UNAVAILABLE ===
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleServiceUnavailable(
+            ServiceUnavailableException ex, HttpServletRequest request) {
+        log.warn("Service unavailable: {}", ex.getMessage());
+
+        ErrorResponse error = ErrorResponse.builder()
+                .error("Service Unavailable")
+                .message(ex.getMessage())
+                .status(503)
+                .timestamp(LocalDateTime.now())
+                .path(request.getRequestURI())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
+    }
+
     // === 500 INTERNAL ERROR ===
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGeneralError(
@@ -0,0 +1,40 @@
+package com.timetrak.mapper;
+
+import com.timetrak.dto.site.CompanySiteRequestDTO;
+import com.timetrak.dto.site.CompanySiteResponseDTO;
+import com.timetrak.dto.site.GeoPointDTO;
+import com.timetrak.entity.CompanySite;
+import com.timetrak.entity.GeoPoint;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+
+import java.util.List;
+
+@Mapper(componentModel = "spring")
+public interface CompanySiteMapper {
+
+    CompanySiteResponseDTO toDTO(CompanySite site);
+
+    List<CompanySiteResponseDTO> toDTOList(List<CompanySite> sites);
+
+    GeoPointDTO toDTO(GeoPoint point);
+
+    GeoPoint toEntity(GeoPointDTO point);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "companyId", ignore = true)
+    @Mapping(target = "vertices", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "deletedAt", ignore = true)
+    CompanySite toEntity(CompanySiteRequestDTO dto);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "companyId", ignore = true)
+    @Mapping(target = "vertices", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "deletedAt", ignore = true)
+    void updateSiteFromDto(CompanySiteRequestDTO dto, @MappingTarget CompanySite site);
+}
@@ -2,15 +2,20 @@ package com.timetrak.mapper;
 
 import com.timetrak.dto.shift.ShiftRequestDTO;
 import com.timetrak.dto.shift.ShiftResponseDTO;
+import com.timetrak.dto.shift.ShiftRow;
 import com.timetrak.entity.Shift;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Objects;
 
 @Mapper(componentModel = "spring")
 public interface ShiftMapper {
+    // The clock-in site is only ever resolved from the clock location
+    @Mapping(target = "siteId", ignore = true)
     Shift toEntity(ShiftRequestDTO dto);
 
     default ShiftResponseDTO toDTO(Shift shift) {
@@ -18,18 +23,12 @@ public interface ShiftMapper {
             return null;
         }
 
-        Double hours = null;
-        if (shift.getClockIn() != null && shift.getClockOut() != null) {
-            long durationInSeconds = java.time.Duration.between(shift.getClockIn(), shift.getClockOut()).getSeconds();
-            double rawHours = durationInSeconds / 3600.0; // convert seconds to hours
-            hours = Math.round(rawHours * 100.0) / 100.0; // round to 2 decimal places
-        }
-
         return ShiftResponseDTO.builder()
                 .id(shift.getId())
                 .clockIn(shift.getClockIn())
                 .clockOut(shift.getClockOut())
                 .status(shift.getStatus())
+                .siteId(shift.getSiteId())
                 .employeeId(shift.getEmployee().getId())
                 .employeeJobId(shift.getEmployeeJob().getId())
                 .username(shift.getEmployeeJob().getEmployee().getUsername())
@@ -41,11 +40,42 @@ public interface ShiftMapper {
                                 ? shift.getEmployeeJob().getHourlyWage()
                                 : Objects.requireNonNull(shift.getEmployeeJob()).getJob().getHourlyWage()
                 )
-                .hours(hours)
+                .hours(hoursBetween(shift.getClockIn(), shift.getClockOut()))
                 .build();
     }
 
+    default ShiftResponseDTO toDTO(ShiftRow row) {
+        if (row == null) {
+            return null;
+        }
+
+        return ShiftResponseDTO.builder()
+                .id(row.id())
+                .clockIn(row.clockIn())
+                .clockOut(row.clockOut())
+                .status(row.status())
+                .siteId(row.siteId())
+                .employeeId(row.employeeId())
+                .employeeJobId(row.employeeJobId())
+                .username(row.username())
+                .fullName(row.firstName() + " " + row.lastName())
+                .jobTitle(row.jobTitle())
+                .hourlyWage(row.hourlyWage())
+                .hours(hoursBetween(row.clockIn(), row.clockOut()))
+                .build();
+    }
+
+    private static Double hoursBetween(LocalDateTime clockIn, LocalDateTime clockOut) {
+        if (clockIn == null || clockOut == null) {
+            return null;
+        }
+        long durationInSeconds = java.time.Duration.between(clockIn, clockOut).getSeconds();
+        double rawHours = durationInSeconds / 3600.0; // convert seconds to hours
+        return Math.round(rawHours * 100.0) / 100.0; // round to 2 decimal places
+    }
+
 
+    @Mapping(target = "siteId", ignore = true)
     void updateShiftFromDto(ShiftRequestDTO dto, @MappingTarget Shift shift);
 
     List<ShiftResponseDTO> toDTOList(List<Shift> shifts);
@@ -0,0 +1,16 @@
+package com.timetrak.misc;
+
+import org.springframework.dao.DataIntegrityViolationException;
+
+import static com.timetrak.constant.ShiftConstants.SHIFT_ACTIVE_EMPLOYEE_CONSTRAINT;
+
+public class DataIntegrityHelper {
+
+    /**
+     * Whether the violation comes from the single-active-shift index; the driver's message may be null.
+     */
+    public static boolean isSingleActiveShiftViolation(DataIntegrityViolationException e) {
+        String message = e.getMostSpecificCause().getMessage();
+        return message != null && message.contains(SHIFT_ACTIVE_EMPLOYEE_CONSTRAINT);
+    }
+}
@@ -0,0 +1,22 @@
+package com.timetrak.repository;
+
+import com.timetrak.entity.CompanySite;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CompanySiteRepository extends JpaRepository<CompanySite, Long> {
+
+    @Query("SELECT DISTINCT s FROM CompanySite s LEFT JOIN FETCH s.vertices " +
+            "WHERE s.companyId = :companyId AND s.deletedAt IS NULL ORDER BY s.id")
+    List<CompanySite> findActiveWithVerticesByCompanyId(@Param("companyId") Long companyId);
+
+    Optional<CompanySite> findByIdAndCompanyIdAndDeletedAtIsNull(Long id, Long companyId);
+
+    boolean existsByCompanyIdAndNameIgnoreCaseAndDeletedAtIsNull(Long companyId, String name);
+}
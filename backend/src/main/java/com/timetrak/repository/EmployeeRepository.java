@@ -26,6 +26,10 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     @Query("SELECT e FROM Employee e WHERE e.username = :username AND e.deletedAt IS NULL AND e.status = 'ACTIVE'")
     Optional<Employee> findActiveByUsername(@Param("username") String username);
 
+    @Query("SELECT e FROM Employee e JOIN FETCH e.company LEFT JOIN FETCH e.department " +
+            "WHERE e.username = :username AND e.deletedAt IS NULL AND e.status = 'ACTIVE'")
+    Optional<Employee> findActiveByUsernameWithDetails(@Param("username") String username);
+
     // Legacy methods (keeping for backward compatibility)
     Optional<Employee> findByUsername(String username);
     boolean existsByUsername(String username);
@@ -0,0 +1,96 @@
+package com.timetrak.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Durable record of the offline kiosk events already applied, keyed by employee and client event id.
+ * Rows are purged once older than {@code kiosk.sync.retention-days}; keep that longer than a kiosk
+ * may stay offline, or a late re-send is applied a second time.
+ */
+@Repository
+@Slf4j
+public class KioskSyncEventJdbcRepository {
+
+    /**
+     * A client event id is only unique per employee; two kiosks may well reuse one.
+     */
+    public record SyncEventKey(Long employeeId, String clientEventId) {
+    }
+
+    private static final String CLAIM_SQL =
+            "INSERT INTO kiosk_sync_event (employee_id, client_event_id, synced_at) " +
+            "SELECT ids.employee_id, ids.client_event_id, ? " +
+            "FROM unnest(?, ?) AS ids(employee_id, client_event_id) " +
+            "ON CONFLICT (employee_id, client_event_id) DO NOTHING " +
+            "RETURNING employee_id, client_event_id";
+
+    private static final String RELEASE_SQL =
+            "DELETE FROM kiosk_sync_event " +
+            "WHERE (employee_id, client_event_id) IN " +
+            "      (SELECT * FROM unnest(?, ?) AS ids(employee_id, client_event_id))";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long retentionDays;
+
+    public KioskSyncEventJdbcRepository(JdbcTemplate jdbcTemplate,
+                                        @Value("${kiosk.sync.retention-days:30}") long retentionDays) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.retentionDays = retentionDays;
+    }
+
+    /**
+     * Records the events as applied and returns those that were not recorded before. A concurrent
+     * sync of the same event waits on the key until the other transaction ends, so only one of
+     * them claims it.
+     */
+    public Set<SyncEventKey> claim(Collection<SyncEventKey> keys) {
+        if (keys.isEmpty()) {
+            return Set.of();
+        }
+        List<SyncEventKey> ordered = List.copyOf(keys);
+        return new HashSet<>(jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(CLAIM_SQL);
+            ps.setTimestamp(1, Timestamp.valueOf(LocalDateTime.now()));
+            ps.setArray(2, con.createArrayOf("bigint", ordered.stream().map(SyncEventKey::employeeId).toArray()));
+            ps.setArray(3, con.createArrayOf("varchar", ordered.stream().map(SyncEventKey::clientEventId).toArray()));
+            return ps;
+        }, (rs, rowNum) -> new SyncEventKey(rs.getLong(1), rs.getString(2))));
+    }
+
+    /**
+     * Forgets claimed events that were not applied after all, so a re-send is processed again.
+     */
+    public void release(Collection<SyncEventKey> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        List<SyncEventKey> ordered = List.copyOf(keys);
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(RELEASE_SQL);
+            ps.setArray(1, con.createArrayOf("bigint", ordered.stream().map(SyncEventKey::employeeId).toArray()));
+            ps.setArray(2, con.createArrayOf("varchar", ordered.stream().map(SyncEventKey::clientEventId).toArray()));
+            return ps;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${kiosk.sync.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        int purged = jdbcTemplate.update("DELETE FROM kiosk_sync_event WHERE synced_at <= ?",
+                LocalDateTime.now().minusDays(retentionDays));
+        if (purged > 0) {
+            log.debug("Purged {} expired kiosk sync events", purged);
+        }
+    }
+}
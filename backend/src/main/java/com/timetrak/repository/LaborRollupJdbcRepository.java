@@ -0,0 +1,234 @@
+package com.timetrak.repository;
+
+import com.timetrak.dto.shift.EmployeeLaborSummary;
+import com.timetrak.dto.shift.JobLaborTotals;
+import com.timetrak.dto.shift.LaborTotals;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The {@code labor_daily_rollup} table: completed shift minutes, earnings in cents and count per
+ * employee job and clock-in day.
+ * <p>
+ * Every change is computed in SQL from the shift rows themselves, so incremental updates and
+ * rebuilds agree. Incremental updates add or subtract the current contribution of the given shifts
+ * with an upsert, which the row lock serializes against concurrent writers of the same day.
+ */
+@Repository
+@RequiredArgsConstructor
+public class LaborRollupJdbcRepository {
+
+    private static final String SHIFT_SECONDS =
+            "FLOOR(CAST(EXTRACT(EPOCH FROM (s.clock_out - s.clock_in)) AS NUMERIC))";
+
+    // Completed shifts per employee job and day, rounded like ShiftMapper and ShiftResponseDTO:
+    // hours to 2 decimals, earnings = effective wage x hours to the cent. Minutes are whole minutes.
+    private static final String CONTRIBUTIONS =
+            "SELECT s.employee_job_id, CAST(s.clock_in AS DATE) AS work_date, s.company_id, s.employee_id, j.department_id, " +
+            "       CAST(SUM(FLOOR(" + SHIFT_SECONDS + " / 60)) AS BIGINT) AS minutes, " +
+            "       CAST(SUM(ROUND(COALESCE(ej.hourly_wage, j.hourly_wage, 0) * ROUND(" + SHIFT_SECONDS + " / 3600, 2), 2) * 100) AS BIGINT) AS earnings_cents, " +
+            "       COUNT(*) AS shift_count " +
+            "FROM shift s " +
+            "JOIN employee_job ej ON ej.id = s.employee_job_id " +
+            "JOIN job j ON j.id = ej.job_id " +
+            "WHERE s.status = 'COMPLETED' AND s.clock_out IS NOT NULL AND s.deleted_at IS NULL ";
+
+    private static final String BY_DAY =
+            "GROUP BY s.employee_job_id, CAST(s.clock_in AS DATE), s.company_id, s.employee_id, j.department_id ";
+
+    private static final String INSERT_INTO =
+            "INSERT INTO labor_daily_rollup (employee_job_id, work_date, company_id, employee_id, department_id, " +
+            "minutes, earnings_cents, shift_count) ";
+
+    private static final String APPLY_SHIFTS_SQL = INSERT_INTO +
+            "SELECT c.employee_job_id, c.work_date, c.company_id, c.employee_id, c.department_id, " +
+            "       ? * c.minutes, ? * c.earnings_cents, ? * c.shift_count " +
+            "FROM (" + CONTRIBUTIONS + "AND s.id = ANY (?) " + BY_DAY + ") c " +
+            "ON CONFLICT (employee_job_id, work_date) DO UPDATE SET " +
+            "minutes = labor_daily_rollup.minutes + EXCLUDED.minutes, " +
+            "earnings_cents = labor_daily_rollup.earnings_cents + EXCLUDED.earnings_cents, " +
+            "shift_count = labor_daily_rollup.shift_count + EXCLUDED.shift_count, " +
+            "department_id = EXCLUDED.department_id";
+
+    private static final String DELETE_EMPTY_DAYS_SQL =
+            "DELETE FROM labor_daily_rollup r USING shift s " +
+            "WHERE s.id = ANY (?) " +
+            "AND r.employee_job_id = s.employee_job_id " +
+            "AND r.work_date = CAST(s.clock_in AS DATE) " +
+            "AND r.shift_count <= 0";
+
+    // Rebuilds replace whatever a concurrent incremental update inserted in the meantime
+    private static final String REPLACE =
+            "ON CONFLICT (employee_job_id, work_date) DO UPDATE SET " +
+            "minutes = EXCLUDED.minutes, earnings_cents = EXCLUDED.earnings_cents, " +
+            "shift_count = EXCLUDED.shift_count, department_id = EXCLUDED.department_id";
+
+    private static final String REBUILD_ALL_SQL = INSERT_INTO + CONTRIBUTIONS + BY_DAY + REPLACE;
+
+    private static final String REBUILD_COMPANY_SQL = INSERT_INTO + CONTRIBUTIONS + "AND s.company_id = ? " + BY_DAY + REPLACE;
+
+    private static final String REBUILD_EMPLOYEE_JOBS_SQL =
+            INSERT_INTO + CONTRIBUTIONS + "AND s.employee_job_id = ANY (?) " + BY_DAY + REPLACE;
+
+    private static final String TOTALS =
+            "SELECT COALESCE(SUM(minutes), 0), COALESCE(SUM(earnings_cents), 0), COALESCE(SUM(shift_count), 0) " +
+            "FROM labor_daily_rollup ";
+
+    private static final String EMPLOYEE_JOB_TOTALS_SQL =
+            "SELECT j.job_title, MIN(COALESCE(ej.hourly_wage, j.hourly_wage)) AS hourly_wage, " +
+            "       SUM(r.minutes), SUM(r.earnings_cents), SUM(r.shift_count) " +
+            "FROM labor_daily_rollup r " +
+            "JOIN employee_job ej ON ej.id = r.employee_job_id " +
+            "JOIN job j ON j.id = ej.job_id " +
+            "WHERE r.employee_id = ? AND r.work_date BETWEEN ? AND ? " +
+            "GROUP BY j.job_title " +
+            "ORDER BY j.job_title";
+
+    // Completed totals from the rollup and the active shift count, per employee, in one statement
+    private static final String EMPLOYEE_SUMMARIES_SQL =
+            "SELECT e.id, e.first_name, e.last_name, " +
+            "       COALESCE(r.minutes, 0), COALESCE(r.earnings_cents, 0), COALESCE(r.shift_count, 0), " +
+            "       (SELECT COUNT(*) FROM shift s " +
+            "        WHERE s.employee_id = e.id AND s.status = 'ACTIVE' AND s.deleted_at IS NULL " +
+            "        AND s.clock_in >= ? AND s.clock_in < ?) AS active_shifts " +
+            "FROM employee e " +
+            "LEFT JOIN (SELECT employee_id, SUM(minutes) AS minutes, SUM(earnings_cents) AS earnings_cents, " +
+            "                  SUM(shift_count) AS shift_count " +
+            "           FROM labor_daily_rollup " +
+            "           WHERE employee_id = ANY (?) AND work_date BETWEEN ? AND ? " +
+            "           GROUP BY employee_id) r ON r.employee_id = e.id " +
+            "WHERE e.id = ANY (?) AND e.deleted_at IS NULL ";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Adds the contribution of the given shifts as they are now; shifts that are not completed add nothing.
+     */
+    public void addShifts(Collection<Long> shiftIds) {
+        applyShifts(shiftIds, 1);
+    }
+
+    /**
+     * Subtracts the contribution of the given shifts as they are now, before they are changed or deleted.
+     */
+    public void subtractShifts(Collection<Long> shiftIds) {
+        if (shiftIds.isEmpty()) {
+            return;
+        }
+        applyShifts(shiftIds, -1);
+        jdbcTemplate.update(con -> withIds(con, DELETE_EMPTY_DAYS_SQL, shiftIds, 1));
+    }
+
+    /**
+     * Recomputes every day of the given employee jobs, e.g. after their effective wage changed.
+     */
+    public void rebuildEmployeeJobs(Collection<Long> employeeJobIds) {
+        if (employeeJobIds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(con -> withIds(con, "DELETE FROM labor_daily_rollup WHERE employee_job_id = ANY (?)", employeeJobIds, 1));
+        jdbcTemplate.update(con -> withIds(con, REBUILD_EMPLOYEE_JOBS_SQL, employeeJobIds, 1));
+    }
+
+    public List<Long> findEmployeeJobIdsByJobId(Long jobId) {
+        return jdbcTemplate.queryForList("SELECT id FROM employee_job WHERE job_id = ?", Long.class, jobId);
+    }
+
+    public int rebuildCompany(Long companyId) {
+        jdbcTemplate.update("DELETE FROM labor_daily_rollup WHERE company_id = ?", companyId);
+        return jdbcTemplate.update(REBUILD_COMPANY_SQL, companyId);
+    }
+
+    public int rebuildAll() {
+        jdbcTemplate.update("DELETE FROM labor_daily_rollup");
+        return jdbcTemplate.update(REBUILD_ALL_SQL);
+    }
+
+    public boolean isEmpty() {
+        return Boolean.FALSE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM labor_daily_rollup)", Boolean.class));
+    }
+
+    public LaborTotals findCompanyTotals(Long companyId, LocalDate startDate, LocalDate endDate) {
+        return jdbcTemplate.queryForObject(TOTALS + "WHERE company_id = ? AND work_date BETWEEN ? AND ?",
+                (rs, rowNum) -> mapTotals(rs, 1), companyId, startDate, endDate);
+    }
+
+    public LaborTotals findEmployeeTotals(Long employeeId, LocalDate startDate, LocalDate endDate) {
+        return jdbcTemplate.queryForObject(TOTALS + "WHERE employee_id = ? AND work_date BETWEEN ? AND ?",
+                (rs, rowNum) -> mapTotals(rs, 1), employeeId, startDate, endDate);
+    }
+
+    public List<JobLaborTotals> findEmployeeJobTotals(Long employeeId, LocalDate startDate, LocalDate endDate) {
+        return jdbcTemplate.query(EMPLOYEE_JOB_TOTALS_SQL,
+                (rs, rowNum) -> new JobLaborTotals(rs.getString(1), rs.getBigDecimal(2), mapTotals(rs, 3)),
+                employeeId, startDate, endDate);
+    }
+
+    /**
+     * Summaries of the given employees over {@code startDate..endDate} (inclusive), ordered by name;
+     * employees that do not exist, are deleted or, when {@code companyId} is given, belong to another
+     * company are left out.
+     */
+    public List<EmployeeLaborSummary> findEmployeeSummaries(Collection<Long> employeeIds, Long companyId,
+                                                            LocalDate startDate, LocalDate endDate) {
+        if (employeeIds.isEmpty()) {
+            return List.of();
+        }
+        String sql = EMPLOYEE_SUMMARIES_SQL + (companyId != null ? "AND e.company_id = ? " : "") +
+                "ORDER BY e.last_name, e.first_name, e.id";
+        return jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql);
+            Array ids = con.createArrayOf("bigint", employeeIds.toArray());
+            ps.setTimestamp(1, Timestamp.valueOf(startDate.atStartOfDay()));
+            ps.setTimestamp(2, Timestamp.valueOf(endDate.plusDays(1).atStartOfDay()));
+            ps.setArray(3, ids);
+            ps.setObject(4, startDate);
+            ps.setObject(5, endDate);
+            ps.setArray(6, ids);
+            if (companyId != null) {
+                ps.setLong(7, companyId);
+            }
+            return ps;
+        }, (rs, rowNum) -> new EmployeeLaborSummary(
+                rs.getLong(1),
+                rs.getString(2) + " " + rs.getString(3),
+                mapTotals(rs, 4),
+                rs.getLong(7)));
+    }
+
+    private void applyShifts(Collection<Long> shiftIds, int sign) {
+        if (shiftIds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = withIds(con, APPLY_SHIFTS_SQL, shiftIds, 4);
+            ps.setInt(1, sign);
+            ps.setInt(2, sign);
+            ps.setInt(3, sign);
+            return ps;
+        });
+    }
+
+    private static PreparedStatement withIds(Connection con, String sql, Collection<Long> ids, int index) throws SQLException {
+        PreparedStatement ps = con.prepareStatement(sql);
+        Array array = con.createArrayOf("bigint", ids.toArray());
+        ps.setArray(index, array);
+        return ps;
+    }
+
+    private static LaborTotals mapTotals(ResultSet rs, int firstColumn) throws SQLException {
+        return new LaborTotals(rs.getLong(firstColumn), rs.getLong(firstColumn + 1), rs.getLong(firstColumn + 2));
+    }
+}
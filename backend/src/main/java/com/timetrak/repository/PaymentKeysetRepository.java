@@ -0,0 +1,76 @@
+package com.timetrak.repository;
+
+import com.timetrak.dto.payment.PaymentFilter;
+import com.timetrak.entity.Payment;
+import com.timetrak.enums.PaymentStatus;
+import com.timetrak.misc.SeekCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keyset (seek) pagination over payment listings, latest period first by {@code (period_end, id)}.
+ * See {@link ShiftKeysetRepository} for why this replaces OFFSET paging on long histories.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PaymentKeysetRepository {
+
+    private final EntityManager entityManager;
+
+    /**
+     * Returns up to {@code limit} payments after {@code after} (or from the latest when null),
+     * with the employee the mapper reads already fetched.
+     */
+    public List<Payment> findPayments(PaymentFilter filter, SeekCursor after, int limit) {
+        Map<String, Object> parameters = new HashMap<>();
+        StringBuilder jpql = new StringBuilder("SELECT p FROM Payment p JOIN FETCH p.employee ")
+                .append(where(filter, parameters));
+        if (after != null) {
+            jpql.append("AND p.periodEnd <= :seekPeriodEnd AND (p.periodEnd < :seekPeriodEnd OR p.id < :seekId) ");
+            parameters.put("seekPeriodEnd", after.keyAsDate());
+            parameters.put("seekId", after.id());
+        }
+        jpql.append("ORDER BY p.periodEnd DESC, p.id DESC");
+
+        TypedQuery<Payment> query = entityManager.createQuery(jpql.toString(), Payment.class)
+                .setMaxResults(limit);
+        parameters.forEach(query::setParameter);
+        return query.getResultList();
+    }
+
+    public long count(PaymentFilter filter) {
+        Map<String, Object> parameters = new HashMap<>();
+        TypedQuery<Long> query = entityManager.createQuery(
+                "SELECT COUNT(p) FROM Payment p " + where(filter, parameters), Long.class);
+        parameters.forEach(query::setParameter);
+        return query.getSingleResult();
+    }
+
+    private static String where(PaymentFilter filter, Map<String, Object> parameters) {
+        StringBuilder where = new StringBuilder("WHERE p.companyId = :companyId ");
+        parameters.put("companyId", filter.companyId());
+        if (filter.employeeId() != null) {
+            where.append("AND p.employee.id = :employeeId ");
+            parameters.put("employeeId", filter.employeeId());
+        }
+        if (filter.status() != null) {
+            where.append("AND p.status = :status ");
+            parameters.put("status", filter.status());
+        }
+        if (filter.periodNumber() != null) {
+            where.append("AND p.periodNumber = :periodNumber ");
+            parameters.put("periodNumber", filter.periodNumber());
+        }
+        if (filter.excludeVoided()) {
+            where.append("AND p.status <> :voided ");
+            parameters.put("voided", PaymentStatus.VOIDED);
+        }
+        return where.toString();
+    }
+}
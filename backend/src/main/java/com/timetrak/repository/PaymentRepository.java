@@ -1,17 +1,25 @@
 package com.timetrak.repository;
 
+import com.timetrak.constant.ShiftConstants;
+import com.timetrak.dto.payment.EmployeePaidThrough;
+import com.timetrak.dto.payment.PaymentExportRow;
 import com.timetrak.entity.Payment;
 import com.timetrak.enums.PaymentStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
@@ -43,6 +51,12 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
             @Param("companyId") Long companyId,
             @Param("excludeStatus") PaymentStatus excludeStatus);
 
+    @Query("SELECT new com.timetrak.dto.payment.EmployeePaidThrough(p.employee.id, MAX(p.periodEnd)) FROM Payment p " +
+            "WHERE p.employee.id IN :employeeIds " +
+            "AND p.status != com.timetrak.enums.PaymentStatus.VOIDED " +
+            "GROUP BY p.employee.id")
+    List<EmployeePaidThrough> findPaidThroughByEmployeeIds(@Param("employeeIds") Collection<Long> employeeIds);
+
     @Query("SELECT p FROM Payment p WHERE p.employee.id = :employeeId " +
             "AND p.companyId = :companyId " +
             "AND p.status != 'VOIDED'")
@@ -63,10 +77,33 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
     List<Payment> findAllByIdsAndCompanyId(@Param("paymentIds") List<Long> paymentIds,
                                           @Param("companyId") Long companyId);
 
-    @Query("SELECT p FROM Payment p WHERE p.companyId = :companyId AND p.periodStart BETWEEN :startDate AND :endDate")
-    List<Payment> findByCompanyIdAndDateRange(@Param("companyId") Long companyId,
-                                              @Param("startDate") LocalDate startDate,
-                                              @Param("endDate") LocalDate endDate);
+    @Query("SELECT p FROM Payment p JOIN FETCH p.employee " +
+            "WHERE p.companyId = :companyId AND p.periodStart BETWEEN :startDate AND :endDate " +
+            "ORDER BY p.calculatedAt DESC, p.id DESC")
+    List<Payment> findRecentByCompanyIdAndDateRange(@Param("companyId") Long companyId,
+                                                    @Param("startDate") LocalDate startDate,
+                                                    @Param("endDate") LocalDate endDate,
+                                                    Pageable pageable);
+
+    @Query("SELECT COUNT(p) FROM Payment p WHERE p.companyId = :companyId AND p.periodStart BETWEEN :startDate AND :endDate")
+    long countByCompanyIdAndDateRange(@Param("companyId") Long companyId,
+                                      @Param("startDate") LocalDate startDate,
+                                      @Param("endDate") LocalDate endDate);
+
+    // Forward-only cursor for the PDF export, read in chunks of the fetch size; the caller consumes it
+    // inside a transaction and closes it
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + ShiftConstants.EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.timetrak.dto.payment.PaymentExportRow(" +
+            "p.id, e.id, e.firstName, e.lastName, p.totalHours, p.totalEarnings, p.status) " +
+            "FROM Payment p JOIN p.employee e " +
+            "WHERE p.companyId = :companyId AND p.periodStart BETWEEN :startDate AND :endDate " +
+            "ORDER BY p.id")
+    Stream<PaymentExportRow> streamExportRowsByCompanyIdAndDateRange(@Param("companyId") Long companyId,
+                                                                     @Param("startDate") LocalDate startDate,
+                                                                     @Param("endDate") LocalDate endDate);
 
     @Query("SELECT p FROM Payment p WHERE p.companyId = :companyId AND p.periodNumber = :periodNumber ORDER BY p.periodStart DESC")
     Page<Payment> findByCompanyIdAndPeriodNumber(@Param("companyId") Long companyId,
@@ -0,0 +1,231 @@
+package com.timetrak.repository;
+
+import com.timetrak.dto.shift.ClockOutCandidate;
+import com.timetrak.dto.shift.ClosedShift;
+import com.timetrak.dto.shift.ShiftResponseDTO;
+import com.timetrak.entity.Shift;
+import com.timetrak.enums.ShiftStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static com.timetrak.constant.ShiftConstants.MAX_SHIFT_DURATION_HOURS;
+import static com.timetrak.constant.ShiftConstants.PRECISION_FACTOR;
+import static com.timetrak.constant.ShiftConstants.SHIFT_JDBC_BATCH_SIZE;
+
+/**
+ * Set-based shift writes that bypass the persistence context.
+ * <p>
+ * {@code Shift} ids are IDENTITY generated, which makes Hibernate insert row by row,
+ * so bulk paths go through JDBC batches here instead.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ShiftJdbcRepository {
+
+    private static final String INSERT_SHIFT_SQL =
+            "INSERT INTO shift (created_at, employee_job_id, employee_id, company_id, site_id, clock_in, clock_out, status) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (employee_id) WHERE status = 'ACTIVE' AND deleted_at IS NULL DO NOTHING";
+
+    // Closes every eligible ACTIVE shift in one statement and returns the closed rows already
+    // joined to the employee and job columns the response needs.
+    // Eligibility mirrors ClockValidator.validateClockOutTime: clock-out not before clock-in and
+    // Duration.toHours() <= MAX_SHIFT_DURATION_HOURS, i.e. clock_in > clockOut - (MAX + 1) hours.
+    private static final String CLOSE_ACTIVE_SHIFTS_SQL =
+            "WITH closed AS ( " +
+            "    UPDATE shift s SET clock_out = ?, status = 'COMPLETED', updated_at = ? " +
+            "    WHERE s.employee_id = ANY (?) " +
+            "      AND s.status = 'ACTIVE' " +
+            "      AND s.deleted_at IS NULL " +
+            "      AND s.clock_in <= ? " +
+            "      AND s.clock_in > ? " +
+            "    RETURNING s.id, s.employee_id, s.employee_job_id, s.company_id, s.site_id, s.clock_in, s.clock_out " +
+            ") " +
+            "SELECT c.id, c.employee_id, c.employee_job_id, c.company_id, c.site_id, c.clock_in, c.clock_out, " +
+            "       e.username, e.first_name, e.last_name, j.job_title, " +
+            "       COALESCE(ej.hourly_wage, j.hourly_wage) AS hourly_wage " +
+            "FROM closed c " +
+            "JOIN employee e ON e.id = c.employee_id " +
+            "JOIN employee_job ej ON ej.id = c.employee_job_id " +
+            "JOIN job j ON j.id = ej.job_id";
+
+    private static final String FIND_CLOCK_OUT_CANDIDATES_SQL =
+            "SELECT ids.id AS employee_id, CONCAT(e.first_name, ' ', e.last_name) AS full_name, s.clock_in " +
+            "FROM unnest(?) AS ids(id) " +
+            "LEFT JOIN employee e ON e.id = ids.id AND e.deleted_at IS NULL " +
+            "LEFT JOIN shift s ON s.employee_id = ids.id AND s.status = 'ACTIVE' AND s.deleted_at IS NULL";
+
+    private static final String COMPLETE_SHIFT_SQL =
+            "UPDATE shift SET clock_out = ?, status = 'COMPLETED', updated_at = ? " +
+            "WHERE id = ? AND status = 'ACTIVE' AND deleted_at IS NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts the given transient shifts in JDBC batches and assigns their generated ids
+     * and creation timestamps in place. Rows rejected by the single-active-shift index are
+     * skipped rather than failing the batch; they keep a null id and are left out of the result.
+     */
+    public List<Shift> insertAll(List<Shift> shifts) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Shift> inserted = new ArrayList<>(shifts.size());
+
+        for (int from = 0; from < shifts.size(); from += SHIFT_JDBC_BATCH_SIZE) {
+            List<Shift> chunk = shifts.subList(from, Math.min(from + SHIFT_JDBC_BATCH_SIZE, shifts.size()));
+            GeneratedKeyHolder keyHolder = new GeneratedKeyHolder();
+
+            int[] counts = jdbcTemplate.batchUpdate(
+                    con -> con.prepareStatement(INSERT_SHIFT_SQL, new String[]{"id"}),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            bindInsert(ps, chunk.get(i), now);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return chunk.size();
+                        }
+                    },
+                    keyHolder);
+
+            // Keys are only returned for rows that were actually inserted, in batch order
+            Iterator<Map<String, Object>> keys = keyHolder.getKeyList().iterator();
+            for (int i = 0; i < chunk.size(); i++) {
+                if (counts[i] == 0) {
+                    continue;
+                }
+                Shift shift = chunk.get(i);
+                shift.setId(((Number) keys.next().get("id")).longValue());
+                shift.setCreatedAt(now);
+                inserted.add(shift);
+            }
+        }
+        return inserted;
+    }
+
+    /**
+     * Writes the clock-out of existing shifts (clockOut already set on each) in JDBC batches.
+     * A shift that is no longer ACTIVE is left untouched and excluded from the result.
+     */
+    public List<Shift> completeAll(List<Shift> shifts) {
+        LocalDateTime now = LocalDateTime.now();
+        int[][] counts = jdbcTemplate.batchUpdate(COMPLETE_SHIFT_SQL, shifts, SHIFT_JDBC_BATCH_SIZE, (ps, shift) -> {
+            ps.setObject(1, shift.getClockOut());
+            ps.setObject(2, now);
+            ps.setLong(3, shift.getId());
+        });
+
+        List<Shift> completed = new ArrayList<>(shifts.size());
+        int index = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                Shift shift = shifts.get(index++);
+                if (count != 0) {
+                    shift.setUpdatedAt(now);
+                    completed.add(shift);
+                }
+            }
+        }
+        return completed;
+    }
+
+    /**
+     * Completes the ACTIVE shift of every given employee whose shift passes the clock-out time
+     * rules, in a single {@code UPDATE ... RETURNING}. Employees without an eligible shift are
+     * simply absent from the result.
+     */
+    public List<ClosedShift> closeActiveShifts(Collection<Long> employeeIds, LocalDateTime clockOut) {
+        if (employeeIds.isEmpty()) {
+            return List.of();
+        }
+        LocalDateTime now = LocalDateTime.now();
+
+        return jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(CLOSE_ACTIVE_SHIFTS_SQL);
+            ps.setObject(1, clockOut);
+            ps.setObject(2, now);
+            ps.setArray(3, con.createArrayOf("bigint", employeeIds.toArray()));
+            ps.setObject(4, clockOut);
+            ps.setObject(5, clockOut.minusHours(MAX_SHIFT_DURATION_HOURS + 1));
+            return ps;
+        }, (rs, rowNum) -> mapClosedShift(rs));
+    }
+
+    /**
+     * Resolves names and current ACTIVE shift clock-in for employees a bulk clock-out left open,
+     * so failures can be reported without a query per employee.
+     */
+    public List<ClockOutCandidate> findClockOutCandidates(Collection<Long> employeeIds) {
+        if (employeeIds.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(FIND_CLOCK_OUT_CANDIDATES_SQL);
+            ps.setArray(1, con.createArrayOf("bigint", employeeIds.toArray()));
+            return ps;
+        }, (rs, rowNum) -> {
+            long employeeId = rs.getLong("employee_id");
+            String fullName = rs.getString("full_name");
+            return new ClockOutCandidate(
+                    employeeId,
+                    fullName != null && !fullName.isBlank() ? fullName : "Employee " + employeeId,
+                    rs.getObject("clock_in", LocalDateTime.class));
+        });
+    }
+
+    private ClosedShift mapClosedShift(ResultSet rs) throws SQLException {
+        LocalDateTime clockIn = rs.getObject("clock_in", LocalDateTime.class);
+        LocalDateTime clockOut = rs.getObject("clock_out", LocalDateTime.class);
+        double rawHours = Duration.between(clockIn, clockOut).getSeconds() / 3600.0;
+
+        return new ClosedShift(rs.getLong("company_id"), ShiftResponseDTO.builder()
+                .id(rs.getLong("id"))
+                .clockIn(clockIn)
+                .clockOut(clockOut)
+                .status(ShiftStatus.COMPLETED)
+                .employeeId(rs.getLong("employee_id"))
+                .employeeJobId(rs.getLong("employee_job_id"))
+                .siteId(rs.getObject("site_id", Long.class))
+                .username(rs.getString("username"))
+                .fullName(rs.getString("first_name") + " " + rs.getString("last_name"))
+                .jobTitle(rs.getString("job_title"))
+                .hourlyWage(rs.getBigDecimal("hourly_wage"))
+                .hours(Math.round(rawHours * PRECISION_FACTOR) / PRECISION_FACTOR)
+                .build());
+    }
+
+    private void bindInsert(PreparedStatement ps, Shift shift, LocalDateTime now) throws SQLException {
+        ps.setObject(1, now);
+        ps.setLong(2, shift.getEmployeeJob().getId());
+        ps.setLong(3, shift.getEmployee().getId());
+        ps.setLong(4, shift.getCompanyId());
+        if (shift.getSiteId() != null) {
+            ps.setLong(5, shift.getSiteId());
+        } else {
+            ps.setNull(5, Types.BIGINT);
+        }
+        ps.setObject(6, shift.getClockIn());
+        if (shift.getClockOut() != null) {
+            ps.setObject(7, shift.getClockOut());
+        } else {
+            ps.setNull(7, Types.TIMESTAMP);
+        }
+        ps.setString(8, shift.getStatus().name());
+    }
+}
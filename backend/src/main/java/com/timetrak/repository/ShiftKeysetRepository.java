@@ -0,0 +1,105 @@
+package com.timetrak.repository;
+
+import com.timetrak.dto.shift.ShiftRow;
+import com.timetrak.enums.ShiftStatus;
+import com.timetrak.misc.SeekCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keyset (seek) pagination over shift listings, newest first by {@code (clock_in, id)}.
+ * <p>
+ * Each page continues strictly after the last row of the previous one, so the cost of a page does
+ * not grow with its depth the way OFFSET does, and no COUNT runs unless a total is asked for. Only
+ * the predicates of the given criteria are rendered, so every variant stays on the clock_in indexes.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ShiftKeysetRepository {
+
+    private static final String COUNT_SHIFTS = "SELECT COUNT(s) FROM Shift s " +
+            "JOIN s.employee e " +
+            "JOIN s.employeeJob ej " +
+            "JOIN ej.job j ";
+
+    private final EntityManager entityManager;
+
+    /**
+     * Criteria resolved to the columns they filter on; the range is half-open and either bound may be null.
+     */
+    public record Criteria(Long companyId,
+                           Long employeeId,
+                           Long departmentId,
+                           String jobTitle,
+                           ShiftStatus status,
+                           LocalDateTime startDateTime,
+                           LocalDateTime endDateTimeExclusive) {
+    }
+
+    /**
+     * Returns up to {@code limit} rows after {@code after} (or from the newest when null).
+     */
+    public List<ShiftRow> findRows(Criteria criteria, SeekCursor after, int limit) {
+        Map<String, Object> parameters = new HashMap<>();
+        StringBuilder jpql = new StringBuilder(ShiftRepository.SHIFT_ROW).append(where(criteria, parameters));
+        if (after != null) {
+            // The redundant <= bound keeps the clock_in index range scan; the OR only breaks ties
+            jpql.append("AND s.clockIn <= :seekClockIn AND (s.clockIn < :seekClockIn OR s.id < :seekId) ");
+            parameters.put("seekClockIn", after.keyAsDateTime());
+            parameters.put("seekId", after.id());
+        }
+        jpql.append("ORDER BY s.clockIn DESC, s.id DESC");
+
+        TypedQuery<ShiftRow> query = entityManager.createQuery(jpql.toString(), ShiftRow.class)
+                .setMaxResults(limit);
+        parameters.forEach(query::setParameter);
+        return query.getResultList();
+    }
+
+    public long count(Criteria criteria) {
+        Map<String, Object> parameters = new HashMap<>();
+        TypedQuery<Long> query = entityManager.createQuery(COUNT_SHIFTS + where(criteria, parameters), Long.class);
+        parameters.forEach(query::setParameter);
+        return query.getSingleResult();
+    }
+
+    private static String where(Criteria criteria, Map<String, Object> parameters) {
+        // Shifts always have a clock-in; excluding nulls keeps the seek order total
+        StringBuilder where = new StringBuilder("WHERE s.companyId = :companyId " +
+                "AND s.deletedAt IS NULL " +
+                "AND s.clockIn IS NOT NULL ");
+        parameters.put("companyId", criteria.companyId());
+        if (criteria.employeeId() != null) {
+            where.append("AND e.id = :employeeId ");
+            parameters.put("employeeId", criteria.employeeId());
+        }
+        if (criteria.departmentId() != null) {
+            where.append("AND e.department.id = :departmentId ");
+            parameters.put("departmentId", criteria.departmentId());
+        }
+        if (criteria.jobTitle() != null) {
+            where.append("AND j.jobTitle = :jobTitle ");
+            parameters.put("jobTitle", criteria.jobTitle());
+        }
+        if (criteria.status() != null) {
+            where.append("AND s.status = :status ");
+            parameters.put("status", criteria.status());
+        }
+        if (criteria.startDateTime() != null) {
+            where.append("AND s.clockIn >= :startDateTime ");
+            parameters.put("startDateTime", criteria.startDateTime());
+        }
+        if (criteria.endDateTimeExclusive() != null) {
+            where.append("AND s.clockIn < :endDateTimeExclusive ");
+            parameters.put("endDateTimeExclusive", criteria.endDateTimeExclusive());
+        }
+        return where.toString();
+    }
+}
@@ -1,46 +1,86 @@
 package com.timetrak.repository;
 
+import com.timetrak.constant.ShiftConstants;
+import com.timetrak.dto.shift.ActiveShiftEntry;
+import com.timetrak.dto.shift.DepartmentShiftRow;
+import com.timetrak.dto.shift.ShiftBoardChange;
+import com.timetrak.dto.shift.ShiftBoardEntry;
+import com.timetrak.dto.shift.ShiftInterval;
+import com.timetrak.dto.shift.ShiftRow;
 import com.timetrak.entity.Shift;
 import com.timetrak.enums.ShiftStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
-import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ShiftRepository extends JpaRepository<Shift, Long> {
 
-    @Query("SELECT s FROM Shift s " +
-            "WHERE s.employee.id = :employeeId " +
+    // Shift reads declare their fetch plan: the associations are LAZY and each use case names
+    // the graph it maps (see the @NamedEntityGraph declarations on Shift)
+
+    // Read-only listings select ShiftRow directly: only the columns ShiftResponseDTO needs and no
+    // managed entities, so nothing lands in the persistence context
+    String SHIFT_ROW = "SELECT new com.timetrak.dto.shift.ShiftRow(" +
+            "s.id, s.clockIn, s.clockOut, s.status, s.siteId, e.id, ej.id, " +
+            "e.username, e.firstName, e.lastName, j.jobTitle, COALESCE(ej.hourlyWage, j.hourlyWage)) " +
+            "FROM Shift s " +
+            "JOIN s.employee e " +
+            "JOIN s.employeeJob ej " +
+            "JOIN ej.job j ";
+
+    @Override
+    @EntityGraph("Shift.listing")
+    Optional<Shift> findById(Long id);
+
+    @Query(SHIFT_ROW +
+            "WHERE e.id = :employeeId " +
             "AND s.deletedAt IS NULL " +
             "AND s.companyId = :companyId")
-    Page<Shift> findByEmployeeId(@Param("employeeId") Long employeeId,
+    Page<ShiftRow> findRowsByEmployeeId(@Param("employeeId") Long employeeId,
                                  @Param("companyId") Long companyId,
                                  Pageable pageable);
 
-    @Query("SELECT s FROM Shift s " +
+    @Query(SHIFT_ROW +
             "WHERE s.clockIn >= :startDateTime " +
             "AND s.companyId = :companyId " +
             "AND s.deletedAt IS NULL " +
             "ORDER BY s.clockIn DESC")
-    Page<Shift> findByDateFrom(@Param("startDateTime") LocalDateTime startDateTime, @Param("companyId") Long companyId, Pageable pageable);
+    Page<ShiftRow> findRowsByDateFrom(@Param("startDateTime") LocalDateTime startDateTime, @Param("companyId") Long companyId, Pageable pageable);
 
-    @Query("SELECT s FROM Shift s " +
+    // Dashboard lists: a List result, so no count query runs next to the limited one
+    @Query(SHIFT_ROW +
+            "WHERE s.clockIn >= :startDateTime " +
+            "AND s.companyId = :companyId " +
+            "AND s.deletedAt IS NULL " +
+            "ORDER BY s.clockIn DESC, s.id DESC")
+    List<ShiftRow> findRecentRowsByDateFrom(@Param("startDateTime") LocalDateTime startDateTime,
+                                            @Param("companyId") Long companyId,
+                                            Pageable pageable);
+
+    @Query(SHIFT_ROW +
             "WHERE s.companyId =:companyId " +
             "AND s.clockIn >= :startDateTime " +
             "AND s.deletedAt IS NULL " +
             "AND s.clockIn <= :endDateTime")
-    Page<Shift> findByCompanyIdAndDateRange(@Param ("companyId") Long companyId,
+    Page<ShiftRow> findRowsByCompanyIdAndDateRange(@Param ("companyId") Long companyId,
                                             @Param("startDateTime") LocalDateTime startDateTime,
                                             @Param("endDateTime") LocalDateTime endDateTime,
                                             Pageable pageable);
 
+    @EntityGraph("Shift.listing")
     @Query("SELECT s FROM Shift s " +
             "WHERE s.companyId =:companyId " +
             "AND s.clockIn >= :startDateTime " +
@@ -50,47 +90,55 @@ public interface ShiftRepository extends JpaRepository<Shift, Long> {
                                             @Param("startDateTime") LocalDateTime startDateTime,
                                             @Param("endDateTime") LocalDateTime endDateTime);
     
-    @Query("SELECT s FROM Shift s " +
-            "WHERE s.employee.id = :employeeId " +
+    @Query(SHIFT_ROW +
+            "WHERE e.id = :employeeId " +
             "AND s.clockIn >= :startDateTime " +
             "AND s.deletedAt IS NULL " +
             "AND s.clockIn <= :endDateTime")
-    Page<Shift> findByEmployeeIdAndDateRange(@Param("employeeId") Long employeeId,
+    Page<ShiftRow> findRowsByEmployeeIdAndDateRange(@Param("employeeId") Long employeeId,
                                             @Param("startDateTime") LocalDateTime startDateTime,
                                             @Param("endDateTime") LocalDateTime endDateTime,
                                             Pageable pageable);
 
-    List<Shift> findByStatusAndEmployeeIdAndCompanyIdAndClockInAfterAndDeletedAtIsNull(
-            ShiftStatus status,
-            Long employeeId,
-            Long companyId,
-            LocalDateTime startDate
+    @Query(SHIFT_ROW +
+            "WHERE s.status = :status " +
+            "AND e.id = :employeeId " +
+            "AND s.companyId = :companyId " +
+            "AND s.clockIn > :startDate " +
+            "AND s.deletedAt IS NULL")
+    List<ShiftRow> findRowsByStatusAndEmployeeIdClockInAfter(
+            @Param("status") ShiftStatus status,
+            @Param("employeeId") Long employeeId,
+            @Param("companyId") Long companyId,
+            @Param("startDate") LocalDateTime startDate
     );
 
 
-    @Query("SELECT s FROM Shift s " +
-            "WHERE DATE(s.clockIn) BETWEEN :startDate AND :endDate " +
-            "AND s.companyId = :companyId " +
+    @Query(SHIFT_ROW +
+            "WHERE s.companyId = :companyId " +
+            "AND s.clockIn >= :startDateTime " +
+            "AND s.clockIn < :endDateTimeExclusive " +
             "AND s.status = :status " +
             "AND s.deletedAt IS NULL " +
-            "ORDER BY s.employee.id, s.clockIn")
-    Page<Shift> findAllByStatusAndDateRangeAndCompanyId(
+            "ORDER BY e.id, s.clockIn")
+    Page<ShiftRow> findRowsByStatusAndDateRangeAndCompanyId(
             @Param("status") ShiftStatus status,
-            @Param("startDate") LocalDate startDate,
-            @Param("endDate") LocalDate endDate,
+            @Param("startDateTime") LocalDateTime startDateTime,
+            @Param("endDateTimeExclusive") LocalDateTime endDateTimeExclusive,
             @Param("companyId") Long companyId,
             Pageable pageable);
 
 
 
 
-    @Query("SELECT COUNT(s) FROM Shift s WHERE s.status = :status AND s.employee.id = :employeeId")
+    @Query("SELECT COUNT(s) FROM Shift s WHERE s.status = :status AND s.employee.id = :employeeId AND s.deletedAt IS NULL")
     long countActiveShiftsByEmployeeId(@Param("status") ShiftStatus status, @Param("employeeId") Long employeeId);
     //TODO questioning if i need companyScoped findActiveShiftsByEmployeeId
 
 
 
     // Find specific active shift for employee (for clock out)
+    @EntityGraph("Shift.listing")
     @Query("SELECT s FROM Shift s " +
             "WHERE s.status = 'ACTIVE' " +
             "AND s.deletedAt IS NULL " +
@@ -98,84 +146,210 @@ public interface ShiftRepository extends JpaRepository<Shift, Long> {
     Optional<Shift> findActiveShiftByEmployeeId(@Param("employeeId") Long employeeId);
 
 
-    @Query("SELECT CASE WHEN EXISTS(SELECT 1 FROM Shift s WHERE s.status = com.timetrak.enums.ShiftStatus.ACTIVE AND s.employee.id = :employeeId) THEN true ELSE false END")
-    boolean hasActiveShifts(@Param("employeeId") Long employeeId);
+    // Read-only: callers mutate the returned shifts in memory and write them through ShiftJdbcRepository
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT s FROM Shift s " +
+            "JOIN FETCH s.employeeJob ej " +
+            "JOIN FETCH ej.job " +
+            "JOIN FETCH s.employee e " +
+            "JOIN FETCH e.company " +
+            "LEFT JOIN FETCH e.department " +
+            "WHERE s.status = com.timetrak.enums.ShiftStatus.ACTIVE " +
+            "AND s.deletedAt IS NULL " +
+            "AND e.id IN :employeeIds")
+    List<Shift> findActiveShiftsWithDetailsByEmployeeIds(@Param("employeeIds") Collection<Long> employeeIds);
 
+    @Query("SELECT new com.timetrak.dto.shift.ActiveShiftEntry(s.employee.id, s.id, s.clockIn) FROM Shift s " +
+            "WHERE s.status = com.timetrak.enums.ShiftStatus.ACTIVE " +
+            "AND s.deletedAt IS NULL")
+    List<ActiveShiftEntry> findAllActiveShiftEntries();
 
-    @Query("SELECT s FROM Shift s" +
-            " WHERE s.employee.id = :employeeId " +
+    @Query("SELECT new com.timetrak.dto.shift.ActiveShiftEntry(s.employee.id, s.id, s.clockIn) FROM Shift s " +
+            "WHERE s.employee.id = :employeeId " +
+            "AND s.status = com.timetrak.enums.ShiftStatus.ACTIVE " +
+            "AND s.deletedAt IS NULL")
+    Optional<ActiveShiftEntry> findActiveShiftEntryByEmployeeId(@Param("employeeId") Long employeeId);
+
+    @Query("SELECT new com.timetrak.dto.shift.ShiftInterval(s.employee.id, s.clockIn, s.clockOut) FROM Shift s " +
+            "WHERE s.status = com.timetrak.enums.ShiftStatus.COMPLETED " +
             "AND s.deletedAt IS NULL " +
+            "AND s.employee.id IN :employeeIds " +
+            "AND s.clockOut > :from")
+    List<ShiftInterval> findCompletedIntervalsByEmployeeIdsEndingAfter(@Param("employeeIds") Collection<Long> employeeIds,
+                                                                       @Param("from") LocalDateTime from);
+
+    @Query("SELECT CASE WHEN EXISTS(SELECT 1 FROM Shift s WHERE s.status = com.timetrak.enums.ShiftStatus.ACTIVE AND s.employee.id = :employeeId AND s.deletedAt IS NULL) THEN true ELSE false END")
+    boolean hasActiveShifts(@Param("employeeId") Long employeeId);
+
+
+    @Query(SHIFT_ROW +
+            "WHERE e.id = :employeeId " +
             "AND s.clockIn >= :startDateTime " +
             "AND s.deletedAt IS NULL " +
             "AND s.clockIn <= :endDateTime")
-    List<Shift> findByEmployeeIdAndDateRange(@Param("employeeId") Long employeeId,
+    List<ShiftRow> findRowsByEmployeeIdAndDateRange(@Param("employeeId") Long employeeId,
                                              @Param("startDateTime") LocalDateTime startDate,
                                              @Param("endDateTime") LocalDateTime endDate);
 
+    @EntityGraph("Shift.payroll")
     @Query("SELECT s FROM Shift s " +
-            "WHERE DATE(s.clockIn) BETWEEN :startDate AND :endDate " +
-            "AND s.companyId = :companyId " +
+            "WHERE s.companyId = :companyId " +
+            "AND s.clockIn >= :startDateTime " +
+            "AND s.clockIn < :endDateTimeExclusive " +
             "AND s.clockOut IS NOT NULL " +
             "AND s.status = 'COMPLETED' " +
             "AND s.employee IS NOT NULL " +
             "AND s.deletedAt IS NULL " +
             "ORDER BY s.employee.id, s.clockIn")
     List<Shift> findAllByCompanyIdAndDateRange(
-            @Param("startDate") LocalDate startDate,
-            @Param("endDate") LocalDate endDate,
+            @Param("startDateTime") LocalDateTime startDateTime,
+            @Param("endDateTimeExclusive") LocalDateTime endDateTimeExclusive,
             @Param("companyId") Long companyId);
 
+    @EntityGraph("Shift.payroll")
     @Query("SELECT s FROM Shift s " +
-            "WHERE DATE(s.clockIn) BETWEEN :startDate AND :endDate " +
-            "AND s.companyId = :companyId " +
+            "WHERE s.companyId = :companyId " +
+            "AND s.clockIn >= :startDateTime " +
+            "AND s.clockIn < :endDateTimeExclusive " +
             "AND s.clockOut IS NOT NULL " +
             "AND s.status = 'COMPLETED' " +
             "AND s.employee IS NOT NULL " +
             "AND s.deletedAt IS NULL " +
             "ORDER BY s.employee.id, s.clockIn")
     Page<Shift> findAllByCompanyIdAndDateRangePageable(
-            @Param("startDate") LocalDate startDate,
-            @Param("endDate") LocalDate endDate,
+            @Param("startDateTime") LocalDateTime startDateTime,
+            @Param("endDateTimeExclusive") LocalDateTime endDateTimeExclusive,
             @Param("companyId") Long companyId,
             Pageable pageable);
 
-    @Query("SELECT s FROM Shift s " +
-            "JOIN s.employee e " +
+    @Query(SHIFT_ROW +
             "WHERE e.department.id = :departmentId " +
             "AND s.companyId =:companyId " +
             "AND s.deletedAt IS NULL")
-    Page<Shift> findByDepartmentIdAndCompanyId(
+    Page<ShiftRow> findRowsByDepartmentIdAndCompanyId(
             @Param("departmentId") Long departmentId,
             @Param("companyId")Long companyId, Pageable pageable);
 
-    @Query("SELECT s FROM Shift s " +
-            "WHERE s.employeeJob.job.jobTitle = :jobTitle " +
+    @Query(SHIFT_ROW +
+            "WHERE j.jobTitle = :jobTitle " +
             "AND s.companyId = :companyId " +
             "AND s.deletedAt IS NULL")
-    Page<Shift> findByJobTitle(@Param("jobTitle") String jobTitle,
+    Page<ShiftRow> findRowsByJobTitle(@Param("jobTitle") String jobTitle,
                                @Param("companyId") Long companyId,
                                Pageable pageable);
 
 
-    @Query("SELECT s FROM Shift s " +
+    @Query(SHIFT_ROW +
             "WHERE s.companyId = :companyId " +
-            "AND s.employee.department.id = :departmentId " +
+            "AND e.department.id = :departmentId " +
             "AND s.clockIn >= :startDate " +
             "AND s.clockIn <= :endDate " +
             "AND s.deletedAt IS NULL " +
             "ORDER BY s.clockIn ASC")
-    List<Shift> findShiftsForDepartmentDateRange(
+    List<ShiftRow> findRowsForDepartmentDateRange(
             @Param("departmentId") Long departmentId,
             @Param("companyId") Long companyId,
             @Param("startDate") LocalDateTime startDate,
             @Param("endDate") LocalDateTime endDate
     );
 
+    // Shift rows tagged with the employee's department, for reports that cover several departments
+    String DEPARTMENT_SHIFT_ROW = "SELECT new com.timetrak.dto.shift.DepartmentShiftRow(d.id, d.name, " +
+            "s.id, s.clockIn, s.clockOut, s.status, s.siteId, e.id, ej.id, " +
+            "e.username, e.firstName, e.lastName, j.jobTitle, COALESCE(ej.hourlyWage, j.hourlyWage)) " +
+            "FROM Shift s " +
+            "JOIN s.employee e " +
+            "JOIN e.department d " +
+            "JOIN s.employeeJob ej " +
+            "JOIN ej.job j " +
+            "WHERE s.companyId = :companyId " +
+            "AND d.id IN :departmentIds " +
+            "AND s.clockIn >= :startDateTime " +
+            "AND s.clockIn < :endDateTimeExclusive " +
+            "AND s.deletedAt IS NULL ";
+
+    // All departments of a report in one round trip, ordered so each department's rows are
+    // contiguous and can be grouped in a single pass
+    @Query(DEPARTMENT_SHIFT_ROW +
+            "ORDER BY d.name, d.id, s.clockIn, s.id")
+    List<DepartmentShiftRow> findDepartmentRowsForDateRange(
+            @Param("departmentIds") Collection<Long> departmentIds,
+            @Param("companyId") Long companyId,
+            @Param("startDateTime") LocalDateTime startDateTime,
+            @Param("endDateTimeExclusive") LocalDateTime endDateTimeExclusive
+    );
+
+    @Query("SELECT COUNT(s) FROM Shift s " +
+            "JOIN s.employee e " +
+            "WHERE s.companyId = :companyId " +
+            "AND e.department.id IN :departmentIds " +
+            "AND s.clockIn >= :startDateTime " +
+            "AND s.clockIn < :endDateTimeExclusive " +
+            "AND s.deletedAt IS NULL")
+    long countDepartmentRowsForDateRange(
+            @Param("departmentIds") Collection<Long> departmentIds,
+            @Param("companyId") Long companyId,
+            @Param("startDateTime") LocalDateTime startDateTime,
+            @Param("endDateTimeExclusive") LocalDateTime endDateTimeExclusive
+    );
+
+    // Cursor for the PDF report: ordered by department, then job, so the renderer can close each
+    // job table as soon as the next one starts
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + ShiftConstants.EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(DEPARTMENT_SHIFT_ROW +
+            "ORDER BY d.name, d.id, j.jobTitle, s.clockIn, s.id")
+    Stream<DepartmentShiftRow> streamDepartmentRowsForDateRange(
+            @Param("departmentIds") Collection<Long> departmentIds,
+            @Param("companyId") Long companyId,
+            @Param("startDateTime") LocalDateTime startDateTime,
+            @Param("endDateTimeExclusive") LocalDateTime endDateTimeExclusive
+    );
+
+    // Forward-only cursor for exports: rows are fetched from the database in chunks of the fetch size
+    // while the caller consumes the stream, which must happen inside a transaction and be closed
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + ShiftConstants.EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(SHIFT_ROW +
+            "WHERE s.companyId = :companyId " +
+            "AND s.clockIn >= :startDateTime " +
+            "AND s.clockIn < :endDateTimeExclusive " +
+            "AND s.deletedAt IS NULL " +
+            "ORDER BY s.clockIn, s.id")
+    Stream<ShiftRow> streamRowsByCompanyIdAndDateRange(@Param("companyId") Long companyId,
+                                                       @Param("startDateTime") LocalDateTime startDateTime,
+                                                       @Param("endDateTimeExclusive") LocalDateTime endDateTimeExclusive);
+
+    // ACTIVE is a literal so the partial index idx_shift_active_company applies
+    @Query("SELECT new com.timetrak.dto.shift.ShiftBoardEntry(s.id, e.id, e.firstName, e.lastName, j.jobTitle, s.clockIn) " +
+            "FROM Shift s " +
+            "JOIN s.employee e " +
+            "JOIN s.employeeJob ej " +
+            "JOIN ej.job j " +
+            "WHERE s.companyId = :companyId " +
+            "AND s.deletedAt IS NULL " +
+            "AND s.status = com.timetrak.enums.ShiftStatus.ACTIVE " +
+            "ORDER BY s.clockIn")
+    List<ShiftBoardEntry> findBoardEntriesByCompanyId(@Param("companyId") Long companyId);
+
+    @Query("SELECT new com.timetrak.dto.shift.ShiftBoardChange(s.companyId, s.id, e.id, e.firstName, e.lastName, " +
+            "j.jobTitle, s.clockIn, s.status, s.deletedAt) " +
+            "FROM Shift s " +
+            "JOIN s.employee e " +
+            "JOIN s.employeeJob ej " +
+            "JOIN ej.job j " +
+            "WHERE s.id IN :shiftIds")
+    List<ShiftBoardChange> findBoardChangesByIds(@Param("shiftIds") Collection<Long> shiftIds);
+
+    // ACTIVE is a literal so the partial index idx_shift_active_company applies to every plan
     @Query("SELECT COUNT(s) FROM Shift s "+
     "WHERE s.companyId=:companyId "+
     "AND s.deletedAt IS NULL "+
-    "AND s.status=:status "+
+    "AND s.status = com.timetrak.enums.ShiftStatus.ACTIVE "+
      "AND s.clockOut IS NULL")
-    long countShiftByStatusInCompany(@Param("companyId") Long companyId,
-                                     @Param("status") ShiftStatus status);
+    long countActiveShiftsByCompanyId(@Param("companyId") Long companyId);
 }
@@ -18,7 +18,7 @@ public class CustomUserDetailsService implements UserDetailsService {
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        Employee employee = employeeRepository.findActiveByUsername(username)
+        Employee employee = employeeRepository.findActiveByUsernameWithDetails(username)
                 .orElseThrow(() -> new EmployeeNotFoundException("Employee not found with username: " + username));
         return new CustomUserDetails(employee);
     }
@@ -2,53 +2,50 @@ package com.timetrak.service;
 
 import com.timetrak.dto.payment.Period;
 import com.timetrak.dto.employee.EmployeeDashboardSummary;
-import com.timetrak.dto.shift.ShiftResponseDTO;
-import com.timetrak.entity.Employee;
-import com.timetrak.entity.Payment;
+import com.timetrak.dto.shift.LaborTotals;
 import com.timetrak.entity.Shift;
-import com.timetrak.enums.ShiftStatus;
 import com.timetrak.exception.ResourceNotFoundException;
-import com.timetrak.service.employee.EmployeeService;
+import com.timetrak.service.dashboard.DashboardFanOut;
 import com.timetrak.service.payment.PeriodService;
-import com.timetrak.service.payment.calculation.PaymentCalculator;
+import com.timetrak.service.shift.LaborRollupService;
 import com.timetrak.service.shift.ShiftService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
-@Transactional(readOnly = true)
 @Slf4j
 public class EmployeeDashboardService {
 
     private final ShiftService shiftService;
     private final PeriodService periodService;
-    private final EmployeeService employeeService;
-    private final PaymentCalculator paymentCalculator;
+    private final LaborRollupService laborRollupService;
+    private final DashboardFanOut dashboardFanOut;
 
     public EmployeeDashboardSummary getDashboardSummary(Long employeeId, Long companyId) {
 
-        //====Active Shift metrics====///
-        Shift activeShift;
+        Period currentPeriod = periodService.getCurrentPeriod(companyId);
 
-        try{
-            activeShift = shiftService.getActiveShiftSelf(employeeId);
-        }catch(ResourceNotFoundException e){
-            activeShift = null;
-        }
+        // Independent reads, run concurrently
+        DashboardFanOut.Call call = dashboardFanOut.begin("employee");
+        Supplier<ActiveWork> activeWork = call.fork("active-shift", () -> getActiveWork(employeeId));
+        Supplier<LaborTotals> currentTotals = call.fork("current-period-totals", () -> laborRollupService.getEmployeeTotals(
+                employeeId, currentPeriod.getStartDate(), currentPeriod.getEndDate()));
+
+        //====Active Shift metrics====///
+        ActiveWork activeShift = activeWork.get();
         BigDecimal hoursToday = BigDecimal.ZERO;
         BigDecimal earningsToday=BigDecimal.ZERO;
 
-        if (activeShift != null && activeShift.getClockIn() != null) {
-            LocalDateTime clockIn = activeShift.getClockIn();
+        if (activeShift != null && activeShift.clockIn() != null) {
+            LocalDateTime clockIn = activeShift.clockIn();
             LocalDateTime now = LocalDateTime.now();
             hoursToday = BigDecimal.valueOf(
                     Duration.between(clockIn, now).toMinutes()
@@ -56,19 +53,10 @@ public class EmployeeDashboardService {
         }
 
         if(hoursToday.compareTo(BigDecimal.ZERO) > 0 && activeShift!=null) {
-            earningsToday = getHourlyWage(activeShift).multiply(hoursToday);
+            earningsToday = activeShift.hourlyWage().multiply(hoursToday);
         }
 
-
-        Employee employee = employeeService.getById(employeeId,companyId);
-        Period currentPeriod = periodService.getCurrentPeriod(companyId);
-
-        List<ShiftResponseDTO> shifts =
-                shiftService.getShiftByStatusAndEmployeeIdAndStartDate(
-                        ShiftStatus.COMPLETED,
-                        employeeId,
-                        companyId,
-                        currentPeriod.getStartDate().atStartOfDay());
+        LaborTotals periodTotals = currentTotals.get();
 
         // Build the summary
         return EmployeeDashboardSummary.builder()
@@ -79,9 +67,9 @@ public class EmployeeDashboardService {
                 .periodNumber(currentPeriod.getPeriodNumber())
 
                 // Current period metrics
-                .currentPeriodHours(getCurrentPeriodHours(shifts,hoursToday))
-                .currentPeriodEarnings(getCurrentPeriodEarnings(employee,shifts,currentPeriod,earningsToday))
-                .currentPeriodShifts((shifts.size()))
+                .currentPeriodHours(getCurrentPeriodHours(periodTotals,hoursToday))
+                .currentPeriodEarnings(getCurrentPeriodEarnings(periodTotals,earningsToday))
+                .currentPeriodShifts((int) periodTotals.shiftCount())
 
                 // Today metrics
                 .todayHours(hoursToday)
@@ -89,42 +77,20 @@ public class EmployeeDashboardService {
                 .todayShifts(activeShift != null ? 1 : 0)
 
                 // Performance metrics
-                .averageHourlyRate(getAverageHourlyRate(employee,shifts, currentPeriod,hoursToday,earningsToday))
+                .averageHourlyRate(getAverageHourlyRate(periodTotals,hoursToday,earningsToday))
 
                 .build();
     }
 
     // ============= CURRENT PERIOD CALCULATIONS =============
 
-    private BigDecimal getCurrentPeriodHours(List<ShiftResponseDTO> shifts,BigDecimal hoursToday) {
-
-        BigDecimal hours = BigDecimal.ZERO;
-
-        for (ShiftResponseDTO shift : shifts) {
-            long durationInMinutes = java.time.Duration.between(
-                    shift.getClockIn(),
-                    shift.getClockOut()
-            ).toMinutes();
-
-            BigDecimal shiftHours = BigDecimal.valueOf(durationInMinutes)
-                    .divide(BigDecimal.valueOf(60), 2, RoundingMode.HALF_UP);
-
-            hours = hours.add(shiftHours);
-        }
-
-        return hours.add(hoursToday);
+    private BigDecimal getCurrentPeriodHours(LaborTotals periodTotals, BigDecimal hoursToday) {
+        return periodTotals.hours().add(hoursToday);
     }
 
 
-    private BigDecimal getCurrentPeriodEarnings(Employee employee,
-                                                List<ShiftResponseDTO> shifts,
-                                                Period currentPeriod,
-                                                BigDecimal earningsToday) {
-        Payment payment = paymentCalculator.calculateSingleEmployeePayment(employee, shifts, currentPeriod, 0L);
-
-        BigDecimal totalEarnings = payment != null && payment.getTotalEarnings() != null
-                ? payment.getTotalEarnings()
-                : BigDecimal.ZERO;
+    private BigDecimal getCurrentPeriodEarnings(LaborTotals periodTotals, BigDecimal earningsToday) {
+        BigDecimal totalEarnings = periodTotals.earnings();
 
         if (totalEarnings.compareTo(BigDecimal.ZERO) <= 0) {
             return BigDecimal.ZERO;
@@ -133,6 +99,17 @@ public class EmployeeDashboardService {
         return totalEarnings.add(earningsToday);
     }
 
+    // Resolved inside the read's transaction, the wage sits behind lazy associations
+    private ActiveWork getActiveWork(Long employeeId) {
+        Shift activeShift;
+        try{
+            activeShift = shiftService.getActiveShiftSelf(employeeId);
+        }catch(ResourceNotFoundException e){
+            return null;
+        }
+        return new ActiveWork(activeShift.getClockIn(), getHourlyWage(activeShift));
+    }
+
     private BigDecimal getHourlyWage(Shift activeShift) {
         if (activeShift.getEmployeeJob() != null) {
             BigDecimal empWage = activeShift.getEmployeeJob().getHourlyWage();
@@ -151,13 +128,11 @@ public class EmployeeDashboardService {
 
     // ============= PERFORMANCE METRICS =============
 
-    private BigDecimal getAverageHourlyRate(Employee employee,
-                                            List<ShiftResponseDTO> shifts,
-                                            Period period,
+    private BigDecimal getAverageHourlyRate(LaborTotals periodTotals,
                                             BigDecimal hoursToday,
                                             BigDecimal earningsToday) {
-        BigDecimal totalHours = getCurrentPeriodHours(shifts,hoursToday);
-        BigDecimal totalEarnings = getCurrentPeriodEarnings(employee,shifts, period, earningsToday);
+        BigDecimal totalHours = getCurrentPeriodHours(periodTotals,hoursToday);
+        BigDecimal totalEarnings = getCurrentPeriodEarnings(periodTotals, earningsToday);
 
         if (totalHours.compareTo(BigDecimal.ZERO) == 0) {
             return BigDecimal.ZERO;
@@ -170,4 +145,7 @@ public class EmployeeDashboardService {
 
     // ============= HELPERS =============
 
+    private record ActiveWork(LocalDateTime clockIn, BigDecimal hourlyWage) {
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,170 @@
+package com.timetrak.service.clock;
+
+import com.timetrak.dto.shift.ActiveShiftEntry;
+import com.timetrak.entity.Shift;
+import com.timetrak.enums.ShiftStatus;
+import com.timetrak.repository.ShiftRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory view of which employees are currently clocked in.
+ * <p>
+ * Warmed from the database at startup, updated after commit by every path that writes shifts,
+ * and periodically reconciled against the database to catch drift (manual SQL, other nodes).
+ * Only this node's writes are tracked, so an employee without an entry may have clocked in on
+ * another node since the last reconcile: a miss is always confirmed against the database, a hit
+ * is trusted. Until the first warm-up completes every lookup goes to the database.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ActiveShiftRegistry {
+
+    private final ShiftRepository shiftRepository;
+
+    private final Map<Long, ActiveShiftEntry> activeShifts = new ConcurrentHashMap<>();
+
+    // Sequence of the last local mutation per employee, so a reload never overwrites
+    // state that changed while the database snapshot was being read.
+    private final Map<Long, Long> lastMutation = new ConcurrentHashMap<>();
+    private final AtomicLong mutationSequence = new AtomicLong();
+
+    private volatile boolean warmed;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        int loaded = reload();
+        warmed = true;
+        log.info("Active shift registry warmed with {} active shifts", loaded);
+    }
+
+    @Scheduled(fixedDelayString = "${clock.active-shift-registry.reconcile-interval-ms:300000}",
+            initialDelayString = "${clock.active-shift-registry.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        if (!warmed) {
+            return;
+        }
+        int drift = reload();
+        if (drift > 0) {
+            log.warn("Active shift registry reconciled {} drifted entries", drift);
+        }
+    }
+
+    public boolean isClockedIn(Long employeeId) {
+        return find(employeeId).isPresent();
+    }
+
+    /**
+     * Returns the active shift of the employee, read from the database when the registry has no
+     * entry for it. The database answer is not cached; the next reconcile picks it up.
+     */
+    public Optional<ActiveShiftEntry> find(Long employeeId) {
+        ActiveShiftEntry entry = warmed ? activeShifts.get(employeeId) : null;
+        return entry != null ? Optional.of(entry) : shiftRepository.findActiveShiftEntryByEmployeeId(employeeId);
+    }
+
+    public boolean isWarmed() {
+        return warmed;
+    }
+
+    /**
+     * Records the current state of a persisted shift. When called inside a transaction the
+     * change is applied only after commit, so a rollback never leaves a phantom entry.
+     */
+    public void track(Shift shift) {
+        Long employeeId = shift.getEmployee().getId();
+        Long shiftId = shift.getId();
+        boolean active = shift.getStatus() == ShiftStatus.ACTIVE && !shift.isDeleted();
+        ActiveShiftEntry entry = new ActiveShiftEntry(employeeId, shiftId, shift.getClockIn());
+
+        afterCommit(() -> apply(employeeId, shiftId, active ? entry : null));
+    }
+
+    public void trackAll(List<Shift> shifts) {
+        shifts.forEach(this::track);
+    }
+
+    /**
+     * Records that a shift was completed by a write that did not go through the entity,
+     * such as a bulk clock-out. Applied after commit like {@link #track(Shift)}.
+     */
+    public void release(Long employeeId, Long shiftId) {
+        afterCommit(() -> apply(employeeId, shiftId, null));
+    }
+
+    // The mutation is sequenced before the entry changes, and under the same key lock reload()
+    // writes with, so a reload that read the database earlier can never overwrite it.
+    private void apply(Long employeeId, Long shiftId, ActiveShiftEntry entry) {
+        activeShifts.compute(employeeId, (id, current) -> {
+            lastMutation.put(id, mutationSequence.incrementAndGet());
+            if (entry != null) {
+                return entry;
+            }
+            return current != null && !Objects.equals(current.shiftId(), shiftId) ? current : null;
+        });
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Replaces registry state with the database view, skipping employees mutated locally
+     * since the snapshot started. Returns the number of entries that had to change.
+     */
+    private synchronized int reload() {
+        long snapshotSequence = mutationSequence.get();
+
+        Map<Long, ActiveShiftEntry> persisted = new HashMap<>();
+        for (ActiveShiftEntry entry : shiftRepository.findAllActiveShiftEntries()) {
+            persisted.put(entry.employeeId(), entry);
+        }
+
+        Set<Long> employeeIds = new HashSet<>(persisted.keySet());
+        employeeIds.addAll(activeShifts.keySet());
+
+        Set<Long> drifted = new HashSet<>();
+        for (Long employeeId : employeeIds) {
+            ActiveShiftEntry expected = persisted.get(employeeId);
+            activeShifts.compute(employeeId, (id, current) -> {
+                if (lastMutation.getOrDefault(id, 0L) > snapshotSequence || Objects.equals(expected, current)) {
+                    return current;
+                }
+                if (warmed) {
+                    log.warn("Active shift drift for employee {}: registry={}, database={}", id, current, expected);
+                }
+                drifted.add(id);
+                return expected;
+            });
+        }
+
+        lastMutation.values().removeIf(sequence -> sequence <= snapshotSequence);
+        return warmed ? drifted.size() : persisted.size();
+    }
+}
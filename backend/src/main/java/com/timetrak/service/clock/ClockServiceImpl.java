@@ -6,6 +6,8 @@ import com.timetrak.dto.employeeJob.EmployeeJobResponseDTO;
 import com.timetrak.dto.clock.ClockFailureResponse;
 import com.timetrak.dto.clock.ClockResponseDTO;
 import com.timetrak.dto.employee.EmployeeResponseDTO;
+import com.timetrak.dto.shift.ClockOutCandidate;
+import com.timetrak.dto.shift.ClosedShift;
 import com.timetrak.dto.shift.ShiftResponseDTO;
 import com.timetrak.entity.EmployeeJob;
 import com.timetrak.entity.Shift;
@@ -14,20 +16,31 @@ import com.timetrak.enums.ClockAction;
 import com.timetrak.enums.ShiftStatus;
 import com.timetrak.exception.InvalidOperationException;
 import com.timetrak.mapper.ShiftMapper;
+import com.timetrak.repository.ShiftJdbcRepository;
 import com.timetrak.repository.ShiftRepository;
+import com.timetrak.service.clock.pipeline.ClockEventPipeline;
 import com.timetrak.service.employeeJob.EmployeeJobQueryService;
+import com.timetrak.service.report.ReportDataChangedEvent;
 import com.timetrak.service.employee.EmployeeService;
+import com.timetrak.service.shift.LaborRollupService;
 import com.timetrak.service.shift.LocationService;
 import com.timetrak.service.shift.ShiftService;
+import com.timetrak.service.shift.board.ShiftActivityEvent;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 import static com.timetrak.constant.ClockConstants.*;
+import static com.timetrak.misc.DataIntegrityHelper.isSingleActiveShiftViolation;
 
 @Service
 @Slf4j
@@ -35,50 +48,70 @@ import static com.timetrak.constant.ClockConstants.*;
 public class ClockServiceImpl implements ClockService {
 
     private final ShiftRepository shiftRepository;
+    private final ShiftJdbcRepository shiftJdbcRepository;
     private final ShiftMapper shiftMapper;
     private final EmployeeJobQueryService employeeJobQueryService;
     private final ShiftService shiftService;
     private final ClockValidator validator;
     private final EmployeeService employeeService;
     private final LocationService locationService;
+    private final ActiveShiftRegistry activeShiftRegistry;
+    private final ClockEventPipeline clockEventPipeline;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LaborRollupService laborRollupService;
 
     @Override
     @Transactional
     public ClockResponseDTO adminClockIn(AdminClockRequestDTO request) {
         validator.validateClockInRequest(request);
 
-        List<EmployeeJobResponseDTO> employeeJobs = employeeJobQueryService.getEmployeeJobsInfoByIds(request.getIds());
+        // Set-based: one query for the assignments (employee, job and company fetched) and one
+        // JDBC batch for the inserts. Employees already on a shift are rejected by the
+        // single-active-shift index, so there is no clock-state pre-check.
+        List<EmployeeJob> employeeJobs = employeeJobQueryService.getEmployeeJobsByIds(request.getIds());
+        Set<Long> requested = new HashSet<>();
+        LocalDateTime clockInTime = request.getTime() != null ? request.getTime() : LocalDateTime.now();
+
         List<ClockFailureResponse> failed = new ArrayList<>();
         List<Shift> shiftsToSave = new ArrayList<>();
 
-        for (EmployeeJobResponseDTO empJob : employeeJobs) {
+        for (EmployeeJob employeeJob : employeeJobs) {
+            Long employeeId = employeeJob.getEmployee().getId();
             try {
-                if (!canEmployeeClockIn(empJob.getEmployeeId())) {
-                    failed.add(buildClockFailure(empJob, ClockErrorCode.ALREADY_CLOCKED_IN.getDefaultMessage(), ClockErrorCode.ALREADY_CLOCKED_IN));
+                // A second job for the same employee within this request
+                if (!requested.add(employeeId)) {
+                    failed.add(buildClockFailure(employeeJob, ClockErrorCode.ALREADY_CLOCKED_IN.getDefaultMessage(), ClockErrorCode.ALREADY_CLOCKED_IN));
                     continue;
                 }
 
-                EmployeeJob employeeJob = employeeJobQueryService.getEmployeeJobById(empJob.getEmployeeJobId(), empJob.getCompanyId());
                 validator.validateEmployeeJobActive(employeeJob);
 
                 Shift shift = Shift.builder()
-                        .clockIn(request.getTime() != null ? request.getTime() : LocalDateTime.now())
+                        .clockIn(clockInTime)
                         .employeeJob(employeeJob)
                         .employee(employeeJob.getEmployee())
-                        .companyId(empJob.getCompanyId())
+                        .companyId(employeeJob.getEmployee().getCompany().getId())
                         .status(ShiftStatus.ACTIVE)
                         .build();
 
                 shiftsToSave.add(shift);
 
             } catch (Exception e) {
-                log.error("Failed to clock in employee: {} - {}", empJob.getEmployeeName(), e.getMessage(), e);
-                failed.add(buildClockFailure(empJob, e.getMessage(), ClockErrorCode.CLOCK_IN_ERROR));
+                log.error("Failed to clock in employee: {} - {}", employeeJob.getEmployeeFullName(), e.getMessage(), e);
+                failed.add(buildClockFailure(employeeJob, e.getMessage(), ClockErrorCode.CLOCK_IN_ERROR));
             }
         }
 
+        List<Shift> savedShifts = shiftJdbcRepository.insertAll(shiftsToSave);
+        activeShiftRegistry.trackAll(savedShifts);
+        ReportDataChangedEvent.ofShifts(savedShifts).forEach(eventPublisher::publishEvent);
+        eventPublisher.publishEvent(ShiftActivityEvent.ofShifts(savedShifts));
+        List<ShiftResponseDTO> successful = new ArrayList<>(shiftMapper.toDTOList(savedShifts));
 
-        List<ShiftResponseDTO> successful = new ArrayList<>(shiftMapper.toDTOList(shiftRepository.saveAll(shiftsToSave)));
+        // Rows skipped by ON CONFLICT never received an id
+        shiftsToSave.stream()
+                .filter(shift -> shift.getId() == null)
+                .forEach(shift -> failed.add(buildClockFailure(shift.getEmployeeJob(), ClockErrorCode.ALREADY_CLOCKED_IN.getDefaultMessage(), ClockErrorCode.ALREADY_CLOCKED_IN)));
 
         ClockResponseDTO response = ClockResponseDTO.builder()
                 .totalProcessed(employeeJobs.size())
@@ -104,33 +137,37 @@ public class ClockServiceImpl implements ClockService {
     public ClockResponseDTO adminClockOut(AdminClockRequestDTO request) {
         validator.validateClockOutRequest(request);
 
+        LocalDateTime clockOutTime = request.getTime() != null ? request.getTime() : LocalDateTime.now();
+        Set<Long> employeeIds = new LinkedHashSet<>(request.getIds());
+
+        // One UPDATE ... RETURNING closes every eligible shift; the time rules are applied in SQL
+        List<ClosedShift> closed = shiftJdbcRepository.closeActiveShifts(employeeIds, clockOutTime);
+        List<ShiftResponseDTO> successful = new ArrayList<>(closed.stream().map(ClosedShift::shift).toList());
+        successful.forEach(shift -> {
+            activeShiftRegistry.release(shift.getEmployeeId(), shift.getId());
+            employeeIds.remove(shift.getEmployeeId());
+        });
+        laborRollupService.shiftsWritten(successful.stream().map(ShiftResponseDTO::getId).toList());
+        eventPublisher.publishEvent(new ShiftActivityEvent(successful.stream().map(ShiftResponseDTO::getId).toList()));
+        ReportDataChangedEvent.ofClosedShifts(closed).forEach(eventPublisher::publishEvent);
+
+        // Whatever is left either has no active shift or failed a time rule
         List<ClockFailureResponse> failed = new ArrayList<>();
-        List<Shift> shiftsToSave = new ArrayList<>();
-
-        for (Long employeeId : request.getIds()) {
+        for (ClockOutCandidate candidate : shiftJdbcRepository.findClockOutCandidates(employeeIds)) {
+            if (candidate.activeClockIn() == null) {
+                failed.add(buildClockOutFailure(candidate.employeeId(), candidate.fullName(), ClockErrorCode.NO_ACTIVE_SHIFT.getDefaultMessage(), ClockErrorCode.NO_ACTIVE_SHIFT));
+                continue;
+            }
             try {
-                if (!canEmployeeClockOut(employeeId)) {
-                    String employeeName = getEmployeeNameSafely(employeeId);
-                    failed.add(buildClockOutFailure(employeeId, employeeName, ClockErrorCode.NO_ACTIVE_SHIFT.getDefaultMessage(), ClockErrorCode.NO_ACTIVE_SHIFT));
-                    continue;
-                }
-
-                Shift shift = shiftService.getActiveShiftSelf(employeeId);
-                LocalDateTime clockOutTime = request.getTime() != null ? request.getTime() : LocalDateTime.now();
-
-                validator.validateClockOutTime(shift.getClockIn(), clockOutTime);
-                shift.setClockOut(clockOutTime);
-                shift.setStatus(ShiftStatus.COMPLETED);
-                shiftsToSave.add(shift);
+                validator.validateClockOutTime(candidate.activeClockIn(), clockOutTime);
+                // Passed the rules but was not closed: clocked in or out concurrently
+                failed.add(buildClockOutFailure(candidate.employeeId(), candidate.fullName(), "Active shift changed during clock-out, please retry", ClockErrorCode.CLOCK_OUT_ERROR));
             } catch (Exception e) {
-                log.error("Failed to clock out employee ID: {} - {}", employeeId, e.getMessage(), e);
-                String employeeName = getEmployeeNameSafely(employeeId);
-                failed.add(buildClockOutFailure(employeeId, employeeName, e.getMessage(), ClockErrorCode.CLOCK_OUT_ERROR));
+                log.error("Failed to clock out employee ID: {} - {}", candidate.employeeId(), e.getMessage());
+                failed.add(buildClockOutFailure(candidate.employeeId(), candidate.fullName(), e.getMessage(), ClockErrorCode.CLOCK_OUT_ERROR));
             }
         }
 
-        List<ShiftResponseDTO> successful = new ArrayList<>(shiftMapper.toDTOList(shiftRepository.saveAll(shiftsToSave)));
-
         ClockResponseDTO response = ClockResponseDTO.builder()
                 .totalProcessed(request.getIds().size())
                 .successCount(successful.size())
@@ -154,25 +191,29 @@ public class ClockServiceImpl implements ClockService {
     @Override
     public ShiftResponseDTO employeeClockIn(EmployeeClockRequestDTO request, Long companyId) {
         try {
-            validateInRadius(request.getLatitude(), request.getLongitude(),companyId);
+            Long siteId = resolveClockSite(request.getLatitude(), request.getLongitude(),companyId);
 
             EmployeeJob employeeJob = employeeJobQueryService.getEmployeeJobById(request.getId(), companyId);
 
-            if (!canEmployeeClockIn(employeeJob.getEmployee().getId())) {
-                throw new InvalidOperationException(ALREADY_CLOCKED_IN);
-            }
-
             validator.validateEmployeeJobActive(employeeJob);
 
+            if (clockEventPipeline.isEnabled()) {
+                return clockEventPipeline.clockIn(employeeJob, companyId, siteId);
+            }
+
             Shift shift = Shift.builder()
                     .clockIn(LocalDateTime.now()) // System always uses current time
                     .employeeJob(employeeJob)
                     .employee(employeeJob.getEmployee())
                     .companyId(companyId)
+                    .siteId(siteId)
                     .status(ShiftStatus.ACTIVE)
                     .build();
 
-            Shift savedShift = shiftRepository.save(shift);
+            Shift savedShift = insertActiveShift(shift);
+            activeShiftRegistry.track(savedShift);
+            eventPublisher.publishEvent(ReportDataChangedEvent.ofDay(savedShift.getCompanyId(), savedShift.getClockIn()));
+            eventPublisher.publishEvent(ShiftActivityEvent.of(savedShift.getId()));
 
             return shiftMapper.toDTO(savedShift);
 
@@ -183,17 +224,22 @@ public class ClockServiceImpl implements ClockService {
     }
 
     @Override
+    @Transactional
     public ShiftResponseDTO employeeClockOut(EmployeeClockRequestDTO request, Long companyId) {
         try {
             validateInRadius(request.getLatitude(), request.getLongitude(),companyId);
 
             Long employeeId = request.getId();
 
+            if (clockEventPipeline.isEnabled()) {
+                return clockEventPipeline.clockOut(employeeId, companyId);
+            }
+
             if (!canEmployeeClockOut(employeeId)) {
                 throw new InvalidOperationException(NOT_CLOCKED_IN);
             }
 
-            Shift activeShift = shiftService.getActiveShiftSelf(employeeId);
+            Shift activeShift = loadActiveShift(employeeId);
 
             LocalDateTime clockOutTime = LocalDateTime.now();
 
@@ -201,7 +247,12 @@ public class ClockServiceImpl implements ClockService {
 
             activeShift.setClockOut(clockOutTime);
             activeShift.setStatus(ShiftStatus.COMPLETED);
-            Shift savedShift = shiftRepository.save(activeShift);
+            // Flushed so the rollup, computed in SQL, sees the clock-out
+            Shift savedShift = shiftRepository.saveAndFlush(activeShift);
+            activeShiftRegistry.track(savedShift);
+            laborRollupService.shiftsWritten(List.of(savedShift.getId()));
+            eventPublisher.publishEvent(ReportDataChangedEvent.ofDay(savedShift.getCompanyId(), savedShift.getClockIn()));
+            eventPublisher.publishEvent(ShiftActivityEvent.of(savedShift.getId()));
 
             return shiftMapper.toDTO(savedShift);
 
@@ -219,25 +270,29 @@ public class ClockServiceImpl implements ClockService {
         try {
 
             EmployeeJobResponseDTO empJob = employeeJobQueryService.getEmployeeJobKiosk(request.getId());
-            validateInRadius(request.getLatitude(), request.getLongitude(),empJob.getCompanyId());
-
-            if (!canEmployeeClockIn(empJob.getEmployeeId())) {
-                throw new InvalidOperationException(ALREADY_CLOCKED_IN);
-            }
+            Long siteId = resolveClockSite(request.getLatitude(), request.getLongitude(),empJob.getCompanyId());
 
             EmployeeJob employeeJob = employeeJobQueryService.getEmployeeJobById(empJob.getEmployeeJobId(), empJob.getCompanyId());
 
             validator.validateEmployeeJobActive(employeeJob);
 
+            if (clockEventPipeline.isEnabled()) {
+                return clockEventPipeline.clockIn(employeeJob, empJob.getCompanyId(), siteId);
+            }
+
             Shift shift = Shift.builder()
                     .clockIn(LocalDateTime.now()) // Kiosk always uses current time
                     .employeeJob(employeeJob)
                     .employee(employeeJob.getEmployee())
                     .companyId(empJob.getCompanyId())
+                    .siteId(siteId)
                     .status(ShiftStatus.ACTIVE)
                     .build();
 
-            Shift savedShift = shiftRepository.save(shift);
+            Shift savedShift = insertActiveShift(shift);
+            activeShiftRegistry.track(savedShift);
+            eventPublisher.publishEvent(ReportDataChangedEvent.ofDay(savedShift.getCompanyId(), savedShift.getClockIn()));
+            eventPublisher.publishEvent(ShiftActivityEvent.of(savedShift.getId()));
 
             return shiftMapper.toDTO(savedShift);
 
@@ -251,17 +306,22 @@ public class ClockServiceImpl implements ClockService {
     }
 
     @Override
+    @Transactional
     public ShiftResponseDTO kioskClockOut(EmployeeClockRequestDTO request) {
         try {
             EmployeeResponseDTO employee =  employeeService.getEmployeeDTOById(request.getId());
 
             validateInRadius(request.getLatitude(), request.getLongitude(),employee.getCompanyId());
 
+            if (clockEventPipeline.isEnabled()) {
+                return clockEventPipeline.clockOut(employee.getId(), employee.getCompanyId());
+            }
+
             if (!canEmployeeClockOut(employee.getId())) {
                 throw new InvalidOperationException(NOT_CLOCKED_IN);
             }
 
-            Shift activeShift = shiftService.getActiveShiftSelf(employee.getId());
+            Shift activeShift = loadActiveShift(employee.getId());
 
             LocalDateTime clockOutTime = LocalDateTime.now();
 
@@ -270,8 +330,12 @@ public class ClockServiceImpl implements ClockService {
             activeShift.setClockOut(clockOutTime);
 
             activeShift.setStatus(ShiftStatus.COMPLETED);
-
-            Shift savedShift = shiftRepository.save(activeShift);
+            // Flushed so the rollup, computed in SQL, sees the clock-out
+            Shift savedShift = shiftRepository.saveAndFlush(activeShift);
+            activeShiftRegistry.track(savedShift);
+            laborRollupService.shiftsWritten(List.of(savedShift.getId()));
+            eventPublisher.publishEvent(ReportDataChangedEvent.ofDay(savedShift.getCompanyId(), savedShift.getClockIn()));
+            eventPublisher.publishEvent(ShiftActivityEvent.of(savedShift.getId()));
 
             return shiftMapper.toDTO(savedShift);
 
@@ -286,40 +350,50 @@ public class ClockServiceImpl implements ClockService {
 
     @Override
     public ClockAction determineAction(Long employeeId) {
-        boolean canClockIn = canEmployeeClockIn(employeeId);
-        boolean canClockOut = canEmployeeClockOut(employeeId);
-        ClockAction action;
-
-        if (canClockOut) {
-            action = ClockAction.CLOCK_OUT;
-        } else if (canClockIn) {
-            action = ClockAction.CLOCK_IN;
-        } else {
-            log.warn("Cannot determine action for employee {}",
-                    employeeId);
-            action = ClockAction.UNAVAILABLE;
-        }
-        return action;
+        // Single in-memory lookup: an employee is either on an active shift or free to start one
+        return isClockedIn(employeeId) ? ClockAction.CLOCK_OUT : ClockAction.CLOCK_IN;
     }
 
     @Override
     public boolean canEmployeeClockIn(Long employeeId) {
-        long activeShifts = shiftRepository.countActiveShiftsByEmployeeId(ShiftStatus.ACTIVE, employeeId);
-        return activeShifts == 0;
+        return !isClockedIn(employeeId);
     }
 
     @Override
     public boolean canEmployeeClockOut(Long employeeId) {
-        long activeShifts = shiftRepository.countActiveShiftsByEmployeeId(ShiftStatus.ACTIVE, employeeId);
-        return activeShifts > 0;
+        return isClockedIn(employeeId);
+    }
+
+    // Events still in the clock pipeline are newer than anything the registry has seen
+    private boolean isClockedIn(Long employeeId) {
+        return clockEventPipeline.findPendingAction(employeeId)
+                .map(action -> action == ClockAction.CLOCK_IN)
+                .orElseGet(() -> activeShiftRegistry.isClockedIn(employeeId));
+    }
+
+    /**
+     * Resolves the active shift through the registry's shift id (primary key lookup),
+     * falling back to the status query when the registry is cold or out of date.
+     */
+    private Shift loadActiveShift(Long employeeId) {
+        return activeShiftRegistry.find(employeeId)
+                .flatMap(entry -> shiftRepository.findById(entry.shiftId()))
+                .filter(shift -> shift.getStatus() == ShiftStatus.ACTIVE && !shift.isDeleted())
+                .orElseGet(() -> shiftService.getActiveShiftSelf(employeeId));
     }
 
-    private String getEmployeeNameSafely(Long employeeId) {
+    /**
+     * Single INSERT guarded by the single-active-shift index; a concurrent or repeated
+     * clock-in surfaces as ALREADY_CLOCKED_IN instead of a duplicate shift.
+     */
+    private Shift insertActiveShift(Shift shift) {
         try {
-            return employeeService.getEmployeeNameById(employeeId);
-        } catch (Exception e) {
-            log.warn("Failed to retrieve employee name for ID: {} - {}", employeeId, e.getMessage());
-            return "Unknown Employee (ID: " + employeeId + ")";
+            return shiftRepository.save(shift);
+        } catch (DataIntegrityViolationException e) {
+            if (isSingleActiveShiftViolation(e)) {
+                throw new InvalidOperationException(ALREADY_CLOCKED_IN);
+            }
+            throw e;
         }
     }
 
@@ -335,20 +409,28 @@ public class ClockServiceImpl implements ClockService {
     }
 
     private ClockFailureResponse buildClockFailure(
-            EmployeeJobResponseDTO empJobResponse, String errorMessage, ClockErrorCode errorCode) {
+            EmployeeJob employeeJob, String errorMessage, ClockErrorCode errorCode) {
         return ClockFailureResponse.builder()
-                .employeeId(empJobResponse.getEmployeeId())
-                .employeeJobId(empJobResponse.getEmployeeJobId())
-                .jobTitle(empJobResponse.getJobTitle())
+                .employeeId(employeeJob.getEmployee().getId())
+                .employeeJobId(employeeJob.getId())
+                .jobTitle(employeeJob.getJobTitle())
                 .errorMessage(errorMessage)
                 .errorCode(errorCode.name())
                 .build();
     }
 
     private void validateInRadius(Double lat, Double lng, Long companyId){
-        if(!locationService.isWithinAllowedRadius(lat,lng,companyId)) {
-            throw new IllegalArgumentException(OUT_OF_RADIUS);
-        }
+        resolveClockSite(lat, lng, companyId);
+    }
+
+    /**
+     * Returns the company site containing the point (null for companies without sites),
+     * or rejects the operation when the point is outside every allowed area.
+     */
+    private Long resolveClockSite(Double lat, Double lng, Long companyId){
+        return locationService.resolveClockLocation(lat, lng, companyId)
+                .orElseThrow(() -> new IllegalArgumentException(OUT_OF_RADIUS))
+                .siteId();
     }
 
 
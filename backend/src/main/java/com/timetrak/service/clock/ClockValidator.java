@@ -38,7 +38,7 @@ public class ClockValidator {
         }
     }
 
-    private void validateTimeNotInFuture(LocalDateTime time, String errorMessage) {
+    void validateTimeNotInFuture(LocalDateTime time, String errorMessage) {
         if (time != null && time.isAfter(LocalDateTime.now().plusMinutes(5))) {
             throw new InvalidOperationException(errorMessage);
         }
@@ -50,7 +50,7 @@ public class ClockValidator {
         }
     }
 
-    void validateClockOutTime(LocalDateTime clockIn, LocalDateTime clockOut) {
+    public void validateClockOutTime(LocalDateTime clockIn, LocalDateTime clockOut) {
         if (clockOut.isBefore(clockIn)) {
             throw new InvalidOperationException("Clock out time cannot be before clock in time");
         }
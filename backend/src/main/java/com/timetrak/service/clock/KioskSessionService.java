@@ -0,0 +1,7 @@
+package com.timetrak.service.clock;
+
+import com.timetrak.dto.clock.KioskSessionDTO;
+
+public interface KioskSessionService {
+    KioskSessionDTO getSession(String username);
+}
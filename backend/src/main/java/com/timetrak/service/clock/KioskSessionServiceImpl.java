@@ -0,0 +1,44 @@
+package com.timetrak.service.clock;
+
+import com.timetrak.dto.clock.KioskSessionDTO;
+import com.timetrak.entity.Employee;
+import com.timetrak.exception.employee.EmployeeNotFoundException;
+import com.timetrak.mapper.EmployeeJobMapper;
+import com.timetrak.mapper.EmployeeMapper;
+import com.timetrak.repository.EmployeeJobRepository;
+import com.timetrak.repository.EmployeeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Builds the kiosk session in two queries (employee with company and department, then jobs
+ * with job and department) plus the in-memory clock state, instead of one round trip per
+ * kiosk screen each repeating the username lookup.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class KioskSessionServiceImpl implements KioskSessionService {
+
+    private final EmployeeRepository employeeRepository;
+    private final EmployeeJobRepository employeeJobRepository;
+    private final EmployeeMapper employeeMapper;
+    private final EmployeeJobMapper employeeJobMapper;
+    private final ClockService clockService;
+
+    @Override
+    @Transactional(readOnly = true)
+    public KioskSessionDTO getSession(String username) {
+        Employee employee = employeeRepository.findActiveByUsernameWithDetails(username.toLowerCase())
+                .orElseThrow(() -> new EmployeeNotFoundException("Employee is not active or doesnt exist " + username));
+
+        log.debug("Building kiosk session for employee ID: {}", employee.getId());
+        return KioskSessionDTO.builder()
+                .employee(employeeMapper.toDTO(employee))
+                .jobs(employeeJobMapper.toDTOList(employeeJobRepository.findActiveWithJobByEmployeeId(employee.getId())))
+                .nextAction(clockService.determineAction(employee.getId()))
+                .build();
+    }
+}
@@ -0,0 +1,8 @@
+package com.timetrak.service.clock;
+
+import com.timetrak.dto.clock.KioskSyncRequestDTO;
+import com.timetrak.dto.clock.KioskSyncResponseDTO;
+
+public interface KioskSyncService {
+    KioskSyncResponseDTO sync(KioskSyncRequestDTO request);
+}
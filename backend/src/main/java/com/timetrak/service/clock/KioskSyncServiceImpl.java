@@ -0,0 +1,424 @@
+package com.timetrak.service.clock;
+
+import com.timetrak.dto.clock.KioskClockEventDTO;
+import com.timetrak.dto.clock.KioskSyncEventResult;
+import com.timetrak.dto.clock.KioskSyncRequestDTO;
+import com.timetrak.dto.clock.KioskSyncResponseDTO;
+import com.timetrak.dto.shift.ShiftInterval;
+import com.timetrak.dto.shift.ShiftResponseDTO;
+import com.timetrak.entity.EmployeeJob;
+import com.timetrak.entity.Shift;
+import com.timetrak.enums.ClockAction;
+import com.timetrak.enums.ClockErrorCode;
+import com.timetrak.enums.ShiftStatus;
+import com.timetrak.enums.SyncEventStatus;
+import com.timetrak.exception.InvalidOperationException;
+import com.timetrak.mapper.ShiftMapper;
+import com.timetrak.repository.KioskSyncEventJdbcRepository;
+import com.timetrak.repository.KioskSyncEventJdbcRepository.SyncEventKey;
+import com.timetrak.repository.PaymentRepository;
+import com.timetrak.repository.ShiftJdbcRepository;
+import com.timetrak.repository.ShiftRepository;
+import com.timetrak.service.clock.idempotency.IdempotencyStore;
+import com.timetrak.service.employeeJob.EmployeeJobQueryService;
+import com.timetrak.service.report.ReportDataChangedEvent;
+import com.timetrak.service.shift.LaborRollupService;
+import com.timetrak.service.shift.LocationService;
+import com.timetrak.service.shift.board.ShiftActivityEvent;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.timetrak.constant.ClockConstants.*;
+
+/**
+ * Replays clock events a kiosk captured while offline.
+ * <p>
+ * Events are grouped per employee, de-duplicated by client event id and replayed in event-time
+ * order through the same rules as the live kiosk endpoints, starting from the employee's
+ * current active shift. All resulting writes go out as JDBC batches in one transaction.
+ * <p>
+ * Client event ids are only unique per employee, so every key below includes the employee id.
+ * Each event is claimed in {@code kiosk_sync_event} in that transaction, so a re-sent event
+ * stays a duplicate across restarts and concurrent syncs; the {@link IdempotencyStore} only
+ * remembers the shift to answer duplicates with.
+ * <p>
+ * Events older than {@code kiosk.sync.max-event-age-days}, or dated inside an already calculated
+ * pay period, are rejected, as is any shift the replay would make overlap an existing one.
+ */
+@Service
+@Slf4j
+public class KioskSyncServiceImpl implements KioskSyncService {
+
+    private static final String SYNC_SCOPE = "kiosk:sync:";
+
+    private final ShiftRepository shiftRepository;
+    private final ShiftJdbcRepository shiftJdbcRepository;
+    private final KioskSyncEventJdbcRepository syncEventRepository;
+    private final ShiftMapper shiftMapper;
+    private final EmployeeJobQueryService employeeJobQueryService;
+    private final LocationService locationService;
+    private final ClockValidator validator;
+    private final ActiveShiftRegistry activeShiftRegistry;
+    private final IdempotencyStore idempotencyStore;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LaborRollupService laborRollupService;
+    private final PaymentRepository paymentRepository;
+    private final long maxEventAgeDays;
+
+    public KioskSyncServiceImpl(ShiftRepository shiftRepository,
+                                ShiftJdbcRepository shiftJdbcRepository,
+                                KioskSyncEventJdbcRepository syncEventRepository,
+                                ShiftMapper shiftMapper,
+                                EmployeeJobQueryService employeeJobQueryService,
+                                LocationService locationService,
+                                ClockValidator validator,
+                                ActiveShiftRegistry activeShiftRegistry,
+                                IdempotencyStore idempotencyStore,
+                                ApplicationEventPublisher eventPublisher,
+                                LaborRollupService laborRollupService,
+                                PaymentRepository paymentRepository,
+                                @Value("${kiosk.sync.max-event-age-days:7}") long maxEventAgeDays) {
+        this.shiftRepository = shiftRepository;
+        this.shiftJdbcRepository = shiftJdbcRepository;
+        this.syncEventRepository = syncEventRepository;
+        this.shiftMapper = shiftMapper;
+        this.employeeJobQueryService = employeeJobQueryService;
+        this.locationService = locationService;
+        this.validator = validator;
+        this.activeShiftRegistry = activeShiftRegistry;
+        this.idempotencyStore = idempotencyStore;
+        this.eventPublisher = eventPublisher;
+        this.laborRollupService = laborRollupService;
+        this.paymentRepository = paymentRepository;
+        this.maxEventAgeDays = maxEventAgeDays;
+    }
+
+    @Override
+    @Transactional
+    public KioskSyncResponseDTO sync(KioskSyncRequestDTO request) {
+        List<KioskClockEventDTO> events = request.getEvents();
+        KioskSyncEventResult[] results = new KioskSyncEventResult[events.size()];
+
+        // Preload everything the replay needs: the clocked-in jobs and every involved employee's active shift
+        Map<Long, EmployeeJob> employeeJobs = employeeJobQueryService.getEmployeeJobsByIds(
+                        events.stream()
+                                .filter(event -> event.getAction() == ClockAction.CLOCK_IN)
+                                .map(KioskClockEventDTO::getId)
+                                .distinct()
+                                .toList())
+                .stream()
+                .collect(Collectors.toMap(EmployeeJob::getId, Function.identity()));
+
+        Map<Long, List<Integer>> eventsByEmployee = deduplicate(events, employeeJobs, results);
+        claim(events, eventsByEmployee, results);
+
+        Map<Long, Shift> activeShifts = new HashMap<>();
+        Map<Long, List<ShiftInterval>> completedShifts = new HashMap<>();
+        Map<Long, LocalDate> paidThrough = new HashMap<>();
+        if (!eventsByEmployee.isEmpty()) {
+            shiftRepository.findActiveShiftsWithDetailsByEmployeeIds(eventsByEmployee.keySet())
+                    .forEach(shift -> activeShifts.putIfAbsent(shift.getEmployee().getId(), shift));
+            // Every shift the replay can create or close starts at or after this point
+            LocalDateTime earliest = Stream.concat(
+                            eventsByEmployee.values().stream().flatMap(List::stream).map(index -> events.get(index).getOccurredAt()),
+                            activeShifts.values().stream().map(Shift::getClockIn))
+                    .min(Comparator.naturalOrder())
+                    .orElseThrow();
+            shiftRepository.findCompletedIntervalsByEmployeeIdsEndingAfter(eventsByEmployee.keySet(), earliest)
+                    .forEach(interval -> completedShifts.computeIfAbsent(interval.employeeId(), id -> new ArrayList<>()).add(interval));
+            paymentRepository.findPaidThroughByEmployeeIds(eventsByEmployee.keySet())
+                    .forEach(paid -> paidThrough.put(paid.employeeId(), paid.paidThrough()));
+        }
+
+        List<Shift> toInsert = new ArrayList<>();
+        List<Shift> toComplete = new ArrayList<>();
+        Map<Integer, Shift> accepted = new HashMap<>();
+
+        for (Map.Entry<Long, List<Integer>> entry : eventsByEmployee.entrySet()) {
+            List<Integer> ordered = new ArrayList<>(entry.getValue());
+            ordered.sort(Comparator.comparing((Integer index) -> events.get(index).getOccurredAt())
+                    .thenComparing(Comparator.naturalOrder()));
+
+            List<ShiftInterval> completed = completedShifts.getOrDefault(entry.getKey(), List.of());
+            LocalDate employeePaidThrough = paidThrough.get(entry.getKey());
+            List<Shift> opened = new ArrayList<>();
+            Shift current = activeShifts.get(entry.getKey());
+            for (int index : ordered) {
+                KioskClockEventDTO event = events.get(index);
+                try {
+                    validateReplayable(event, employeePaidThrough);
+                    Shift touched = replay(event, current, employeeJobs, completed, toInsert, toComplete);
+                    accepted.put(index, touched);
+                    if (event.getAction() == ClockAction.CLOCK_IN) {
+                        opened.add(touched);
+                        current = touched;
+                    } else {
+                        current = null;
+                    }
+                } catch (InvalidOperationException | IllegalArgumentException e) {
+                    results[index] = rejected(event, errorCodeOf(event), e.getMessage());
+                }
+            }
+
+            // A shift opened in this batch only has its final span once its clock-out, if any, is replayed
+            for (Shift shift : opened) {
+                if (overlapsAny(completed, shift.getClockIn(), shift.getClockOut())) {
+                    toInsert.removeIf(candidate -> candidate == shift);
+                    accepted.entrySet().removeIf(replayed -> {
+                        if (replayed.getValue() != shift) {
+                            return false;
+                        }
+                        KioskClockEventDTO event = events.get(replayed.getKey());
+                        results[replayed.getKey()] = rejected(event, errorCodeOf(event), SYNC_OVERLAPPING_SHIFT_MSG);
+                        return true;
+                    });
+                }
+            }
+        }
+
+        // Clock-outs of existing shifts first, so a clock-in later in the batch does not hit the single-active index
+        Set<Shift> written = Collections.newSetFromMap(new IdentityHashMap<>());
+        written.addAll(shiftJdbcRepository.completeAll(toComplete));
+        written.addAll(shiftJdbcRepository.insertAll(toInsert));
+        activeShiftRegistry.trackAll(new ArrayList<>(written));
+        laborRollupService.shiftsWritten(written.stream().map(Shift::getId).toList());
+        ReportDataChangedEvent.ofShifts(written).forEach(eventPublisher::publishEvent);
+        eventPublisher.publishEvent(ShiftActivityEvent.ofShifts(written));
+
+        Map<String, ShiftResponseDTO> toRemember = new HashMap<>();
+        for (Map.Entry<Integer, Shift> entry : accepted.entrySet()) {
+            KioskClockEventDTO event = events.get(entry.getKey());
+            Shift shift = entry.getValue();
+            if (!written.contains(shift)) {
+                results[entry.getKey()] = shift.getId() != null
+                        ? rejected(event, ClockErrorCode.CLOCK_OUT_ERROR, SYNC_CONCURRENT_CHANGE_MSG)
+                        : rejected(event, ClockErrorCode.ALREADY_CLOCKED_IN, ALREADY_CLOCKED_IN);
+                continue;
+            }
+            ShiftResponseDTO dto = shiftMapper.toDTO(shift);
+            results[entry.getKey()] = KioskSyncEventResult.builder()
+                    .clientEventId(event.getClientEventId())
+                    .status(SyncEventStatus.ACCEPTED)
+                    .shift(dto)
+                    .build();
+            toRemember.put(syncKey(shift.getEmployee().getId(), event), dto);
+        }
+        // Rejected events were not applied, so a re-send must be processed again
+        List<SyncEventKey> notApplied = new ArrayList<>();
+        eventsByEmployee.forEach((employeeId, indexes) -> indexes.stream()
+                .filter(index -> results[index].getStatus() != SyncEventStatus.ACCEPTED)
+                .forEach(index -> notApplied.add(new SyncEventKey(employeeId, events.get(index).getClientEventId()))));
+        syncEventRepository.release(notApplied);
+        afterCommit(() -> toRemember.forEach(idempotencyStore::save));
+
+        return buildResponse(results);
+    }
+
+    /**
+     * Groups the events by employee, rejecting those whose employee is unknown. Events already
+     * synced earlier for the same employee, or repeated within this batch, are marked DUPLICATE
+     * and left out.
+     */
+    private Map<Long, List<Integer>> deduplicate(List<KioskClockEventDTO> events, Map<Long, EmployeeJob> employeeJobs,
+                                                 KioskSyncEventResult[] results) {
+        Set<SyncEventKey> seen = new HashSet<>();
+        Map<Long, List<Integer>> eventsByEmployee = new LinkedHashMap<>();
+        for (int index = 0; index < events.size(); index++) {
+            KioskClockEventDTO event = events.get(index);
+            Long employeeId = employeeIdOf(event, employeeJobs);
+            if (employeeId == null) {
+                results[index] = rejected(event, ClockErrorCode.EMPLOYEE_JOB_NOT_FOUND,
+                        ClockErrorCode.EMPLOYEE_JOB_NOT_FOUND.getDefaultMessage());
+                continue;
+            }
+            if (!seen.add(new SyncEventKey(employeeId, event.getClientEventId()))) {
+                results[index] = duplicate(event, null);
+                continue;
+            }
+            // The stored shift is only echoed back to the employee it belongs to
+            Optional<ShiftResponseDTO> stored = idempotencyStore.find(syncKey(employeeId, event))
+                    .filter(shift -> employeeId.equals(shift.getEmployeeId()));
+            if (stored.isPresent()) {
+                results[index] = duplicate(event, stored.get());
+                continue;
+            }
+            eventsByEmployee.computeIfAbsent(employeeId, id -> new ArrayList<>()).add(index);
+        }
+        return eventsByEmployee;
+    }
+
+    /**
+     * Claims the remaining events durably; events claimed by an earlier or concurrent sync are
+     * marked DUPLICATE and dropped from {@code eventsByEmployee}.
+     */
+    private void claim(List<KioskClockEventDTO> events, Map<Long, List<Integer>> eventsByEmployee,
+                       KioskSyncEventResult[] results) {
+        List<SyncEventKey> keys = new ArrayList<>();
+        eventsByEmployee.forEach((employeeId, indexes) ->
+                indexes.forEach(index -> keys.add(new SyncEventKey(employeeId, events.get(index).getClientEventId()))));
+
+        Set<SyncEventKey> claimed = syncEventRepository.claim(keys);
+        eventsByEmployee.forEach((employeeId, indexes) -> indexes.removeIf(index -> {
+            KioskClockEventDTO event = events.get(index);
+            if (claimed.contains(new SyncEventKey(employeeId, event.getClientEventId()))) {
+                return false;
+            }
+            results[index] = duplicate(event, null);
+            return true;
+        }));
+        eventsByEmployee.values().removeIf(List::isEmpty);
+    }
+
+    /**
+     * Applies one event to the employee's current shift and returns the shift it opened or closed.
+     * Throws when the event breaks a clock rule.
+     */
+    private Shift replay(KioskClockEventDTO event, Shift current, Map<Long, EmployeeJob> employeeJobs,
+                         List<ShiftInterval> completed, List<Shift> toInsert, List<Shift> toComplete) {
+        switch (event.getAction()) {
+            case CLOCK_IN -> {
+                if (current != null) {
+                    throw new InvalidOperationException(ALREADY_CLOCKED_IN);
+                }
+                EmployeeJob employeeJob = employeeJobs.get(event.getId());
+                validator.validateEmployeeJobActive(employeeJob);
+                Long companyId = employeeJob.getEmployee().getCompany().getId();
+
+                Shift shift = Shift.builder()
+                        .clockIn(event.getOccurredAt())
+                        .employeeJob(employeeJob)
+                        .employee(employeeJob.getEmployee())
+                        .companyId(companyId)
+                        .siteId(resolveClockSite(event, companyId))
+                        .status(ShiftStatus.ACTIVE)
+                        .build();
+                toInsert.add(shift);
+                return shift;
+            }
+            case CLOCK_OUT -> {
+                if (current == null) {
+                    throw new InvalidOperationException(NOT_CLOCKED_IN);
+                }
+                resolveClockSite(event, current.getCompanyId());
+                validator.validateClockOutTime(current.getClockIn(), event.getOccurredAt());
+                // Shifts opened earlier in this batch are checked once the whole batch is replayed
+                if (current.getId() != null && overlapsAny(completed, current.getClockIn(), event.getOccurredAt())) {
+                    throw new InvalidOperationException(SYNC_OVERLAPPING_SHIFT_MSG);
+                }
+
+                current.setClockOut(event.getOccurredAt());
+                current.setStatus(ShiftStatus.COMPLETED);
+                // A shift opened earlier in this batch is simply inserted already completed
+                if (current.getId() != null) {
+                    toComplete.add(current);
+                }
+                return current;
+            }
+            default -> throw new InvalidOperationException(ClockErrorCode.INVALID_OPERATION.getDefaultMessage());
+        }
+    }
+
+    /**
+     * Rejects events in the future, older than the offline sync window, or inside a pay period
+     * that has already been calculated.
+     */
+    private void validateReplayable(KioskClockEventDTO event, LocalDate paidThrough) {
+        LocalDateTime occurredAt = event.getOccurredAt();
+        validator.validateTimeNotInFuture(occurredAt, SYNC_FUTURE_EVENT_MSG);
+        if (occurredAt.isBefore(LocalDateTime.now().minusDays(maxEventAgeDays))) {
+            throw new InvalidOperationException(SYNC_EVENT_TOO_OLD_MSG);
+        }
+        if (paidThrough != null && !occurredAt.toLocalDate().isAfter(paidThrough)) {
+            throw new InvalidOperationException(SYNC_PAID_PERIOD_MSG);
+        }
+    }
+
+    private static boolean overlapsAny(List<ShiftInterval> completed, LocalDateTime clockIn, LocalDateTime clockOut) {
+        return completed.stream().anyMatch(interval -> interval.overlaps(clockIn, clockOut));
+    }
+
+    private static ClockErrorCode errorCodeOf(KioskClockEventDTO event) {
+        return event.getAction() == ClockAction.CLOCK_OUT ? ClockErrorCode.CLOCK_OUT_ERROR : ClockErrorCode.CLOCK_IN_ERROR;
+    }
+
+    private Long resolveClockSite(KioskClockEventDTO event, Long companyId) {
+        return locationService.resolveClockLocation(event.getLatitude(), event.getLongitude(), companyId)
+                .orElseThrow(() -> new IllegalArgumentException(OUT_OF_RADIUS))
+                .siteId();
+    }
+
+    private Long employeeIdOf(KioskClockEventDTO event, Map<Long, EmployeeJob> employeeJobs) {
+        if (event.getAction() != ClockAction.CLOCK_IN) {
+            return event.getId();
+        }
+        EmployeeJob employeeJob = employeeJobs.get(event.getId());
+        return employeeJob != null ? employeeJob.getEmployee().getId() : null;
+    }
+
+    private static String syncKey(Long employeeId, KioskClockEventDTO event) {
+        return SYNC_SCOPE + employeeId + ":" + event.getClientEventId();
+    }
+
+    private KioskSyncEventResult duplicate(KioskClockEventDTO event, ShiftResponseDTO shift) {
+        return KioskSyncEventResult.builder()
+                .clientEventId(event.getClientEventId())
+                .status(SyncEventStatus.DUPLICATE)
+                .shift(shift)
+                .build();
+    }
+
+    private KioskSyncEventResult rejected(KioskClockEventDTO event, ClockErrorCode errorCode, String message) {
+        log.warn("Kiosk sync rejected event {} ({} for ID {}): {}",
+                event.getClientEventId(), event.getAction(), event.getId(), message);
+        return KioskSyncEventResult.builder()
+                .clientEventId(event.getClientEventId())
+                .status(SyncEventStatus.REJECTED)
+                .errorCode(errorCode.name())
+                .errorMessage(message)
+                .build();
+    }
+
+    private KioskSyncResponseDTO buildResponse(KioskSyncEventResult[] results) {
+        List<KioskSyncEventResult> ordered = Arrays.asList(results);
+        Map<SyncEventStatus, Long> counts = ordered.stream()
+                .collect(Collectors.groupingBy(KioskSyncEventResult::getStatus, Collectors.counting()));
+
+        KioskSyncResponseDTO response = KioskSyncResponseDTO.builder()
+                .totalEvents(results.length)
+                .acceptedCount(counts.getOrDefault(SyncEventStatus.ACCEPTED, 0L).intValue())
+                .duplicateCount(counts.getOrDefault(SyncEventStatus.DUPLICATE, 0L).intValue())
+                .rejectedCount(counts.getOrDefault(SyncEventStatus.REJECTED, 0L).intValue())
+                .syncTime(LocalDateTime.now())
+                .results(ordered)
+                .build();
+        log.info("Kiosk sync processed {} events: {} accepted, {} duplicate, {} rejected",
+                response.getTotalEvents(), response.getAcceptedCount(),
+                response.getDuplicateCount(), response.getRejectedCount());
+        return response;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.timetrak.service.clock.idempotency;
+
+import com.timetrak.dto.shift.ShiftResponseDTO;
+
+import java.util.Optional;
+
+/**
+ * Remembers the response of a completed clock operation under its idempotency key
+ * for a limited time, so client retries can be answered without repeating the work.
+ */
+public interface IdempotencyStore {
+
+    Optional<ShiftResponseDTO> find(String key);
+
+    /**
+     * Stores the response unless the key is already present; the first stored response wins.
+     */
+    void save(String key, ShiftResponseDTO response);
+}
@@ -0,0 +1,83 @@
+package com.timetrak.service.clock.idempotency;
+
+import com.timetrak.dto.shift.ShiftResponseDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import static com.timetrak.constant.ClockConstants.INVALID_IDEMPOTENCY_KEY;
+import static com.timetrak.constant.ClockConstants.MAX_IDEMPOTENCY_KEY_LENGTH;
+
+/**
+ * Runs a clock operation at most once per idempotency key.
+ * <p>
+ * A retry of a completed operation gets the stored response without touching the database;
+ * a retry that arrives while the original is still running waits for it and shares its outcome.
+ * Failed operations are not remembered, so a client can retry after fixing the cause.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class IdempotentClockExecutor {
+
+    private final IdempotencyStore idempotencyStore;
+
+    private final Map<String, CompletableFuture<ShiftResponseDTO>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * @param idempotencyKey client supplied key, or {@code null} to run the operation unconditionally
+     * @param scope          endpoint and caller the key belongs to, so keys never collide across them
+     */
+    public ShiftResponseDTO execute(String idempotencyKey, String scope, Supplier<ShiftResponseDTO> operation) {
+        if (idempotencyKey == null) {
+            return operation.get();
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            throw new IllegalArgumentException(INVALID_IDEMPOTENCY_KEY);
+        }
+
+        String key = scope + ":" + idempotencyKey;
+        Optional<ShiftResponseDTO> stored = idempotencyStore.find(key);
+        if (stored.isPresent()) {
+            log.debug("Replaying stored response for idempotency key {}", key);
+            return stored.get();
+        }
+
+        CompletableFuture<ShiftResponseDTO> mine = new CompletableFuture<>();
+        CompletableFuture<ShiftResponseDTO> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            log.debug("Waiting for in-flight request with idempotency key {}", key);
+            return await(running);
+        }
+
+        try {
+            ShiftResponseDTO response = operation.get();
+            idempotencyStore.save(key, response);
+            mine.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private ShiftResponseDTO await(CompletableFuture<ShiftResponseDTO> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.timetrak.service.clock.idempotency;
+
+import com.timetrak.dto.shift.ShiftResponseDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Bounded LRU of recent responses with a time-to-live. Keys are lost on restart;
+ * use the jdbc store when retries must survive a redeploy.
+ */
+@Component
+@ConditionalOnProperty(name = "clock.idempotency.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private record Entry(ShiftResponseDTO response, Instant expiresAt) {
+    }
+
+    private final Duration ttl;
+    private final Map<String, Entry> entries;
+
+    public InMemoryIdempotencyStore(@Value("${clock.idempotency.ttl-minutes:1440}") long ttlMinutes,
+                                    @Value("${clock.idempotency.max-entries:10000}") int maxEntries) {
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    @Override
+    public synchronized Optional<ShiftResponseDTO> find(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (entry.expiresAt().isBefore(Instant.now())) {
+            entries.remove(key);
+            return Optional.empty();
+        }
+        return Optional.of(entry.response());
+    }
+
+    @Override
+    public synchronized void save(String key, ShiftResponseDTO response) {
+        Entry existing = entries.get(key);
+        if (existing == null || existing.expiresAt().isBefore(Instant.now())) {
+            entries.put(key, new Entry(response, Instant.now().plus(ttl)));
+        }
+    }
+}
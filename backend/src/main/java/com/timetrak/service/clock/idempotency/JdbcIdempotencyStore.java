@@ -0,0 +1,76 @@
+package com.timetrak.service.clock.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.timetrak.dto.shift.ShiftResponseDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Idempotency keys kept in the application database (table {@code clock_idempotency_key},
+ * db/migration V2), so retries are still recognised after a restart.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "clock.idempotency.store", havingValue = "jdbc")
+public class JdbcIdempotencyStore implements IdempotencyStore {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final long ttlMinutes;
+
+    public JdbcIdempotencyStore(JdbcTemplate jdbcTemplate,
+                                ObjectMapper objectMapper,
+                                @Value("${clock.idempotency.ttl-minutes:1440}") long ttlMinutes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.ttlMinutes = ttlMinutes;
+    }
+
+    @Override
+    public Optional<ShiftResponseDTO> find(String key) {
+        List<String> responses = jdbcTemplate.queryForList(
+                "SELECT response FROM clock_idempotency_key WHERE idempotency_key = ? AND created_at > ?",
+                String.class, key, LocalDateTime.now().minusMinutes(ttlMinutes));
+        if (responses.isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(objectMapper.readValue(responses.get(0), ShiftResponseDTO.class));
+        } catch (JsonProcessingException e) {
+            log.warn("Discarding unreadable idempotent response for key {}: {}", key, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void save(String key, ShiftResponseDTO response) {
+        try {
+            jdbcTemplate.update(
+                    "INSERT INTO clock_idempotency_key (idempotency_key, response, created_at) VALUES (?, ?, ?) " +
+                    "ON CONFLICT (idempotency_key) DO UPDATE SET response = EXCLUDED.response, created_at = EXCLUDED.created_at " +
+                    "WHERE clock_idempotency_key.created_at <= ?",
+                    key, objectMapper.writeValueAsString(response), LocalDateTime.now(),
+                    LocalDateTime.now().minusMinutes(ttlMinutes));
+        } catch (JsonProcessingException e) {
+            log.warn("Could not store idempotent response for key {}: {}", key, e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${clock.idempotency.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        int purged = jdbcTemplate.update("DELETE FROM clock_idempotency_key WHERE created_at <= ?",
+                LocalDateTime.now().minusMinutes(ttlMinutes));
+        if (purged > 0) {
+            log.debug("Purged {} expired idempotency keys", purged);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.timetrak.service.clock.pipeline;
+
+import com.timetrak.dto.shift.ShiftResponseDTO;
+import com.timetrak.entity.EmployeeJob;
+import com.timetrak.enums.ClockAction;
+
+import java.util.Optional;
+
+/**
+ * Optional write-behind path for single clock-ins and clock-outs. When enabled, validated
+ * events are acknowledged once journaled and written to the shift table in the background.
+ */
+public interface ClockEventPipeline {
+
+    boolean isEnabled();
+
+    /**
+     * Last journaled action for the employee that is not in the database yet, if any.
+     */
+    Optional<ClockAction> findPendingAction(Long employeeId);
+
+    ShiftResponseDTO clockIn(EmployeeJob employeeJob, Long companyId, Long siteId);
+
+    ShiftResponseDTO clockOut(Long employeeId, Long companyId);
+}
@@ -0,0 +1,176 @@
+package com.timetrak.service.clock.pipeline;
+
+import com.timetrak.enums.ClockAction;
+import com.timetrak.exception.ServiceUnavailableException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+/**
+ * Fixed-size ring of clock events in a memory-mapped file.
+ * <p>
+ * Event {@code seq} lives in slot {@code seq % capacity}. A slot can be reused once the
+ * checkpoint (last sequence written to the database) has passed it; until then appends are
+ * refused. Each record ends with a CRC32 written last, so a torn write is detected on recovery.
+ * <pre>
+ * 0  seq            long
+ * 8  action         byte
+ * 9  employeeId     long
+ * 17 employeeJobId  long (0 = none)
+ * 25 companyId      long
+ * 33 siteId         long (0 = none)
+ * 41 epochSecond    long
+ * 49 nano           int
+ * 53 crc32          int  (over bytes 0..52)
+ * </pre>
+ */
+@Slf4j
+public class ClockJournal implements Closeable {
+
+    static final int RECORD_SIZE = 64;
+    private static final int PAYLOAD_SIZE = 53;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final boolean forceOnAppend;
+
+    private long nextSeq = 1;
+    private volatile long checkpoint;
+
+    public ClockJournal(Path file, int capacity, boolean forceOnAppend) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        this.capacity = capacity;
+        this.forceOnAppend = forceOnAppend;
+        this.channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) capacity * RECORD_SIZE);
+    }
+
+    /**
+     * Scans the journal and returns the events after {@code checkpoint}, in sequence order,
+     * stopping at the first missing or corrupt record. Must be called once before appending.
+     */
+    public synchronized List<ClockJournalEntry> recover(long checkpoint) {
+        TreeMap<Long, ClockJournalEntry> valid = new TreeMap<>();
+        for (int slot = 0; slot < capacity; slot++) {
+            ClockJournalEntry entry = read(slot * RECORD_SIZE);
+            if (entry != null && entry.seq() > checkpoint) {
+                valid.put(entry.seq(), entry);
+            }
+        }
+
+        List<ClockJournalEntry> pending = new ArrayList<>();
+        long expected = checkpoint + 1;
+        while (valid.containsKey(expected)) {
+            pending.add(valid.get(expected++));
+        }
+        if (pending.size() < valid.size()) {
+            log.warn("Clock journal has {} records after a gap at seq {}, ignoring them",
+                    valid.size() - pending.size(), expected);
+        }
+
+        this.checkpoint = checkpoint;
+        this.nextSeq = expected;
+        return pending;
+    }
+
+    /**
+     * Appends an event and returns it with its sequence. Fails fast when every slot still holds
+     * an event the background writer has not committed yet.
+     */
+    public synchronized ClockJournalEntry append(ClockAction action, Long employeeId, Long employeeJobId,
+                                                 Long companyId, Long siteId, LocalDateTime time) {
+        if (nextSeq - checkpoint > capacity) {
+            throw new ServiceUnavailableException("Clock event journal is full, please retry");
+        }
+        ClockJournalEntry entry = new ClockJournalEntry(nextSeq, action, employeeId, employeeJobId,
+                companyId, siteId, time);
+        int offset = (int) (entry.seq() % capacity) * RECORD_SIZE;
+        write(offset, entry);
+        if (forceOnAppend) {
+            buffer.force(offset, RECORD_SIZE);
+        }
+        nextSeq++;
+        return entry;
+    }
+
+    /**
+     * Marks everything up to {@code seq} as written to the database, freeing those slots.
+     */
+    public void checkpoint(long seq) {
+        checkpoint = Math.max(checkpoint, seq);
+    }
+
+    public long pendingCount() {
+        return nextSeq - 1 - checkpoint;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+
+    private void write(int offset, ClockJournalEntry entry) {
+        // Invalidate the slot first so a crash mid-write never leaves the old record looking valid
+        buffer.putInt(offset + PAYLOAD_SIZE, 0);
+        buffer.putLong(offset, entry.seq());
+        buffer.put(offset + 8, (byte) entry.action().ordinal());
+        buffer.putLong(offset + 9, orZero(entry.employeeId()));
+        buffer.putLong(offset + 17, orZero(entry.employeeJobId()));
+        buffer.putLong(offset + 25, orZero(entry.companyId()));
+        buffer.putLong(offset + 33, orZero(entry.siteId()));
+        buffer.putLong(offset + 41, entry.time().toEpochSecond(ZoneOffset.UTC));
+        buffer.putInt(offset + 49, entry.time().getNano());
+        buffer.putInt(offset + PAYLOAD_SIZE, crc(offset));
+    }
+
+    private ClockJournalEntry read(int offset) {
+        long seq = buffer.getLong(offset);
+        if (seq <= 0 || buffer.getInt(offset + PAYLOAD_SIZE) != crc(offset)) {
+            return null;
+        }
+        int action = buffer.get(offset + 8);
+        if (action < 0 || action >= ClockAction.values().length) {
+            return null;
+        }
+        return new ClockJournalEntry(seq,
+                ClockAction.values()[action],
+                orNull(buffer.getLong(offset + 9)),
+                orNull(buffer.getLong(offset + 17)),
+                orNull(buffer.getLong(offset + 25)),
+                orNull(buffer.getLong(offset + 33)),
+                LocalDateTime.ofEpochSecond(buffer.getLong(offset + 41), buffer.getInt(offset + 49), ZoneOffset.UTC));
+    }
+
+    private int crc(int offset) {
+        CRC32 crc = new CRC32();
+        ByteBuffer payload = buffer.slice(offset, PAYLOAD_SIZE);
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    private static long orZero(Long value) {
+        return value != null ? value : 0L;
+    }
+
+    private static Long orNull(long value) {
+        return value != 0 ? value : null;
+    }
+}
@@ -0,0 +1,18 @@
+package com.timetrak.service.clock.pipeline;
+
+import com.timetrak.enums.ClockAction;
+
+import java.time.LocalDateTime;
+
+/**
+ * One acknowledged clock event as stored in the {@link ClockJournal}.
+ * {@code employeeJobId} and {@code siteId} are only set for clock-ins.
+ */
+public record ClockJournalEntry(long seq,
+                                ClockAction action,
+                                Long employeeId,
+                                Long employeeJobId,
+                                Long companyId,
+                                Long siteId,
+                                LocalDateTime time) {
+}
@@ -0,0 +1,37 @@
+package com.timetrak.service.clock.pipeline;
+
+import com.timetrak.dto.shift.ShiftResponseDTO;
+import com.timetrak.entity.EmployeeJob;
+import com.timetrak.enums.ClockAction;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Default: no pipeline, clock operations are written synchronously by {@code ClockServiceImpl}.
+ */
+@Component
+@ConditionalOnProperty(name = "clock.pipeline.enabled", havingValue = "false", matchIfMissing = true)
+public class DirectClockEventPipeline implements ClockEventPipeline {
+
+    @Override
+    public boolean isEnabled() {
+        return false;
+    }
+
+    @Override
+    public Optional<ClockAction> findPendingAction(Long employeeId) {
+        return Optional.empty();
+    }
+
+    @Override
+    public ShiftResponseDTO clockIn(EmployeeJob employeeJob, Long companyId, Long siteId) {
+        throw new IllegalStateException("Clock pipeline is disabled");
+    }
+
+    @Override
+    public ShiftResponseDTO clockOut(Long employeeId, Long companyId) {
+        throw new IllegalStateException("Clock pipeline is disabled");
+    }
+}
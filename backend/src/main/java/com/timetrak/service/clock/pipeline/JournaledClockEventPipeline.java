@@ -0,0 +1,453 @@
+package com.timetrak.service.clock.pipeline;
+
+import com.timetrak.dto.shift.ActiveShiftEntry;
+import com.timetrak.dto.shift.ShiftResponseDTO;
+import com.timetrak.entity.Employee;
+import com.timetrak.entity.EmployeeJob;
+import com.timetrak.entity.Shift;
+import com.timetrak.enums.ClockAction;
+import com.timetrak.enums.ShiftStatus;
+import com.timetrak.exception.InvalidOperationException;
+import com.timetrak.exception.ServiceUnavailableException;
+import com.timetrak.mapper.ShiftMapper;
+import com.timetrak.repository.ShiftJdbcRepository;
+import com.timetrak.service.clock.ActiveShiftRegistry;
+import com.timetrak.service.clock.ClockValidator;
+import com.timetrak.service.report.ReportDataChangedEvent;
+import com.timetrak.service.shift.LaborRollupService;
+import com.timetrak.service.shift.board.ShiftActivityEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static com.timetrak.constant.ClockConstants.ALREADY_CLOCKED_IN;
+import static com.timetrak.constant.ClockConstants.NOT_CLOCKED_IN;
+import static com.timetrak.constant.ShiftConstants.PRECISION_FACTOR;
+
+/**
+ * Write-behind clock pipeline for shift-change rushes.
+ * <p>
+ * A request is validated against the {@link ActiveShiftRegistry} overlaid with the events
+ * still waiting in the journal, appended to the {@link ClockJournal} and acknowledged. A single
+ * writer thread drains the journal in order and group-commits each batch to the shift table
+ * together with the journal checkpoint, so a batch is applied exactly once. At startup every
+ * event after the stored checkpoint is replayed before new events are accepted.
+ * <p>
+ * An acknowledged event can still fail to apply: a clock-out whose shift was already closed by a
+ * direct write, or a clock-in that lost the single-active-shift index to one. Such events are not
+ * retried; they are written to {@code clock_journal_dead_letter} in the batch transaction, counted
+ * in {@code clock.pipeline.dead-letters} by reason, and left for an admin to re-enter.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "clock.pipeline.enabled", havingValue = "true")
+public class JournaledClockEventPipeline implements ClockEventPipeline {
+
+    private record PendingClock(long seq, ClockAction action, LocalDateTime clockIn) {
+    }
+
+    private static final String JOURNAL_STARTING_MSG = "Clock pipeline is starting, please retry";
+
+    private static final int EMPLOYEE_LOCK_STRIPES = 64;
+
+    private static final String NO_ACTIVE_SHIFT = "no_active_shift";
+    private static final String SHIFT_ALREADY_CLOSED = "shift_already_closed";
+    private static final String ALREADY_ACTIVE = "already_active";
+
+    private static final String INSERT_DEAD_LETTER_SQL =
+            "INSERT INTO clock_journal_dead_letter (journal_id, seq, action, employee_id, employee_job_id, " +
+            "company_id, site_id, event_time, reason, recorded_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (journal_id, seq) DO NOTHING";
+
+    private final ActiveShiftRegistry activeShiftRegistry;
+    private final ClockValidator validator;
+    private final ShiftJdbcRepository shiftJdbcRepository;
+    private final ShiftMapper shiftMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LaborRollupService laborRollupService;
+    private final MeterRegistry meterRegistry;
+
+    private final ClockJournal journal;
+    private final String journalId;
+    private final int batchSize;
+    private final long retryDelayMs;
+
+    private final BlockingQueue<ClockJournalEntry> queue;
+    private final Map<Long, PendingClock> pending = new ConcurrentHashMap<>();
+    // Serialize check-and-append per employee outside the map, so a journal fsync never holds a map bin lock
+    private final Object[] employeeLocks = new Object[EMPLOYEE_LOCK_STRIPES];
+    // Highest seq the writer has committed and dropped from the overlay
+    private volatile long committedSeq;
+
+    private volatile boolean recovered;
+    private volatile boolean running;
+    private Thread writer;
+
+    public JournaledClockEventPipeline(ActiveShiftRegistry activeShiftRegistry,
+                                       ClockValidator validator,
+                                       ShiftJdbcRepository shiftJdbcRepository,
+                                       ShiftMapper shiftMapper,
+                                       JdbcTemplate jdbcTemplate,
+                                       PlatformTransactionManager transactionManager,
+                                       ApplicationEventPublisher eventPublisher,
+                                       LaborRollupService laborRollupService,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${clock.pipeline.journal.path:./data/clock-journal.dat}") String journalPath,
+                                       @Value("${clock.pipeline.journal.id:default}") String journalId,
+                                       @Value("${clock.pipeline.journal.capacity:65536}") int capacity,
+                                       @Value("${clock.pipeline.journal.force-on-append:true}") boolean forceOnAppend,
+                                       @Value("${clock.pipeline.batch-size:500}") int batchSize,
+                                       @Value("${clock.pipeline.retry-delay-ms:1000}") long retryDelayMs) throws IOException {
+        this.activeShiftRegistry = activeShiftRegistry;
+        this.validator = validator;
+        this.shiftJdbcRepository = shiftJdbcRepository;
+        this.shiftMapper = shiftMapper;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.laborRollupService = laborRollupService;
+        this.meterRegistry = meterRegistry;
+        this.journal = new ClockJournal(Path.of(journalPath), capacity, forceOnAppend);
+        this.journalId = journalId;
+        this.batchSize = batchSize;
+        this.retryDelayMs = retryDelayMs;
+        // Never fills up before the journal does, so an accepted event can always be queued
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        Arrays.setAll(employeeLocks, stripe -> new Object());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        List<ClockJournalEntry> replay = journal.recover(readCheckpoint());
+        for (ClockJournalEntry entry : replay) {
+            pending.put(entry.employeeId(), toPending(entry));
+            queue.add(entry);
+        }
+        recovered = true;
+        running = true;
+        writer = Thread.ofPlatform().name("clock-journal-writer").daemon().start(this::drain);
+        log.info("Clock pipeline started, replaying {} journaled events", replay.size());
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException, IOException {
+        running = false;
+        if (writer != null) {
+            writer.join(Duration.ofSeconds(10));
+        }
+        // Anything not yet written stays in the journal and is replayed on the next start
+        journal.close();
+        log.info("Clock pipeline stopped with {} events left in the journal", journal.pendingCount());
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public Optional<ClockAction> findPendingAction(Long employeeId) {
+        return Optional.ofNullable(pending.get(employeeId)).map(PendingClock::action);
+    }
+
+    @Override
+    public ShiftResponseDTO clockIn(EmployeeJob employeeJob, Long companyId, Long siteId) {
+        ensureReady();
+        Long employeeId = employeeJob.getEmployee().getId();
+        LocalDateTime clockIn = LocalDateTime.now();
+
+        synchronized (lockFor(employeeId)) {
+            if (activeClockIn(employeeId, pending.get(employeeId)) != null) {
+                throw new InvalidOperationException(ALREADY_CLOCKED_IN);
+            }
+            publish(append(ClockAction.CLOCK_IN, employeeId, employeeJob.getId(), companyId, siteId, clockIn));
+        }
+
+        return shiftMapper.toDTO(Shift.builder()
+                .clockIn(clockIn)
+                .employeeJob(employeeJob)
+                .employee(employeeJob.getEmployee())
+                .companyId(companyId)
+                .siteId(siteId)
+                .status(ShiftStatus.ACTIVE)
+                .build());
+    }
+
+    @Override
+    public ShiftResponseDTO clockOut(Long employeeId, Long companyId) {
+        ensureReady();
+        LocalDateTime clockOut = LocalDateTime.now();
+        LocalDateTime clockIn;
+
+        synchronized (lockFor(employeeId)) {
+            clockIn = activeClockIn(employeeId, pending.get(employeeId));
+            if (clockIn == null) {
+                throw new InvalidOperationException(NOT_CLOCKED_IN);
+            }
+            validator.validateClockOutTime(clockIn, clockOut);
+            publish(append(ClockAction.CLOCK_OUT, employeeId, null, companyId, null, clockOut));
+        }
+
+        // Job details are not known without a database read; the shift id only once written
+        double rawHours = Duration.between(clockIn, clockOut).getSeconds() / 3600.0;
+        return ShiftResponseDTO.builder()
+                .id(activeShiftRegistry.find(employeeId).map(ActiveShiftEntry::shiftId).orElse(null))
+                .employeeId(employeeId)
+                .clockIn(clockIn)
+                .clockOut(clockOut)
+                .status(ShiftStatus.COMPLETED)
+                .hours(Math.round(rawHours * PRECISION_FACTOR) / PRECISION_FACTOR)
+                .build();
+    }
+
+    private void ensureReady() {
+        if (!recovered || !activeShiftRegistry.isWarmed()) {
+            throw new ServiceUnavailableException(JOURNAL_STARTING_MSG);
+        }
+    }
+
+    /**
+     * Clock-in time of the employee's open shift, journaled or persisted; null when clocked out.
+     */
+    private LocalDateTime activeClockIn(Long employeeId, PendingClock current) {
+        if (current != null) {
+            return current.action() == ClockAction.CLOCK_IN ? current.clockIn() : null;
+        }
+        return activeShiftRegistry.find(employeeId).map(ActiveShiftEntry::clockIn).orElse(null);
+    }
+
+    private Object lockFor(Long employeeId) {
+        return employeeLocks[Math.floorMod(employeeId.hashCode(), EMPLOYEE_LOCK_STRIPES)];
+    }
+
+    /**
+     * Makes an appended event visible to later clock requests of the employee. The writer may already
+     * have committed it, in which case the overlay entry is dropped again instead of shadowing the registry.
+     */
+    private void publish(ClockJournalEntry entry) {
+        PendingClock published = toPending(entry);
+        pending.put(entry.employeeId(), published);
+        if (entry.seq() <= committedSeq) {
+            pending.remove(entry.employeeId(), published);
+        }
+    }
+
+    // Journal order and queue order must match, so the checkpoint of a batch never skips an event
+    private synchronized ClockJournalEntry append(ClockAction action, Long employeeId, Long employeeJobId,
+                                                  Long companyId, Long siteId, LocalDateTime time) {
+        ClockJournalEntry entry = journal.append(action, employeeId, employeeJobId, companyId, siteId, time);
+        queue.add(entry);
+        return entry;
+    }
+
+    private void drain() {
+        List<ClockJournalEntry> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                if (!activeShiftRegistry.isWarmed()) {
+                    // Replayed clock-outs resolve their shift through the registry
+                    Thread.sleep(retryDelayMs);
+                    continue;
+                }
+                if (batch.isEmpty()) {
+                    ClockJournalEntry first = queue.poll(500, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    // Group commit: everything that queued up while the previous batch was written
+                    queue.drainTo(batch, batchSize - 1);
+                }
+                write(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // Keep the batch and retry; the journal absorbs new events meanwhile
+                log.error("Failed to write {} clock events, retrying in {} ms: {}",
+                        batch.size(), retryDelayMs, e.getMessage(), e);
+                try {
+                    Thread.sleep(retryDelayMs);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void write(List<ClockJournalEntry> batch) {
+        long lastSeq = batch.get(batch.size() - 1).seq();
+
+        Map<ClockJournalEntry, String> deadLetters = new LinkedHashMap<>();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Map<Long, Shift> opened = new HashMap<>();
+            List<Shift> toInsert = new ArrayList<>();
+            List<Shift> toComplete = new ArrayList<>();
+            // The journal entries each shift write carries, for dead-lettering the ones not applied
+            Map<Shift, List<ClockJournalEntry>> sources = new IdentityHashMap<>();
+
+            for (ClockJournalEntry entry : batch) {
+                if (entry.action() == ClockAction.CLOCK_IN) {
+                    Shift shift = newShift(entry);
+                    opened.put(entry.employeeId(), shift);
+                    toInsert.add(shift);
+                    sources.computeIfAbsent(shift, key -> new ArrayList<>()).add(entry);
+                    continue;
+                }
+                Shift shift = opened.remove(entry.employeeId());
+                if (shift == null) {
+                    shift = activeShiftRegistry.find(entry.employeeId())
+                            .map(active -> persistedShift(active, entry.companyId()))
+                            .orElse(null);
+                    if (shift == null) {
+                        deadLetters.put(entry, NO_ACTIVE_SHIFT);
+                        continue;
+                    }
+                    toComplete.add(shift);
+                }
+                sources.computeIfAbsent(shift, key -> new ArrayList<>()).add(entry);
+                shift.setClockOut(entry.time());
+                shift.setStatus(ShiftStatus.COMPLETED);
+            }
+
+            // Clock-outs first, so a clock-in later in the batch does not hit the single-active index
+            List<Shift> completed = shiftJdbcRepository.completeAll(toComplete);
+            List<Shift> inserted = shiftJdbcRepository.insertAll(toInsert);
+            collectNotApplied(toComplete, completed, sources, SHIFT_ALREADY_CLOSED, deadLetters);
+            collectNotApplied(toInsert, inserted, sources, ALREADY_ACTIVE, deadLetters);
+            saveDeadLetters(deadLetters);
+            activeShiftRegistry.trackAll(completed);
+            activeShiftRegistry.trackAll(inserted);
+            // A clock-in and clock-out replayed together insert an already completed shift
+            laborRollupService.shiftsWritten(Stream.concat(completed.stream(), inserted.stream())
+                    .map(Shift::getId)
+                    .toList());
+            ReportDataChangedEvent.ofShifts(completed).forEach(eventPublisher::publishEvent);
+            ReportDataChangedEvent.ofShifts(inserted).forEach(eventPublisher::publishEvent);
+            eventPublisher.publishEvent(ShiftActivityEvent.ofShifts(completed));
+            eventPublisher.publishEvent(ShiftActivityEvent.ofShifts(inserted));
+            saveCheckpoint(lastSeq);
+        });
+
+        journal.checkpoint(lastSeq);
+        deadLetters.forEach((entry, reason) -> {
+            meterRegistry.counter("clock.pipeline.dead-letters", "reason", reason).increment();
+            log.warn("Journaled {} {} for employee {} could not be applied ({}), moved to the dead-letter table",
+                    entry.action(), entry.seq(), entry.employeeId(), reason);
+        });
+        // The registry now reflects the batch, so the overlay can be dropped for these employees
+        committedSeq = lastSeq;
+        for (ClockJournalEntry entry : batch) {
+            pending.computeIfPresent(entry.employeeId(), (id, current) -> current.seq() <= lastSeq ? null : current);
+        }
+        log.debug("Clock pipeline committed {} events up to seq {}", batch.size(), lastSeq);
+    }
+
+    private static void collectNotApplied(List<Shift> attempted, List<Shift> applied,
+                                          Map<Shift, List<ClockJournalEntry>> sources, String reason,
+                                          Map<ClockJournalEntry, String> deadLetters) {
+        Set<Shift> written = Collections.newSetFromMap(new IdentityHashMap<>());
+        written.addAll(applied);
+        attempted.stream()
+                .filter(shift -> !written.contains(shift))
+                .flatMap(shift -> sources.get(shift).stream())
+                .forEach(entry -> deadLetters.put(entry, reason));
+    }
+
+    private void saveDeadLetters(Map<ClockJournalEntry, String> deadLetters) {
+        if (deadLetters.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.batchUpdate(INSERT_DEAD_LETTER_SQL, deadLetters.entrySet().stream()
+                .map(deadLetter -> {
+                    ClockJournalEntry entry = deadLetter.getKey();
+                    return new Object[]{journalId, entry.seq(), entry.action().name(), entry.employeeId(),
+                            entry.employeeJobId(), entry.companyId(), entry.siteId(), entry.time(),
+                            deadLetter.getValue(), now};
+                })
+                .toList());
+    }
+
+    private Shift newShift(ClockJournalEntry entry) {
+        Employee employee = new Employee();
+        employee.setId(entry.employeeId());
+        EmployeeJob employeeJob = new EmployeeJob();
+        employeeJob.setId(entry.employeeJobId());
+        employeeJob.setEmployee(employee);
+
+        return Shift.builder()
+                .clockIn(entry.time())
+                .employeeJob(employeeJob)
+                .employee(employee)
+                .companyId(entry.companyId())
+                .siteId(entry.siteId())
+                .status(ShiftStatus.ACTIVE)
+                .build();
+    }
+
+    private Shift persistedShift(ActiveShiftEntry active, Long companyId) {
+        Employee employee = new Employee();
+        employee.setId(active.employeeId());
+        Shift shift = Shift.builder()
+                .employee(employee)
+                .companyId(companyId)
+                .clockIn(active.clockIn())
+                .status(ShiftStatus.ACTIVE)
+                .build();
+        shift.setId(active.shiftId());
+        return shift;
+    }
+
+    private long readCheckpoint() {
+        List<Long> seqs = jdbcTemplate.queryForList(
+                "SELECT last_seq FROM clock_journal_checkpoint WHERE journal_id = ?", Long.class, journalId);
+        return seqs.isEmpty() ? 0L : seqs.get(0);
+    }
+
+    private void saveCheckpoint(long seq) {
+        jdbcTemplate.update(
+                "INSERT INTO clock_journal_checkpoint (journal_id, last_seq, updated_at) VALUES (?, ?, ?) " +
+                "ON CONFLICT (journal_id) DO UPDATE SET last_seq = EXCLUDED.last_seq, updated_at = EXCLUDED.updated_at",
+                journalId, seq, LocalDateTime.now());
+    }
+
+    private static PendingClock toPending(ClockJournalEntry entry) {
+        return new PendingClock(entry.seq(), entry.action(),
+                entry.action() == ClockAction.CLOCK_IN ? entry.time() : null);
+    }
+}
@@ -0,0 +1,7 @@
+package com.timetrak.service.company;
+
+/**
+ * Published when a company's coordinates or allowed radius may have changed.
+ */
+public record CompanyLocationChangedEvent(Long companyId) {
+}
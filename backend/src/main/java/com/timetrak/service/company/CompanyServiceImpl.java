@@ -9,6 +9,7 @@ import com.timetrak.mapper.CompanyMapper;
 import com.timetrak.repository.CompanyRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 
@@ -18,6 +19,7 @@ import org.springframework.stereotype.Service;
 public class CompanyServiceImpl implements CompanyService {
     private final CompanyRepository companyRepository;
     private final CompanyMapper companyMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
 
     @Override
@@ -46,6 +48,7 @@ public class CompanyServiceImpl implements CompanyService {
         }
         companyMapper.updateCompanyFromDto(dto, company);
         Company updated = companyRepository.save(company);
+        eventPublisher.publishEvent(new CompanyLocationChangedEvent(id));
         return companyMapper.toDTO(updated);
     }
 
@@ -0,0 +1,109 @@
+package com.timetrak.service.dashboard;
+
+import com.timetrak.dto.company.AdminDashboardDTO;
+import com.timetrak.service.report.ReportDataChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Keeps each company's admin dashboard for a few seconds ({@code dashboard.cache.ttl-ms}), so the
+ * refreshes of every open admin tab share one computation.
+ * <p>
+ * Loading is single-flight: requests arriving while a company's dashboard is being computed wait
+ * for that result instead of starting their own. Every committed shift or payment write
+ * ({@link ReportDataChangedEvent}) drops the company's entry; a load already running still answers
+ * the requests waiting on it, but later requests compute afresh. Hits, misses and load times are
+ * exported as {@code dashboard.cache.requests} and {@code dashboard.cache.load}.
+ */
+@Component
+public class AdminDashboardCache {
+
+    private record Entry(CompletableFuture<AdminDashboardDTO> value, long startedAt) {
+    }
+
+    private final long ttlNanos;
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Timer loadTimer;
+
+    public AdminDashboardCache(MeterRegistry meterRegistry,
+                               @Value("${dashboard.cache.ttl-ms:5000}") long ttlMs) {
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+        this.hits = Counter.builder("dashboard.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("dashboard.cache.requests").tag("result", "miss").register(meterRegistry);
+        this.loadTimer = Timer.builder("dashboard.cache.load").register(meterRegistry);
+        Gauge.builder("dashboard.cache.size", entries, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Returns the company's cached dashboard, or computes it through {@code loader}.
+     */
+    public AdminDashboardDTO get(Long companyId, Supplier<AdminDashboardDTO> loader) {
+        while (true) {
+            Entry existing = entries.get(companyId);
+            if (existing != null && !isExpired(existing)) {
+                hits.increment();
+                return await(existing);
+            }
+
+            Entry loading = new Entry(new CompletableFuture<>(), System.nanoTime());
+            boolean claimed = existing == null
+                    ? entries.putIfAbsent(companyId, loading) == null
+                    : entries.replace(companyId, existing, loading);
+            if (!claimed) {
+                // Another request started a load first; share it
+                continue;
+            }
+
+            misses.increment();
+            try {
+                AdminDashboardDTO dashboard = loadTimer.record(loader);
+                loading.value().complete(dashboard);
+                return dashboard;
+            } catch (RuntimeException e) {
+                entries.remove(companyId, loading);
+                loading.value().completeExceptionally(e);
+                throw e;
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDataChanged(ReportDataChangedEvent event) {
+        if (event.companyId() == null) {
+            entries.clear();
+        } else {
+            entries.remove(event.companyId());
+        }
+    }
+
+    // Age counts from the start of the load, so a served dashboard is never older than the TTL
+    private boolean isExpired(Entry entry) {
+        return entry.value().isDone() && System.nanoTime() - entry.startedAt() > ttlNanos;
+    }
+
+    private static AdminDashboardDTO await(Entry entry) {
+        try {
+            return entry.value().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw e;
+        }
+    }
+}
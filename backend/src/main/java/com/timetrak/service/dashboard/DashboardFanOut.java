@@ -0,0 +1,140 @@
+package com.timetrak.service.dashboard;
+
+import com.timetrak.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs the independent reads behind a dashboard concurrently on virtual threads, so a dashboard
+ * takes about as long as its slowest query instead of the sum of all of them.
+ * <p>
+ * Each read runs in its own read-only transaction and is timed as {@code dashboard.query}, tagged
+ * with the dashboard and query name. A {@link Call} shares one deadline ({@code dashboard.fan-out.timeout-ms})
+ * across its reads; when it passes, the remaining reads are cancelled and the request fails with
+ * {@link ServiceUnavailableException}. At most {@code dashboard.fan-out.max-concurrency} reads run at
+ * once across all requests, so dashboards cannot take every pooled connection.
+ */
+@Component
+@Slf4j
+public class DashboardFanOut {
+
+    private static final String TIMER = "dashboard.query";
+
+    private final TransactionTemplate readOnlyTransaction;
+    private final MeterRegistry meterRegistry;
+    private final long timeoutNanos;
+    private final Semaphore permits;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public DashboardFanOut(PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry,
+                           @Value("${dashboard.fan-out.timeout-ms:3000}") long timeoutMs,
+                           @Value("${dashboard.fan-out.max-concurrency:8}") int maxConcurrency) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.meterRegistry = meterRegistry;
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        this.permits = new Semaphore(maxConcurrency);
+    }
+
+    /**
+     * Starts the reads of one dashboard request; its deadline starts now.
+     */
+    public Call begin(String dashboard) {
+        return new Call(dashboard, System.nanoTime() + timeoutNanos);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public final class Call {
+
+        private final String dashboard;
+        private final long deadline;
+        private final List<Future<?>> forked = new CopyOnWriteArrayList<>();
+
+        private Call(String dashboard, long deadline) {
+            this.dashboard = dashboard;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Starts {@code read} in the background and returns a supplier that waits for its result.
+         */
+        public <T> Supplier<T> fork(String query, Supplier<T> read) {
+            Timer timer = Timer.builder(TIMER)
+                    .tag("dashboard", dashboard)
+                    .tag("query", query)
+                    .register(meterRegistry);
+            Future<T> future = executor.submit(() -> run(timer, read));
+            forked.add(future);
+            return () -> join(query, future);
+        }
+
+        private <T> T run(Timer timer, Supplier<T> read) throws InterruptedException, TimeoutException {
+            if (!permits.tryAcquire(remainingNanos(), TimeUnit.NANOSECONDS)) {
+                throw new TimeoutException("No free slot before the deadline");
+            }
+            try {
+                return timer.record(() -> readOnlyTransaction.execute(status -> read.get()));
+            } finally {
+                permits.release();
+            }
+        }
+
+        private <T> T join(String query, Future<T> future) {
+            try {
+                return future.get(remainingNanos(), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException | CancellationException e) {
+                return timedOut(query);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof TimeoutException) {
+                    return timedOut(query);
+                }
+                cancelAll();
+                if (e.getCause() instanceof RuntimeException runtime) {
+                    throw runtime;
+                }
+                throw new IllegalStateException("Dashboard query " + query + " failed", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancelAll();
+                throw new ServiceUnavailableException("Dashboard request was interrupted");
+            }
+        }
+
+        private <T> T timedOut(String query) {
+            cancelAll();
+            log.warn("Dashboard {} query {} missed its deadline", dashboard, query);
+            throw new ServiceUnavailableException("Dashboard is taking too long to load, please try again");
+        }
+
+        private void cancelAll() {
+            forked.forEach(future -> future.cancel(true));
+        }
+
+        private long remainingNanos() {
+            return Math.max(0, deadline - System.nanoTime());
+        }
+    }
+}
@@ -4,18 +4,19 @@ import com.timetrak.dto.company.AdminDashboardDTO;
 import com.timetrak.dto.payment.PaymentDetailsDTO;
 import com.timetrak.dto.payment.PaymentTotals;
 import com.timetrak.dto.payment.Period;
+import com.timetrak.dto.shift.LaborTotals;
 import com.timetrak.dto.shift.ShiftResponseDTO;
 import com.timetrak.enums.EmployeeStatus;
-import com.timetrak.enums.ShiftStatus;
 import com.timetrak.mapper.PaymentMapper;
 import com.timetrak.mapper.ShiftMapper;
 import com.timetrak.repository.EmployeeRepository;
 import com.timetrak.repository.PaymentRepository;
 import com.timetrak.repository.ShiftRepository;
 import com.timetrak.service.payment.PeriodService;
-import com.timetrak.service.payment.calculation.PaymentCalculator;
+import com.timetrak.service.shift.LaborRollupService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
@@ -23,56 +24,67 @@ import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class DashboardServiceImpl implements DashboardService {
+    private static final int RECENT_LIMIT = 5;
+
     private final EmployeeRepository employeeRepo;
     private final ShiftRepository shiftRepo;
     private final PaymentRepository paymentRepo;
     private final PeriodService periodService;
     private final ShiftMapper shiftMapper;
     private final PaymentMapper paymentMapper;
-    private final PaymentCalculator paymentCalculator;
+    private final LaborRollupService laborRollupService;
+    private final DashboardFanOut dashboardFanOut;
+    private final AdminDashboardCache adminDashboardCache;
 
     @Override
     public AdminDashboardDTO getAdminDashboardInfo(Long companyId) {
+        return adminDashboardCache.get(companyId, () -> loadAdminDashboard(companyId));
+    }
+
+    private AdminDashboardDTO loadAdminDashboard(Long companyId) {
         Period currentPeriod = periodService.getCurrentPeriod(companyId);
-        Period previosPeriod = periodService.getPeriodByNumber(currentPeriod.getPeriodNumber()-1, companyId);
 
-        List<ShiftResponseDTO> currentPeriodShifts = getShiftsForPeriod(companyId, currentPeriod);
-        List<ShiftResponseDTO> previousPeriodShifts = getShiftsForPeriod(companyId, previosPeriod);
+        // Independent reads, run concurrently
+        DashboardFanOut.Call call = dashboardFanOut.begin("admin");
+        Supplier<Long> activeEmployees = call.fork("active-employees", () -> getEmployeeCountByStatus(companyId, EmployeeStatus.ACTIVE));
+        Supplier<Long> pendingEmployees = call.fork("pending-employees", () -> getEmployeeCountByStatus(companyId, EmployeeStatus.PENDING));
+        Supplier<Long> activeShifts = call.fork("active-shifts", () -> getActiveShiftCount(companyId));
+        Supplier<PaymentTotals> currentTotals = call.fork("current-period-totals", () -> getPeriodTotals(companyId, currentPeriod));
+        Supplier<PaymentTotals> previousTotals = call.fork("previous-period-totals", () -> getPeriodTotals(companyId,
+                periodService.getPeriodByNumber(currentPeriod.getPeriodNumber() - 1, companyId)));
+        Supplier<List<PaymentDetailsDTO>> recentPayments = call.fork("recent-payments", () -> getRecentPayments(companyId, currentPeriod));
+        Supplier<List<ShiftResponseDTO>> recentShifts = call.fork("recent-shifts", () -> getRecentShifts(companyId, currentPeriod));
 
-        PaymentTotals currentPeriodTotals = getShiftTotals(currentPeriodShifts);
-        PaymentTotals previousPeriodTotals = getShiftTotals(previousPeriodShifts);
+        PaymentTotals currentPeriodTotals = currentTotals.get();
+        PaymentTotals previousPeriodTotals = previousTotals.get();
 
         PaymentTotals popAmountChange = getPopAmountChange(currentPeriodTotals, previousPeriodTotals);
         PaymentTotals popChange = getPopChange(currentPeriodTotals, previousPeriodTotals);
 
-        List<PaymentDetailsDTO> recentPayments = getRecentPayments(companyId,currentPeriod);
-
-
-
         return AdminDashboardDTO.builder()
-                .activeEmployeeCount(getEmployeeCountByStatus(companyId,EmployeeStatus.ACTIVE))
-                .pendingEmployeeCount(getEmployeeCountByStatus(companyId,EmployeeStatus.PENDING))
-                .activeShiftsCount(getActiveShiftCount(companyId))
+                .activeEmployeeCount(activeEmployees.get())
+                .pendingEmployeeCount(pendingEmployees.get())
+                .activeShiftsCount(activeShifts.get())
                 .thisPeriodHours(currentPeriodTotals.getTotalHours())
                 .thisPeriodRevenue(currentPeriodTotals.getTotalEarnings())
                 .popHoursAmountChange(popAmountChange.getTotalHours())
                 .popRevenueAmountChange(popAmountChange.getTotalEarnings())
                 .popHoursChange(popChange.getTotalHours())
                 .popRevenueChange(popChange.getTotalEarnings().doubleValue())
-                .recentPayments(recentPayments.stream().limit(5).collect(Collectors.toList()))
-                .recentShifts(currentPeriodShifts.stream().limit(5).collect(Collectors.toList()))
+                .recentPayments(recentPayments.get())
+                .recentShifts(recentShifts.get())
                 .build();
 
     }
 
     private long getActiveShiftCount(Long companyId){
-        return shiftRepo.countShiftByStatusInCompany(companyId, ShiftStatus.ACTIVE);
+        return shiftRepo.countActiveShiftsByCompanyId(companyId);
     }
 
     private long getEmployeeCountByStatus(Long companyId, EmployeeStatus status) {
@@ -82,26 +94,23 @@ public class DashboardServiceImpl implements DashboardService {
     private LocalDateTime startOfDay(LocalDate date) {
         return date.atStartOfDay();
     }
-    private LocalDateTime endOfDay(LocalDate date) {
-        return date.atTime(23, 59, 59, 999999999);
-    }
 
-    private List<ShiftResponseDTO> getShiftsForPeriod(Long companyId, Period period) {
-               return  shiftRepo.findByCompanyIdAndDateRange(
-                                companyId,
-                                startOfDay(period.getStartDate()),
-                                endOfDay(period.getEndDate())).stream()
-                        .map(shiftMapper::toDTO).toList();
+    // Newest clock-ins of the period; the period cannot contain shifts later than now
+    private List<ShiftResponseDTO> getRecentShifts(Long companyId, Period period) {
+        return shiftRepo.findRecentRowsByDateFrom(startOfDay(period.getStartDate()), companyId, PageRequest.of(0, RECENT_LIMIT))
+                .stream().map(shiftMapper::toDTO).toList();
     }
 
     private List<PaymentDetailsDTO> getRecentPayments(Long companyId, Period period) {
-        return paymentRepo.findByCompanyIdAndDateRange(companyId,period.getStartDate(),period.getEndDate())
+        return paymentRepo.findRecentByCompanyIdAndDateRange(companyId, period.getStartDate(), period.getEndDate(),
+                        PageRequest.of(0, RECENT_LIMIT))
                 .stream().map(paymentMapper::toDTO).toList();
     }
 
-    private PaymentTotals getShiftTotals(List<ShiftResponseDTO> shifts) {
-        return paymentCalculator.calculateShiftTotals(shifts);
-
+    // Completed shifts only, read from the daily rollup instead of loading the period's shifts
+    private PaymentTotals getPeriodTotals(Long companyId, Period period) {
+        LaborTotals totals = laborRollupService.getCompanyTotals(companyId, period.getStartDate(), period.getEndDate());
+        return new PaymentTotals(totals.hours().doubleValue(), totals.earnings(), (int) totals.shiftCount());
     }
 
     private PaymentTotals getPopAmountChange(PaymentTotals current, PaymentTotals previous) {
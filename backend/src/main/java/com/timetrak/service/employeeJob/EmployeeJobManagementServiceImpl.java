@@ -8,6 +8,7 @@ import com.timetrak.mapper.EmployeeJobMapper;
 import com.timetrak.repository.EmployeeJobRepository;
 import com.timetrak.service.employee.EmployeeService;
 import com.timetrak.service.job.JobService;
+import com.timetrak.service.shift.LaborRollupService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -30,6 +31,7 @@ public class EmployeeJobManagementServiceImpl implements EmployeeJobManagementSe
     private final EmployeeJobValidationService validationService;
     private final EmployeeService employeeService;
     private final JobService jobService;
+    private final LaborRollupService laborRollupService;
 
     @Override
     public EmployeeJobBulkResponseDTO assignJobToEmployees(EmployeeJobRequestDTO request, Long companyId) {
@@ -135,8 +137,16 @@ public class EmployeeJobManagementServiceImpl implements EmployeeJobManagementSe
         EmployeeJob assignment = queryService.getEmployeeJobById(employeeJobId, companyId);
         validationService.validateEmployeeJob(assignment, companyId);
         
+        BigDecimal previousWage = assignment.getEffectiveHourlyWage();
         employeeJobMapper.updateEmployeeJobFromDto(request, assignment);
-        EmployeeJob updated = employeeJobRepository.save(assignment);
+        EmployeeJob updated;
+        if (wageChanged(previousWage, assignment.getEffectiveHourlyWage())) {
+            // Flushed so the rollup, computed in SQL, sees the new wage
+            updated = employeeJobRepository.saveAndFlush(assignment);
+            laborRollupService.employeeJobWageChanged(employeeJobId);
+        } else {
+            updated = employeeJobRepository.save(assignment);
+        }
         
         log.info("Successfully updated assignment ID: {} with new wage: {}", 
                 employeeJobId, updated.getEffectiveHourlyWage());
@@ -145,6 +155,13 @@ public class EmployeeJobManagementServiceImpl implements EmployeeJobManagementSe
     }
 
     // Helper methods
+    private boolean wageChanged(BigDecimal previous, BigDecimal current) {
+        if (previous == null || current == null) {
+            return previous != current;
+        }
+        return previous.compareTo(current) != 0;
+    }
+
     private void processIndividualAssignment(Long employeeId, Job job, BigDecimal hourlyWage, 
                                            Long companyId, List<EmployeeJobResponseDTO> successful, 
                                            List<EmployeeJobFailureResponseDTO> failed) {
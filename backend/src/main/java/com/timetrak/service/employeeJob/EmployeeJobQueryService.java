@@ -20,6 +20,7 @@ public interface EmployeeJobQueryService {
     // Internal use (for clock operations and other services)
     EmployeeJob getEmployeeJobById(Long employeeJobId, Long companyId);
     List<EmployeeJobResponseDTO> getEmployeeJobsInfoByIds(List<Long> employeeJobIds);
+    List<EmployeeJob> getEmployeeJobsByIds(List<Long> employeeJobIds);
     
     // Existence checks
     boolean existsAssignment(Long employeeId, Long jobId, Long companyId);
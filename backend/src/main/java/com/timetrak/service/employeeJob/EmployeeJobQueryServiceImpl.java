@@ -78,6 +78,12 @@ public class EmployeeJobQueryServiceImpl implements EmployeeJobQueryService {
         return employeeJobMapper.toDTOList(employeeJobs);
     }
 
+    @Override
+    public List<EmployeeJob> getEmployeeJobsByIds(List<Long> employeeJobIds) {
+        log.debug("Retrieving {} EmployeeJobs with employee and job", employeeJobIds.size());
+        return employeeJobRepository.findByIdsWithEmployeeInfo(employeeJobIds);
+    }
+
     @Override
     public boolean existsAssignment(Long employeeId, Long jobId, Long companyId) {
         log.debug("Checking assignment existence for employee: {} and job: {} in company: {}", employeeId, jobId, companyId);
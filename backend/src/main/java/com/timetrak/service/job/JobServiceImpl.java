@@ -9,6 +9,7 @@ import com.timetrak.exception.ResourceNotFoundException;
 import com.timetrak.mapper.JobMapper;
 import com.timetrak.repository.JobRepository;
 import com.timetrak.service.department.DepartmentService;
+import com.timetrak.service.shift.LaborRollupService;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -25,6 +26,7 @@ public class JobServiceImpl implements JobService {
     private final JobMapper jobMapper;
     private final JobRepository jobRepo;
     private final DepartmentService depService;
+    private final LaborRollupService laborRollupService;
 
     @Override
     @Transactional(readOnly = true)
@@ -75,8 +77,18 @@ public class JobServiceImpl implements JobService {
             }
         }
 
+        boolean wageChanged = request.getHourlyWage() != null
+                && (job.getHourlyWage() == null || request.getHourlyWage().compareTo(job.getHourlyWage()) != 0);
+
         Job updated = jobMapper.updateJobFromDto(request, job);
-        return jobMapper.toDTO(jobRepo.save(updated));
+        if (!wageChanged) {
+            return jobMapper.toDTO(jobRepo.save(updated));
+        }
+
+        // Flushed so the rollup, computed in SQL, sees the new wage
+        Job saved = jobRepo.saveAndFlush(updated);
+        laborRollupService.jobWageChanged(jobId);
+        return jobMapper.toDTO(saved);
     }
 
     @Override
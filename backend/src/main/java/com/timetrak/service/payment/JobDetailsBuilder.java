@@ -2,8 +2,8 @@ package com.timetrak.service.payment;
 
 import com.timetrak.dto.payment.JobDetailsDTO;
 import com.timetrak.dto.payment.PaymentDetailsDTO;
-import com.timetrak.dto.shift.ShiftResponseDTO;
-import com.timetrak.service.shift.ShiftService;
+import com.timetrak.dto.shift.JobLaborTotals;
+import com.timetrak.service.shift.LaborRollupService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
@@ -11,62 +11,37 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.Objects;
-import java.util.stream.Collectors;
 
 @Component
 @RequiredArgsConstructor
 public class JobDetailsBuilder {
-    private final ShiftService shiftService;
+    private final LaborRollupService laborRollupService;
 
     public List<JobDetailsDTO> buildJobDetailsForPayment(PaymentDetailsDTO payment) {
-        // Get shifts for this payment period
-        List<ShiftResponseDTO> shifts = shiftService.getShiftsByEmployeeIdAndDateRange(
+        // Per-job totals for this payment period, read from the daily rollup
+        List<JobLaborTotals> jobTotals = laborRollupService.getEmployeeJobTotals(
                 payment.getEmployeeId(),
                 payment.getPeriodStart(),
                 payment.getPeriodEnd()
         );
 
-        // Group shifts by job title and calculate totals
-        Map<String, List<ShiftResponseDTO>> shiftsByJob = shifts.stream()
-                .filter(shift -> shift.getJobTitle() != null)
-                .collect(Collectors.groupingBy(ShiftResponseDTO::getJobTitle));
-
         List<JobDetailsDTO> jobDetails = new ArrayList<>();
 
-        for (Map.Entry<String, List<ShiftResponseDTO>> entry : shiftsByJob.entrySet()) {
-            String jobTitle = entry.getKey();
-            List<ShiftResponseDTO> jobShifts = entry.getValue();
-
-            // Calculate totals for this job
-            Double totalHours = jobShifts.stream()
-                    .map(ShiftResponseDTO::getHours)
-                    .filter(Objects::nonNull)
-                    .reduce(0.0, Double::sum);
-
-            BigDecimal totalEarnings = jobShifts.stream()
-                    .map(ShiftResponseDTO::getShiftEarnings)
-                    .filter(Objects::nonNull)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-            // Get hourly rate (assuming same rate for all shifts of same job)
-            BigDecimal hourlyRate = jobShifts.stream()
-                    .map(ShiftResponseDTO::getHourlyWage)
-                    .filter(Objects::nonNull)
-                    .findFirst()
-                    .orElse(BigDecimal.ZERO);
+        for (JobLaborTotals job : jobTotals) {
+            Double totalHours = job.totals().hours().doubleValue();
+            BigDecimal totalEarnings = job.totals().earnings();
+            BigDecimal hourlyRate = job.hourlyWage() != null ? job.hourlyWage() : BigDecimal.ZERO;
 
             // Calculate percentages
             Double percentageOfTotalHours = calculateHoursPercentage(totalHours, payment.getTotalHours());
             Double percentageOfTotalPay = calculateEarningsPercentage(totalEarnings, payment.getTotalEarnings());
 
             JobDetailsDTO jobDetail = JobDetailsDTO.builder()
-                    .jobTitle(jobTitle)
+                    .jobTitle(job.jobTitle())
                     .totalHours(totalHours)
                     .hourlyRate(hourlyRate)
                     .totalEarnings(totalEarnings)
-                    .shiftsCount(jobShifts.size())
+                    .shiftsCount((int) job.totals().shiftCount())
                     .percentageOfTotalHours(percentageOfTotalHours)
                     .percentageOfTotalPay(percentageOfTotalPay)
                     .build();
@@ -1,6 +1,8 @@
 package com.timetrak.service.payment;
 
 import com.timetrak.dto.payment.PaymentDetailsDTO;
+import com.timetrak.dto.payment.PaymentFilter;
+import com.timetrak.dto.response.CursorPage;
 import com.timetrak.enums.PaymentStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -44,6 +46,21 @@ public interface PaymentService {
                                                Pageable pageable);
 
 
+    /**
+     * Keyset-paginated payments matching the filter, latest period first
+     */
+    CursorPage<PaymentDetailsDTO> getPaymentsAfter(PaymentFilter filter, String cursor, int size, boolean includeTotal);
+
+    /**
+     * Keyset-paginated payments of an employee with job details, voided ones excluded
+     */
+    CursorPage<PaymentDetailsDTO> getPaymentsForEmployeeAfter(Long employeeId,
+                                                              Long companyId,
+                                                              String cursor,
+                                                              int size,
+                                                              boolean includeTotal);
+
+
     // =============== PAYMENT DETAILS ===============
 
     PaymentDetailsDTO getPaymentByIdForAdmin(Long paymentId, Long companyId);
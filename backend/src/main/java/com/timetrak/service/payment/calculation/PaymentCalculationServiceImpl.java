@@ -13,9 +13,11 @@ import com.timetrak.repository.PaymentRepository;
 import com.timetrak.service.shift.ShiftService;
 import com.timetrak.service.payment.PeriodService;
 import com.timetrak.service.payment.PaymentResponseBuilder;
+import com.timetrak.service.report.ReportDataChangedEvent;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import java.util.ArrayList;
@@ -34,6 +36,7 @@ public class PaymentCalculationServiceImpl implements PaymentCalculationService
     private final PaymentMapper paymentMapper;
     private final PaymentRepository paymentRepository;
     private final PaymentCalculationValidator validator;
+    private final ApplicationEventPublisher eventPublisher;
 
 
     @Override
@@ -117,6 +120,7 @@ public class PaymentCalculationServiceImpl implements PaymentCalculationService
 
         try {
             List<Payment> savedPayments = paymentRepository.saveAll(paymentsToSave);
+            ReportDataChangedEvent.ofPayments(savedPayments).forEach(eventPublisher::publishEvent);
             log.info("Successfully saved {} payments", savedPayments.size());
             return paymentMapper.toDTOList(savedPayments);
         } catch (DataIntegrityViolationException e) {
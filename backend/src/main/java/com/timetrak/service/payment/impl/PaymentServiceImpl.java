@@ -1,10 +1,13 @@
 package com.timetrak.service.payment.impl;
 
 import com.timetrak.dto.payment.*;
+import com.timetrak.dto.response.CursorPage;
 import com.timetrak.entity.Payment;
 import com.timetrak.enums.PaymentStatus;
 import com.timetrak.exception.payment.PaymentNotFoundException;
 import com.timetrak.mapper.PaymentMapper;
+import com.timetrak.misc.SeekCursor;
+import com.timetrak.repository.PaymentKeysetRepository;
 import com.timetrak.repository.PaymentRepository;
 import com.timetrak.service.payment.JobDetailsBuilder;
 import com.timetrak.service.payment.PaymentService;
@@ -20,6 +23,7 @@ import java.util.List;
 @RequiredArgsConstructor
 public class PaymentServiceImpl  implements PaymentService{
     private final PaymentRepository paymentRepository;
+    private final PaymentKeysetRepository paymentKeysetRepository;
     private final PaymentMapper paymentMapper;
     private final JobDetailsBuilder jobDetailsBuilder;
 
@@ -80,6 +84,36 @@ public class PaymentServiceImpl  implements PaymentService{
         });
     }
 
+    @Override
+    public CursorPage<PaymentDetailsDTO> getPaymentsAfter(PaymentFilter filter, String cursor, int size, boolean includeTotal) {
+        CursorPage.checkSize(size);
+        List<Payment> payments = paymentKeysetRepository.findPayments(filter, SeekCursor.decode(cursor), size + 1);
+        return CursorPage.of(payments, size,
+                payment -> SeekCursor.of(payment.getPeriodEnd(), payment.getId()),
+                paymentMapper::toDTO,
+                includeTotal ? paymentKeysetRepository.count(filter) : null);
+    }
+
+    @Override
+    public CursorPage<PaymentDetailsDTO> getPaymentsForEmployeeAfter(Long employeeId,
+                                                                     Long companyId,
+                                                                     String cursor,
+                                                                     int size,
+                                                                     boolean includeTotal) {
+        PaymentFilter filter = PaymentFilter.builder()
+                .companyId(companyId)
+                .employeeId(employeeId)
+                .excludeVoided(true)
+                .build();
+        CursorPage<PaymentDetailsDTO> page = getPaymentsAfter(filter, cursor, size, includeTotal);
+        page.getContent().forEach(dto -> {
+            List<JobDetailsDTO> jobDetails = jobDetailsBuilder.buildJobDetailsForPayment(dto);
+            dto.setJobDetails(jobDetails);
+            dto.setJobsCount(jobDetails.size());
+        });
+        return page;
+    }
+
 
 
 }
@@ -9,9 +9,11 @@ import com.timetrak.enums.PaymentStatus;
 import com.timetrak.exception.payment.InvalidPaymentRequestException;
 import com.timetrak.exception.payment.InvalidPaymentStatusException;
 import com.timetrak.repository.PaymentRepository;
+import com.timetrak.service.report.ReportDataChangedEvent;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -28,6 +30,7 @@ public class PaymentManagementServiceImpl implements PaymentManagementService {
 
     private final PaymentRepository paymentRepository;
     private final StatusUpdateValidator validator;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public StatusUpdateResponse updatePaymentStatus(StatusUpdateRequest request, Long companyId, Long modifierId) {
@@ -95,6 +98,7 @@ public class PaymentManagementServiceImpl implements PaymentManagementService {
                 .toList();
 
         paymentRepository.saveAll(toSave);
+        ReportDataChangedEvent.ofPayments(toSave).forEach(eventPublisher::publishEvent);
         log.info("Persisted {} payments with new statuses", toSave.size());
     }
 
@@ -1,67 +1,122 @@
 package com.timetrak.service.report;
 
+import com.itextpdf.io.font.constants.StandardFonts;
 import com.itextpdf.kernel.colors.ColorConstants;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
 import com.itextpdf.kernel.geom.PageSize;
 import com.itextpdf.kernel.pdf.PdfDocument;
 import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.Style;
 import com.itextpdf.layout.element.Cell;
 import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.layout.element.Table;
 import com.itextpdf.layout.properties.TextAlignment;
 import com.itextpdf.layout.properties.UnitValue;
+import com.timetrak.dto.payment.PaymentExportRow;
 import com.timetrak.dto.payment.Period;
-import com.timetrak.entity.Payment;
+import com.timetrak.enums.ReportType;
 import com.timetrak.repository.PaymentRepository;
 import com.timetrak.service.payment.PeriodService;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import com.itextpdf.layout.element.Table;
-import com.itextpdf.layout.Document;
-import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
 import java.util.List;
-
+import java.util.stream.Stream;
+
+/**
+ * Renders a pay period's payments as PDF straight into the response stream. Rows are read from a
+ * database cursor into an iText large table that is flushed every {@link #TABLE_FLUSH_ROWS} rows, so
+ * memory stays flat however many payments the period has. Closed periods are served from
+ * {@link ReportCache} until their payments change.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class PaymentExporterService {
+
+    // Rows the table holds before they are laid out and handed to the writer
+    private static final int TABLE_FLUSH_ROWS = 100;
+
+    private static final DateTimeFormatter GENERATED_AT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static final String[] HEADERS = {
+            "Payment ID",
+            "Employee ID",
+            "Employee Name",
+            "Total Hours",
+            "Total Earnings",
+            "Status"
+    };
+
     private final PaymentRepository paymentRepository;
     private final PeriodService paymentPeriodService;
+    private final ReportCache reportCache;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public PaymentExporterService(PaymentRepository paymentRepository,
+                                  PeriodService paymentPeriodService,
+                                  ReportCache reportCache,
+                                  PlatformTransactionManager transactionManager) {
+        this.paymentRepository = paymentRepository;
+        this.paymentPeriodService = paymentPeriodService;
+        this.reportCache = reportCache;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
 
-    public byte[] exportPayments(int periodNumber,Long companyId) {
+    public void exportPayments(Period period, Long companyId, OutputStream out) {
+        exportPayments(period, companyId, out, ReportProgress.NONE);
+    }
 
-        Period period = resolvePaymentPeriod(periodNumber,companyId);
+    public void exportPayments(Period period, Long companyId, OutputStream out, ReportProgress progress) {
+        ReportCache.ReportKey key = new ReportCache.ReportKey(companyId, ReportType.PAYMENTS,
+                period.getStartDate(), period.getEndDate(), List.of());
+        reportCache.serve(key, out, target -> renderPayments(period, companyId, target, progress));
+    }
+
+    private void renderPayments(Period period, Long companyId, OutputStream out, ReportProgress progress) {
         log.info("Exporting payments for company {} from {} to {} in PDF format",
                 companyId, period.getStartDate(), period.getEndDate());
 
-
-        List<Payment> payments = paymentRepository.findByCompanyIdAndDateRange(companyId, period.getStartDate(), period.getEndDate());
-
-        if (payments.isEmpty()) {
-            log.warn("No payments found for company {} in date range {} to {}", companyId, period.getStartDate(), period.getEndDate());
-        }
-
-        try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+        try {
             PdfWriter writer = new PdfWriter(out);
+            // The servlet container owns the response stream
+            writer.setCloseStream(false);
             PdfDocument pdf = new PdfDocument(writer);
             Document document = new Document(pdf, PageSize.A4.rotate());
-
-            //title
-            createPdfHeader(document, period.getShortDescription(), payments.size());
-
-            //add table
-            Table table = createPaymentTable(payments);
-            document.add(table);
+            PdfFont bold = PdfFontFactory.createFont(StandardFonts.HELVETICA_BOLD);
+
+            PaymentSummary summary = readOnlyTransaction.execute(status -> {
+                long paymentCount = paymentRepository.countByCompanyIdAndDateRange(
+                        companyId, period.getStartDate(), period.getEndDate());
+                progress.start(paymentCount);
+                if (paymentCount == 0) {
+                    log.warn("No payments found for company {} in date range {} to {}", companyId, period.getStartDate(), period.getEndDate());
+                }
+
+                //title
+                createPdfHeader(document, bold, period.getShortDescription(), paymentCount);
+
+                //add table
+                try (Stream<PaymentExportRow> rows = paymentRepository.streamExportRowsByCompanyIdAndDateRange(
+                        companyId, period.getStartDate(), period.getEndDate())) {
+                    return addPaymentTable(document, bold, rows.iterator(), progress);
+                }
+            });
 
             //add summary
-            createPdfSummary(document, payments);
+            createPdfSummary(document, bold, summary);
 
             document.close();
-            log.info("Generated PDF file with {} payments", payments.size());
-            return out.toByteArray();
+            log.info("Generated PDF file with {} payments", summary.count());
 
         } catch (Exception e) {
             log.error("Failed to generate PDF file for company {}: {}", companyId, e.getMessage(), e);
@@ -69,7 +124,10 @@ public class PaymentExporterService {
         }
     }
 
-    private Period resolvePaymentPeriod(Integer periodNumber, Long companyId) {
+    /**
+     * Called before streaming starts so a bad period number still gets a proper error response.
+     */
+    public Period resolvePaymentPeriod(Integer periodNumber, Long companyId) {
         if (periodNumber == null || periodNumber <= 0) {
             log.info("No period number provided, using current payment period for company {}", companyId);
             return paymentPeriodService.getCurrentPeriod(companyId);
@@ -80,12 +138,12 @@ public class PaymentExporterService {
     }
 
 
-    private void createPdfHeader(Document document,String formattedPeriod, int paymentCount) {
+    private void createPdfHeader(Document document, PdfFont bold, String formattedPeriod, long paymentCount) {
         //Main title
         Paragraph title = new Paragraph("Payment Report")
                 .setTextAlignment(TextAlignment.CENTER)
                 .setFontSize(24)
-                .setBold()
+                .setFont(bold)
                 .setMarginBottom(10);
         document.add(title);
 
@@ -104,93 +162,90 @@ public class PaymentExporterService {
         document.add(count);
     }
 
-    private Table createPaymentTable(List<Payment> payments) {
-        //create table with 6 columns
-
-        //cdd headers
-        String[] headers = {
-                "Payment ID",
-                "Employee ID",
-                "Employee Name",
-                "Total Hours",
-                "Total Earnings",
-                "Status"
-        };
-        Table table = new Table(headers.length);
+    private PaymentSummary addPaymentTable(Document document, PdfFont bold, Iterator<PaymentExportRow> rows,
+                                           ReportProgress progress) {
+        Table table = new Table(HEADERS.length, true);
         table.setWidth(UnitValue.createPercentValue(100));
 
-        for (String header : headers) {
-            Cell headerCell = new Cell()
-                    .add(new Paragraph(header).setBold())
-                    .setBackgroundColor(ColorConstants.LIGHT_GRAY)
-                    .setTextAlignment(TextAlignment.CENTER)
-                    .setPadding(8);
-            table.addHeaderCell(headerCell);
+        Style headerCell = new Style()
+                .setFont(bold)
+                .setBackgroundColor(ColorConstants.LIGHT_GRAY)
+                .setTextAlignment(TextAlignment.CENTER)
+                .setPadding(8);
+        for (String header : HEADERS) {
+            table.addHeaderCell(new Cell().add(new Paragraph(header)).addStyle(headerCell));
         }
+        document.add(table);
 
         //add data rows
-        for (Payment payment : payments) {
+        long count = 0;
+        BigDecimal totalEarnings = BigDecimal.ZERO;
+        while (rows.hasNext()) {
+            PaymentExportRow payment = rows.next();
             addPaymentRowToPdf(table, payment);
+            totalEarnings = totalEarnings.add(payment.totalEarnings());
+            if (++count % TABLE_FLUSH_ROWS == 0) {
+                table.flush();
+                progress.advance(count);
+            }
         }
+        table.complete();
+        progress.advance(count);
 
-        return table;
+        return new PaymentSummary(count, totalEarnings);
     }
 
-    private void addPaymentRowToPdf(Table table, Payment payment) {
+    private void addPaymentRowToPdf(Table table, PaymentExportRow payment) {
         // Payment ID
-        table.addCell(new Cell().add(new Paragraph(payment.getId().toString()))
+        table.addCell(new Cell().add(new Paragraph(payment.id().toString()))
                 .setTextAlignment(TextAlignment.CENTER));
 
         // Employee ID
-        table.addCell(new Cell().add(new Paragraph(payment.getEmployee().getId().toString()))
+        table.addCell(new Cell().add(new Paragraph(payment.employeeId().toString()))
                 .setTextAlignment(TextAlignment.CENTER));
 
         // Employee Name
-        table.addCell(new Cell().add(new Paragraph(payment.getEmployee().getFullName())));
+        table.addCell(new Cell().add(new Paragraph(payment.fullName())));
 
         // Total Hours
-        table.addCell(new Cell().add(new Paragraph(payment.getTotalHours().toString()))
+        table.addCell(new Cell().add(new Paragraph(payment.totalHours().toString()))
                 .setTextAlignment(TextAlignment.RIGHT));
 
         // Total Earnings (formatted as currency)
-        table.addCell(new Cell().add(new Paragraph("$" + payment.getTotalEarnings().toString()))
+        table.addCell(new Cell().add(new Paragraph("$" + payment.totalEarnings().toString()))
                 .setTextAlignment(TextAlignment.RIGHT));
 
         // Status
-        table.addCell(new Cell().add(new Paragraph(payment.getStatus().toString()))
+        table.addCell(new Cell().add(new Paragraph(payment.status().toString()))
                 .setTextAlignment(TextAlignment.CENTER));
 
     }
 
-    private void createPdfSummary(Document document, List<Payment> payments) {
-        // Calculate totals
-        BigDecimal totalEarnings = payments.stream()
-                .map(Payment::getTotalEarnings)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-
+    private void createPdfSummary(Document document, PdfFont bold, PaymentSummary summary) {
         // Add summary section
         document.add(new Paragraph(" ").setMarginTop(20)); // Space
 
         Paragraph summaryTitle = new Paragraph("Summary")
-                .setBold()
+                .setFont(bold)
                 .setFontSize(16)
                 .setMarginBottom(10);
         document.add(summaryTitle);
 
         Paragraph summaryText = new Paragraph(String.format(
                 "Total Payments: %d \nTotal Earnings: $%s",
-                payments.size(), totalEarnings))
+                summary.count(), summary.totalEarnings()))
                 .setFontSize(12);
         document.add(summaryText);
 
         //add generation timestamp
         Paragraph timestamp = new Paragraph(String.format("Generated on: %s",
-                LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"))))
+                LocalDateTime.now().format(GENERATED_AT)))
                 .setTextAlignment(TextAlignment.RIGHT)
                 .setFontSize(10)
                 .setMarginTop(20);
         document.add(timestamp);
     }
 
+    private record PaymentSummary(long count, BigDecimal totalEarnings) {
+    }
 }
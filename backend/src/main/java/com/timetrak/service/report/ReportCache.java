@@ -0,0 +1,207 @@
+package com.timetrak.service.report;
+
+import com.timetrak.enums.ReportType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Keeps rendered PDFs of closed periods so repeated downloads skip the queries and the layout.
+ * <p>
+ * Every committed shift or payment write ({@link ReportDataChangedEvent}) stamps the days it
+ * touched with a new sequence number, per company. A cached report remembers the sequence from
+ * before it was rendered and is served only while no day of its period carries a later stamp, so
+ * a write anywhere in the period, even one racing the render, makes the next request re-render.
+ * Open periods change with every clock event and are always rendered.
+ */
+@Service
+@Slf4j
+public class ReportCache {
+
+    /**
+     * What a report covers; department ids are normalized so the same set in any order hits.
+     */
+    public record ReportKey(Long companyId, ReportType type, LocalDate startDate, LocalDate endDate,
+                            List<Long> departmentIds) {
+
+        public ReportKey {
+            departmentIds = departmentIds.stream().sorted().distinct().toList();
+        }
+    }
+
+    private record Entry(long version, byte[] pdf) {
+    }
+
+    private final long maxBytes;
+    private final long maxEntryBytes;
+
+    private final AtomicLong sequence = new AtomicLong();
+    // Work day -> sequence of the last write touching it, per company and for writes of unknown company
+    private final Map<Long, NavigableMap<LocalDate, Long>> companyVersions = new ConcurrentHashMap<>();
+    private final NavigableMap<LocalDate, Long> anyCompanyVersions = new ConcurrentSkipListMap<>();
+
+    // Access-ordered for LRU eviction; guarded by itself
+    private final LinkedHashMap<ReportKey, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    public ReportCache(@Value("${reports.cache.max-megabytes:64}") long maxMegabytes,
+                       @Value("${reports.cache.max-entry-megabytes:8}") long maxEntryMegabytes) {
+        this.maxBytes = maxMegabytes * 1024 * 1024;
+        this.maxEntryBytes = Math.min(maxEntryMegabytes * 1024 * 1024, maxBytes);
+    }
+
+    /**
+     * Writes the cached PDF for {@code key} to {@code out}, or renders it through {@code renderer}
+     * while keeping a copy for the next request.
+     */
+    public void serve(ReportKey key, OutputStream out, Consumer<OutputStream> renderer) {
+        if (!key.endDate().isBefore(LocalDate.now()) || maxEntryBytes <= 0) {
+            renderer.accept(out);
+            return;
+        }
+
+        Entry cached = find(key);
+        if (cached != null) {
+            log.debug("Serving cached {} report for company {} ({} bytes)", key.type(), key.companyId(), cached.pdf().length);
+            write(out, cached.pdf());
+            return;
+        }
+
+        // Taken before any row is read, so a write committed during the render outdates the copy
+        long version = sequence.get();
+        CapturingOutputStream capture = new CapturingOutputStream(out, maxEntryBytes);
+        renderer.accept(capture);
+        byte[] pdf = capture.captured();
+        if (pdf != null) {
+            put(key, new Entry(version, pdf));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReportDataChanged(ReportDataChangedEvent event) {
+        long stamp = sequence.incrementAndGet();
+        NavigableMap<LocalDate, Long> versions = event.companyId() == null
+                ? anyCompanyVersions
+                : companyVersions.computeIfAbsent(event.companyId(), id -> new ConcurrentSkipListMap<>());
+        for (LocalDate day = event.from(); !day.isAfter(event.to()); day = day.plusDays(1)) {
+            versions.merge(day, stamp, Math::max);
+        }
+    }
+
+    private Entry find(ReportKey key) {
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (lastWrite(key) > entry.version()) {
+                remove(key);
+                return null;
+            }
+            return entry;
+        }
+    }
+
+    private long lastWrite(ReportKey key) {
+        return Math.max(
+                latest(companyVersions.get(key.companyId()), key),
+                latest(anyCompanyVersions, key));
+    }
+
+    private static long latest(NavigableMap<LocalDate, Long> versions, ReportKey key) {
+        if (versions == null) {
+            return 0;
+        }
+        return versions.subMap(key.startDate(), true, key.endDate(), true).values().stream()
+                .mapToLong(Long::longValue)
+                .max()
+                .orElse(0);
+    }
+
+    private void put(ReportKey key, Entry entry) {
+        synchronized (entries) {
+            remove(key);
+            entries.put(key, entry);
+            totalBytes += entry.pdf().length;
+
+            Iterator<Entry> eldest = entries.values().iterator();
+            while (totalBytes > maxBytes && eldest.hasNext()) {
+                totalBytes -= eldest.next().pdf().length;
+                eldest.remove();
+            }
+        }
+    }
+
+    private void remove(ReportKey key) {
+        Entry removed = entries.remove(key);
+        if (removed != null) {
+            totalBytes -= removed.pdf().length;
+        }
+    }
+
+    private static void write(OutputStream out, byte[] pdf) {
+        try {
+            out.write(pdf);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Passes everything through and keeps a copy until it grows past the limit.
+     */
+    private static final class CapturingOutputStream extends FilterOutputStream {
+
+        private final long limit;
+        private ByteArrayOutputStream copy = new ByteArrayOutputStream();
+
+        CapturingOutputStream(OutputStream out, long limit) {
+            super(out);
+            this.limit = limit;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            capture(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            capture(b, off, len);
+        }
+
+        private void capture(byte[] b, int off, int len) {
+            if (copy == null) {
+                return;
+            }
+            if (copy.size() + len > limit) {
+                copy = null;
+                return;
+            }
+            copy.write(b, off, len);
+        }
+
+        byte[] captured() {
+            return copy != null ? copy.toByteArray() : null;
+        }
+    }
+}
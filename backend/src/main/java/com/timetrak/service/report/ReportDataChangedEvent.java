@@ -0,0 +1,67 @@
+package com.timetrak.service.report;
+
+import com.timetrak.dto.shift.ClosedShift;
+import com.timetrak.entity.Payment;
+import com.timetrak.entity.Shift;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Published when shifts or payments dated between {@code from} and {@code to} (inclusive) were
+ * written, so cached reports over those days are no longer served. A {@code null} company means
+ * the writer did not know it, and the days are treated as changed for every company.
+ */
+public record ReportDataChangedEvent(Long companyId, LocalDate from, LocalDate to) {
+
+    public static ReportDataChangedEvent ofDay(Long companyId, LocalDateTime time) {
+        return new ReportDataChangedEvent(companyId, time.toLocalDate(), time.toLocalDate());
+    }
+
+    /**
+     * One event per company, spanning the clock-in days of its shifts (shift reports select by clock-in).
+     */
+    public static List<ReportDataChangedEvent> ofShifts(Collection<Shift> shifts) {
+        return perCompany(shifts.stream()
+                .filter(shift -> shift.getClockIn() != null)
+                .map(shift -> ofDay(shift.getCompanyId(), shift.getClockIn()))
+                .toList());
+    }
+
+    /**
+     * One event per company, spanning the clock-in days of the shifts a bulk clock-out closed.
+     */
+    public static List<ReportDataChangedEvent> ofClosedShifts(Collection<ClosedShift> closed) {
+        return perCompany(closed.stream()
+                .filter(closedShift -> closedShift.shift().getClockIn() != null)
+                .map(closedShift -> ofDay(closedShift.companyId(), closedShift.shift().getClockIn()))
+                .toList());
+    }
+
+    /**
+     * One event per company, spanning the periods of its payments.
+     */
+    public static List<ReportDataChangedEvent> ofPayments(Collection<Payment> payments) {
+        return perCompany(payments.stream()
+                .map(payment -> new ReportDataChangedEvent(payment.getCompanyId(), payment.getPeriodStart(), payment.getPeriodEnd()))
+                .toList());
+    }
+
+    public ReportDataChangedEvent span(ReportDataChangedEvent other) {
+        return new ReportDataChangedEvent(companyId,
+                from.isBefore(other.from) ? from : other.from,
+                to.isAfter(other.to) ? to : other.to);
+    }
+
+    private static List<ReportDataChangedEvent> perCompany(List<ReportDataChangedEvent> events) {
+        Map<Long, ReportDataChangedEvent> byCompany = new HashMap<>();
+        for (ReportDataChangedEvent event : events) {
+            byCompany.merge(event.companyId(), event, ReportDataChangedEvent::span);
+        }
+        return List.copyOf(byCompany.values());
+    }
+}
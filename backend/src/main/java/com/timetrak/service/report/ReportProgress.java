@@ -0,0 +1,27 @@
+package com.timetrak.service.report;
+
+/**
+ * Receives row counts from a report renderer so a background job can expose its progress.
+ */
+public interface ReportProgress {
+
+    ReportProgress NONE = new ReportProgress() {
+        @Override
+        public void start(long totalRows) {
+        }
+
+        @Override
+        public void advance(long rowsWritten) {
+        }
+    };
+
+    /**
+     * Called once before the first row with the number of rows the report will contain.
+     */
+    void start(long totalRows);
+
+    /**
+     * Called as rows are written, with the running total.
+     */
+    void advance(long rowsWritten);
+}
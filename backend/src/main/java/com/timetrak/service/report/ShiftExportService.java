@@ -0,0 +1,152 @@
+package com.timetrak.service.report;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.timetrak.dto.payment.Period;
+import com.timetrak.dto.shift.ShiftResponseDTO;
+import com.timetrak.dto.shift.ShiftRow;
+import com.timetrak.enums.ExportFormat;
+import com.timetrak.mapper.ShiftMapper;
+import com.timetrak.repository.ShiftRepository;
+import com.timetrak.service.payment.PeriodService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams a company's shifts for a date range as CSV or NDJSON.
+ * <p>
+ * Rows come from a database cursor ({@link ShiftRepository#streamRowsByCompanyIdAndDateRange}) and are
+ * written as they arrive, so memory stays flat however long the range is and the first bytes leave
+ * before the query has finished. Meant to run inside a {@code StreamingResponseBody}, i.e. on an async
+ * request thread, so it opens its own read-only transaction for the cursor.
+ */
+@Service
+@Slf4j
+public class ShiftExportService {
+
+    private static final String[] CSV_HEADER = {"id", "clockIn", "clockOut", "hours", "status", "siteId",
+            "employeeId", "username", "fullName", "jobTitle", "hourlyWage", "shiftEarnings"};
+
+    private final ShiftRepository shiftRepository;
+    private final ShiftMapper shiftMapper;
+    private final PeriodService periodService;
+    private final ObjectWriter jsonWriter;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ShiftExportService(ShiftRepository shiftRepository,
+                              ShiftMapper shiftMapper,
+                              PeriodService periodService,
+                              ObjectMapper objectMapper,
+                              PlatformTransactionManager transactionManager) {
+        this.shiftRepository = shiftRepository;
+        this.shiftMapper = shiftMapper;
+        this.periodService = periodService;
+        this.jsonWriter = objectMapper.writer();
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Explicit dates win; otherwise the given pay period, or the current one. Called before streaming
+     * starts so a bad request still gets a proper error response.
+     */
+    public Period resolveRange(Integer periodNumber, LocalDate startDate, LocalDate endDate, Long companyId) {
+        if (startDate != null || endDate != null) {
+            if (startDate == null || endDate == null || endDate.isBefore(startDate)) {
+                throw new IllegalArgumentException("Both startDate and endDate are required, with startDate not after endDate");
+            }
+            return Period.builder().startDate(startDate).endDate(endDate).build();
+        }
+        if (periodNumber == null || periodNumber <= 0) {
+            return periodService.getCurrentPeriod(companyId);
+        }
+        return periodService.getPeriodByNumber(periodNumber, companyId);
+    }
+
+    public void exportShifts(Long companyId, LocalDate startDate, LocalDate endDate,
+                             ExportFormat format, OutputStream out) {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        long exported = readOnlyTransaction.execute(status -> {
+            try (Stream<ShiftRow> rows = shiftRepository.streamRowsByCompanyIdAndDateRange(
+                    companyId, startDate.atStartOfDay(), endDate.plusDays(1).atStartOfDay())) {
+                if (format == ExportFormat.CSV) {
+                    writeCsvLine(writer, (Object[]) CSV_HEADER);
+                }
+                long count = 0;
+                Iterator<ShiftRow> iterator = rows.iterator();
+                while (iterator.hasNext()) {
+                    ShiftResponseDTO shift = shiftMapper.toDTO(iterator.next());
+                    if (format == ExportFormat.CSV) {
+                        writeCsv(writer, shift);
+                    } else {
+                        writer.write(jsonWriter.writeValueAsString(shift));
+                        writer.write('\n');
+                    }
+                    count++;
+                }
+                writer.flush();
+                return count;
+            } catch (IOException e) {
+                // Usually the client went away mid-download
+                throw new UncheckedIOException(e);
+            }
+        });
+        log.info("Exported {} shifts for company {} from {} to {} as {}", exported, companyId, startDate, endDate, format);
+    }
+
+    private void writeCsv(Writer writer, ShiftResponseDTO shift) throws IOException {
+        writeCsvLine(writer,
+                shift.getId(),
+                shift.getClockIn(),
+                shift.getClockOut(),
+                shift.getHours(),
+                shift.getStatus(),
+                shift.getSiteId(),
+                shift.getEmployeeId(),
+                shift.getUsername(),
+                shift.getFullName(),
+                shift.getJobTitle(),
+                shift.getHourlyWage(),
+                shift.getShiftEarnings());
+    }
+
+    private static void writeCsvLine(Writer writer, Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(csvField(values[i]));
+        }
+        writer.write("\r\n");
+    }
+
+    /**
+     * RFC 4180 quoting, plus a leading quote on values a spreadsheet would evaluate as a formula.
+     */
+    static String csvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (!text.isEmpty() && "=+-@".indexOf(text.charAt(0)) >= 0 && !(value instanceof Number)) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+}
@@ -1,11 +1,15 @@
 package com.timetrak.service.report;
 
+import com.itextpdf.io.font.constants.StandardFonts;
 import com.itextpdf.kernel.colors.ColorConstants;
 import com.itextpdf.kernel.colors.DeviceRgb;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
 import com.itextpdf.kernel.geom.PageSize;
 import com.itextpdf.kernel.pdf.PdfDocument;
 import com.itextpdf.kernel.pdf.PdfWriter;
 import com.itextpdf.layout.Document;
+import com.itextpdf.layout.Style;
 import com.itextpdf.layout.element.AreaBreak;
 import com.itextpdf.layout.element.Cell;
 import com.itextpdf.layout.element.Paragraph;
@@ -14,58 +18,142 @@ import com.itextpdf.layout.properties.AreaBreakType;
 import com.itextpdf.layout.properties.TextAlignment;
 import com.itextpdf.layout.properties.UnitValue;
 import com.timetrak.dto.payment.Period;
+import com.timetrak.dto.shift.DepartmentShiftRow;
 import com.timetrak.dto.shift.ShiftResponseDTO;
+import com.timetrak.enums.ReportType;
+import com.timetrak.mapper.ShiftMapper;
+import com.timetrak.repository.ShiftRepository;
 import com.timetrak.service.company.CompanyService;
 import com.timetrak.service.department.DepartmentService;
 import com.timetrak.service.payment.PeriodService;
-import com.timetrak.service.shift.ShiftService;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.*;
-import java.util.stream.Collectors;
-
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Renders the department-grouped shift report as PDF straight into the response stream.
+ * <p>
+ * Shifts come from a database cursor ordered by department and job, and every job section is an iText
+ * large table that is flushed every {@link #TABLE_FLUSH_ROWS} rows, so finished pages are written out
+ * while later rows are still being read. Only the per-job totals for the closing summary are kept.
+ * Meant to run inside a {@code StreamingResponseBody}, so it opens its own read-only transaction.
+ * Closed periods are served from {@link ReportCache} until their shifts change.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class ShiftReportService {
+
+    // Rows a large table holds before they are laid out and handed to the writer
+    static final int TABLE_FLUSH_ROWS = 100;
+
+    private static final DeviceRgb PRIMARY_BLUE = new DeviceRgb(52, 73, 94);
+    private static final DeviceRgb LIGHT_BLUE = new DeviceRgb(174, 214, 241);
+    private static final DeviceRgb HEADER_GRAY = new DeviceRgb(134, 142, 150);
+    private static final DeviceRgb DARK_GRAY = new DeviceRgb(73, 80, 87);
+    private static final DeviceRgb TOTAL_ROW_GRAY = new DeviceRgb(52, 58, 64);
+    private static final DeviceRgb ACTIVE_RED = new DeviceRgb(231, 76, 60);
+
+    private static final DateTimeFormatter CELL_TIME = DateTimeFormatter.ofPattern("MM/dd HH:mm");
+    private static final DateTimeFormatter GENERATED_AT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static final String[] SHIFT_HEADERS = {"Employee Name", "Clock In", "Clock Out", "Total Hours", "Status"};
+    private static final String[] SUMMARY_HEADERS = {"Department", "Job Title", "Shifts", "Total Hours"};
+    private static final String NO_JOB_TITLE = "No Job Title";
+
     private final CompanyService companyService;
-    private final ShiftService shiftService;
     private final PeriodService periodService;
     private final DepartmentService depService;
+    private final ShiftRepository shiftRepository;
+    private final ShiftMapper shiftMapper;
+    private final ReportCache reportCache;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ShiftReportService(CompanyService companyService,
+                              PeriodService periodService,
+                              DepartmentService depService,
+                              ShiftRepository shiftRepository,
+                              ShiftMapper shiftMapper,
+                              ReportCache reportCache,
+                              PlatformTransactionManager transactionManager) {
+        this.companyService = companyService;
+        this.periodService = periodService;
+        this.depService = depService;
+        this.shiftRepository = shiftRepository;
+        this.shiftMapper = shiftMapper;
+        this.reportCache = reportCache;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
 
+    /**
+     * What a report covers, resolved before streaming starts so a bad request still gets a proper
+     * error response.
+     */
+    public record ReportScope(Long companyId,
+                              String companyName,
+                              Period period,
+                              List<Long> departmentIds,
+                              String reportType) {
+    }
 
-    public byte[] exportShifts(Integer periodNumber, Long companyId, @Nullable List<Long> departmentIds) {
+    public ReportScope resolveScope(Integer periodNumber, Long companyId, @Nullable List<Long> departmentIds) {
         String companyName = companyService.getCompanyById(companyId).getName();
         Period period = resolvePaymentPeriod(periodNumber, companyId);
 
-        List<Long> targetDepartments;
-        String reportType;
-
         if (departmentIds == null || departmentIds.isEmpty()) {
-            targetDepartments = depService.getAllDepartmentIdsForCompany(companyId);
-            reportType = "Company-Wide";
-        } else {
-            targetDepartments = departmentIds;
-            reportType = departmentIds.size() == 1 ? "Department" : "Multi-Department";
+            return new ReportScope(companyId, companyName, period,
+                    depService.getAllDepartmentIdsForCompany(companyId), "Company-Wide");
         }
+        return new ReportScope(companyId, companyName, period, departmentIds,
+                departmentIds.size() == 1 ? "Department" : "Multi-Department");
+    }
 
-        Map<Long, List<ShiftResponseDTO>> shiftsByDepartment = shiftService.getShiftsByDepartmentsGrouped(
-                targetDepartments, companyId, period.getStartDate(), period.getEndDate());
+    public void exportShifts(ReportScope scope, OutputStream out) {
+        exportShifts(scope, out, ReportProgress.NONE);
+    }
 
-        Map<Long, String> departmentNames = getDepartmentNames(shiftsByDepartment.keySet(),companyId);
+    public void exportShifts(ReportScope scope, OutputStream out, ReportProgress progress) {
+        ReportCache.ReportKey key = new ReportCache.ReportKey(scope.companyId(), ReportType.SHIFTS,
+                scope.period().getStartDate(), scope.period().getEndDate(), scope.departmentIds());
+        reportCache.serve(key, out, target -> renderShifts(scope, target, progress));
+    }
 
+    private void renderShifts(ReportScope scope, OutputStream out, ReportProgress progress) {
         try {
-            return generateDepartmentCategorizedPdf(shiftsByDepartment, departmentNames, period, reportType,companyName);
+            PdfWriter writer = new PdfWriter(out);
+            // The servlet container owns the response stream
+            writer.setCloseStream(false);
+            PdfDocument pdf = new PdfDocument(writer);
+            Document document = new Document(pdf, PageSize.A4.rotate());
+            ReportStyles styles = new ReportStyles();
+            document.setFont(styles.regular);
+
+            createPdfHeader(document, styles, scope.companyName(),
+                    scope.reportType() + " Shift Report - " + scope.period().getShortDescription());
+
+            List<JobTotals> totals = readDepartmentSections(document, styles, scope, progress);
+
+            document.add(new AreaBreak(AreaBreakType.NEXT_PAGE));
+            createJobBreakdownTable(document, styles, totals);
+
+            document.close();
+            log.info("Generated shift report for company {} with {} job sections", scope.companyId(), totals.size());
         } catch (Exception e) {
             log.error("Failed to generate PDF for company {} departments {}: {}",
-                    companyId, targetDepartments, e.getMessage(), e);
+                    scope.companyId(), scope.departmentIds(), e.getMessage(), e);
             throw new RuntimeException("Failed to generate PDF file", e);
         }
     }
@@ -78,62 +166,81 @@ public class ShiftReportService {
         }
     }
 
-    private Map<Long, String> getDepartmentNames(Set<Long> departmentIds,Long companyId) {
-        return departmentIds.stream()
-                .collect(Collectors.toMap(
-                        id -> id,
-                        id -> {
-                            try {
-                                return depService.getDepartmentById(id,companyId).getName();
-                            } catch (Exception e) {
-                                log.warn("Could not get name for department {}: {}", id, e.getMessage());
-                                return "Department " + id;
-                            }
-                        }
-                ));
+    private List<JobTotals> readDepartmentSections(Document document, ReportStyles styles, ReportScope scope,
+                                                   ReportProgress progress) {
+        if (scope.departmentIds().isEmpty()) {
+            progress.start(0);
+            return Collections.emptyList();
+        }
+        LocalDateTime start = scope.period().getStartDate().atStartOfDay();
+        LocalDateTime endExclusive = scope.period().getEndDate().plusDays(1).atStartOfDay();
+        return readOnlyTransaction.execute(status -> {
+            // Only background jobs report progress; the extra count is not worth it for a plain download
+            if (progress != ReportProgress.NONE) {
+                progress.start(shiftRepository.countDepartmentRowsForDateRange(
+                        scope.departmentIds(), scope.companyId(), start, endExclusive));
+            }
+            try (Stream<DepartmentShiftRow> rows = shiftRepository.streamDepartmentRowsForDateRange(
+                    scope.departmentIds(), scope.companyId(), start, endExclusive)) {
+                return addDepartmentSections(document, styles, rows.iterator(), progress);
+            }
+        });
     }
 
-    private byte[] generateDepartmentCategorizedPdf(
-            Map<Long, List<ShiftResponseDTO>> shiftsByDepartment,
-            Map<Long, String> departmentNames,
-            Period period,
-            String reportType,
-            String companyName) throws Exception {
-
-        try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
-            PdfWriter writer = new PdfWriter(out);
-            PdfDocument pdf = new PdfDocument(writer);
-            Document document = new Document(pdf, PageSize.A4.rotate());
-
-            createPdfHeader(document, companyName, reportType + " Shift Report - " + period.getShortDescription());
-
-            boolean firstDepartment = true;
-            for (Map.Entry<Long, List<ShiftResponseDTO>> entry : shiftsByDepartment.entrySet()) {
-                Long deptId = entry.getKey();
-                List<ShiftResponseDTO> shifts = entry.getValue();
-                String deptName = departmentNames.getOrDefault(deptId, "Department " + deptId);
-
-                if (!firstDepartment) {
-                    document.add(new AreaBreak(AreaBreakType.NEXT_PAGE));
+    /**
+     * Rows arrive ordered by department, then job title, so a section ends where either changes.
+     */
+    private List<JobTotals> addDepartmentSections(Document document, ReportStyles styles,
+                                                  Iterator<DepartmentShiftRow> rows, ReportProgress progress) {
+        List<JobTotals> totals = new ArrayList<>();
+        long written = 0;
+        Long departmentId = null;
+        JobSection section = null;
+
+        while (rows.hasNext()) {
+            DepartmentShiftRow row = rows.next();
+            ShiftResponseDTO shift = shiftMapper.toDTO(row.shift());
+            String jobTitle = shift.getJobTitle() != null ? shift.getJobTitle() : NO_JOB_TITLE;
+            boolean newDepartment = !row.departmentId().equals(departmentId);
+
+            if (newDepartment || !section.jobTitle.equals(jobTitle)) {
+                if (section != null) {
+                    totals.add(finishJobSection(document, styles, section));
                 }
-
-                addDepartmentSectionWithJobGrouping(document, deptName, shifts);
-                firstDepartment = false;
+                if (newDepartment) {
+                    if (departmentId != null) {
+                        document.add(new AreaBreak(AreaBreakType.NEXT_PAGE));
+                    }
+                    addDepartmentTitle(document, styles, row.departmentName());
+                    departmentId = row.departmentId();
+                } else {
+                    document.add(new Paragraph(" ").setMarginTop(15));
+                }
+                section = startJobSection(document, styles, row.departmentName(), jobTitle);
             }
 
-            document.add(new AreaBreak(AreaBreakType.NEXT_PAGE));
-            createJobBreakdownTables(document, shiftsByDepartment, departmentNames);
+            addShiftRowToPdf(section.table, styles, shift);
+            section.add(shift.getHours());
+            if (section.shifts % TABLE_FLUSH_ROWS == 0) {
+                section.table.flush();
+            }
+            if (++written % TABLE_FLUSH_ROWS == 0) {
+                progress.advance(written);
+            }
+        }
 
-            document.close();
-            return out.toByteArray();
+        if (section != null) {
+            totals.add(finishJobSection(document, styles, section));
         }
+        progress.advance(written);
+        return totals;
     }
 
-    private void createPdfHeader(Document document, String companyName, String title) {
+    private void createPdfHeader(Document document, ReportStyles styles, String companyName, String title) {
         Paragraph mainTitle = new Paragraph(companyName)
                 .setTextAlignment(TextAlignment.CENTER)
                 .setFontSize(24)
-                .setBold()
+                .setFont(styles.bold)
                 .setMarginBottom(10);
         document.add(mainTitle);
 
@@ -144,290 +251,220 @@ public class ShiftReportService {
         document.add(subtitle);
 
         Paragraph timestamp = new Paragraph(String.format("Generated on: %s",
-                LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"))))
+                LocalDateTime.now().format(GENERATED_AT)))
                 .setTextAlignment(TextAlignment.CENTER)
                 .setFontSize(14)
-                .setBold()
+                .setFont(styles.bold)
                 .setMarginBottom(30);
         document.add(timestamp);
     }
 
-    private void addDepartmentSectionWithJobGrouping(Document document, String deptName,
-                                                    List<ShiftResponseDTO> shifts) {
-        // Define colors
-        DeviceRgb primaryBlue = new DeviceRgb(52, 73, 94);
-        DeviceRgb lightBlue = new DeviceRgb(174, 214, 241);
-
+    private void addDepartmentTitle(Document document, ReportStyles styles, String deptName) {
         Paragraph deptTitle = new Paragraph(String.format("Department: %s", deptName))
-                .setBold()
+                .setFont(styles.bold)
                 .setFontSize(18)
                 .setMarginTop(20)
                 .setMarginBottom(15)
-                .setBackgroundColor(primaryBlue)
+                .setBackgroundColor(PRIMARY_BLUE)
                 .setFontColor(ColorConstants.WHITE)
                 .setPadding(12)
                 .setTextAlignment(TextAlignment.LEFT);
         document.add(deptTitle);
-
-        // Group shifts by job title
-        Map<String, List<ShiftResponseDTO>> shiftsByJob = shifts.stream()
-                .collect(Collectors.groupingBy(
-                        shift -> shift.getJobTitle() != null ? shift.getJobTitle() : "No Job Title"
-                ));
-
-        boolean firstJob = true;
-        for (Map.Entry<String, List<ShiftResponseDTO>> jobEntry : shiftsByJob.entrySet()) {
-            String jobTitle = jobEntry.getKey();
-            List<ShiftResponseDTO> jobShifts = jobEntry.getValue();
-
-            if (!firstJob) {
-                document.add(new Paragraph(" ").setMarginTop(15));
-            }
-
-            addJobSection(document, jobTitle, jobShifts, lightBlue);
-            firstJob = false;
-        }
-
-        // Department summary removed - will be shown in breakdown tables at the end
     }
 
-    private Table createShiftTable(List<ShiftResponseDTO> shifts) {
-        String[] headers = {
-                "Employee Name",
-                "Clock In",
-                "Clock Out",
-                "Total Hours",
-                "Status"
-        };
+    /**
+     * Adds the job header and an empty large table to the document; rows are appended and flushed
+     * as they are read. Totals are only known at the end, so they follow the table.
+     */
+    private JobSection startJobSection(Document document, ReportStyles styles, String deptName, String jobTitle) {
+        Paragraph jobHeader = new Paragraph(jobTitle)
+                .setFont(styles.bold)
+                .setFontSize(14)
+                .setMarginTop(10)
+                .setMarginBottom(8)
+                .setBackgroundColor(LIGHT_BLUE)
+                .setPadding(8)
+                .setTextAlignment(TextAlignment.LEFT);
+        document.add(jobHeader);
 
-        Table table = new Table(headers.length);
+        Table table = new Table(SHIFT_HEADERS.length, true);
         table.setWidth(UnitValue.createPercentValue(100));
         table.setMarginBottom(10);
+        for (String header : SHIFT_HEADERS) {
+            table.addHeaderCell(new Cell()
+                    .add(new Paragraph(header))
+                    .addStyle(styles.shiftHeaderCell));
+        }
+        document.add(table);
 
-        DeviceRgb headerGray = new DeviceRgb(134, 142, 150);
+        return new JobSection(deptName, jobTitle, table);
+    }
 
-        for (String header : headers) {
-            Cell headerCell = new Cell()
-                    .add(new Paragraph(header).setBold().setFontColor(ColorConstants.WHITE))
-                    .setBackgroundColor(headerGray)
-                    .setTextAlignment(TextAlignment.CENTER)
-                    .setPadding(8)
-                    .setFontSize(11);
-            table.addHeaderCell(headerCell);
-        }
+    private JobTotals finishJobSection(Document document, ReportStyles styles, JobSection section) {
+        section.table.complete();
 
-        for (ShiftResponseDTO shift : shifts) {
-            addShiftRowToPdf(table, shift);
-        }
+        Paragraph subtotal = new Paragraph(String.format("%s • %d shifts • %.2f hrs",
+                section.jobTitle, section.shifts, section.hours))
+                .setFont(styles.bold)
+                .setFontSize(11)
+                .setMarginBottom(5)
+                .setTextAlignment(TextAlignment.RIGHT);
+        document.add(subtotal);
 
-        return table;
+        return new JobTotals(section.deptName, section.jobTitle, section.shifts, section.hours);
     }
 
-    private void addShiftRowToPdf(Table table, ShiftResponseDTO shift) {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MM/dd HH:mm");
-
+    private void addShiftRowToPdf(Table table, ReportStyles styles, ShiftResponseDTO shift) {
         table.addCell(new Cell()
                 .add(new Paragraph(shift.getFullName() != null ? shift.getFullName() : "Unknown"))
-                .setTextAlignment(TextAlignment.LEFT)
-                .setPadding(6)
-                .setFontSize(10));
+                .addStyle(styles.shiftCell)
+                .setTextAlignment(TextAlignment.LEFT));
 
         table.addCell(new Cell()
-                .add(new Paragraph(shift.getClockIn() != null ?
-                        shift.getClockIn().format(formatter) : "N/A"))
-                .setTextAlignment(TextAlignment.CENTER)
-                .setPadding(6)
-                .setFontSize(10));
+                .add(new Paragraph(shift.getClockIn() != null ? shift.getClockIn().format(CELL_TIME) : "N/A"))
+                .addStyle(styles.shiftCell)
+                .setTextAlignment(TextAlignment.CENTER));
 
-        String clockOutText = shift.getClockOut() != null ?
-                shift.getClockOut().format(formatter) : "Active";
         table.addCell(new Cell()
-                .add(new Paragraph(clockOutText))
-                .setTextAlignment(TextAlignment.CENTER)
-                .setPadding(6)
-                .setFontSize(10));
+                .add(new Paragraph(shift.getClockOut() != null ? shift.getClockOut().format(CELL_TIME) : "Active"))
+                .addStyle(styles.shiftCell)
+                .setTextAlignment(TextAlignment.CENTER));
 
-        String hoursText = shift.getHours() != null ?
-                String.format("%.2f", shift.getHours()) : "0.00";
         table.addCell(new Cell()
-                .add(new Paragraph(hoursText))
-                .setTextAlignment(TextAlignment.RIGHT)
-                .setPadding(6)
-                .setFontSize(10));
+                .add(new Paragraph(shift.getHours() != null ? String.format("%.2f", shift.getHours()) : "0.00"))
+                .addStyle(styles.shiftCell)
+                .setTextAlignment(TextAlignment.RIGHT));
 
         String statusText = shift.getStatus().toString();
         Cell statusCell = new Cell()
                 .add(new Paragraph(statusText))
-                .setTextAlignment(TextAlignment.CENTER)
-                .setPadding(6)
-                .setFontSize(10);
-
+                .addStyle(styles.shiftCell)
+                .setTextAlignment(TextAlignment.CENTER);
         if ("ACTIVE".equals(statusText)) {
-            statusCell.setBackgroundColor(new DeviceRgb(231, 76, 60))
-                     .setFontColor(ColorConstants.WHITE);
+            statusCell.addStyle(styles.activeStatus);
         }
-
         table.addCell(statusCell);
     }
 
-    private void addJobSection(Document document, String jobTitle, List<ShiftResponseDTO> jobShifts,
-                              DeviceRgb lightBlue) {
-        BigDecimal jobTotalHours = jobShifts.stream()
-                .map(ShiftResponseDTO::getHours)
-                .filter(Objects::nonNull)
-                .map(BigDecimal::valueOf)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        Paragraph jobHeader = new Paragraph(String.format("%s • %d shifts • %.2f hrs",
-                jobTitle, jobShifts.size(), jobTotalHours))
-                .setBold()
-                .setFontSize(14)
-                .setMarginTop(10)
-                .setMarginBottom(8)
-                .setBackgroundColor(lightBlue)
-                .setPadding(8)
-                .setTextAlignment(TextAlignment.LEFT);
-        document.add(jobHeader);
-
-        Table table = createShiftTable(jobShifts);
-        document.add(table);
-    }
-
-
-
-    private void createJobBreakdownTables(Document document,
-                                          Map<Long, List<ShiftResponseDTO>> shiftsByDepartment,
-                                          Map<Long, String> departmentNames) {
-
-        DeviceRgb darkGray = new DeviceRgb(73, 80, 87);
-        DeviceRgb headerGray = new DeviceRgb(134, 142, 150);
-
-        // Job breakdown starts on new page (added above)
-
+    private void createJobBreakdownTable(Document document, ReportStyles styles, List<JobTotals> totals) {
         Paragraph summaryTitle = new Paragraph("Summary Report")
-                .setBold()
+                .setFont(styles.bold)
                 .setFontSize(20)
                 .setMarginBottom(25)
                 .setTextAlignment(TextAlignment.CENTER)
-                .setBackgroundColor(darkGray)
+                .setBackgroundColor(DARK_GRAY)
                 .setFontColor(ColorConstants.WHITE)
                 .setPadding(12);
         document.add(summaryTitle);
 
-        // Create single job breakdown table
-        Table jobTable = new Table(4);
+        Table jobTable = new Table(SUMMARY_HEADERS.length);
         jobTable.setWidth(UnitValue.createPercentValue(80));
         jobTable.setMarginBottom(20);
 
-        // Headers
-        String[] headers = {"Department", "Job Title", "Shifts", "Total Hours"};
-        for (String header : headers) {
-            Cell headerCell = new Cell()
-                    .add(new Paragraph(header).setBold().setFontColor(ColorConstants.WHITE))
-                    .setBackgroundColor(headerGray)
-                    .setTextAlignment(TextAlignment.CENTER)
-                    .setPadding(8)
-                    .setFontSize(12);
-            jobTable.addHeaderCell(headerCell);
+        for (String header : SUMMARY_HEADERS) {
+            jobTable.addHeaderCell(new Cell()
+                    .add(new Paragraph(header))
+                    .addStyle(styles.summaryHeaderCell));
         }
 
-        // Collect all job data
-        for (Map.Entry<Long, List<ShiftResponseDTO>> entry : shiftsByDepartment.entrySet()) {
-            Long deptId = entry.getKey();
-            List<ShiftResponseDTO> shifts = entry.getValue();
-            String deptName = departmentNames.getOrDefault(deptId, "Department " + deptId);
-
-            // Group shifts by job for this department
-            Map<String, List<ShiftResponseDTO>> jobGroups = shifts.stream()
-                    .collect(Collectors.groupingBy(
-                            shift -> shift.getJobTitle() != null ? shift.getJobTitle() : "No Job Title"
-                    ));
-
-            for (Map.Entry<String, List<ShiftResponseDTO>> jobGroup : jobGroups.entrySet()) {
-                String jobTitle = jobGroup.getKey();
-                List<ShiftResponseDTO> jobShifts = jobGroup.getValue();
-                int jobShiftCount = jobShifts.size();
-
-                BigDecimal jobHours = jobShifts.stream()
-                        .map(ShiftResponseDTO::getHours)
-                        .filter(Objects::nonNull)
-                        .map(BigDecimal::valueOf)
-                        .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-                // Add job row
-                jobTable.addCell(new Cell()
-                        .add(new Paragraph(deptName))
-                        .setTextAlignment(TextAlignment.LEFT)
-                        .setPadding(8)
-                        .setFontSize(11));
-
-                jobTable.addCell(new Cell()
-                        .add(new Paragraph(jobTitle))
-                        .setTextAlignment(TextAlignment.LEFT)
-                        .setPadding(8)
-                        .setFontSize(11));
-
-                jobTable.addCell(new Cell()
-                        .add(new Paragraph(String.valueOf(jobShiftCount)))
-                        .setTextAlignment(TextAlignment.CENTER)
-                        .setPadding(8)
-                        .setFontSize(11));
-
-                jobTable.addCell(new Cell()
-                        .add(new Paragraph(String.format("%.2f", jobHours)))
-                        .setTextAlignment(TextAlignment.RIGHT)
-                        .setPadding(8)
-                        .setFontSize(11));
-            }
+        int grandTotalShifts = 0;
+        BigDecimal grandTotalHours = BigDecimal.ZERO;
+        for (JobTotals job : totals) {
+            jobTable.addCell(new Cell().add(new Paragraph(job.deptName()))
+                    .addStyle(styles.summaryCell).setTextAlignment(TextAlignment.LEFT));
+            jobTable.addCell(new Cell().add(new Paragraph(job.jobTitle()))
+                    .addStyle(styles.summaryCell).setTextAlignment(TextAlignment.LEFT));
+            jobTable.addCell(new Cell().add(new Paragraph(String.valueOf(job.shifts())))
+                    .addStyle(styles.summaryCell).setTextAlignment(TextAlignment.CENTER));
+            jobTable.addCell(new Cell().add(new Paragraph(String.format("%.2f", job.hours())))
+                    .addStyle(styles.summaryCell).setTextAlignment(TextAlignment.RIGHT));
+
+            grandTotalShifts += job.shifts();
+            grandTotalHours = grandTotalHours.add(job.hours());
         }
 
-        // Add grand total row to the job breakdown table
-        int grandTotalShifts = shiftsByDepartment.values().stream()
-                .mapToInt(List::size).sum();
+        jobTable.addCell(new Cell().add(new Paragraph("GRAND TOTAL"))
+                .addStyle(styles.totalCell).setTextAlignment(TextAlignment.CENTER));
+        jobTable.addCell(new Cell().add(new Paragraph("-"))
+                .addStyle(styles.totalCell).setTextAlignment(TextAlignment.CENTER));
+        jobTable.addCell(new Cell().add(new Paragraph(String.valueOf(grandTotalShifts)))
+                .addStyle(styles.totalCell).setTextAlignment(TextAlignment.CENTER));
+        jobTable.addCell(new Cell().add(new Paragraph(String.format("%.2f", grandTotalHours)))
+                .addStyle(styles.totalCell).setTextAlignment(TextAlignment.RIGHT));
 
-        BigDecimal grandTotalHours = shiftsByDepartment.values().stream()
-                .flatMap(List::stream)
-                .map(ShiftResponseDTO::getHours)
-                .filter(Objects::nonNull)
-                .map(BigDecimal::valueOf)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        DeviceRgb totalRowColor = new DeviceRgb(52, 58, 64);
-
-        // Add grand total row
-        jobTable.addCell(new Cell()
-                .add(new Paragraph("GRAND TOTAL").setBold())
-                .setTextAlignment(TextAlignment.CENTER)
-                .setPadding(10)
-                .setFontSize(12)
-                .setBackgroundColor(totalRowColor)
-                .setFontColor(ColorConstants.WHITE));
+        document.add(jobTable);
+    }
 
-        jobTable.addCell(new Cell()
-                .add(new Paragraph("-").setBold())
-                .setTextAlignment(TextAlignment.CENTER)
-                .setPadding(10)
-                .setFontSize(12)
-                .setBackgroundColor(totalRowColor)
-                .setFontColor(ColorConstants.WHITE));
+    /**
+     * Fonts and cell styles for one document, built once instead of per cell. A PdfFont belongs to
+     * the document it is first used in, so these are not shared between reports.
+     */
+    private static final class ReportStyles {
+        final PdfFont regular;
+        final PdfFont bold;
+        final Style shiftHeaderCell;
+        final Style shiftCell;
+        final Style activeStatus;
+        final Style summaryHeaderCell;
+        final Style summaryCell;
+        final Style totalCell;
+
+        ReportStyles() throws IOException {
+            regular = PdfFontFactory.createFont(StandardFonts.HELVETICA);
+            bold = PdfFontFactory.createFont(StandardFonts.HELVETICA_BOLD);
+            shiftHeaderCell = new Style()
+                    .setFont(bold)
+                    .setFontColor(ColorConstants.WHITE)
+                    .setBackgroundColor(HEADER_GRAY)
+                    .setTextAlignment(TextAlignment.CENTER)
+                    .setPadding(8)
+                    .setFontSize(11);
+            shiftCell = new Style()
+                    .setPadding(6)
+                    .setFontSize(10);
+            activeStatus = new Style()
+                    .setBackgroundColor(ACTIVE_RED)
+                    .setFontColor(ColorConstants.WHITE);
+            summaryHeaderCell = new Style()
+                    .setFont(bold)
+                    .setFontColor(ColorConstants.WHITE)
+                    .setBackgroundColor(HEADER_GRAY)
+                    .setTextAlignment(TextAlignment.CENTER)
+                    .setPadding(8)
+                    .setFontSize(12);
+            summaryCell = new Style()
+                    .setPadding(8)
+                    .setFontSize(11);
+            totalCell = new Style()
+                    .setFont(bold)
+                    .setFontColor(ColorConstants.WHITE)
+                    .setBackgroundColor(TOTAL_ROW_GRAY)
+                    .setPadding(10)
+                    .setFontSize(12);
+        }
+    }
 
-        jobTable.addCell(new Cell()
-                .add(new Paragraph(String.valueOf(grandTotalShifts)).setBold())
-                .setTextAlignment(TextAlignment.CENTER)
-                .setPadding(10)
-                .setFontSize(12)
-                .setBackgroundColor(totalRowColor)
-                .setFontColor(ColorConstants.WHITE));
-
-        jobTable.addCell(new Cell()
-                .add(new Paragraph(String.format("%.2f", grandTotalHours)).setBold())
-                .setTextAlignment(TextAlignment.RIGHT)
-                .setPadding(10)
-                .setFontSize(12)
-                .setBackgroundColor(totalRowColor)
-                .setFontColor(ColorConstants.WHITE));
+    private static final class JobSection {
+        final String deptName;
+        final String jobTitle;
+        final Table table;
+        int shifts;
+        BigDecimal hours = BigDecimal.ZERO;
+
+        JobSection(String deptName, String jobTitle, Table table) {
+            this.deptName = deptName;
+            this.jobTitle = jobTitle;
+            this.table = table;
+        }
 
-        document.add(jobTable);
+        void add(Double shiftHours) {
+            shifts++;
+            if (shiftHours != null) {
+                hours = hours.add(BigDecimal.valueOf(shiftHours));
+            }
+        }
     }
 
-}
\ No newline at end of file
+    private record JobTotals(String deptName, String jobTitle, int shifts, BigDecimal hours) {
+    }
+}
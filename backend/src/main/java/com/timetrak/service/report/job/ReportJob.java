@@ -0,0 +1,123 @@
+package com.timetrak.service.report.job;
+
+import com.timetrak.dto.report.ReportJobDTO;
+import com.timetrak.enums.ReportJobStatus;
+import com.timetrak.enums.ReportType;
+import com.timetrak.service.report.ReportDataChangedEvent;
+import com.timetrak.service.report.ReportProgress;
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * In-memory state of one report job. Written by the worker thread, read by status polls.
+ */
+@Getter
+class ReportJob implements ReportProgress {
+
+    private final String id;
+    private final Long companyId;
+    private final ReportType type;
+    private final String key;
+    private final String filename;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final Instant createdAt = Instant.now();
+
+    private volatile ReportJobStatus status = ReportJobStatus.QUEUED;
+    private volatile long totalRows = -1;
+    private volatile long rowsWritten;
+    private volatile Path file;
+    private volatile Instant completedAt;
+    private volatile Instant expiresAt;
+    private volatile String error;
+
+    ReportJob(String id, Long companyId, ReportType type, String key, String filename,
+              LocalDate startDate, LocalDate endDate) {
+        this.id = id;
+        this.companyId = companyId;
+        this.type = type;
+        this.key = key;
+        this.filename = filename;
+        this.startDate = startDate;
+        this.endDate = endDate;
+    }
+
+    @Override
+    public void start(long totalRows) {
+        this.totalRows = totalRows;
+    }
+
+    @Override
+    public void advance(long rowsWritten) {
+        this.rowsWritten = rowsWritten;
+    }
+
+    void running() {
+        status = ReportJobStatus.RUNNING;
+    }
+
+    void complete(Path file, Instant expiresAt) {
+        this.file = file;
+        this.completedAt = Instant.now();
+        this.expiresAt = expiresAt;
+        this.status = ReportJobStatus.COMPLETED;
+    }
+
+    void fail(String error, Instant expiresAt) {
+        this.error = error;
+        this.completedAt = Instant.now();
+        this.expiresAt = expiresAt;
+        this.status = ReportJobStatus.FAILED;
+    }
+
+    boolean isFinished() {
+        return status == ReportJobStatus.COMPLETED || status == ReportJobStatus.FAILED;
+    }
+
+    boolean isExpired(Instant now) {
+        return expiresAt != null && !expiresAt.isAfter(now);
+    }
+
+    /**
+     * Whether an identical request can be answered with this job instead of starting a new one.
+     * Reports of an open period are never reused, since its data is still changing.
+     */
+    boolean isReusable(Instant now, LocalDate today) {
+        return status != ReportJobStatus.FAILED && !isExpired(now) && endDate.isBefore(today);
+    }
+
+    /**
+     * Whether the write may have changed rows this report covers.
+     */
+    boolean isAffectedBy(ReportDataChangedEvent event) {
+        return (event.companyId() == null || event.companyId().equals(companyId))
+                && !event.from().isAfter(endDate) && !event.to().isBefore(startDate);
+    }
+
+    ReportJobDTO toDTO() {
+        int progress;
+        if (status == ReportJobStatus.COMPLETED) {
+            progress = 100;
+        } else if (totalRows > 0) {
+            progress = (int) Math.min(99, rowsWritten * 100 / totalRows);
+        } else {
+            progress = 0;
+        }
+        return ReportJobDTO.builder()
+                .id(id)
+                .type(type)
+                .status(status)
+                .progress(progress)
+                .rowsWritten(rowsWritten)
+                .totalRows(totalRows >= 0 ? totalRows : null)
+                .filename(filename)
+                .createdAt(createdAt)
+                .completedAt(completedAt)
+                .expiresAt(expiresAt)
+                .error(error)
+                .build();
+    }
+}
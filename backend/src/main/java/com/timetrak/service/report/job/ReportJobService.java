@@ -0,0 +1,257 @@
+package com.timetrak.service.report.job;
+
+import com.timetrak.dto.payment.Period;
+import com.timetrak.dto.report.ReportJobDTO;
+import com.timetrak.dto.report.ReportJobRequest;
+import com.timetrak.enums.ReportType;
+import com.timetrak.exception.ResourceNotFoundException;
+import com.timetrak.exception.ServiceUnavailableException;
+import com.timetrak.service.report.PaymentExporterService;
+import com.timetrak.service.report.ReportDataChangedEvent;
+import com.timetrak.service.report.ReportProgress;
+import com.timetrak.service.report.ShiftReportService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+
+/**
+ * Runs PDF reports in the background so large ones do not hold a request thread or run into
+ * gateway timeouts.
+ * <p>
+ * Jobs run on a dedicated, bounded pool; each company may have at most
+ * {@code reports.jobs.max-per-company} jobs queued or running, so one tenant cannot take every
+ * worker. Finished PDFs are written to {@code reports.jobs.storage-dir} and kept for
+ * {@code reports.jobs.ttl-minutes}. An identical request (same company, report, period and
+ * departments) in that window gets the existing job instead of a new render, but only for a closed
+ * period that no committed write ({@link ReportDataChangedEvent}) touched since the job was
+ * queued; open periods change with every clock event and are always rendered afresh, as in
+ * {@link com.timetrak.service.report.ReportCache}. Job state is held in memory, so files left by a
+ * previous run are removed at startup.
+ */
+@Service
+@Slf4j
+public class ReportJobService {
+
+    private static final String PDF_SUFFIX = ".pdf";
+    private static final String PARTIAL_SUFFIX = ".pdf.part";
+
+    /**
+     * A finished report file and the name it is downloaded under.
+     */
+    public record ReportArtifact(Path file, String filename) {
+    }
+
+    private record ResolvedReport(String key, String filename, Period period,
+                                  BiConsumer<OutputStream, ReportProgress> writer) {
+    }
+
+    private final ShiftReportService shiftReportService;
+    private final PaymentExporterService paymentExporterService;
+    private final Path storageDir;
+    private final Duration ttl;
+    private final int maxPerCompany;
+    private final ThreadPoolExecutor executor;
+
+    private final Map<String, ReportJob> jobs = new ConcurrentHashMap<>();
+    private final Map<String, ReportJob> jobsByKey = new ConcurrentHashMap<>();
+
+    public ReportJobService(ShiftReportService shiftReportService,
+                            PaymentExporterService paymentExporterService,
+                            @Value("${reports.jobs.storage-dir:./data/reports}") String storageDir,
+                            @Value("${reports.jobs.ttl-minutes:60}") long ttlMinutes,
+                            @Value("${reports.jobs.threads:2}") int threads,
+                            @Value("${reports.jobs.queue-capacity:50}") int queueCapacity,
+                            @Value("${reports.jobs.max-per-company:2}") int maxPerCompany) throws IOException {
+        this.shiftReportService = shiftReportService;
+        this.paymentExporterService = paymentExporterService;
+        this.storageDir = Files.createDirectories(Path.of(storageDir));
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        this.maxPerCompany = maxPerCompany;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("report-job-", 1).daemon().factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        deleteOrphanedFiles();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Queues a report, or returns the job already producing or holding the identical report.
+     * The period and departments are resolved here, so bad requests fail before anything is queued.
+     */
+    public ReportJobDTO submit(ReportJobRequest request, Long companyId) {
+        ResolvedReport report = resolve(request, companyId);
+
+        synchronized (this) {
+            Instant now = Instant.now();
+            ReportJob existing = jobsByKey.get(report.key());
+            if (existing != null && existing.isReusable(now, LocalDate.now())) {
+                log.debug("Report job {} reused for company {}", existing.getId(), companyId);
+                return existing.toDTO();
+            }
+
+            long inFlight = jobs.values().stream()
+                    .filter(job -> job.getCompanyId().equals(companyId) && !job.isFinished())
+                    .count();
+            if (inFlight >= maxPerCompany) {
+                throw new ServiceUnavailableException(String.format(
+                        "%d reports are already running for this company, please retry when one finishes", inFlight));
+            }
+
+            ReportJob job = new ReportJob(UUID.randomUUID().toString(), companyId, request.getType(),
+                    report.key(), report.filename(), report.period().getStartDate(), report.period().getEndDate());
+            jobs.put(job.getId(), job);
+            jobsByKey.put(job.getKey(), job);
+            try {
+                executor.execute(() -> run(job, report.writer()));
+            } catch (RejectedExecutionException e) {
+                jobs.remove(job.getId());
+                jobsByKey.remove(job.getKey(), job);
+                throw new ServiceUnavailableException("Report queue is full, please retry later");
+            }
+            log.info("Queued {} report job {} for company {}", job.getType(), job.getId(), companyId);
+            return job.toDTO();
+        }
+    }
+
+    public ReportJobDTO getJob(String jobId, Long companyId) {
+        return findJob(jobId, companyId).toDTO();
+    }
+
+    /**
+     * The stored PDF of a finished job; empty while the job is still queued or running, or when it failed.
+     */
+    public Optional<ReportArtifact> findArtifact(String jobId, Long companyId) {
+        ReportJob job = findJob(jobId, companyId);
+        Path file = job.getFile();
+        if (file == null || !Files.exists(file)) {
+            return Optional.empty();
+        }
+        return Optional.of(new ReportArtifact(file, job.getFilename()));
+    }
+
+    @Scheduled(fixedDelayString = "${reports.jobs.cleanup-interval-ms:300000}")
+    public void purgeExpired() {
+        Instant now = Instant.now();
+        int purged = 0;
+        for (ReportJob job : jobs.values()) {
+            if (job.isFinished() && job.isExpired(now)) {
+                jobs.remove(job.getId());
+                jobsByKey.remove(job.getKey(), job);
+                deleteQuietly(job.getFile());
+                purged++;
+            }
+        }
+        if (purged > 0) {
+            log.info("Purged {} expired report jobs", purged);
+        }
+    }
+
+    /**
+     * Stops reusing the jobs whose period the write touched; they stay available by id.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReportDataChanged(ReportDataChangedEvent event) {
+        jobsByKey.values().removeIf(job -> job.isAffectedBy(event));
+    }
+
+    private ReportJob findJob(String jobId, Long companyId) {
+        ReportJob job = jobs.get(jobId);
+        // Other companies' jobs are reported as missing rather than forbidden
+        if (job == null || !job.getCompanyId().equals(companyId)) {
+            throw new ResourceNotFoundException("Report job not found with id: " + jobId);
+        }
+        return job;
+    }
+
+    private ResolvedReport resolve(ReportJobRequest request, Long companyId) {
+        if (request.getType() == ReportType.PAYMENTS) {
+            Period period = paymentExporterService.resolvePaymentPeriod(request.getPeriodNumber(), companyId);
+            return new ResolvedReport(
+                    String.join("|", "PAYMENTS", companyId.toString(),
+                            period.getStartDate().toString(), period.getEndDate().toString()),
+                    String.format("payments_%s_%s.pdf", period.getStartDate(), period.getEndDate()),
+                    period,
+                    (out, progress) -> paymentExporterService.exportPayments(period, companyId, out, progress));
+        }
+
+        ShiftReportService.ReportScope scope = shiftReportService.resolveScope(
+                request.getPeriodNumber(), companyId, request.getDepartmentIds());
+        String departments = scope.departmentIds().stream().sorted().distinct()
+                .map(String::valueOf).collect(Collectors.joining(","));
+        return new ResolvedReport(
+                String.join("|", "SHIFTS", companyId.toString(),
+                        scope.period().getStartDate().toString(), scope.period().getEndDate().toString(), departments),
+                String.format("shifts_%s_%s.pdf", scope.period().getStartDate(), scope.period().getEndDate()),
+                scope.period(),
+                (out, progress) -> shiftReportService.exportShifts(scope, out, progress));
+    }
+
+    private void run(ReportJob job, BiConsumer<OutputStream, ReportProgress> writer) {
+        job.running();
+        Path partial = storageDir.resolve(job.getId() + PARTIAL_SUFFIX);
+        Path file = storageDir.resolve(job.getId() + PDF_SUFFIX);
+        long started = System.nanoTime();
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(partial))) {
+                writer.accept(out, job);
+            }
+            // Only complete files are ever visible under the final name
+            Files.move(partial, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            job.complete(file, Instant.now().plus(ttl));
+            log.info("Report job {} finished in {} ms, {} rows", job.getId(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), job.getRowsWritten());
+        } catch (Exception e) {
+            deleteQuietly(partial);
+            job.fail(e.getMessage(), Instant.now().plus(ttl));
+            log.error("Report job {} failed: {}", job.getId(), e.getMessage(), e);
+        }
+    }
+
+    private void deleteOrphanedFiles() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(storageDir, "*.{pdf,part}")) {
+            for (Path file : files) {
+                deleteQuietly(file);
+            }
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete report file {}: {}", file, e.getMessage());
+        }
+    }
+}
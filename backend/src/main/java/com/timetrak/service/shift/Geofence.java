@@ -0,0 +1,76 @@
+package com.timetrak.service.shift;
+
+/**
+ * Circular clock-in area with everything the containment check needs precomputed.
+ * <p>
+ * Points outside the outer lat/lng box are rejected and points inside the inscribed inner box
+ * are accepted without trigonometry; only the ring in between falls through to haversine.
+ */
+public record Geofence(double centerLat,
+                       double centerLng,
+                       double centerLatRad,
+                       double cosCenterLat,
+                       double radiusMeters,
+                       double outerLatDelta,
+                       double outerLngDelta,
+                       double innerLatDelta,
+                       double innerLngDelta) {
+
+    public static final double EARTH_RADIUS = 6371000;
+
+    // Outer box is widened and inner box narrowed so the equirectangular approximation
+    // never rejects or accepts a point the haversine check would decide differently
+    private static final double OUTER_MARGIN = 1.01;
+    private static final double INNER_MARGIN = 0.99;
+    private static final double MAX_INNER_BOX_RADIUS_METERS = 50_000;
+    private static final double MIN_COS_LAT = 1e-6;
+
+    public static Geofence of(double latitude, double longitude, double radiusMeters) {
+        double latRad = Math.toRadians(latitude);
+        double cosLat = Math.cos(latRad);
+        double latDelta = Math.toDegrees(radiusMeters / EARTH_RADIUS);
+        // Near the poles the longitude extent is unbounded, so the outer box only filters by latitude
+        double lngDelta = cosLat > MIN_COS_LAT ? latDelta / cosLat : 360;
+
+        double innerHalfSide = radiusMeters <= MAX_INNER_BOX_RADIUS_METERS ? 1 / Math.sqrt(2) * INNER_MARGIN : 0;
+
+        return new Geofence(latitude, longitude, latRad, cosLat, radiusMeters,
+                latDelta * OUTER_MARGIN, lngDelta * OUTER_MARGIN,
+                latDelta * innerHalfSide, cosLat > MIN_COS_LAT ? lngDelta * innerHalfSide : 0);
+    }
+
+    public boolean contains(double latitude, double longitude) {
+        double dLat = Math.abs(latitude - centerLat);
+        double dLng = Math.abs(normalizeLongitudeDelta(longitude - centerLng));
+
+        if (dLat > outerLatDelta || dLng > outerLngDelta) {
+            return false;
+        }
+        if (dLat <= innerLatDelta && dLng <= innerLngDelta) {
+            return true;
+        }
+        return distanceTo(latitude, longitude) <= radiusMeters;
+    }
+
+    /**
+     * Haversine distance in meters from the center, reusing the precomputed center terms.
+     */
+    public double distanceTo(double latitude, double longitude) {
+        double latRad = Math.toRadians(latitude);
+        double sinDLat = Math.sin((latRad - centerLatRad) / 2);
+        double sinDLng = Math.sin(Math.toRadians(longitude - centerLng) / 2);
+        double a = sinDLat * sinDLat + cosCenterLat * Math.cos(latRad) * sinDLng * sinDLng;
+
+        return EARTH_RADIUS * 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+    }
+
+    private static double normalizeLongitudeDelta(double delta) {
+        if (delta > 180) {
+            return delta - 360;
+        }
+        if (delta < -180) {
+            return delta + 360;
+        }
+        return delta;
+    }
+}
@@ -0,0 +1,46 @@
+package com.timetrak.service.shift;
+
+import com.timetrak.dto.shift.EmployeeLaborSummary;
+import com.timetrak.dto.shift.JobLaborTotals;
+import com.timetrak.dto.shift.LaborTotals;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Daily labor rollup (minutes, earnings, shift count per employee job and day) that aggregate
+ * reads use instead of scanning shifts. Shift writers keep it current; date ranges are inclusive
+ * and select by clock-in day.
+ */
+public interface LaborRollupService {
+
+    /**
+     * Call after the shifts were written (and flushed) in the current transaction.
+     */
+    void shiftsWritten(Collection<Long> shiftIds);
+
+    /**
+     * Call before the shifts are changed or deleted in the current transaction.
+     */
+    void shiftsChanging(Collection<Long> shiftIds);
+
+    void employeeJobWageChanged(Long employeeJobId);
+
+    void jobWageChanged(Long jobId);
+
+    int rebuildCompany(Long companyId);
+
+    LaborTotals getCompanyTotals(Long companyId, LocalDate startDate, LocalDate endDate);
+
+    LaborTotals getEmployeeTotals(Long employeeId, LocalDate startDate, LocalDate endDate);
+
+    List<JobLaborTotals> getEmployeeJobTotals(Long employeeId, LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Totals and active shift counts of several employees in one query; a {@code companyId} restricts
+     * the result to that company's employees.
+     */
+    List<EmployeeLaborSummary> getEmployeeSummaries(Collection<Long> employeeIds, Long companyId,
+                                                    LocalDate startDate, LocalDate endDate);
+}
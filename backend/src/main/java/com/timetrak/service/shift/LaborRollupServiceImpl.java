@@ -0,0 +1,87 @@
+package com.timetrak.service.shift;
+
+import com.timetrak.dto.shift.EmployeeLaborSummary;
+import com.timetrak.dto.shift.JobLaborTotals;
+import com.timetrak.dto.shift.LaborTotals;
+import com.timetrak.repository.LaborRollupJdbcRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class LaborRollupServiceImpl implements LaborRollupService {
+
+    private final LaborRollupJdbcRepository rollupRepository;
+
+    /**
+     * Fills the rollup on first start after the table was created; later drift is fixed per company
+     * through {@link #rebuildCompany}.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void populateIfEmpty() {
+        if (rollupRepository.isEmpty()) {
+            long started = System.currentTimeMillis();
+            int days = rollupRepository.rebuildAll();
+            log.info("Built labor rollup: {} employee job days in {} ms", days, System.currentTimeMillis() - started);
+        }
+    }
+
+    @Override
+    public void shiftsWritten(Collection<Long> shiftIds) {
+        rollupRepository.addShifts(shiftIds);
+    }
+
+    @Override
+    public void shiftsChanging(Collection<Long> shiftIds) {
+        rollupRepository.subtractShifts(shiftIds);
+    }
+
+    @Override
+    public void employeeJobWageChanged(Long employeeJobId) {
+        rollupRepository.rebuildEmployeeJobs(List.of(employeeJobId));
+    }
+
+    @Override
+    public void jobWageChanged(Long jobId) {
+        rollupRepository.rebuildEmployeeJobs(rollupRepository.findEmployeeJobIdsByJobId(jobId));
+    }
+
+    @Override
+    @Transactional
+    public int rebuildCompany(Long companyId) {
+        int days = rollupRepository.rebuildCompany(companyId);
+        log.info("Rebuilt labor rollup for company {}: {} employee job days", companyId, days);
+        return days;
+    }
+
+    @Override
+    public LaborTotals getCompanyTotals(Long companyId, LocalDate startDate, LocalDate endDate) {
+        return rollupRepository.findCompanyTotals(companyId, startDate, endDate);
+    }
+
+    @Override
+    public LaborTotals getEmployeeTotals(Long employeeId, LocalDate startDate, LocalDate endDate) {
+        return rollupRepository.findEmployeeTotals(employeeId, startDate, endDate);
+    }
+
+    @Override
+    public List<JobLaborTotals> getEmployeeJobTotals(Long employeeId, LocalDate startDate, LocalDate endDate) {
+        return rollupRepository.findEmployeeJobTotals(employeeId, startDate, endDate);
+    }
+
+    @Override
+    public List<EmployeeLaborSummary> getEmployeeSummaries(Collection<Long> employeeIds, Long companyId,
+                                                           LocalDate startDate, LocalDate endDate) {
+        return rollupRepository.findEmployeeSummaries(employeeIds, companyId, startDate, endDate);
+    }
+}
@@ -1,18 +1,49 @@
 package com.timetrak.service.shift;
 
 import com.timetrak.dto.company.CompanyResponseDTO;
+import com.timetrak.entity.CompanySite;
+import com.timetrak.service.company.CompanyLocationChangedEvent;
 import com.timetrak.service.company.CompanyService;
+import com.timetrak.service.site.CompanySiteService;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static com.timetrak.service.shift.Geofence.EARTH_RADIUS;
 
 @Service
+@Slf4j
 @RequiredArgsConstructor
 public class LocationService {
     private final CompanyService companyService;
+    private final CompanySiteService companySiteService;
 
     //all measurement in metric
 
-    private static final double EARTH_RADIUS = 6371000;
+    // Company geofences and site indexes, loaded on first clock and dropped when the company location changes.
+    // Each entry carries the company's location version from before its load, so a load that raced an
+    // eviction is never served once the eviction has bumped the version.
+    private final Map<Long, Cached<Geofence>> geofences = new ConcurrentHashMap<>();
+    private final Map<Long, Cached<SiteIndex>> siteIndexes = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicLong> locationVersions = new ConcurrentHashMap<>();
+
+    private record Cached<T>(long version, T value) {
+    }
+
+    /**
+     * Where a clock operation happened: the matched site, or a {@code null} site id when the
+     * company has no sites and the point is inside the company geofence.
+     */
+    public record ClockLocation(Long siteId) {
+    }
 
     // Haversine formula
     public double calculateDistance(double lat1, double lon1, double lat2, double lon2) {
@@ -28,13 +59,64 @@ public class LocationService {
     }
 
     public boolean isWithinAllowedRadius(double employeeLat, double employeeLng, Long companyId) {
+        return resolveClockLocation(employeeLat, employeeLng, companyId).isPresent();
+    }
+
+    /**
+     * Resolves which site, if any, contains the point. Companies without sites fall back to
+     * the single company geofence. Empty when the point is outside every allowed area.
+     */
+    public Optional<ClockLocation> resolveClockLocation(double employeeLat, double employeeLng, Long companyId) {
+        SiteIndex sites = getSiteIndex(companyId);
+        if (!sites.isEmpty()) {
+            return sites.findSite(employeeLat, employeeLng).map(ClockLocation::new);
+        }
+        return getGeofence(companyId).contains(employeeLat, employeeLng)
+                ? Optional.of(new ClockLocation(null))
+                : Optional.empty();
+    }
+
+    public SiteIndex getSiteIndex(Long companyId) {
+        return cached(siteIndexes, companyId, this::loadSiteIndex);
+    }
+
+    public Geofence getGeofence(Long companyId) {
+        return cached(geofences, companyId, this::loadGeofence);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCompanyLocationChanged(CompanyLocationChangedEvent event) {
+        // Bumped before removing, so a load still running with the old version is not served later
+        locationVersion(event.companyId()).incrementAndGet();
+        boolean evicted = geofences.remove(event.companyId()) != null;
+        evicted |= siteIndexes.remove(event.companyId()) != null;
+        if (evicted) {
+            log.debug("Evicted cached geofence and sites for company {}", event.companyId());
+        }
+    }
 
+    private <T> T cached(Map<Long, Cached<T>> cache, Long companyId, Function<Long, T> loader) {
+        long version = locationVersion(companyId).get();
+        Cached<T> cached = cache.get(companyId);
+        if (cached != null && cached.version() == version) {
+            return cached.value();
+        }
+        T value = loader.apply(companyId);
+        cache.put(companyId, new Cached<>(version, value));
+        return value;
+    }
+
+    private AtomicLong locationVersion(Long companyId) {
+        return locationVersions.computeIfAbsent(companyId, id -> new AtomicLong());
+    }
+
+    private Geofence loadGeofence(Long companyId) {
         CompanyResponseDTO company = companyService.getCompanyDTOById(companyId);
-        double companyLat = company.getLatitude();
-        double companyLng = company.getLongitude();
-        double allowedRadiusMeters = company.getAllowedRadius();
+        return Geofence.of(company.getLatitude(), company.getLongitude(), company.getAllowedRadius());
+    }
 
-        double distance = calculateDistance(employeeLat, employeeLng, companyLat, companyLng);
-        return distance <= allowedRadiusMeters;
+    private SiteIndex loadSiteIndex(Long companyId) {
+        List<CompanySite> sites = companySiteService.getActiveSitesWithVertices(companyId);
+        return sites.isEmpty() ? SiteIndex.EMPTY : new SiteIndex(sites);
     }
 }
@@ -6,17 +6,26 @@ import com.timetrak.dto.shift.ShiftResponseDTO;
 import com.timetrak.entity.EmployeeJob;
 import com.timetrak.entity.Shift;
 import com.timetrak.enums.ClockErrorCode;
+import com.timetrak.exception.InvalidOperationException;
 import com.timetrak.exception.ResourceNotFoundException;
 import com.timetrak.mapper.ShiftMapper;
 import com.timetrak.repository.ShiftRepository;
+import com.timetrak.service.clock.ActiveShiftRegistry;
 import com.timetrak.service.employeeJob.EmployeeJobQueryService;
+import com.timetrak.service.report.ReportDataChangedEvent;
+import com.timetrak.service.shift.board.ShiftActivityEvent;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
 import java.util.Objects;
 
+import static com.timetrak.misc.DataIntegrityHelper.isSingleActiveShiftViolation;
+
 @Service
 @Slf4j
 @Transactional
@@ -26,6 +35,9 @@ public class ShiftPersistenceServiceImpl implements ShiftPersistenceService {
     private final EmployeeJobQueryService employeeJobQueryService;
     private final ShiftMapper shiftMapper;
     private final ShiftPersistenceValidator validator;
+    private final ActiveShiftRegistry activeShiftRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LaborRollupService laborRollupService;
 
     @Override
     public ShiftResponseDTO createShift(ShiftRequestDTO request,Long companyId) {
@@ -36,7 +48,20 @@ public class ShiftPersistenceServiceImpl implements ShiftPersistenceService {
         shift.setCompanyId(companyId);
         shift.setEmployeeJob(empJob);
         shift.setEmployee(empJob.getEmployee());
-        Shift savedShift = shiftRepository.save(shift);
+        Shift savedShift;
+        try {
+            // Flushed so the rollup, computed in SQL, sees the row
+            savedShift = shiftRepository.saveAndFlush(shift);
+        } catch (DataIntegrityViolationException e) {
+            if (isSingleActiveShiftViolation(e)) {
+                throw new InvalidOperationException(ClockErrorCode.ALREADY_CLOCKED_IN.getDefaultMessage());
+            }
+            throw e;
+        }
+        activeShiftRegistry.track(savedShift);
+        laborRollupService.shiftsWritten(List.of(savedShift.getId()));
+        eventPublisher.publishEvent(ReportDataChangedEvent.ofDay(companyId, savedShift.getClockIn()));
+        eventPublisher.publishEvent(ShiftActivityEvent.of(savedShift.getId()));
 
         log.info("Created shift {} for employee job {}", savedShift.getId(), request.getEmployeeJobId());
         return shiftMapper.toDTO(savedShift);
@@ -48,9 +73,26 @@ public class ShiftPersistenceServiceImpl implements ShiftPersistenceService {
 
         Shift shift = getShiftById(shiftId);
         validator.validateShiftUpdatePermissions(shift);
+        ReportDataChangedEvent before = ReportDataChangedEvent.ofDay(shift.getCompanyId(), shift.getClockIn());
+        laborRollupService.shiftsChanging(List.of(shiftId));
 
         shiftMapper.updateShiftFromDto(request, shift);
-        Shift updatedShift = shiftRepository.save(shift);
+        Shift updatedShift;
+        try {
+            updatedShift = shiftRepository.saveAndFlush(shift);
+        } catch (DataIntegrityViolationException e) {
+            // Reopening a shift while the employee has another one ACTIVE
+            if (isSingleActiveShiftViolation(e)) {
+                throw new InvalidOperationException(ClockErrorCode.ALREADY_CLOCKED_IN.getDefaultMessage());
+            }
+            throw e;
+        }
+        activeShiftRegistry.track(updatedShift);
+        laborRollupService.shiftsWritten(List.of(shiftId));
+        // A moved clock-in changes the reports of both days
+        eventPublisher.publishEvent(before.span(
+                ReportDataChangedEvent.ofDay(updatedShift.getCompanyId(), updatedShift.getClockIn())));
+        eventPublisher.publishEvent(ShiftActivityEvent.of(shiftId));
 
         log.info("Updated shift {} for employee job {}", shiftId, request.getEmployeeJobId());
         return shiftMapper.toDTO(updatedShift);
@@ -62,8 +104,11 @@ public class ShiftPersistenceServiceImpl implements ShiftPersistenceService {
 
         Shift shift = getShiftById(id);
         validator.validateShiftDeletionPermissions(shift);
+        laborRollupService.shiftsChanging(List.of(id));
         shift.markAsDeleted();
-        shiftRepository.save(shift);
+        activeShiftRegistry.track(shiftRepository.save(shift));
+        eventPublisher.publishEvent(ReportDataChangedEvent.ofDay(shift.getCompanyId(), shift.getClockIn()));
+        eventPublisher.publishEvent(ShiftActivityEvent.of(id));
 
         log.info("Soft deleted shift {}", id);
     }
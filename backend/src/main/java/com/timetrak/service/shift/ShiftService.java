@@ -1,5 +1,8 @@
 package com.timetrak.service.shift;
 
+import com.timetrak.dto.response.CursorPage;
+import com.timetrak.dto.shift.DepartmentShifts;
+import com.timetrak.dto.shift.ShiftFilter;
 import com.timetrak.dto.shift.ShiftResponseDTO;
 import com.timetrak.dto.shift.ShiftSummaryDTO;
 import com.timetrak.entity.Employee;
@@ -35,7 +38,7 @@ public interface ShiftService {
                                                             LocalDate startDate,
                                                             LocalDate endDate);
 
-    Map<Long, List<ShiftResponseDTO>> getShiftsByDepartmentsGrouped(
+    List<DepartmentShifts> getShiftsByDepartmentsGrouped(
             List<Long> departmentIds,
             Long companyId,
             LocalDate startDate,
@@ -57,6 +60,13 @@ public interface ShiftService {
      */
     ShiftSummaryDTO getShiftSummaryForEmployee(Long employeeId, LocalDate startDate, LocalDate endDate);
 
+    /**
+     * Shift summaries of several employees of the company in one query, ordered by name; ids of
+     * other companies' employees are ignored.
+     */
+    List<ShiftSummaryDTO> getShiftSummariesForEmployees(List<Long> employeeIds, Long companyId,
+                                                        LocalDate startDate, LocalDate endDate);
+
     ///For CLock out operations only/ no companyId required
     Shift getActiveShiftSelf(Long employeeId);
 
@@ -76,5 +86,11 @@ public interface ShiftService {
     Map<Employee, List<ShiftResponseDTO>> getAllShiftsByDateRange(LocalDate startDate, LocalDate endDate, Long companyId);
 
     Page<ShiftResponseDTO> getShiftsByPeriodNumber(Integer periodNumber, Long companyId, Pageable pageable);
+
+    /**
+     * Keyset-paginated shifts matching the filter, newest first. A null cursor starts from the newest shift;
+     * the total is only counted when asked for.
+     */
+    CursorPage<ShiftResponseDTO> getShiftsAfter(ShiftFilter filter, String cursor, int size, boolean includeTotal);
 }
 
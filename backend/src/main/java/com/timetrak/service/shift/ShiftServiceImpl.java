@@ -1,16 +1,25 @@
 package com.timetrak.service.shift;
 
 import com.timetrak.dto.payment.Period;
+import com.timetrak.dto.response.CursorPage;
+import com.timetrak.dto.shift.DepartmentShiftRow;
+import com.timetrak.dto.shift.DepartmentShifts;
+import com.timetrak.dto.shift.EmployeeLaborSummary;
+import com.timetrak.dto.shift.LaborTotals;
+import com.timetrak.dto.shift.ShiftFilter;
 import com.timetrak.dto.shift.ShiftResponseDTO;
+import com.timetrak.dto.shift.ShiftRow;
 import com.timetrak.dto.shift.ShiftSummaryDTO;
 import com.timetrak.entity.Employee;
 import com.timetrak.entity.Shift;
 import com.timetrak.enums.ClockErrorCode;
 import com.timetrak.enums.ShiftStatus;
 import com.timetrak.exception.ResourceNotFoundException;
+import com.timetrak.exception.employee.EmployeeNotFoundException;
 import com.timetrak.mapper.ShiftMapper;
+import com.timetrak.misc.SeekCursor;
+import com.timetrak.repository.ShiftKeysetRepository;
 import com.timetrak.repository.ShiftRepository;
-import com.timetrak.service.employee.EmployeeService;
 import com.timetrak.service.payment.PeriodService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -26,6 +35,7 @@ import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
+import static com.timetrak.constant.ShiftConstants.MAX_SUMMARY_EMPLOYEES;
 import static com.timetrak.constant.ShiftConstants.PRECISION_FACTOR;
 
 @RequiredArgsConstructor
@@ -35,9 +45,10 @@ import static com.timetrak.constant.ShiftConstants.PRECISION_FACTOR;
 public class ShiftServiceImpl implements ShiftService {
 
     private final ShiftRepository shiftRepository;
+    private final ShiftKeysetRepository shiftKeysetRepository;
     private final ShiftMapper shiftMapper;
-    private final EmployeeService employeeService;
     private final PeriodService periodService;
+    private final LaborRollupService laborRollupService;
 
     @Override
     public ShiftResponseDTO getShiftById(Long shiftId) {
@@ -53,7 +64,7 @@ public class ShiftServiceImpl implements ShiftService {
 
     @Override
     public Page<ShiftResponseDTO> getShiftsByDepartment(Long departmentId, Long companyId, Pageable pageable) {
-        return shiftRepository.findByDepartmentIdAndCompanyId(departmentId,companyId,pageable)
+        return shiftRepository.findRowsByDepartmentIdAndCompanyId(departmentId,companyId,pageable)
                 .map(shiftMapper::toDTO);
     }
 
@@ -65,7 +76,7 @@ public class ShiftServiceImpl implements ShiftService {
         LocalDateTime startDateTime = startDate.atStartOfDay();
         LocalDateTime endDateTime = endDate.atTime(23, 59, 59);
 
-        return shiftRepository.findShiftsForDepartmentDateRange(departmentId,
+        return shiftRepository.findRowsForDepartmentDateRange(departmentId,
                         companyId,
                         startDateTime,
                         endDateTime)
@@ -73,39 +84,44 @@ public class ShiftServiceImpl implements ShiftService {
     }
 
     @Override
-    public Map<Long, List<ShiftResponseDTO>> getShiftsByDepartmentsGrouped(
+    public List<DepartmentShifts> getShiftsByDepartmentsGrouped(
             List<Long> departmentIds,
             Long companyId,
             LocalDate startDate,
             LocalDate endDate) {
+        if (departmentIds == null || departmentIds.isEmpty()) {
+            return List.of();
+        }
 
-
-
-        Map<Long, List<ShiftResponseDTO>> result = new LinkedHashMap<>();
-
-        for (Long departmentId : departmentIds) {
-            List<ShiftResponseDTO> shifts = getShiftsByDepartmentByDateRange(
-                    departmentId, companyId, startDate, endDate);
-
-            if (!shifts.isEmpty()) {
-                result.put(departmentId, shifts);
+        List<DepartmentShiftRow> rows = shiftRepository.findDepartmentRowsForDateRange(
+                departmentIds, companyId, toStartOfDay(startDate), toStartOfNextDay(endDate));
+
+        // Rows arrive ordered by department, so a group ends where the department id changes;
+        // departments without shifts in the range never appear
+        List<DepartmentShifts> result = new ArrayList<>();
+        List<ShiftResponseDTO> current = null;
+        Long currentDepartmentId = null;
+        for (DepartmentShiftRow row : rows) {
+            if (!row.departmentId().equals(currentDepartmentId)) {
+                currentDepartmentId = row.departmentId();
+                current = new ArrayList<>();
+                result.add(new DepartmentShifts(currentDepartmentId, row.departmentName(), current));
             }
+            current.add(shiftMapper.toDTO(row.shift()));
         }
 
         return result;
     }
 
-
-
     @Override
     public Page<ShiftResponseDTO> getShiftsByEmployeeId(Long employeeId,Long companyId,  Pageable pageable) {
-        return shiftRepository.findByEmployeeId(employeeId,companyId, pageable).map(shiftMapper::toDTO);
+        return shiftRepository.findRowsByEmployeeId(employeeId,companyId, pageable).map(shiftMapper::toDTO);
     }
 
 
     @Override
     public Page<ShiftResponseDTO> getShiftsByJobTitle(String jobTitle,Long companyId, Pageable pageable) {
-        return shiftRepository.findByJobTitle(jobTitle, companyId, pageable).map(shiftMapper::toDTO);
+        return shiftRepository.findRowsByJobTitle(jobTitle, companyId, pageable).map(shiftMapper::toDTO);
     }
 
     @Override
@@ -115,7 +131,7 @@ public class ShiftServiceImpl implements ShiftService {
                                                        Pageable pageable) {
         LocalDateTime startDateTime = toStartOfDay(startDate);
         LocalDateTime endDateTime = toEndOfDay(endDate);
-        Page<Shift> shifts = shiftRepository.findByCompanyIdAndDateRange(companyId,startDateTime, endDateTime, pageable);
+        Page<ShiftRow> shifts = shiftRepository.findRowsByCompanyIdAndDateRange(companyId,startDateTime, endDateTime, pageable);
         return shifts.map(shiftMapper::toDTO);
     }
 
@@ -123,13 +139,13 @@ public class ShiftServiceImpl implements ShiftService {
     public Page<ShiftResponseDTO> getShiftsByEmployeeIdAndDateRange(Long employeeId, LocalDate startDate, LocalDate endDate, Pageable pageable) {
         LocalDateTime startDateTime = toStartOfDay(startDate);
         LocalDateTime endDateTime = toEndOfDay(endDate);
-        Page<Shift> shifts = shiftRepository.findByEmployeeIdAndDateRange(employeeId, startDateTime, endDateTime, pageable);
+        Page<ShiftRow> shifts = shiftRepository.findRowsByEmployeeIdAndDateRange(employeeId, startDateTime, endDateTime, pageable);
         return shifts.map(shiftMapper::toDTO);
     }
 
     @Override
     public List<ShiftResponseDTO> getShiftsByEmployeeIdAndDateRange(Long employeeId, LocalDate startDate, LocalDate endDate) {
-       return shiftRepository.findByEmployeeIdAndDateRange(employeeId, startDate.atStartOfDay(), endDate.atTime(23, 59, 59))
+       return shiftRepository.findRowsByEmployeeIdAndDateRange(employeeId, startDate.atStartOfDay(), endDate.atTime(23, 59, 59))
                .stream().map(shiftMapper::toDTO).collect(Collectors.toList());
     }
 
@@ -139,10 +155,8 @@ public class ShiftServiceImpl implements ShiftService {
                                                                             Long companyId,
                                                                             LocalDateTime startDate
                                                                             ) {
-        List<Shift> shifts =
-                shiftRepository.findByStatusAndEmployeeIdAndCompanyIdAndClockInAfterAndDeletedAtIsNull(
-                status, employeeId,companyId,startDate);
-        return shiftMapper.toDTOList(shifts);
+        return shiftRepository.findRowsByStatusAndEmployeeIdClockInAfter(status, employeeId, companyId, startDate)
+                .stream().map(shiftMapper::toDTO).collect(Collectors.toList());
     }
 
     @Override
@@ -151,9 +165,9 @@ public class ShiftServiceImpl implements ShiftService {
         Period period = periodService.getPeriodByNumber(periodNumber, companyId);
 
 
-        return shiftRepository.findAllByStatusAndDateRangeAndCompanyId(status,
-                period.getStartDate(),
-                period.getEndDate(),
+        return shiftRepository.findRowsByStatusAndDateRangeAndCompanyId(status,
+                toStartOfDay(period.getStartDate()),
+                toStartOfNextDay(period.getEndDate()),
                 companyId,
                 pageable).map(shiftMapper::toDTO);
     }
@@ -173,7 +187,7 @@ public class ShiftServiceImpl implements ShiftService {
     @Override
     public Page<ShiftResponseDTO> getShiftsFromDate(LocalDate startDate,Long companyId, Pageable pageable) {
         LocalDateTime startDateTime = toStartOfDay(startDate);
-        return shiftRepository.findByDateFrom(startDateTime,companyId, pageable).map(shiftMapper::toDTO);
+        return shiftRepository.findRowsByDateFrom(startDateTime,companyId, pageable).map(shiftMapper::toDTO);
     }
 
     @Override
@@ -190,46 +204,24 @@ public class ShiftServiceImpl implements ShiftService {
 
     @Override
     public ShiftSummaryDTO getShiftSummaryForEmployee(Long employeeId, LocalDate startDate, LocalDate endDate) {
-        Page<Shift> shifts = shiftRepository.findByEmployeeIdAndDateRange(
-                employeeId,
-                toStartOfDay(startDate),
-                toEndOfDay(endDate),
-                Pageable.unpaged()
-        );
-
-        List<Shift> shiftList = shifts.getContent();
-        int totalShifts = shiftList.size();
-        int activeShifts = (int) shiftList.stream().filter(s -> s.getStatus() == ShiftStatus.ACTIVE).count();
-        int completedShifts = (int) shiftList.stream().filter(s -> s.getStatus() == ShiftStatus.COMPLETED).count();
-
-        double totalHours = shiftList.stream()
-                .filter(s -> s.getStatus() == ShiftStatus.COMPLETED && s.getClockOut() != null)
-                .mapToDouble(s -> Duration.between(s.getClockIn(), s.getClockOut()).toMinutes() / 60.0)
-                .sum();
-
-        double totalEarnings = shiftList.stream()
-                .filter(s -> s.getStatus() == ShiftStatus.COMPLETED && s.getClockOut() != null)
-                .mapToDouble(s -> {
-                    double hours = Duration.between(s.getClockIn(), s.getClockOut()).toMinutes() / 60.0;
-                    return hours * s.getEmployeeJob().getHourlyWage().doubleValue();
-                })
-                .sum();
-
-        String employeeName = employeeService.getEmployeeNameById(employeeId);
-        double averageShiftLength = completedShifts > 0 ? totalHours / completedShifts : 0.0;
+        validateSummaryRange(startDate, endDate);
+        // The query only returns existing, non-deleted employees
+        return laborRollupService.getEmployeeSummaries(List.of(employeeId), null, startDate, endDate).stream()
+                .findFirst()
+                .map(summary -> toSummaryDTO(summary, startDate, endDate))
+                .orElseThrow(() -> new EmployeeNotFoundException(employeeId));
+    }
 
-        return ShiftSummaryDTO.builder()
-                .employeeId(employeeId)
-                .employeeName(employeeName)
-                .startDate(startDate)
-                .endDate(endDate)
-                .totalShifts(totalShifts)
-                .activeShifts(activeShifts)
-                .completedShifts(completedShifts)
-                .totalHours(roundToPrecision(totalHours))
-                .totalEarnings(roundToPrecision(totalEarnings))
-                .averageShiftLength(roundToPrecision(averageShiftLength))
-                .build();
+    @Override
+    public List<ShiftSummaryDTO> getShiftSummariesForEmployees(List<Long> employeeIds, Long companyId,
+                                                               LocalDate startDate, LocalDate endDate) {
+        if (employeeIds.isEmpty() || employeeIds.size() > MAX_SUMMARY_EMPLOYEES) {
+            throw new IllegalArgumentException("Between 1 and " + MAX_SUMMARY_EMPLOYEES + " employee IDs are required");
+        }
+        validateSummaryRange(startDate, endDate);
+        return laborRollupService.getEmployeeSummaries(employeeIds, companyId, startDate, endDate).stream()
+                .map(summary -> toSummaryDTO(summary, startDate, endDate))
+                .toList();
     }
 
     ///For CLock out operations only/ no companyId required
@@ -255,7 +247,7 @@ public class ShiftServiceImpl implements ShiftService {
              LocalDate startDate, LocalDate endDate, Long companyId) {
         // Single batch query
         List<Shift> shifts = shiftRepository.findAllByCompanyIdAndDateRange(
-                startDate, endDate, companyId);
+                toStartOfDay(startDate), toStartOfNextDay(endDate), companyId);
 
         // Group by empID and convert to DTOs
         // Note: Query already filters out null employees, so no additional filtering needed
@@ -277,6 +269,64 @@ public class ShiftServiceImpl implements ShiftService {
         return getShiftsByDateRange(companyId,period.getStartDate(),period.getEndDate(),pageable);
     }
 
+    @Override
+    public CursorPage<ShiftResponseDTO> getShiftsAfter(ShiftFilter filter, String cursor, int size, boolean includeTotal) {
+        CursorPage.checkSize(size);
+        ShiftKeysetRepository.Criteria criteria = toCriteria(filter);
+
+        List<ShiftRow> rows = shiftKeysetRepository.findRows(criteria, SeekCursor.decode(cursor), size + 1);
+        return CursorPage.of(rows, size,
+                row -> SeekCursor.of(row.clockIn(), row.id()),
+                shiftMapper::toDTO,
+                includeTotal ? shiftKeysetRepository.count(criteria) : null);
+    }
+
+    private ShiftKeysetRepository.Criteria toCriteria(ShiftFilter filter) {
+        LocalDate startDate = filter.startDate();
+        LocalDate endDate = filter.endDate();
+        if (filter.periodNumber() != null) {
+            Period period = periodService.getPeriodByNumber(filter.periodNumber(), filter.companyId());
+            startDate = period.getStartDate();
+            endDate = period.getEndDate();
+        }
+        return new ShiftKeysetRepository.Criteria(filter.companyId(),
+                filter.employeeId(),
+                filter.departmentId(),
+                filter.jobTitle(),
+                filter.status(),
+                startDate != null ? toStartOfDay(startDate) : null,
+                endDate != null ? toStartOfNextDay(endDate) : null);
+    }
+
+    private void validateSummaryRange(LocalDate startDate, LocalDate endDate) {
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("Start date must not be after end date");
+        }
+    }
+
+    // Completed shifts come from the daily rollup, active ones are counted by the same query
+    private ShiftSummaryDTO toSummaryDTO(EmployeeLaborSummary summary, LocalDate startDate, LocalDate endDate) {
+        LaborTotals totals = summary.totals();
+        int completedShifts = (int) totals.shiftCount();
+        int activeShifts = (int) summary.activeShifts();
+
+        double totalHours = totals.minutes() / 60.0;
+        double averageShiftLength = completedShifts > 0 ? totalHours / completedShifts : 0.0;
+
+        return ShiftSummaryDTO.builder()
+                .employeeId(summary.employeeId())
+                .employeeName(summary.employeeName())
+                .startDate(startDate)
+                .endDate(endDate)
+                .totalShifts(completedShifts + activeShifts)
+                .activeShifts(activeShifts)
+                .completedShifts(completedShifts)
+                .totalHours(roundToPrecision(totalHours))
+                .totalEarnings(roundToPrecision(totals.earnings().doubleValue()))
+                .averageShiftLength(roundToPrecision(averageShiftLength))
+                .build();
+    }
+
     /**
      * Rounds a double value to 2 decimal places for consistent precision
      */
@@ -291,6 +341,14 @@ public class ShiftServiceImpl implements ShiftService {
         return date.atStartOfDay();
     }
 
+    /**
+     * Exclusive upper bound for a range ending on {@code date}, so the whole last day is included
+     * and the clock_in indexes stay usable
+     */
+    private LocalDateTime toStartOfNextDay(LocalDate date) {
+        return date.plusDays(1).atStartOfDay();
+    }
+
     /**
      * Converts LocalDate to end of day LocalDateTime
      */
@@ -0,0 +1,147 @@
+package com.timetrak.service.shift;
+
+import com.timetrak.entity.CompanySite;
+import com.timetrak.entity.GeoPoint;
+import com.timetrak.enums.SiteShape;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Uniform lat/lng grid over the sites of one company.
+ * <p>
+ * Each site is registered in every cell its bounding box touches, so a lookup only tests the
+ * few sites sharing the point's cell. Sites spanning too many cells (or the antimeridian) are
+ * kept in a separate list that is always tested. When several sites contain the point, the one
+ * whose center is closest wins.
+ */
+public final class SiteIndex {
+
+    public static final SiteIndex EMPTY = new SiteIndex(List.of());
+
+    // ~1.1 km of latitude per cell
+    private static final double CELL_DEGREES = 0.01;
+    private static final int MAX_CELLS_PER_SITE = 256;
+
+    private final Map<Long, List<IndexedSite>> cells = new HashMap<>();
+    private final List<IndexedSite> oversized = new ArrayList<>();
+    private final int size;
+
+    public SiteIndex(List<CompanySite> sites) {
+        for (CompanySite site : sites) {
+            add(IndexedSite.of(site));
+        }
+        this.size = sites.size();
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public Optional<Long> findSite(double latitude, double longitude) {
+        IndexedSite best = null;
+        double bestDistance = Double.MAX_VALUE;
+
+        List<IndexedSite> candidates = cells.getOrDefault(cellKey(cell(latitude), cell(longitude)), List.of());
+        for (List<IndexedSite> group : List.of(candidates, oversized)) {
+            for (IndexedSite site : group) {
+                if (!site.contains(latitude, longitude)) {
+                    continue;
+                }
+                double distance = site.squaredDistanceToCenter(latitude, longitude);
+                if (distance < bestDistance) {
+                    best = site;
+                    bestDistance = distance;
+                }
+            }
+        }
+        return best == null ? Optional.empty() : Optional.of(best.id());
+    }
+
+    private void add(IndexedSite site) {
+        int minLatCell = cell(site.minLat());
+        int maxLatCell = cell(site.maxLat());
+        int minLngCell = cell(site.minLng());
+        int maxLngCell = cell(site.maxLng());
+
+        long cellCount = (long) (maxLatCell - minLatCell + 1) * (maxLngCell - minLngCell + 1);
+        if (site.minLng() < -180 || site.maxLng() > 180 || cellCount > MAX_CELLS_PER_SITE) {
+            oversized.add(site);
+            return;
+        }
+        for (int latCell = minLatCell; latCell <= maxLatCell; latCell++) {
+            for (int lngCell = minLngCell; lngCell <= maxLngCell; lngCell++) {
+                cells.computeIfAbsent(cellKey(latCell, lngCell), key -> new ArrayList<>()).add(site);
+            }
+        }
+    }
+
+    private static int cell(double degrees) {
+        return (int) Math.floor(degrees / CELL_DEGREES);
+    }
+
+    private static long cellKey(int latCell, int lngCell) {
+        return ((long) latCell << 32) | (lngCell & 0xffffffffL);
+    }
+
+    private record IndexedSite(Long id,
+                               double minLat, double maxLat, double minLng, double maxLng,
+                               double centerLat, double centerLng,
+                               Geofence circle,
+                               double[] polygonLats, double[] polygonLngs) {
+
+        static IndexedSite of(CompanySite site) {
+            if (site.getShape() == SiteShape.CIRCLE) {
+                Geofence circle = Geofence.of(site.getLatitude(), site.getLongitude(), site.getRadius());
+                return new IndexedSite(site.getId(),
+                        site.getLatitude() - circle.outerLatDelta(), site.getLatitude() + circle.outerLatDelta(),
+                        site.getLongitude() - circle.outerLngDelta(), site.getLongitude() + circle.outerLngDelta(),
+                        site.getLatitude(), site.getLongitude(), circle, null, null);
+            }
+
+            List<GeoPoint> vertices = site.getVertices();
+            double[] lats = new double[vertices.size()];
+            double[] lngs = new double[vertices.size()];
+            double minLat = Double.MAX_VALUE, maxLat = -Double.MAX_VALUE;
+            double minLng = Double.MAX_VALUE, maxLng = -Double.MAX_VALUE;
+            for (int i = 0; i < vertices.size(); i++) {
+                lats[i] = vertices.get(i).getLatitude();
+                lngs[i] = vertices.get(i).getLongitude();
+                minLat = Math.min(minLat, lats[i]);
+                maxLat = Math.max(maxLat, lats[i]);
+                minLng = Math.min(minLng, lngs[i]);
+                maxLng = Math.max(maxLng, lngs[i]);
+            }
+            return new IndexedSite(site.getId(), minLat, maxLat, minLng, maxLng,
+                    (minLat + maxLat) / 2, (minLng + maxLng) / 2, null, lats, lngs);
+        }
+
+        boolean contains(double latitude, double longitude) {
+            if (circle != null) {
+                return circle.contains(latitude, longitude);
+            }
+            if (latitude < minLat || latitude > maxLat || longitude < minLng || longitude > maxLng) {
+                return false;
+            }
+            // Even-odd ray casting in the lat/lng plane; sites are small enough for it to be exact in practice
+            boolean inside = false;
+            for (int i = 0, j = polygonLats.length - 1; i < polygonLats.length; j = i++) {
+                if ((polygonLats[i] > latitude) != (polygonLats[j] > latitude)
+                        && longitude < (polygonLngs[j] - polygonLngs[i]) * (latitude - polygonLats[i])
+                        / (polygonLats[j] - polygonLats[i]) + polygonLngs[i]) {
+                    inside = !inside;
+                }
+            }
+            return inside;
+        }
+
+        double squaredDistanceToCenter(double latitude, double longitude) {
+            double dLat = latitude - centerLat;
+            double dLng = (longitude - centerLng) * Math.cos(Math.toRadians(centerLat));
+            return dLat * dLat + dLng * dLng;
+        }
+    }
+}
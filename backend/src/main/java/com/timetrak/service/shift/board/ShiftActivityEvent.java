@@ -0,0 +1,21 @@
+package com.timetrak.service.shift.board;
+
+import com.timetrak.entity.Shift;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Published when shifts were clocked in, clocked out, edited or deleted, so the live shift board
+ * can push their committed state to subscribers.
+ */
+public record ShiftActivityEvent(List<Long> shiftIds) {
+
+    public static ShiftActivityEvent of(Long shiftId) {
+        return new ShiftActivityEvent(List.of(shiftId));
+    }
+
+    public static ShiftActivityEvent ofShifts(Collection<Shift> shifts) {
+        return new ShiftActivityEvent(shifts.stream().map(Shift::getId).toList());
+    }
+}
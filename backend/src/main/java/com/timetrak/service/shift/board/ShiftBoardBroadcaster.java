@@ -0,0 +1,251 @@
+package com.timetrak.service.shift.board;
+
+import com.timetrak.dto.shift.ShiftBoardChange;
+import com.timetrak.dto.shift.ShiftBoardEntry;
+import com.timetrak.repository.ShiftRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Pushes who is on shift to admin dashboards over Server-Sent Events.
+ * <p>
+ * A subscriber first receives a {@code snapshot} of the company's active shifts, then
+ * {@code clock-in} events listing shifts that are now active and {@code clock-out} events listing
+ * shifts that ended or were deleted, in their committed state, for every shift written since.
+ * Writers only hand shift ids to a bounded queue after commit ({@link ShiftActivityEvent});
+ * a dispatcher thread reads each batch back in one query and copies the events into every
+ * subscriber's own bounded buffer, drained by that subscriber's virtual thread. A client whose
+ * buffer fills up is disconnected, and reconnects with a fresh snapshot, so a slow client never
+ * holds up a clock transaction or the other subscribers. When the dispatch queue itself overflows
+ * or a read fails, every subscriber is disconnected the same way, since changes were lost.
+ */
+@Service
+@Slf4j
+public class ShiftBoardBroadcaster {
+
+    private static final int MAX_BATCH = 500;
+
+    private record BoardEvent(String name, Object data) {
+    }
+
+    private final ShiftRepository shiftRepository;
+    private final long emitterTimeoutMs;
+    private final int clientBufferSize;
+
+    private final BlockingQueue<Long> pending;
+    private final AtomicBoolean overflowed = new AtomicBoolean();
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private Thread dispatcher;
+
+    public ShiftBoardBroadcaster(ShiftRepository shiftRepository,
+                                 @Value("${shift-board.emitter-timeout-ms:1800000}") long emitterTimeoutMs,
+                                 @Value("${shift-board.client-buffer:256}") int clientBufferSize,
+                                 @Value("${shift-board.dispatch-capacity:10000}") int dispatchCapacity) {
+        this.shiftRepository = shiftRepository;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.clientBufferSize = clientBufferSize;
+        this.pending = new ArrayBlockingQueue<>(dispatchCapacity);
+    }
+
+    @PostConstruct
+    void start() {
+        dispatcher = Thread.ofVirtual().name("shift-board-dispatcher").start(this::dispatchLoop);
+    }
+
+    @PreDestroy
+    void stop() {
+        dispatcher.interrupt();
+        disconnectAll();
+    }
+
+    /**
+     * Opens a board stream for the company, starting with a snapshot of its active shifts.
+     */
+    public SseEmitter subscribe(Long companyId) {
+        SseEmitter emitter = createEmitter();
+        Subscriber subscriber = new Subscriber(companyId, emitter);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(e -> subscriber.close());
+
+        // Registered before the snapshot is read, so no change committed after the read is missed
+        subscribers.compute(companyId, (id, companySubscribers) -> {
+            Set<Subscriber> registered = companySubscribers != null ? companySubscribers : ConcurrentHashMap.newKeySet();
+            registered.add(subscriber);
+            return registered;
+        });
+        List<ShiftBoardEntry> snapshot;
+        try {
+            snapshot = shiftRepository.findBoardEntriesByCompanyId(companyId);
+        } catch (RuntimeException e) {
+            // Not yet sending, so nothing else would ever unregister it or complete the emitter
+            subscriber.close();
+            throw e;
+        }
+        subscriber.start(new BoardEvent("snapshot", snapshot));
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onShiftActivity(ShiftActivityEvent event) {
+        for (Long shiftId : event.shiftIds()) {
+            if (!pending.offer(shiftId)) {
+                overflowed.set(true);
+                return;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${shift-board.heartbeat-ms:15000}")
+    public void heartbeat() {
+        subscribers.values().forEach(companySubscribers ->
+                companySubscribers.forEach(subscriber -> subscriber.offer(new BoardEvent(null, "keep-alive"))));
+    }
+
+    SseEmitter createEmitter() {
+        return new SseEmitter(emitterTimeoutMs);
+    }
+
+    int subscriberCount(Long companyId) {
+        return subscribers.getOrDefault(companyId, Set.of()).size();
+    }
+
+    private void dispatchLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                List<Long> batch = new ArrayList<>();
+                batch.add(pending.take());
+                pending.drainTo(batch, MAX_BATCH - 1);
+                if (overflowed.getAndSet(false)) {
+                    log.warn("Shift board dispatch queue overflowed, disconnecting subscribers to resync");
+                    disconnectAll();
+                    continue;
+                }
+                dispatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                log.warn("Shift board dispatch failed, disconnecting subscribers to resync: {}", e.getMessage());
+                disconnectAll();
+            }
+        }
+    }
+
+    private void dispatch(List<Long> shiftIds) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        Map<Long, List<ShiftBoardChange>> changesByCompany = shiftRepository.findBoardChangesByIds(
+                        shiftIds.stream().distinct().toList()).stream()
+                .filter(change -> change.companyId() != null)
+                .collect(Collectors.groupingBy(ShiftBoardChange::companyId));
+
+        changesByCompany.forEach((companyId, changes) -> {
+            Set<Subscriber> companySubscribers = subscribers.get(companyId);
+            if (companySubscribers == null) {
+                return;
+            }
+            // One event of each kind per batch, so a bulk clock-in does not flood client buffers
+            Map<Boolean, List<ShiftBoardChange>> byState = changes.stream()
+                    .collect(Collectors.partitioningBy(ShiftBoardChange::onShift));
+            List<ShiftBoardEntry> clockedIn = byState.get(true).stream().map(ShiftBoardChange::toEntry).toList();
+            List<Map<String, Long>> clockedOut = byState.get(false).stream()
+                    .map(change -> Map.of("shiftId", change.shiftId(), "employeeId", change.employeeId()))
+                    .toList();
+            if (!clockedOut.isEmpty()) {
+                BoardEvent event = new BoardEvent("clock-out", clockedOut);
+                companySubscribers.forEach(subscriber -> subscriber.offer(event));
+            }
+            if (!clockedIn.isEmpty()) {
+                BoardEvent event = new BoardEvent("clock-in", clockedIn);
+                companySubscribers.forEach(subscriber -> subscriber.offer(event));
+            }
+        });
+    }
+
+    private void disconnectAll() {
+        subscribers.values().forEach(companySubscribers -> companySubscribers.forEach(Subscriber::close));
+    }
+
+    private final class Subscriber {
+
+        private final Long companyId;
+        private final SseEmitter emitter;
+        private final BlockingDeque<BoardEvent> buffer = new LinkedBlockingDeque<>(clientBufferSize);
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile Thread sender;
+
+        private Subscriber(Long companyId, SseEmitter emitter) {
+            this.companyId = companyId;
+            this.emitter = emitter;
+        }
+
+        // Changes buffered while the snapshot was read go after it; each carries the shift's
+        // committed state, so replaying one the snapshot already reflects is harmless
+        void start(BoardEvent snapshot) {
+            if (!buffer.offerFirst(snapshot)) {
+                close();
+                return;
+            }
+            sender = Thread.ofVirtual().name("shift-board-sender-" + companyId).start(this::sendLoop);
+        }
+
+        void offer(BoardEvent event) {
+            if (!closed.get() && !buffer.offer(event)) {
+                log.debug("Shift board client of company {} fell behind, disconnecting", companyId);
+                close();
+            }
+        }
+
+        private void sendLoop() {
+            try {
+                while (!closed.get()) {
+                    BoardEvent event = buffer.take();
+                    emitter.send(event.name() == null
+                            ? SseEmitter.event().comment(String.valueOf(event.data()))
+                            : SseEmitter.event().name(event.name()).data(event.data()));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Shift board client of company {} went away: {}", companyId, e.getMessage());
+            } finally {
+                close();
+            }
+        }
+
+        void close() {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            subscribers.computeIfPresent(companyId, (id, companySubscribers) -> {
+                companySubscribers.remove(this);
+                return companySubscribers.isEmpty() ? null : companySubscribers;
+            });
+            Thread current = sender;
+            if (current != null && current != Thread.currentThread()) {
+                current.interrupt();
+            }
+            emitter.complete();
+        }
+    }
+}
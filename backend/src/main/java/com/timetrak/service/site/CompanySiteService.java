@@ -0,0 +1,20 @@
+package com.timetrak.service.site;
+
+import com.timetrak.dto.site.CompanySiteRequestDTO;
+import com.timetrak.dto.site.CompanySiteResponseDTO;
+import com.timetrak.entity.CompanySite;
+
+import java.util.List;
+
+public interface CompanySiteService {
+
+    CompanySiteResponseDTO createSite(CompanySiteRequestDTO request, Long companyId);
+    CompanySiteResponseDTO updateSite(Long siteId, CompanySiteRequestDTO request, Long companyId);
+    void deleteSite(Long siteId, Long companyId);
+
+    CompanySiteResponseDTO getSite(Long siteId, Long companyId);
+    List<CompanySiteResponseDTO> getSites(Long companyId);
+
+    // Internal use (site index for clock location checks)
+    List<CompanySite> getActiveSitesWithVertices(Long companyId);
+}
@@ -0,0 +1,127 @@
+package com.timetrak.service.site;
+
+import com.timetrak.dto.site.CompanySiteRequestDTO;
+import com.timetrak.dto.site.CompanySiteResponseDTO;
+import com.timetrak.entity.CompanySite;
+import com.timetrak.enums.SiteShape;
+import com.timetrak.exception.DuplicateResourceException;
+import com.timetrak.exception.ResourceNotFoundException;
+import com.timetrak.mapper.CompanySiteMapper;
+import com.timetrak.repository.CompanySiteRepository;
+import com.timetrak.service.company.CompanyLocationChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CompanySiteServiceImpl implements CompanySiteService {
+
+    private static final int MIN_POLYGON_VERTICES = 3;
+    private static final int MAX_POLYGON_VERTICES = 500;
+
+    private final CompanySiteRepository siteRepository;
+    private final CompanySiteMapper siteMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    @Transactional
+    public CompanySiteResponseDTO createSite(CompanySiteRequestDTO request, Long companyId) {
+        validateShape(request);
+        if (siteRepository.existsByCompanyIdAndNameIgnoreCaseAndDeletedAtIsNull(companyId, request.getName())) {
+            throw new DuplicateResourceException("Site with name " + request.getName() + " already exists");
+        }
+
+        CompanySite site = siteMapper.toEntity(request);
+        site.setCompanyId(companyId);
+        applyGeometry(site, request);
+        CompanySite saved = siteRepository.save(site);
+
+        eventPublisher.publishEvent(new CompanyLocationChangedEvent(companyId));
+        log.info("Created {} site {} for company {}", saved.getShape(), saved.getId(), companyId);
+        return siteMapper.toDTO(saved);
+    }
+
+    @Override
+    @Transactional
+    public CompanySiteResponseDTO updateSite(Long siteId, CompanySiteRequestDTO request, Long companyId) {
+        validateShape(request);
+        CompanySite site = getSiteEntity(siteId, companyId);
+        if (!site.getName().equalsIgnoreCase(request.getName())
+                && siteRepository.existsByCompanyIdAndNameIgnoreCaseAndDeletedAtIsNull(companyId, request.getName())) {
+            throw new DuplicateResourceException("Site with name " + request.getName() + " already exists");
+        }
+
+        siteMapper.updateSiteFromDto(request, site);
+        applyGeometry(site, request);
+        CompanySite saved = siteRepository.save(site);
+
+        eventPublisher.publishEvent(new CompanyLocationChangedEvent(companyId));
+        log.info("Updated site {} for company {}", siteId, companyId);
+        return siteMapper.toDTO(saved);
+    }
+
+    @Override
+    @Transactional
+    public void deleteSite(Long siteId, Long companyId) {
+        CompanySite site = getSiteEntity(siteId, companyId);
+        site.markAsDeleted();
+        siteRepository.save(site);
+
+        eventPublisher.publishEvent(new CompanyLocationChangedEvent(companyId));
+        log.info("Deleted site {} for company {}", siteId, companyId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CompanySiteResponseDTO getSite(Long siteId, Long companyId) {
+        return siteMapper.toDTO(getSiteEntity(siteId, companyId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<CompanySiteResponseDTO> getSites(Long companyId) {
+        return siteMapper.toDTOList(siteRepository.findActiveWithVerticesByCompanyId(companyId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<CompanySite> getActiveSitesWithVertices(Long companyId) {
+        return siteRepository.findActiveWithVerticesByCompanyId(companyId);
+    }
+
+    private CompanySite getSiteEntity(Long siteId, Long companyId) {
+        return siteRepository.findByIdAndCompanyIdAndDeletedAtIsNull(siteId, companyId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Site with ID " + siteId + " not found for company " + companyId));
+    }
+
+    private void applyGeometry(CompanySite site, CompanySiteRequestDTO request) {
+        site.getVertices().clear();
+        if (request.getShape() == SiteShape.POLYGON) {
+            site.setLatitude(null);
+            site.setLongitude(null);
+            site.setRadius(null);
+            request.getVertices().forEach(vertex -> site.getVertices().add(siteMapper.toEntity(vertex)));
+        }
+    }
+
+    private void validateShape(CompanySiteRequestDTO request) {
+        if (request.getShape() == SiteShape.CIRCLE) {
+            if (request.getLatitude() == null || request.getLongitude() == null || request.getRadius() == null) {
+                throw new IllegalArgumentException("Circle site requires latitude, longitude and radius");
+            }
+        } else {
+            int vertexCount = request.getVertices() == null ? 0 : request.getVertices().size();
+            if (vertexCount < MIN_POLYGON_VERTICES || vertexCount > MAX_POLYGON_VERTICES) {
+                throw new IllegalArgumentException("Polygon site requires between " + MIN_POLYGON_VERTICES
+                        + " and " + MAX_POLYGON_VERTICES + " vertices");
+            }
+        }
+    }
+}
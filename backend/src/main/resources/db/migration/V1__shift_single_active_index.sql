@@ -0,0 +1,19 @@
+-- One ACTIVE, non-deleted shift per employee.
+-- The old check-then-insert clock-in could leave an employee with several ACTIVE shifts. Each of
+-- them but the latest is closed at the clock-in of the next one, which is when the employee
+-- demonstrably clocked in again; the hours stay on record instead of disappearing.
+UPDATE shift s
+SET clock_out  = next_active.clock_in,
+    status     = 'COMPLETED',
+    updated_at = now()
+FROM (SELECT id,
+             LEAD(clock_in) OVER (PARTITION BY employee_id ORDER BY clock_in, id) AS clock_in
+      FROM shift
+      WHERE status = 'ACTIVE'
+        AND deleted_at IS NULL) next_active
+WHERE s.id = next_active.id
+  AND next_active.clock_in IS NOT NULL;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_shift_active_employee
+    ON shift (employee_id)
+    WHERE status = 'ACTIVE' AND deleted_at IS NULL;
@@ -0,0 +1,9 @@
+-- Responses of completed clock operations, keyed by client Idempotency-Key (clock.idempotency.store=jdbc)
+CREATE TABLE IF NOT EXISTS clock_idempotency_key (
+    idempotency_key VARCHAR(255) PRIMARY KEY,
+    response        TEXT         NOT NULL,
+    created_at      TIMESTAMP    NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_clock_idempotency_key_created_at
+    ON clock_idempotency_key (created_at);
@@ -0,0 +1,6 @@
+-- Last clock journal sequence written to the shift table, per journal (clock.pipeline.enabled=true)
+CREATE TABLE IF NOT EXISTS clock_journal_checkpoint (
+    journal_id VARCHAR(64) PRIMARY KEY,
+    last_seq   BIGINT      NOT NULL,
+    updated_at TIMESTAMP   NOT NULL
+);
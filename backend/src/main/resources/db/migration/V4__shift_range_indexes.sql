@@ -0,0 +1,14 @@
+-- Shift range reads filter on a clock_in range per company or per employee, always excluding
+-- soft-deleted rows, so the indexes only cover live shifts.
+CREATE INDEX IF NOT EXISTS idx_shift_company_clock_in
+    ON shift (company_id, clock_in)
+    WHERE deleted_at IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_shift_employee_clock_in
+    ON shift (employee_id, clock_in)
+    WHERE deleted_at IS NULL;
+
+-- Who is clocked in right now, per company (dashboard). Stays small: one row per clocked-in employee.
+CREATE INDEX IF NOT EXISTS idx_shift_active_company
+    ON shift (company_id, clock_in)
+    WHERE status = 'ACTIVE' AND deleted_at IS NULL;
@@ -0,0 +1,6 @@
+-- Keyset pagination of payment listings walks (period_end, id) backwards per company or per employee.
+CREATE INDEX IF NOT EXISTS idx_payment_company_period_end
+    ON payment (company_id, period_end, id);
+
+CREATE INDEX IF NOT EXISTS idx_payment_employee_period_end
+    ON payment (employee_id, period_end, id);
@@ -0,0 +1,20 @@
+-- Completed shift minutes, earnings and count per employee job and clock-in day, kept up to date
+-- by the shift writers (LaborRollupJdbcRepository) and read by dashboards and summaries.
+-- company, employee and department (of the job) are carried along for filtering.
+CREATE TABLE IF NOT EXISTS labor_daily_rollup (
+    employee_job_id BIGINT  NOT NULL,
+    work_date       DATE    NOT NULL,
+    company_id      BIGINT  NOT NULL,
+    employee_id     BIGINT  NOT NULL,
+    department_id   BIGINT  NOT NULL,
+    minutes         BIGINT  NOT NULL,
+    earnings_cents  BIGINT  NOT NULL,
+    shift_count     INTEGER NOT NULL,
+    PRIMARY KEY (employee_job_id, work_date)
+);
+
+CREATE INDEX IF NOT EXISTS idx_labor_rollup_company_date
+    ON labor_daily_rollup (company_id, work_date);
+
+CREATE INDEX IF NOT EXISTS idx_labor_rollup_employee_date
+    ON labor_daily_rollup (employee_id, work_date);
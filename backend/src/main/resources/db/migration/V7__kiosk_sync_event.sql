@@ -0,0 +1,9 @@
+-- Client event ids of offline kiosk events already applied, per employee, so a re-sent event is
+-- recognised as a duplicate for good (KioskSyncEventJdbcRepository). Rows are claimed in the same
+-- transaction as the shift writes they belong to.
+CREATE TABLE IF NOT EXISTS kiosk_sync_event (
+    employee_id     BIGINT      NOT NULL,
+    client_event_id VARCHAR(64) NOT NULL,
+    synced_at       TIMESTAMP   NOT NULL,
+    PRIMARY KEY (employee_id, client_event_id)
+);
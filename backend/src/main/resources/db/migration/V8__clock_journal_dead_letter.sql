@@ -0,0 +1,15 @@
+-- Journaled clock events that were acknowledged but could not be applied to the shift table
+-- (JournaledClockEventPipeline), kept for an admin to review and re-enter by hand.
+CREATE TABLE IF NOT EXISTS clock_journal_dead_letter (
+    journal_id      VARCHAR(64) NOT NULL,
+    seq             BIGINT      NOT NULL,
+    action          VARCHAR(16) NOT NULL,
+    employee_id     BIGINT      NOT NULL,
+    employee_job_id BIGINT,
+    company_id      BIGINT,
+    site_id         BIGINT,
+    event_time      TIMESTAMP   NOT NULL,
+    reason          VARCHAR(32) NOT NULL,
+    recorded_at     TIMESTAMP   NOT NULL,
+    PRIMARY KEY (journal_id, seq)
+);
@@ -0,0 +1,172 @@
+package com.timetrak.benchmark;
+
+import com.timetrak.dto.shift.ClosedShift;
+import com.timetrak.dto.shift.ShiftResponseDTO;
+import com.timetrak.entity.*;
+import com.timetrak.fixture.ShiftFixtures;
+import com.timetrak.enums.ShiftStatus;
+import com.timetrak.mapper.ShiftMapper;
+import com.timetrak.repository.ShiftJdbcRepository;
+import com.timetrak.repository.ShiftRepository;
+import com.timetrak.service.clock.ClockValidator;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.timetrak.constant.ShiftConstants.MAX_GROUP_OPERATION_SIZE;
+
+/**
+ * Compares the set-based admin clock-out ({@link ShiftJdbcRepository#closeActiveShifts}) with the
+ * loop {@code adminClockOut} ran before it, on the same repositories: per employee a COUNT of active
+ * shifts, a JPA load of the active shift with the {@code Shift.listing} graph and Java-side validation,
+ * then one Hibernate {@code saveAll} flushed in batches of {@code hibernate.jdbc.batch_size} and mapped
+ * to DTOs. The old path only looked up employee names for failures, which this fixture does not have.
+ * Batch sizes stay within {@code MAX_GROUP_OPERATION_SIZE}, the most one request may clock out.
+ * <p>
+ * Needs a PostgreSQL database reachable through the usual PGHOST/PGPORT/PGDATABASE/PGUSER/PGPASSWORD
+ * variables. Hibernate creates the tables in a throwaway {@code timetrak_bench} schema.
+ * Not picked up by surefire; run {@link #main} from the IDE or:
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) com.timetrak.benchmark.BulkClockOutBenchmark
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class BulkClockOutBenchmark {
+
+    private static final String SCHEMA = "timetrak_bench";
+    private static final LocalDateTime CLOCK_IN = LocalDateTime.of(2024, 3, 4, 7, 0);
+    private static final LocalDateTime CLOCK_OUT = CLOCK_IN.plusHours(8);
+
+    @Param({"100", "1000"})
+    private int employees;
+
+    private final ShiftMapper shiftMapper = Mappers.getMapper(ShiftMapper.class);
+    private final ClockValidator validator = new ClockValidator();
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private EntityManagerFactory entityManagerFactory;
+    private EntityManager entityManager;
+    private ShiftRepository shiftRepository;
+    private ShiftJdbcRepository shiftJdbcRepository;
+    private List<Long> employeeIds;
+
+    @Setup(Level.Trial)
+    public void createFixtures() {
+        if (employees > MAX_GROUP_OPERATION_SIZE) {
+            throw new IllegalStateException("adminClockOut accepts at most " + MAX_GROUP_OPERATION_SIZE + " employees");
+        }
+        String url = "jdbc:postgresql://" + env("PGHOST", "localhost") + ":" + env("PGPORT", "5432")
+                + "/" + env("PGDATABASE", "timetrak") + "?currentSchema=" + SCHEMA;
+        // One connection for JPA and JDBC alike, so neither path pays for opening one
+        dataSource = new SingleConnectionDataSource(url, env("PGUSER", "postgres"), env("PGPASSWORD", ""), true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        shiftJdbcRepository = new ShiftJdbcRepository(jdbcTemplate);
+
+        LocalContainerEntityManagerFactoryBean factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setPackagesToScan("com.timetrak.entity");
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setJpaPropertyMap(Map.of(
+                "hibernate.hbm2ddl.auto", "create-drop",
+                "hibernate.default_schema", SCHEMA,
+                "hibernate.hbm2ddl.create_namespaces", "true",
+                "hibernate.jdbc.batch_size", "20",
+                "hibernate.order_updates", "true"));
+        factoryBean.afterPropertiesSet();
+        entityManagerFactory = factoryBean.getObject();
+
+        entityManager = entityManagerFactory.createEntityManager();
+        entityManager.getTransaction().begin();
+        ShiftFixtures fixtures = new ShiftFixtures(entityManager);
+        Department department = fixtures.department(fixtures.company("Acme", "ACME"), "Kitchen");
+        Job job = fixtures.job(department, "Cook", "18.50");
+        employeeIds = new ArrayList<>(employees);
+        for (int i = 0; i < employees; i++) {
+            Employee employee = fixtures.employee(department, "First" + i, "Last" + i, "user" + i);
+            fixtures.shift(fixtures.employeeJob(employee, job), CLOCK_IN, null);
+            employeeIds.add(employee.getId());
+        }
+        entityManager.getTransaction().commit();
+        entityManager.clear();
+        jdbcTemplate.execute("ANALYZE");
+
+        shiftRepository = new JpaRepositoryFactory(entityManager).getRepository(ShiftRepository.class);
+    }
+
+    @Setup(Level.Invocation)
+    public void reopenShifts() {
+        jdbcTemplate.update("UPDATE shift SET status = 'ACTIVE', clock_out = NULL, updated_at = NULL");
+        entityManager.clear();
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+        entityManager.close();
+        entityManagerFactory.close();
+        dataSource.destroy();
+    }
+
+    @Benchmark
+    public List<ClosedShift> setBasedUpdateReturning() throws SQLException {
+        Connection connection = dataSource.getConnection();
+        connection.setAutoCommit(false);
+        List<ClosedShift> closed = shiftJdbcRepository.closeActiveShifts(employeeIds, CLOCK_OUT);
+        connection.commit();
+        connection.setAutoCommit(true);
+        return closed;
+    }
+
+    @Benchmark
+    public List<ShiftResponseDTO> previousAdminClockOut() {
+        entityManager.getTransaction().begin();
+        List<Shift> shiftsToSave = new ArrayList<>();
+        for (Long employeeId : employeeIds) {
+            if (shiftRepository.countActiveShiftsByEmployeeId(ShiftStatus.ACTIVE, employeeId) == 0) {
+                continue;
+            }
+            Shift shift = shiftRepository.findActiveShiftByEmployeeId(employeeId).orElseThrow();
+            validator.validateClockOutTime(shift.getClockIn(), CLOCK_OUT);
+            shift.setClockOut(CLOCK_OUT);
+            shift.setStatus(ShiftStatus.COMPLETED);
+            shiftsToSave.add(shift);
+        }
+        List<ShiftResponseDTO> successful = shiftMapper.toDTOList(shiftRepository.saveAll(shiftsToSave));
+        entityManager.getTransaction().commit();
+        return successful;
+    }
+
+    private static String env(String name, String fallback) {
+        String value = System.getenv(name);
+        return value != null ? value : fallback;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BulkClockOutBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
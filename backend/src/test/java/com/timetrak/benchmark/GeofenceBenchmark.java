@@ -0,0 +1,148 @@
+package com.timetrak.benchmark;
+
+import com.timetrak.dto.company.CompanyResponseDTO;
+import com.timetrak.dto.company.CompanyUpdateDTO;
+import com.timetrak.entity.Company;
+import com.timetrak.entity.CompanySite;
+import com.timetrak.entity.GeoPoint;
+import com.timetrak.enums.SiteShape;
+import com.timetrak.service.company.CompanyService;
+import com.timetrak.service.shift.LocationService;
+import com.timetrak.service.shift.SiteIndex;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Radius check cost: the previous per-call path (DTO fetch, then {@code calculateDistance})
+ * against the cached geofence with its bounding-box prefilter. The company lookup is an
+ * in-memory stub, so the numbers show CPU cost only; the removed database read comes on top.
+ * Points are spread so roughly a third fall inside, a third in the ring, a third outside.
+ * {@code siteIndexLookup} resolves points against a 5000-site chain through {@link SiteIndex}.
+ * <p>
+ * Run {@link #main} from the IDE, or see {@link BulkClockOutBenchmark} for the command line.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeofenceBenchmark {
+
+    private static final long COMPANY_ID = 1L;
+    private static final double CENTER_LAT = 40.4093;
+    private static final double CENTER_LNG = 49.8671;
+    private static final double RADIUS = 150;
+    private static final int POINTS = 1024;
+
+    private LocationService locationService;
+    private CompanyService companyService;
+    private double[] lats;
+    private double[] lngs;
+    private int next;
+
+    // A chain with SITES circular and square sites scattered over roughly 200 x 200 km
+    private static final int SITES = 5000;
+    private SiteIndex siteIndex;
+    private double[] siteLats;
+    private double[] siteLngs;
+
+    @Setup
+    public void setUp() {
+        CompanyResponseDTO company = CompanyResponseDTO.builder()
+                .id(COMPANY_ID).latitude(CENTER_LAT).longitude(CENTER_LNG).allowedRadius(RADIUS).build();
+        companyService = new CompanyService() {
+            @Override
+            public Company getCompanyById(Long id) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public CompanyResponseDTO getCompanyDTOById(Long id) {
+                return company;
+            }
+
+            @Override
+            public CompanyResponseDTO updateCompany(Long id, CompanyUpdateDTO dto) {
+                throw new UnsupportedOperationException();
+            }
+        };
+        locationService = new LocationService(companyService, null) {
+            @Override
+            public SiteIndex getSiteIndex(Long companyId) {
+                return SiteIndex.EMPTY;
+            }
+        };
+
+        Random random = new Random(7);
+        double spread = Math.toDegrees(RADIUS * 1.6 / 6371000);
+        lats = new double[POINTS];
+        lngs = new double[POINTS];
+        for (int i = 0; i < POINTS; i++) {
+            lats[i] = CENTER_LAT + (random.nextDouble() * 2 - 1) * spread;
+            lngs[i] = CENTER_LNG + (random.nextDouble() * 2 - 1) * spread;
+        }
+
+        List<CompanySite> sites = new ArrayList<>(SITES);
+        for (int s = 0; s < SITES; s++) {
+            double lat = CENTER_LAT + (random.nextDouble() * 2 - 1);
+            double lng = CENTER_LNG + (random.nextDouble() * 2 - 1);
+            CompanySite site;
+            if (s % 2 == 0) {
+                site = CompanySite.builder().shape(SiteShape.CIRCLE).latitude(lat).longitude(lng).radius(150.0).build();
+            } else {
+                site = CompanySite.builder().shape(SiteShape.POLYGON).build();
+                double half = 0.001;
+                site.getVertices().addAll(List.of(new GeoPoint(lat - half, lng - half), new GeoPoint(lat - half, lng + half),
+                        new GeoPoint(lat + half, lng + half), new GeoPoint(lat + half, lng - half)));
+            }
+            site.setId((long) s);
+            sites.add(site);
+        }
+        siteIndex = new SiteIndex(sites);
+
+        // Half the probes at a site, half anywhere in the area
+        siteLats = new double[POINTS];
+        siteLngs = new double[POINTS];
+        for (int i = 0; i < POINTS; i++) {
+            CompanySite site = sites.get(random.nextInt(SITES));
+            boolean atSite = i % 2 == 0 && site.getShape() == SiteShape.CIRCLE;
+            siteLats[i] = atSite ? site.getLatitude() : CENTER_LAT + (random.nextDouble() * 2 - 1);
+            siteLngs[i] = atSite ? site.getLongitude() : CENTER_LNG + (random.nextDouble() * 2 - 1);
+        }
+    }
+
+    @Benchmark
+    public Optional<Long> siteIndexLookup() {
+        int i = next++ & (POINTS - 1);
+        return siteIndex.findSite(siteLats[i], siteLngs[i]);
+    }
+
+    @Benchmark
+    public boolean perCallDtoAndHaversine() {
+        int i = next++ & (POINTS - 1);
+        CompanyResponseDTO company = companyService.getCompanyDTOById(COMPANY_ID);
+        return locationService.calculateDistance(lats[i], lngs[i], company.getLatitude(), company.getLongitude())
+                <= company.getAllowedRadius();
+    }
+
+    @Benchmark
+    public boolean cachedGeofence() {
+        int i = next++ & (POINTS - 1);
+        return locationService.isWithinAllowedRadius(lats[i], lngs[i], COMPANY_ID);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(GeofenceBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,127 @@
+package com.timetrak.benchmark;
+
+import com.timetrak.dto.shift.ShiftResponseDTO;
+import com.timetrak.dto.shift.ShiftRow;
+import com.timetrak.entity.*;
+import com.timetrak.fixture.ShiftFixtures;
+import com.timetrak.mapper.ShiftMapper;
+import com.timetrak.repository.ShiftRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads 1k shift rows for a company date range and maps them to {@link ShiftResponseDTO}, once through
+ * the {@link ShiftRow} projection and once through the previous path: Shift entities loaded with the
+ * {@code Shift.listing} graph and mapped from the managed objects. The persistence context is cleared
+ * after every read, as it would be at the end of a request.
+ * <p>
+ * Runs against an in-memory H2 database, so the numbers isolate the hydration and mapping cost
+ * rather than network time. The GC profiler is enabled: {@code gc.alloc.rate.norm} is the heap
+ * allocated per 1k rows. Not picked up by surefire; run {@link #main} from the IDE or:
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) com.timetrak.benchmark.ShiftProjectionBenchmark
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(1)
+public class ShiftProjectionBenchmark {
+
+    private static final int SHIFTS_PER_EMPLOYEE = 5;
+    private static final LocalDateTime DAY = LocalDateTime.of(2024, 3, 4, 7, 0);
+
+    @Param({"1000"})
+    private int rows;
+
+    private final ShiftMapper shiftMapper = Mappers.getMapper(ShiftMapper.class);
+
+    private EntityManagerFactory entityManagerFactory;
+    private EntityManager entityManager;
+    private ShiftRepository shiftRepository;
+    private Long companyId;
+
+    @Setup(Level.Trial)
+    public void createFixtures() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:shift_bench;DB_CLOSE_DELAY=-1");
+        LocalContainerEntityManagerFactoryBean factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setPackagesToScan("com.timetrak.entity");
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setJpaPropertyMap(Map.of("hibernate.hbm2ddl.auto", "create-drop"));
+        factoryBean.afterPropertiesSet();
+        entityManagerFactory = factoryBean.getObject();
+
+        entityManager = entityManagerFactory.createEntityManager();
+        entityManager.getTransaction().begin();
+        ShiftFixtures fixtures = new ShiftFixtures(entityManager);
+        Company company = fixtures.company("Acme", "ACME");
+        Department department = fixtures.department(company, "Kitchen");
+        Job job = fixtures.job(department, "Cook", "18.50");
+        for (int i = 0; i < rows / SHIFTS_PER_EMPLOYEE; i++) {
+            Employee employee = fixtures.employee(department, "First" + i, "Last" + i, "user" + i);
+            EmployeeJob employeeJob = fixtures.employeeJob(employee, job);
+            for (int day = 0; day < SHIFTS_PER_EMPLOYEE; day++) {
+                fixtures.shift(employeeJob, DAY.plusDays(day), DAY.plusDays(day).plusHours(8));
+            }
+        }
+        entityManager.getTransaction().commit();
+        entityManager.clear();
+
+        companyId = company.getId();
+        shiftRepository = new JpaRepositoryFactory(entityManager).getRepository(ShiftRepository.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+        entityManager.close();
+        entityManagerFactory.close();
+    }
+
+    @Benchmark
+    public List<ShiftResponseDTO> rowProjection() {
+        List<ShiftResponseDTO> shifts = shiftRepository.findRowsByCompanyIdAndDateRange(
+                        companyId, DAY.minusDays(1), DAY.plusDays(SHIFTS_PER_EMPLOYEE), Pageable.unpaged())
+                .map(shiftMapper::toDTO)
+                .getContent();
+        entityManager.clear();
+        return shifts;
+    }
+
+    @Benchmark
+    public List<ShiftResponseDTO> managedEntities() {
+        List<ShiftResponseDTO> shifts = shiftRepository.findByCompanyIdAndDateRange(
+                        companyId, DAY.minusDays(1), DAY.plusDays(SHIFTS_PER_EMPLOYEE))
+                .stream()
+                .map(shiftMapper::toDTO)
+                .toList();
+        entityManager.clear();
+        return shifts;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ShiftProjectionBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
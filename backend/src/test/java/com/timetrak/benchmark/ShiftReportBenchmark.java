@@ -0,0 +1,139 @@
+package com.timetrak.benchmark;
+
+import com.timetrak.dto.payment.Period;
+import com.timetrak.dto.shift.DepartmentShiftRow;
+import com.timetrak.dto.shift.ShiftRow;
+import com.timetrak.enums.ShiftStatus;
+import com.timetrak.mapper.ShiftMapper;
+import com.timetrak.repository.ShiftRepository;
+import com.timetrak.service.company.CompanyService;
+import com.timetrak.service.department.DepartmentService;
+import com.timetrak.service.payment.PeriodService;
+import com.timetrak.service.report.ReportCache;
+import com.timetrak.service.report.ShiftReportService;
+import org.mapstruct.factory.Mappers;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Renders the department shift report for a synthetic 100k-shift period (10 departments x 5 jobs x
+ * 2000 shifts) and prints, per run, the time to first byte, the total time, the PDF size and the peak
+ * heap in use while rendering. Rows are generated lazily in report order, the way the database
+ * cursor hands them over, and the PDF goes to a stream that only counts bytes, so the numbers cover
+ * mapping and rendering rather than database or network time.
+ * <p>
+ * Peak heap is sampled every millisecond from a background thread and includes garbage that has not
+ * been collected yet; a small {@code -Xmx} shows whether the report fits a bounded heap at all.
+ * Not picked up by surefire; run {@link #main} from the IDE or:
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -Xmx128m -cp target/test-classes:target/classes:$(cat target/cp.txt) com.timetrak.benchmark.ShiftReportBenchmark
+ * </pre>
+ */
+public class ShiftReportBenchmark {
+
+    private static final int DEPARTMENTS = 10;
+    private static final int JOBS_PER_DEPARTMENT = 5;
+    private static final int SHIFTS_PER_JOB = 2000;
+    private static final long SHIFTS = (long) DEPARTMENTS * JOBS_PER_DEPARTMENT * SHIFTS_PER_JOB;
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 4);
+    private static final int WARMUP_RUNS = 2;
+    private static final int MEASURED_RUNS = 5;
+
+    public static void main(String[] args) throws Exception {
+        ShiftRepository shiftRepository = mock(ShiftRepository.class);
+        when(shiftRepository.streamDepartmentRowsForDateRange(any(), any(), any(), any()))
+                .thenAnswer(invocation -> LongStream.range(0, SHIFTS).mapToObj(ShiftReportBenchmark::row));
+
+        ShiftReportService reportService = new ShiftReportService(mock(CompanyService.class), mock(PeriodService.class),
+                mock(DepartmentService.class), shiftRepository, Mappers.getMapper(ShiftMapper.class),
+                // Caching disabled: every run renders, and no copy is kept on the heap
+                new ReportCache(0, 0), mock(PlatformTransactionManager.class));
+        ShiftReportService.ReportScope scope = new ShiftReportService.ReportScope(1L, "Acme",
+                Period.builder().startDate(DAY).endDate(DAY.plusDays(13)).shortDescription("Mar 4 - Mar 17").build(),
+                LongStream.rangeClosed(1, DEPARTMENTS).boxed().toList(), "Company-Wide");
+
+        System.out.printf("%,d shifts, max heap %d MB%n", SHIFTS, Runtime.getRuntime().maxMemory() >> 20);
+        for (int run = 1; run <= WARMUP_RUNS + MEASURED_RUNS; run++) {
+            System.gc();
+            HeapSampler sampler = new HeapSampler();
+            sampler.start();
+            CountingStream out = new CountingStream();
+
+            long start = System.nanoTime();
+            out.start = start;
+            reportService.exportShifts(scope, out);
+            long total = System.nanoTime() - start;
+            sampler.interrupt();
+            sampler.join();
+
+            System.out.printf("%s %d: first byte %6.1f ms, total %7.1f ms, %6.1f MB written, peak heap %5.1f MB%n",
+                    run <= WARMUP_RUNS ? "warmup" : "run   ", run, out.firstByteNanos / 1e6, total / 1e6,
+                    out.bytes / 1048576.0, sampler.peak / 1048576.0);
+        }
+    }
+
+    private static DepartmentShiftRow row(long i) {
+        long department = i / (JOBS_PER_DEPARTMENT * SHIFTS_PER_JOB) + 1;
+        long job = i / SHIFTS_PER_JOB % JOBS_PER_DEPARTMENT;
+        LocalDateTime clockIn = DAY.atTime(7, 0).plusMinutes(i % (14 * 24 * 60));
+        return new DepartmentShiftRow(department, "Department " + department, new ShiftRow(i, clockIn,
+                clockIn.plusHours(8), ShiftStatus.COMPLETED, null, i % 500, i % 500, "user" + i % 500,
+                "First" + i % 500, "Last" + i % 500, "Job " + job, new BigDecimal("18.50")));
+    }
+
+    private static final class CountingStream extends OutputStream {
+        long start;
+        long firstByteNanos = -1;
+        long bytes;
+
+        @Override
+        public void write(int b) {
+            write(null, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            if (firstByteNanos < 0) {
+                firstByteNanos = System.nanoTime() - start;
+            }
+            bytes += len;
+        }
+    }
+
+    private static final class HeapSampler extends Thread {
+        private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        volatile long peak;
+
+        HeapSampler() {
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            AtomicLong max = new AtomicLong();
+            while (!isInterrupted()) {
+                max.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+                peak = max.get();
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+}
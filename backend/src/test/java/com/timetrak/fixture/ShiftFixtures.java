@@ -0,0 +1,71 @@
+package com.timetrak.fixture;
+
+import com.timetrak.entity.*;
+import com.timetrak.enums.EmployeeStatus;
+import com.timetrak.enums.Role;
+import com.timetrak.enums.ShiftStatus;
+import jakarta.persistence.EntityManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Persists the company / department / job / employee / shift graph the repository tests and
+ * benchmarks build their data from. Each method persists one entity and returns it; the caller
+ * owns the transaction, flushing and clearing.
+ */
+public final class ShiftFixtures {
+
+    private final EntityManager entityManager;
+
+    public ShiftFixtures(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    public Company company(String name, String code) {
+        return persist(Company.builder().name(name).code(code).isActive(true).build());
+    }
+
+    public Department department(Company company, String name) {
+        return persist(Department.builder().name(name).company(company).isActive(true).build());
+    }
+
+    public Job job(Department department, String title, String hourlyWage) {
+        return persist(Job.builder().jobTitle(title).hourlyWage(new BigDecimal(hourlyWage)).department(department).build());
+    }
+
+    /**
+     * An ACTIVE employee of the department's company, with {@code username@acme.test} as email.
+     */
+    public Employee employee(Department department, String firstName, String lastName, String username) {
+        return persist(Employee.builder()
+                .firstName(firstName).lastName(lastName)
+                .username(username).email(username + "@acme.test").password("secret-password")
+                .status(EmployeeStatus.ACTIVE).role(Role.EMPLOYEE)
+                .company(department.getCompany()).department(department)
+                .build());
+    }
+
+    public EmployeeJob employeeJob(Employee employee, Job job) {
+        return persist(EmployeeJob.builder().employee(employee).job(job).build());
+    }
+
+    /**
+     * A COMPLETED shift, or an ACTIVE one when {@code clockOut} is null.
+     */
+    public Shift shift(EmployeeJob employeeJob, LocalDateTime clockIn, LocalDateTime clockOut) {
+        return persist(Shift.builder()
+                .employeeJob(employeeJob)
+                .employee(employeeJob.getEmployee())
+                .companyId(employeeJob.getEmployee().getCompany().getId())
+                .clockIn(clockIn)
+                .clockOut(clockOut)
+                .status(clockOut != null ? ShiftStatus.COMPLETED : ShiftStatus.ACTIVE)
+                .build());
+    }
+
+    private <T> T persist(T entity) {
+        entityManager.persist(entity);
+        return entity;
+    }
+}
@@ -0,0 +1,157 @@
+package com.timetrak.repository;
+
+import com.timetrak.dto.shift.EmployeeLaborSummary;
+import com.timetrak.dto.shift.LaborTotals;
+import com.timetrak.entity.*;
+import com.timetrak.fixture.ShiftFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that incremental rollup updates end up where a rebuild from the shift rows does.
+ * <p>
+ * The rollup SQL is PostgreSQL-specific, so this runs against a {@link PostgresTestContainer} and is
+ * skipped where Docker is not available.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("Labor rollup Tests")
+class LaborRollupJdbcRepositoryTest {
+
+    private static final String SCHEMA = "timetrak_rollup";
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 4);
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        PostgresTestContainer.register(registry, SCHEMA);
+    }
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+    private LaborRollupJdbcRepository rollupRepository;
+    private Long companyId;
+    private Long employeeId;
+    private Long employeeJobId;
+
+    @BeforeEach
+    void createFixtures() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        rollupRepository = new LaborRollupJdbcRepository(jdbcTemplate);
+
+        ShiftFixtures fixtures = new ShiftFixtures(entityManager.getEntityManager());
+        Company company = fixtures.company("Company", "C1");
+        Department department = fixtures.department(company, "Dept");
+        Job job = fixtures.job(department, "Crew", "18.50");
+        Employee employee = fixtures.employee(department, "First", "Last", "user1");
+        EmployeeJob employeeJob = fixtures.employeeJob(employee, job);
+        entityManager.flush();
+
+        companyId = company.getId();
+        employeeId = employee.getId();
+        employeeJobId = employeeJob.getId();
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V6__labor_daily_rollup.sql")).execute(dataSource);
+    }
+
+    @Test
+    @DisplayName("Should total completed shifts per day like the shift DTOs do")
+    void addShifts_TotalsCompletedShifts() {
+        Long morning = insertShift("07:00", "15:00", "COMPLETED");
+        Long evening = insertShift("16:00", "17:20", "COMPLETED");
+        Long active = insertShift("18:00", null, "ACTIVE");
+
+        rollupRepository.addShifts(List.of(morning, evening, active));
+
+        // 8h + 1.33h at 18.50: 148.00 + 24.61
+        LaborTotals totals = rollupRepository.findEmployeeTotals(employeeId, DAY, DAY);
+        assertEquals(new LaborTotals(560, 17261, 2), totals);
+        assertEquals(totals, rollupRepository.findCompanyTotals(companyId, DAY, DAY));
+        assertEquals(LaborTotals.EMPTY, rollupRepository.findCompanyTotals(companyId, DAY.plusDays(1), DAY.plusDays(1)));
+    }
+
+    @Test
+    @DisplayName("Should match a rebuild after updates, deletes and a wage change")
+    void incrementalUpdates_MatchRebuild() {
+        Long first = insertShift("07:00", "15:00", "COMPLETED");
+        Long second = insertShift("16:00", "18:00", "COMPLETED");
+        rollupRepository.addShifts(List.of(first, second));
+
+        rollupRepository.subtractShifts(List.of(first));
+        jdbcTemplate.update("UPDATE shift SET clock_out = clock_out - interval '90 minutes' WHERE id = ?", first);
+        rollupRepository.addShifts(List.of(first));
+
+        rollupRepository.subtractShifts(List.of(second));
+        jdbcTemplate.update("UPDATE shift SET deleted_at = now() WHERE id = ?", second);
+
+        jdbcTemplate.update("UPDATE employee_job SET hourly_wage = 21.00 WHERE id = ?", employeeJobId);
+        rollupRepository.rebuildEmployeeJobs(List.of(employeeJobId));
+
+        List<Map<String, Object>> incremental = rollupRows();
+        rollupRepository.rebuildAll();
+
+        assertEquals(rollupRows(), incremental);
+        assertEquals(new LaborTotals(390, 13650, 1), rollupRepository.findEmployeeTotals(employeeId, DAY, DAY));
+    }
+
+    @Test
+    @DisplayName("Should drop a day once its last shift is removed")
+    void subtractShifts_RemovesEmptyDay() {
+        Long shift = insertShift("07:00", "15:00", "COMPLETED");
+        rollupRepository.addShifts(List.of(shift));
+
+        rollupRepository.subtractShifts(List.of(shift));
+
+        assertTrue(rollupRepository.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should summarize employees in one query, scoped to the company")
+    void findEmployeeSummaries_TotalsAndActiveShifts() {
+        Long completed = insertShift("07:00", "15:00", "COMPLETED");
+        Long active = insertShift("18:00", null, "ACTIVE");
+        rollupRepository.addShifts(List.of(completed, active));
+
+        List<EmployeeLaborSummary> summaries =
+                rollupRepository.findEmployeeSummaries(List.of(employeeId, -1L), companyId, DAY, DAY);
+
+        assertEquals(List.of(new EmployeeLaborSummary(employeeId, "First Last", new LaborTotals(480, 14800, 1), 1)),
+                summaries);
+        assertEquals(0, rollupRepository.findEmployeeSummaries(List.of(employeeId), null, DAY.plusDays(1), DAY.plusDays(1))
+                .get(0).activeShifts());
+        assertTrue(rollupRepository.findEmployeeSummaries(List.of(employeeId), companyId + 1, DAY, DAY).isEmpty());
+    }
+
+    private Long insertShift(String clockIn, String clockOut, String status) {
+        return jdbcTemplate.queryForObject("INSERT INTO shift (created_at, employee_job_id, employee_id, company_id, clock_in, clock_out, status) " +
+                        "VALUES (now(), ?, ?, ?, CAST(? AS TIMESTAMP), CAST(? AS TIMESTAMP), ?) RETURNING id",
+                Long.class, employeeJobId, employeeId, companyId,
+                DAY + " " + clockIn, clockOut != null ? DAY + " " + clockOut : null, status);
+    }
+
+    private List<Map<String, Object>> rollupRows() {
+        return jdbcTemplate.queryForList("SELECT * FROM labor_daily_rollup ORDER BY employee_job_id, work_date");
+    }
+}
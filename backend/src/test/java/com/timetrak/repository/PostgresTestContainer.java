@@ -0,0 +1,33 @@
+package com.timetrak.repository;
+
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * One PostgreSQL container shared by the repository tests that exercise PostgreSQL-specific SQL or
+ * plans. It is started on first use and removed by Testcontainers when the JVM exits; tests using it
+ * are annotated {@code @Testcontainers(disabledWithoutDocker = true)} so they skip where Docker is missing.
+ */
+final class PostgresTestContainer {
+
+    // 16+ for EXPLAIN (GENERIC_PLAN)
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private PostgresTestContainer() {
+    }
+
+    /**
+     * Points the test context at the container, with Hibernate creating the tables in a throwaway schema.
+     */
+    static void register(DynamicPropertyRegistry registry, String schema) {
+        POSTGRES.start();
+        String url = POSTGRES.getJdbcUrl();
+        registry.add("spring.datasource.url", () -> url + (url.contains("?") ? "&" : "?") + "currentSchema=" + schema);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("spring.flyway.enabled", () -> "false");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+        registry.add("spring.jpa.properties.hibernate.default_schema", () -> schema);
+        registry.add("spring.jpa.properties.hibernate.hbm2ddl.create_namespaces", () -> "true");
+    }
+}
@@ -0,0 +1,164 @@
+package com.timetrak.repository;
+
+import com.timetrak.entity.*;
+import com.timetrak.fixture.ShiftFixtures;
+import com.timetrak.enums.ShiftStatus;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Runs each range query through {@code EXPLAIN (GENERIC_PLAN)} on PostgreSQL and fails when the plan
+ * stops using the index it was written for, e.g. after a predicate wraps {@code clock_in} in a function.
+ * The SQL is whatever Hibernate generated for the repository method, captured by a statement inspector.
+ * <p>
+ * Runs against a {@link PostgresTestContainer} and is skipped where Docker is not available.
+ * Tables are created by Hibernate in a throwaway {@code timetrak_explain} schema; the shift migrations
+ * are then applied on top, as {@code FlywayConfig} does at startup.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("Shift index usage Tests")
+class ShiftIndexUsageTest {
+
+    private static final String SCHEMA = "timetrak_explain";
+    private static final LocalDateTime FROM = LocalDateTime.of(2024, 3, 1, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2024, 3, 16, 0, 0);
+    private static final Pattern PARAMETER = Pattern.compile("\\?");
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        PostgresTestContainer.register(registry, SCHEMA);
+        registry.add("spring.jpa.properties.hibernate.session_factory.statement_inspector",
+                CapturingInspector.class::getName);
+    }
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ShiftRepository shiftRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+    private Long companyId;
+    private Long employeeId;
+
+    @BeforeEach
+    void createFixtures() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        assumeTrue(jdbcTemplate.queryForObject("SHOW server_version_num", Integer.class) >= 160000,
+                "EXPLAIN (GENERIC_PLAN) needs PostgreSQL 16");
+
+        // 10 companies x 5 employees x 2000 days of shifts, so the planner has a real table to choose from
+        ShiftFixtures fixtures = new ShiftFixtures(entityManager.getEntityManager());
+        for (int c = 0; c < 10; c++) {
+            Company company = fixtures.company("Company" + c, "C" + c);
+            Department department = fixtures.department(company, "Dept" + c);
+            Job job = fixtures.job(department, "Crew", "18.50");
+            for (int e = 0; e < 5; e++) {
+                Employee employee = fixtures.employee(department, "First" + e, "Last" + e, "user" + c + "_" + e);
+                fixtures.employeeJob(employee, job);
+                companyId = company.getId();
+                employeeId = employee.getId();
+            }
+        }
+        entityManager.flush();
+
+        jdbcTemplate.update("INSERT INTO shift (created_at, employee_job_id, employee_id, company_id, clock_in, clock_out, status) " +
+                "SELECT now(), ej.id, e.id, e.company_id, timestamp '2019-01-01 07:00' + d * interval '1 day', " +
+                "timestamp '2019-01-01 15:00' + d * interval '1 day', 'COMPLETED' " +
+                "FROM employee_job ej JOIN employee e ON e.id = ej.employee_id CROSS JOIN generate_series(0, 1999) d");
+        jdbcTemplate.update("UPDATE shift SET status = 'ACTIVE', clock_out = NULL " +
+                "WHERE clock_in = timestamp '2019-01-01 07:00' + 1999 * interval '1 day'");
+        jdbcTemplate.update("UPDATE shift SET deleted_at = now() WHERE id % 50 = 0");
+        new ResourceDatabasePopulator(
+                new ClassPathResource("db/migration/V1__shift_single_active_index.sql"),
+                new ClassPathResource("db/migration/V4__shift_range_indexes.sql"))
+                .execute(dataSource);
+        jdbcTemplate.execute("ANALYZE shift");
+    }
+
+    @Test
+    @DisplayName("Company date-range reads use idx_shift_company_clock_in")
+    void companyRangeReads_UseCompanyIndex() {
+        assertUsesIndex("idx_shift_company_clock_in", () -> shiftRepository.findAllByCompanyIdAndDateRange(FROM, TO, companyId));
+        assertUsesIndex("idx_shift_company_clock_in", () -> shiftRepository.findAllByCompanyIdAndDateRangePageable(
+                FROM, TO, companyId, Pageable.unpaged()));
+        assertUsesIndex("idx_shift_company_clock_in", () -> shiftRepository.findRowsByStatusAndDateRangeAndCompanyId(
+                ShiftStatus.COMPLETED, FROM, TO, companyId, Pageable.unpaged()));
+        assertUsesIndex("idx_shift_company_clock_in", () -> shiftRepository.findRowsByCompanyIdAndDateRange(
+                companyId, FROM, TO, Pageable.unpaged()));
+    }
+
+    @Test
+    @DisplayName("Employee date-range reads use idx_shift_employee_clock_in")
+    void employeeRangeReads_UseEmployeeIndex() {
+        assertUsesIndex("idx_shift_employee_clock_in", () -> shiftRepository.findRowsByEmployeeIdAndDateRange(
+                employeeId, FROM, TO));
+    }
+
+    @Test
+    @DisplayName("Active shift count uses idx_shift_active_company")
+    void activeCount_UsesActiveIndex() {
+        assertUsesIndex("idx_shift_active_company", () -> shiftRepository.countActiveShiftsByCompanyId(companyId));
+    }
+
+    private void assertUsesIndex(String index, Runnable read) {
+        CapturingInspector.STATEMENTS.clear();
+        read.run();
+        String sql = CapturingInspector.STATEMENTS.stream()
+                .filter(statement -> statement.toLowerCase().startsWith("select"))
+                .findFirst()
+                .orElseThrow();
+
+        // Hibernate binds positional parameters; GENERIC_PLAN plans them as $n without values
+        Matcher matcher = PARAMETER.matcher(sql);
+        StringBuilder numbered = new StringBuilder();
+        int position = 0;
+        while (matcher.find()) {
+            matcher.appendReplacement(numbered, "\\$" + ++position);
+        }
+        matcher.appendTail(numbered);
+
+        List<String> plan = jdbcTemplate.queryForList("EXPLAIN (GENERIC_PLAN) " + numbered, String.class);
+        assertTrue(plan.stream().anyMatch(line -> line.contains(index)),
+                () -> "Expected " + index + " in plan of\n" + sql + "\n" + String.join("\n", plan));
+    }
+
+    public static class CapturingInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.timetrak.repository;
+
+import com.timetrak.dto.response.CursorPage;
+import com.timetrak.dto.shift.ShiftRow;
+import com.timetrak.entity.*;
+import com.timetrak.fixture.ShiftFixtures;
+import com.timetrak.misc.SeekCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(ShiftKeysetRepository.class)
+@TestPropertySource(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@DisplayName("ShiftKeysetRepository Tests")
+class ShiftKeysetRepositoryTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2024, 3, 4, 7, 0);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ShiftKeysetRepository shiftKeysetRepository;
+
+    private Company company;
+    private Employee employee;
+
+    @BeforeEach
+    void createFixtures() {
+        ShiftFixtures fixtures = new ShiftFixtures(entityManager.getEntityManager());
+        company = fixtures.company("Acme", "ACME");
+        Department department = fixtures.department(company, "Kitchen");
+        Job job = fixtures.job(department, "Cook", "18.50");
+        employee = fixtures.employee(department, "Ada", "Lovelace", "ada");
+        EmployeeJob employeeJob = fixtures.employeeJob(employee, job);
+
+        // 7 days with three shifts sharing each clock-in, so pages have to split ties on id
+        for (int day = 0; day < 7; day++) {
+            for (int i = 0; i < 3; i++) {
+                fixtures.shift(employeeJob, DAY.plusDays(day), DAY.plusDays(day).plusHours(8));
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Should walk every shift exactly once, newest first, across tied clock-ins")
+    void findRows_WalksAllPages() {
+        ShiftKeysetRepository.Criteria criteria = criteria(null, null);
+        int size = 4;
+
+        List<ShiftRow> walked = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPage<ShiftRow> page = CursorPage.of(
+                    shiftKeysetRepository.findRows(criteria, SeekCursor.decode(cursor), size + 1),
+                    size, row -> SeekCursor.of(row.clockIn(), row.id()), Function.identity(), null);
+            walked.addAll(page.getContent());
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(6, pages);
+        assertEquals(21, walked.size());
+        assertEquals(21, walked.stream().map(ShiftRow::id).distinct().count());
+        assertEquals(walked, walked.stream()
+                .sorted(Comparator.comparing(ShiftRow::clockIn).thenComparing(ShiftRow::id).reversed())
+                .toList());
+        assertEquals(21, shiftKeysetRepository.count(criteria));
+    }
+
+    @Test
+    @DisplayName("Should apply the half-open date range to rows and count")
+    void findRows_DateRange() {
+        ShiftKeysetRepository.Criteria criteria = criteria(DAY.minusHours(7).plusDays(2), DAY.minusHours(7).plusDays(4));
+
+        List<ShiftRow> rows = shiftKeysetRepository.findRows(criteria, null, 100);
+
+        assertEquals(6, rows.size());
+        assertTrue(rows.stream().allMatch(row -> !row.clockIn().isBefore(DAY.plusDays(2))
+                && row.clockIn().isBefore(DAY.plusDays(4))));
+        assertEquals(6, shiftKeysetRepository.count(criteria));
+    }
+
+    @Test
+    @DisplayName("Should reject a cursor that was not issued by the server")
+    void decode_InvalidCursor() {
+        assertThrows(IllegalArgumentException.class, () -> SeekCursor.decode("not-a-cursor"));
+        assertThrows(IllegalArgumentException.class,
+                () -> SeekCursor.decode(new SeekCursor("yesterday", 1).encode()).keyAsDateTime());
+    }
+
+    private ShiftKeysetRepository.Criteria criteria(LocalDateTime start, LocalDateTime endExclusive) {
+        return new ShiftKeysetRepository.Criteria(company.getId(), employee.getId(), null, null, null, start, endExclusive);
+    }
+}
@@ -0,0 +1,193 @@
+package com.timetrak.repository;
+
+import com.timetrak.dto.employeeJob.EmployeeJobResponseDTO;
+import com.timetrak.dto.shift.DepartmentShiftRow;
+import com.timetrak.dto.shift.ShiftResponseDTO;
+import com.timetrak.dto.shift.ShiftRow;
+import com.timetrak.entity.*;
+import com.timetrak.fixture.ShiftFixtures;
+import com.timetrak.mapper.EmployeeJobMapper;
+import com.timetrak.mapper.ShiftMapper;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pins the number of SQL statements behind each shift read, including mapping to DTOs, so a
+ * lazy association that slips out of a fetch plan shows up as a failing count instead of N+1.
+ * Listing reads are {@link ShiftRow} projections and must leave the persistence context empty.
+ */
+@DataJpaTest
+@TestPropertySource(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        // No batch fetching, so any lazy load is one extra statement
+        "spring.jpa.properties.hibernate.default_batch_fetch_size=1"
+})
+@DisplayName("Shift fetch plan Tests")
+class ShiftRepositoryFetchPlanTest {
+
+    private static final int EMPLOYEES = 30;
+    private static final LocalDateTime DAY = LocalDateTime.of(2024, 3, 4, 7, 0);
+
+    private final ShiftMapper shiftMapper = Mappers.getMapper(ShiftMapper.class);
+    private final EmployeeJobMapper employeeJobMapper = Mappers.getMapper(EmployeeJobMapper.class);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ShiftRepository shiftRepository;
+
+    @Autowired
+    private EmployeeJobRepository employeeJobRepository;
+
+    private ShiftFixtures fixtures;
+    private Company company;
+    private Department department;
+    private Employee firstEmployee;
+
+    @BeforeEach
+    void createFixtures() {
+        fixtures = new ShiftFixtures(entityManager.getEntityManager());
+        company = fixtures.company("Acme", "ACME");
+        department = fixtures.department(company, "Kitchen");
+        List<Job> jobs = List.of(
+                fixtures.job(department, "Cook", "18.50"),
+                fixtures.job(department, "Server", "15.00"));
+
+        for (int i = 0; i < EMPLOYEES; i++) {
+            Employee employee = fixtures.employee(department, "First" + i, "Last" + i, "user" + i);
+            EmployeeJob employeeJob = fixtures.employeeJob(employee, jobs.get(i % jobs.size()));
+            for (int day = 0; day < 2; day++) {
+                fixtures.shift(employeeJob, DAY.plusDays(day), DAY.plusDays(day).plusHours(8));
+            }
+            if (i == 0) {
+                firstEmployee = employee;
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Company date-range page costs the same for any page size")
+    void findByCompanyIdAndDateRange_ConstantStatements() {
+        long small = statements(() -> mapPage(shiftRepository.findRowsByCompanyIdAndDateRange(
+                company.getId(), DAY.minusDays(1), DAY.plusDays(3), PageRequest.of(0, 5))));
+        long large = statements(() -> mapPage(shiftRepository.findRowsByCompanyIdAndDateRange(
+                company.getId(), DAY.minusDays(1), DAY.plusDays(3), PageRequest.of(0, 50))));
+
+        assertEquals(2, small, "page query plus count");
+        assertEquals(small, large);
+    }
+
+    @Test
+    @DisplayName("Department and job title pages cost the same for any page size")
+    void departmentAndJobTitlePages_ConstantStatements() {
+        long department5 = statements(() -> mapPage(shiftRepository.findRowsByDepartmentIdAndCompanyId(
+                department.getId(), company.getId(), PageRequest.of(0, 5))));
+        long department50 = statements(() -> mapPage(shiftRepository.findRowsByDepartmentIdAndCompanyId(
+                department.getId(), company.getId(), PageRequest.of(0, 50))));
+        long jobTitle5 = statements(() -> mapPage(shiftRepository.findRowsByJobTitle(
+                "Cook", company.getId(), PageRequest.of(0, 5))));
+        long jobTitle25 = statements(() -> mapPage(shiftRepository.findRowsByJobTitle(
+                "Cook", company.getId(), PageRequest.of(0, 25))));
+
+        assertEquals(2, department5);
+        assertEquals(department5, department50);
+        assertEquals(2, jobTitle5);
+        assertEquals(jobTitle5, jobTitle25);
+    }
+
+    @Test
+    @DisplayName("Employee and period reads map in a single statement")
+    void employeeAndPeriodReads_SingleStatement() {
+        assertEquals(1, statements(() -> shiftRepository.findRowsByEmployeeIdAndDateRange(
+                firstEmployee.getId(), DAY.minusDays(1), DAY.plusDays(3)).stream().map(shiftMapper::toDTO).toList()));
+        assertEquals(1, statements(() -> shiftRepository.findRowsForDepartmentDateRange(
+                department.getId(), company.getId(), DAY.minusDays(1), DAY.plusDays(3)).stream().map(shiftMapper::toDTO).toList()));
+        assertEquals(1, statements(() -> shiftRepository.findAllByCompanyIdAndDateRange(
+                DAY.minusDays(1), DAY.plusDays(3), company.getId()).stream()
+                .map(shift -> shift.getEmployee().getCompany().getId() + shiftMapper.toDTO(shift).getJobTitle())
+                .toList()));
+    }
+
+    @Test
+    @DisplayName("Report departments load in one statement with each department's rows together")
+    void departmentRowsForDateRange_SingleStatement() {
+        Department bar = fixtures.department(company, "Bar");
+        Job bartender = fixtures.job(bar, "Bartender", "16.00");
+        Employee employee = fixtures.employee(bar, "Bar", "Tender", "bartender");
+        EmployeeJob employeeJob = fixtures.employeeJob(employee, bartender);
+        fixtures.shift(employeeJob, DAY.plusDays(1), DAY.plusDays(1).plusHours(6));
+
+        List<Long> departmentIds = List.of(department.getId(), bar.getId());
+        assertEquals(1, statements(() -> shiftRepository.findDepartmentRowsForDateRange(
+                departmentIds, company.getId(), DAY.minusDays(1), DAY.plusDays(3))));
+
+        List<DepartmentShiftRow> rows = shiftRepository.findDepartmentRowsForDateRange(
+                departmentIds, company.getId(), DAY.minusDays(1), DAY.plusDays(3));
+        assertEquals(EMPLOYEES * 2 + 1, rows.size());
+        assertEquals("Bar", rows.get(0).departmentName());
+        assertEquals("Bartender", rows.get(0).shift().jobTitle());
+        assertTrue(rows.stream().skip(1).allMatch(row -> row.departmentId().equals(department.getId())));
+    }
+
+    @Test
+    @DisplayName("Employee job listing maps in a single statement")
+    void employeeJobsByCompany_SingleStatement() {
+        long count = statements(() -> employeeJobRepository.findByCompanyIdAndDeletedAtIsNull(company.getId())
+                .stream().map(employeeJobMapper::toDTO).map(EmployeeJobResponseDTO::getDepartmentName).toList());
+
+        assertEquals(1, count);
+    }
+
+    @Test
+    @DisplayName("Row projection maps like the entity and stays out of the persistence context")
+    void shiftRow_MatchesEntityMapping() {
+        entityManager.flush();
+        entityManager.clear();
+        List<ShiftRow> rows = shiftRepository.findRowsByEmployeeIdAndDateRange(
+                firstEmployee.getId(), DAY.minusDays(1), DAY.plusDays(3));
+
+        assertEquals(2, rows.size());
+        assertEquals(0, entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount());
+        for (ShiftRow row : rows) {
+            ShiftResponseDTO fromRow = shiftMapper.toDTO(row);
+            ShiftResponseDTO fromEntity = shiftMapper.toDTO(shiftRepository.findById(row.id()).orElseThrow());
+            assertEquals(fromEntity, fromRow);
+        }
+    }
+
+    private List<ShiftResponseDTO> mapPage(Page<ShiftRow> page) {
+        assertFalse(page.isEmpty());
+        return page.map(shiftMapper::toDTO).getContent();
+    }
+
+    private long statements(Supplier<?> read) {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        read.get();
+        return statistics.getPrepareStatementCount();
+    }
+}
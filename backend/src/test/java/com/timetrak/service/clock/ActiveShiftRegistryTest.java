@@ -0,0 +1,126 @@
+package com.timetrak.service.clock;
+
+import com.timetrak.dto.shift.ActiveShiftEntry;
+import com.timetrak.entity.Employee;
+import com.timetrak.entity.Shift;
+import com.timetrak.enums.ShiftStatus;
+import com.timetrak.repository.ShiftRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ActiveShiftRegistry Tests")
+class ActiveShiftRegistryTest {
+
+    private static final LocalDateTime CLOCK_IN = LocalDateTime.of(2024, 3, 4, 7, 0);
+
+    @Mock
+    private ShiftRepository shiftRepository;
+
+    @InjectMocks
+    private ActiveShiftRegistry registry;
+
+    @Test
+    @DisplayName("Should fall back to the database until warmed")
+    void isClockedIn_ColdRegistry_QueriesDatabase() {
+        when(shiftRepository.findActiveShiftEntryByEmployeeId(1L))
+                .thenReturn(Optional.of(new ActiveShiftEntry(1L, 10L, CLOCK_IN)));
+
+        assertTrue(registry.isClockedIn(1L));
+        verify(shiftRepository).findActiveShiftEntryByEmployeeId(1L);
+    }
+
+    @Test
+    @DisplayName("Should answer registered shifts from memory once warmed")
+    void isClockedIn_WarmRegistry_NoQueryForKnownShift() {
+        when(shiftRepository.findAllActiveShiftEntries())
+                .thenReturn(List.of(new ActiveShiftEntry(1L, 10L, CLOCK_IN)));
+
+        registry.warmUp();
+
+        assertTrue(registry.isClockedIn(1L));
+        assertEquals(10L, registry.find(1L).orElseThrow().shiftId());
+        verify(shiftRepository, never()).findActiveShiftEntryByEmployeeId(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should confirm a miss against the database, which another node may have written")
+    void find_WarmRegistryMiss_QueriesDatabase() {
+        when(shiftRepository.findAllActiveShiftEntries()).thenReturn(List.of());
+        when(shiftRepository.findActiveShiftEntryByEmployeeId(1L))
+                .thenReturn(Optional.of(new ActiveShiftEntry(1L, 10L, CLOCK_IN)));
+        when(shiftRepository.findActiveShiftEntryByEmployeeId(2L)).thenReturn(Optional.empty());
+        registry.warmUp();
+
+        assertEquals(10L, registry.find(1L).orElseThrow().shiftId());
+        assertFalse(registry.isClockedIn(2L));
+    }
+
+    @Test
+    @DisplayName("Should register clock-ins and drop the entry on clock-out")
+    void track_ClockInThenClockOut() {
+        when(shiftRepository.findAllActiveShiftEntries()).thenReturn(List.of());
+        when(shiftRepository.findActiveShiftEntryByEmployeeId(2L)).thenReturn(Optional.empty());
+        registry.warmUp();
+
+        Shift shift = createShift(2L, 20L, ShiftStatus.ACTIVE);
+        registry.track(shift);
+        assertTrue(registry.isClockedIn(2L));
+
+        shift.setStatus(ShiftStatus.COMPLETED);
+        registry.track(shift);
+        assertFalse(registry.isClockedIn(2L));
+    }
+
+    @Test
+    @DisplayName("Should not drop a newer shift when an older one is completed")
+    void track_StaleCompletion_KeepsCurrentShift() {
+        when(shiftRepository.findAllActiveShiftEntries()).thenReturn(List.of());
+        registry.warmUp();
+
+        registry.track(createShift(3L, 31L, ShiftStatus.ACTIVE));
+        registry.track(createShift(3L, 30L, ShiftStatus.COMPLETED));
+
+        assertEquals(31L, registry.find(3L).orElseThrow().shiftId());
+    }
+
+    @Test
+    @DisplayName("Should repair drift on reconcile")
+    void reconcile_FixesDrift() {
+        when(shiftRepository.findAllActiveShiftEntries())
+                .thenReturn(List.of(new ActiveShiftEntry(1L, 10L, CLOCK_IN)))
+                .thenReturn(List.of(new ActiveShiftEntry(2L, 20L, CLOCK_IN)));
+        registry.warmUp();
+
+        registry.reconcile();
+
+        assertTrue(registry.isClockedIn(2L));
+        verify(shiftRepository, never()).findActiveShiftEntryByEmployeeId(2L);
+        assertFalse(registry.isClockedIn(1L));
+    }
+
+    private Shift createShift(Long employeeId, Long shiftId, ShiftStatus status) {
+        Employee employee = new Employee();
+        employee.setId(employeeId);
+
+        Shift shift = Shift.builder()
+                .employee(employee)
+                .clockIn(CLOCK_IN)
+                .status(status)
+                .build();
+        shift.setId(shiftId);
+        return shift;
+    }
+}
@@ -0,0 +1,134 @@
+package com.timetrak.service.clock;
+
+import com.timetrak.constant.ClockConstants;
+import com.timetrak.dto.clock.AdminClockRequestDTO;
+import com.timetrak.dto.clock.ClockFailureResponse;
+import com.timetrak.dto.clock.ClockResponseDTO;
+import com.timetrak.dto.clock.EmployeeClockRequestDTO;
+import com.timetrak.dto.shift.ClockOutCandidate;
+import com.timetrak.dto.shift.ClosedShift;
+import com.timetrak.dto.shift.ShiftResponseDTO;
+import com.timetrak.entity.Employee;
+import com.timetrak.entity.EmployeeJob;
+import com.timetrak.entity.Shift;
+import com.timetrak.enums.ClockErrorCode;
+import com.timetrak.enums.EmployeeStatus;
+import com.timetrak.enums.ShiftStatus;
+import com.timetrak.exception.InvalidOperationException;
+import com.timetrak.repository.ShiftJdbcRepository;
+import com.timetrak.repository.ShiftRepository;
+import com.timetrak.service.clock.pipeline.ClockEventPipeline;
+import com.timetrak.service.employeeJob.EmployeeJobQueryService;
+import com.timetrak.service.report.ReportDataChangedEvent;
+import com.timetrak.service.shift.LaborRollupService;
+import com.timetrak.service.shift.LocationService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ClockServiceImpl Tests")
+class ClockServiceImplTest {
+
+    private static final LocalDateTime CLOCK_OUT = LocalDateTime.of(2024, 3, 4, 15, 0);
+
+    @Mock
+    private ShiftRepository shiftRepository;
+
+    @Mock
+    private ShiftJdbcRepository shiftJdbcRepository;
+
+    @Mock
+    private EmployeeJobQueryService employeeJobQueryService;
+
+    @Mock
+    private LocationService locationService;
+
+    @Mock
+    private ActiveShiftRegistry activeShiftRegistry;
+
+    @Mock
+    private ClockEventPipeline clockEventPipeline;
+
+    @Spy
+    private ClockValidator validator;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private LaborRollupService laborRollupService;
+
+    @InjectMocks
+    private ClockServiceImpl clockService;
+
+    @Test
+    @DisplayName("Should map a single-active-shift violation to already clocked in")
+    void employeeClockIn_ConstraintViolation_AlreadyClockedIn() {
+        Employee employee = new Employee();
+        employee.setId(1L);
+        employee.setStatus(EmployeeStatus.ACTIVE);
+        EmployeeJob employeeJob = new EmployeeJob();
+        employeeJob.setId(5L);
+        employeeJob.setEmployee(employee);
+
+        when(locationService.resolveClockLocation(1.0, 2.0, 7L))
+                .thenReturn(Optional.of(new LocationService.ClockLocation(null)));
+        when(employeeJobQueryService.getEmployeeJobById(5L, 7L)).thenReturn(employeeJob);
+        when(shiftRepository.save(any(Shift.class))).thenThrow(new DataIntegrityViolationException("could not execute statement",
+                new SQLException("duplicate key value violates unique constraint \"uq_shift_active_employee\"")));
+
+        InvalidOperationException exception = assertThrows(InvalidOperationException.class,
+                () -> clockService.employeeClockIn(new EmployeeClockRequestDTO(5L, 1.0, 2.0), 7L));
+
+        assertEquals(ClockConstants.ALREADY_CLOCKED_IN, exception.getMessage());
+        verify(activeShiftRegistry, never()).track(any());
+    }
+
+    @Test
+    @DisplayName("Should close eligible shifts in one statement and classify the rest")
+    void adminClockOut_MixedBatch() {
+        AdminClockRequestDTO request = new AdminClockRequestDTO();
+        request.setIds(List.of(1L, 2L, 3L));
+        request.setTime(CLOCK_OUT);
+
+        ShiftResponseDTO closed = ShiftResponseDTO.builder()
+                .id(10L).employeeId(1L).clockIn(CLOCK_OUT.minusHours(8)).status(ShiftStatus.COMPLETED).build();
+        when(shiftJdbcRepository.closeActiveShifts(anyCollection(), eq(CLOCK_OUT)))
+                .thenReturn(List.of(new ClosedShift(7L, closed)));
+        when(shiftJdbcRepository.findClockOutCandidates(Set.of(2L, 3L))).thenReturn(List.of(
+                new ClockOutCandidate(2L, "No Shift", null),
+                new ClockOutCandidate(3L, "Too Long", CLOCK_OUT.minusHours(30))));
+
+        ClockResponseDTO response = clockService.adminClockOut(request);
+
+        assertEquals(3, response.getTotalProcessed());
+        assertEquals(1, response.getSuccessCount());
+        assertEquals(2, response.getFailureCount());
+        verify(activeShiftRegistry).release(1L, 10L);
+        verify(eventPublisher).publishEvent(ReportDataChangedEvent.ofDay(7L, CLOCK_OUT.minusHours(8)));
+
+        Map<Long, String> codes = response.getFailed().stream()
+                .collect(Collectors.toMap(ClockFailureResponse::getEmployeeId, ClockFailureResponse::getErrorCode));
+        assertEquals(ClockErrorCode.NO_ACTIVE_SHIFT.name(), codes.get(2L));
+        assertEquals(ClockErrorCode.CLOCK_OUT_ERROR.name(), codes.get(3L));
+    }
+}
@@ -0,0 +1,285 @@
+package com.timetrak.service.clock;
+
+import com.timetrak.dto.clock.KioskClockEventDTO;
+import com.timetrak.dto.clock.KioskSyncEventResult;
+import com.timetrak.dto.clock.KioskSyncRequestDTO;
+import com.timetrak.dto.clock.KioskSyncResponseDTO;
+import com.timetrak.dto.payment.EmployeePaidThrough;
+import com.timetrak.dto.shift.ShiftInterval;
+import com.timetrak.dto.shift.ShiftResponseDTO;
+import com.timetrak.entity.Company;
+import com.timetrak.entity.Employee;
+import com.timetrak.entity.EmployeeJob;
+import com.timetrak.entity.Shift;
+import com.timetrak.enums.ClockAction;
+import com.timetrak.enums.ClockErrorCode;
+import com.timetrak.enums.EmployeeStatus;
+import com.timetrak.enums.ShiftStatus;
+import com.timetrak.enums.SyncEventStatus;
+import com.timetrak.mapper.ShiftMapper;
+import com.timetrak.repository.KioskSyncEventJdbcRepository;
+import com.timetrak.repository.KioskSyncEventJdbcRepository.SyncEventKey;
+import com.timetrak.repository.PaymentRepository;
+import com.timetrak.repository.ShiftJdbcRepository;
+import com.timetrak.repository.ShiftRepository;
+import com.timetrak.service.clock.idempotency.IdempotencyStore;
+import com.timetrak.service.employeeJob.EmployeeJobQueryService;
+import com.timetrak.service.shift.LaborRollupService;
+import com.timetrak.service.shift.LocationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static com.timetrak.constant.ClockConstants.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("KioskSyncServiceImpl Tests")
+class KioskSyncServiceImplTest {
+
+    private static final LocalDateTime MORNING = LocalDate.now().minusDays(1).atTime(7, 0);
+
+    @Mock
+    private ShiftRepository shiftRepository;
+
+    @Mock
+    private ShiftJdbcRepository shiftJdbcRepository;
+
+    @Mock
+    private KioskSyncEventJdbcRepository syncEventRepository;
+
+    @Mock
+    private ShiftMapper shiftMapper;
+
+    @Mock
+    private EmployeeJobQueryService employeeJobQueryService;
+
+    @Mock
+    private LocationService locationService;
+
+    @Mock
+    private ActiveShiftRegistry activeShiftRegistry;
+
+    @Mock
+    private IdempotencyStore idempotencyStore;
+
+    @Spy
+    private ClockValidator validator;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private LaborRollupService laborRollupService;
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    private KioskSyncServiceImpl kioskSyncService;
+
+    @BeforeEach
+    void setUp() {
+        kioskSyncService = new KioskSyncServiceImpl(shiftRepository, shiftJdbcRepository, syncEventRepository,
+                shiftMapper, employeeJobQueryService, locationService, validator, activeShiftRegistry,
+                idempotencyStore, eventPublisher, laborRollupService, paymentRepository, 7);
+    }
+
+    @Test
+    @DisplayName("Should replay events per employee in time order and report each one")
+    void sync_MixedBatch() {
+        Company company = new Company();
+        company.setId(7L);
+        Employee alice = employee(1L, company);
+        Employee bob = employee(2L, company);
+        EmployeeJob aliceJob = new EmployeeJob();
+        aliceJob.setId(11L);
+        aliceJob.setEmployee(alice);
+
+        Shift bobShift = Shift.builder()
+                .employee(bob).companyId(7L).clockIn(MORNING).status(ShiftStatus.ACTIVE).build();
+        bobShift.setId(20L);
+
+        when(idempotencyStore.find(anyString())).thenReturn(Optional.empty());
+        when(idempotencyStore.find("kiosk:sync:2:synced-before"))
+                .thenReturn(Optional.of(ShiftResponseDTO.builder().id(99L).employeeId(2L).build()));
+        when(employeeJobQueryService.getEmployeeJobsByIds(List.of(11L))).thenReturn(List.of(aliceJob));
+        when(syncEventRepository.claim(anyCollection())).thenAnswer(invocation ->
+                new HashSet<>(invocation.<Collection<SyncEventKey>>getArgument(0)));
+        when(shiftRepository.findActiveShiftsWithDetailsByEmployeeIds(anyCollection())).thenReturn(List.of(bobShift));
+        when(locationService.resolveClockLocation(anyDouble(), anyDouble(), eq(7L)))
+                .thenReturn(Optional.of(new LocationService.ClockLocation(null)));
+        when(shiftJdbcRepository.completeAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(shiftJdbcRepository.insertAll(anyList())).thenAnswer(invocation -> {
+            List<Shift> shifts = invocation.getArgument(0);
+            shifts.forEach(shift -> shift.setId(30L));
+            return shifts;
+        });
+        when(shiftMapper.toDTO(any(Shift.class))).thenAnswer(invocation -> {
+            Shift shift = invocation.getArgument(0);
+            return ShiftResponseDTO.builder().id(shift.getId()).status(shift.getStatus()).build();
+        });
+
+        KioskSyncResponseDTO response = kioskSyncService.sync(new KioskSyncRequestDTO(List.of(
+                event("alice-out", ClockAction.CLOCK_OUT, 1L, MORNING.plusHours(8)),
+                event("alice-in", ClockAction.CLOCK_IN, 11L, MORNING),
+                event("alice-in-again", ClockAction.CLOCK_IN, 11L, MORNING.plusHours(1)),
+                event("bob-out", ClockAction.CLOCK_OUT, 2L, MORNING.plusHours(9)),
+                event("bob-out", ClockAction.CLOCK_OUT, 2L, MORNING.plusHours(9)),
+                event("synced-before", ClockAction.CLOCK_OUT, 2L, MORNING.plusHours(9)),
+                event("nobody-out", ClockAction.CLOCK_OUT, 3L, MORNING.plusHours(2)))));
+
+        assertEquals(7, response.getTotalEvents());
+        assertEquals(3, response.getAcceptedCount());
+        assertEquals(2, response.getDuplicateCount());
+        assertEquals(2, response.getRejectedCount());
+
+        List<KioskSyncEventResult> results = response.getResults();
+        // Alice's clock-out arrived first but is replayed after her clock-in
+        assertEquals(SyncEventStatus.ACCEPTED, results.get(0).getStatus());
+        assertEquals(ShiftStatus.COMPLETED, results.get(0).getShift().getStatus());
+        assertEquals(SyncEventStatus.ACCEPTED, results.get(1).getStatus());
+        // Second clock-in on Alice's job while her first shift is still open in event time
+        assertEquals(SyncEventStatus.REJECTED, results.get(2).getStatus());
+        assertEquals(ClockErrorCode.CLOCK_IN_ERROR.name(), results.get(2).getErrorCode());
+        assertEquals(SyncEventStatus.ACCEPTED, results.get(3).getStatus());
+        assertEquals(20L, results.get(3).getShift().getId());
+        assertEquals(SyncEventStatus.DUPLICATE, results.get(4).getStatus());
+        assertEquals(99L, results.get(5).getShift().getId());
+        assertEquals(SyncEventStatus.REJECTED, results.get(6).getStatus());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Shift>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(shiftJdbcRepository).insertAll(inserted.capture());
+        assertEquals(1, inserted.getValue().size());
+        assertEquals(ShiftStatus.COMPLETED, inserted.getValue().get(0).getStatus());
+        verify(shiftJdbcRepository).completeAll(List.of(bobShift));
+        verify(idempotencyStore, times(3)).save(startsWith("kiosk:sync:"), any());
+        // Rejected events give their claim back, so a corrected re-send is processed
+        verify(syncEventRepository).release(argThat(keys -> Set.copyOf(keys).equals(Set.of(
+                new SyncEventKey(1L, "alice-in-again"), new SyncEventKey(3L, "nobody-out")))));
+    }
+
+    @Test
+    @DisplayName("Should treat events recorded by an earlier sync as duplicates without the idempotency cache")
+    void sync_DurableDuplicate() {
+        Employee bob = employee(2L, new Company());
+        when(idempotencyStore.find(anyString())).thenReturn(Optional.empty());
+        when(employeeJobQueryService.getEmployeeJobsByIds(List.of())).thenReturn(List.of());
+        when(syncEventRepository.claim(List.of(new SyncEventKey(2L, "bob-out")))).thenReturn(Set.of());
+
+        KioskSyncResponseDTO response = kioskSyncService.sync(new KioskSyncRequestDTO(List.of(
+                event("bob-out", ClockAction.CLOCK_OUT, bob.getId(), MORNING.plusHours(9)))));
+
+        assertEquals(1, response.getDuplicateCount());
+        verifyNoInteractions(shiftRepository);
+        verify(shiftJdbcRepository).completeAll(List.of());
+        verify(shiftJdbcRepository).insertAll(List.of());
+    }
+
+    @Test
+    @DisplayName("Should not treat another employee's event with the same client id as a duplicate")
+    void sync_ClientIdReusedByAnotherEmployee() {
+        Company company = new Company();
+        company.setId(7L);
+        Shift bobShift = Shift.builder()
+                .employee(employee(2L, company)).companyId(7L).clockIn(MORNING).status(ShiftStatus.ACTIVE).build();
+        bobShift.setId(20L);
+        // Whatever the cache holds for this id belongs to Alice
+        when(idempotencyStore.find(anyString()))
+                .thenReturn(Optional.of(ShiftResponseDTO.builder().id(99L).employeeId(1L).build()));
+        when(employeeJobQueryService.getEmployeeJobsByIds(List.of())).thenReturn(List.of());
+        when(syncEventRepository.claim(anyCollection())).thenAnswer(invocation ->
+                new HashSet<>(invocation.<Collection<SyncEventKey>>getArgument(0)));
+        when(shiftRepository.findActiveShiftsWithDetailsByEmployeeIds(anyCollection())).thenReturn(List.of(bobShift));
+        when(locationService.resolveClockLocation(anyDouble(), anyDouble(), eq(7L)))
+                .thenReturn(Optional.of(new LocationService.ClockLocation(null)));
+        when(shiftJdbcRepository.completeAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(shiftMapper.toDTO(any(Shift.class))).thenReturn(ShiftResponseDTO.builder().id(20L).employeeId(2L).build());
+
+        KioskSyncResponseDTO response = kioskSyncService.sync(new KioskSyncRequestDTO(List.of(
+                event("evt-1", ClockAction.CLOCK_OUT, 2L, MORNING.plusHours(9)))));
+
+        assertEquals(1, response.getAcceptedCount());
+        assertEquals(20L, response.getResults().get(0).getShift().getId());
+        verify(idempotencyStore).find("kiosk:sync:2:evt-1");
+        verify(idempotencyStore).save(eq("kiosk:sync:2:evt-1"), any());
+    }
+
+    @Test
+    @DisplayName("Should reject stale events, events in a paid period and shifts overlapping existing ones")
+    void sync_RejectsStalePaidAndOverlappingEvents() {
+        Company company = new Company();
+        company.setId(7L);
+        Employee alice = employee(1L, company);
+        EmployeeJob aliceJob = new EmployeeJob();
+        aliceJob.setId(11L);
+        aliceJob.setEmployee(alice);
+        Shift bobShift = Shift.builder()
+                .employee(employee(2L, company)).companyId(7L).clockIn(MORNING).status(ShiftStatus.ACTIVE).build();
+        bobShift.setId(20L);
+
+        when(idempotencyStore.find(anyString())).thenReturn(Optional.empty());
+        when(employeeJobQueryService.getEmployeeJobsByIds(List.of(11L))).thenReturn(List.of(aliceJob));
+        when(syncEventRepository.claim(anyCollection())).thenAnswer(invocation ->
+                new HashSet<>(invocation.<Collection<SyncEventKey>>getArgument(0)));
+        when(shiftRepository.findActiveShiftsWithDetailsByEmployeeIds(anyCollection())).thenReturn(List.of(bobShift));
+        // Alice already has a shift in the middle of the one the kiosk recorded
+        when(shiftRepository.findCompletedIntervalsByEmployeeIdsEndingAfter(anyCollection(), any()))
+                .thenReturn(List.of(new ShiftInterval(1L, MORNING.plusHours(3), MORNING.plusHours(5))));
+        when(paymentRepository.findPaidThroughByEmployeeIds(anyCollection()))
+                .thenReturn(List.of(new EmployeePaidThrough(2L, MORNING.toLocalDate())));
+        when(locationService.resolveClockLocation(anyDouble(), anyDouble(), eq(7L)))
+                .thenReturn(Optional.of(new LocationService.ClockLocation(null)));
+
+        KioskSyncResponseDTO response = kioskSyncService.sync(new KioskSyncRequestDTO(List.of(
+                event("alice-in", ClockAction.CLOCK_IN, 11L, MORNING),
+                event("alice-out", ClockAction.CLOCK_OUT, 1L, MORNING.plusHours(8)),
+                event("bob-out", ClockAction.CLOCK_OUT, 2L, MORNING.plusHours(9)),
+                event("carol-out", ClockAction.CLOCK_OUT, 3L, MORNING.minusDays(10)))));
+
+        assertEquals(4, response.getRejectedCount());
+        List<KioskSyncEventResult> results = response.getResults();
+        assertEquals(SYNC_OVERLAPPING_SHIFT_MSG, results.get(0).getErrorMessage());
+        assertEquals(SYNC_OVERLAPPING_SHIFT_MSG, results.get(1).getErrorMessage());
+        assertEquals(SYNC_PAID_PERIOD_MSG, results.get(2).getErrorMessage());
+        assertEquals(SYNC_EVENT_TOO_OLD_MSG, results.get(3).getErrorMessage());
+        verify(shiftJdbcRepository).insertAll(List.of());
+        verify(shiftJdbcRepository).completeAll(List.of());
+        verify(syncEventRepository).release(argThat(keys -> keys.size() == 4));
+    }
+
+    private static Employee employee(Long id, Company company) {
+        Employee employee = new Employee();
+        employee.setId(id);
+        employee.setStatus(EmployeeStatus.ACTIVE);
+        employee.setCompany(company);
+        return employee;
+    }
+
+    private static KioskClockEventDTO event(String clientEventId, ClockAction action, Long id, LocalDateTime occurredAt) {
+        return KioskClockEventDTO.builder()
+                .clientEventId(clientEventId)
+                .action(action)
+                .id(id)
+                .occurredAt(occurredAt)
+                .latitude(40.4)
+                .longitude(49.8)
+                .build();
+    }
+}
@@ -0,0 +1,79 @@
+package com.timetrak.service.clock.idempotency;
+
+import com.timetrak.dto.shift.ShiftResponseDTO;
+import com.timetrak.exception.InvalidOperationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("IdempotentClockExecutor Tests")
+class IdempotentClockExecutorTest {
+
+    private IdempotentClockExecutor executor;
+    private AtomicInteger calls;
+
+    @BeforeEach
+    void setUp() {
+        executor = new IdempotentClockExecutor(new InMemoryIdempotencyStore(60, 2));
+        calls = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Should replay the stored response for a retried key")
+    void execute_RetriedKey_RunsOnce() {
+        ShiftResponseDTO first = executor.execute("key-1", "kiosk:clock-in:5", this::clockIn);
+        ShiftResponseDTO retry = executor.execute("key-1", "kiosk:clock-in:5", this::clockIn);
+
+        assertSame(first, retry);
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    @DisplayName("Should keep keys separate per scope and run without a key")
+    void execute_DifferentScopeOrNoKey_RunsAgain() {
+        executor.execute("key-1", "kiosk:clock-in:5", this::clockIn);
+        executor.execute("key-1", "kiosk:clock-out:5", this::clockIn);
+        executor.execute(null, "kiosk:clock-in:5", this::clockIn);
+
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    @DisplayName("Should not remember failed operations")
+    void execute_Failure_NotStored() {
+        assertThrows(InvalidOperationException.class, () -> executor.execute("key-2", "scope", () -> {
+            calls.incrementAndGet();
+            throw new InvalidOperationException("Out of radius");
+        }));
+
+        executor.execute("key-2", "scope", this::clockIn);
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used key beyond capacity")
+    void execute_OverCapacity_EvictsOldest() {
+        executor.execute("a", "scope", this::clockIn);
+        executor.execute("b", "scope", this::clockIn);
+        executor.execute("c", "scope", this::clockIn);
+        executor.execute("a", "scope", this::clockIn);
+
+        assertEquals(4, calls.get());
+    }
+
+    @Test
+    @DisplayName("Should reject oversized keys")
+    void execute_InvalidKey_Rejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> executor.execute("x".repeat(200), "scope", this::clockIn));
+        assertEquals(0, calls.get());
+    }
+
+    private ShiftResponseDTO clockIn() {
+        return ShiftResponseDTO.builder().id((long) calls.incrementAndGet()).build();
+    }
+}
@@ -0,0 +1,86 @@
+package com.timetrak.service.clock.pipeline;
+
+import com.timetrak.enums.ClockAction;
+import com.timetrak.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ClockJournal Tests")
+class ClockJournalTest {
+
+    private static final LocalDateTime TIME = LocalDateTime.of(2024, 3, 4, 7, 0, 1, 123_456_789);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("Should replay only events after the checkpoint when reopened")
+    void recover_AfterCheckpoint() throws IOException {
+        Path file = dir.resolve("journal.dat");
+        try (ClockJournal journal = new ClockJournal(file, 8, false)) {
+            journal.recover(0);
+            journal.append(ClockAction.CLOCK_IN, 1L, 11L, 7L, 3L, TIME);
+            journal.append(ClockAction.CLOCK_IN, 2L, 12L, 7L, null, TIME);
+            journal.append(ClockAction.CLOCK_OUT, 1L, null, null, null, TIME.plusHours(8));
+        }
+
+        try (ClockJournal journal = new ClockJournal(file, 8, false)) {
+            List<ClockJournalEntry> replay = journal.recover(1);
+
+            assertEquals(List.of(2L, 3L), replay.stream().map(ClockJournalEntry::seq).toList());
+            assertEquals(new ClockJournalEntry(2, ClockAction.CLOCK_IN, 2L, 12L, 7L, null, TIME), replay.get(0));
+            assertEquals(ClockAction.CLOCK_OUT, replay.get(1).action());
+            assertEquals(4, journal.append(ClockAction.CLOCK_IN, 3L, 13L, 7L, null, TIME).seq());
+        }
+    }
+
+    @Test
+    @DisplayName("Should refuse appends until the writer checkpoints a full ring")
+    void append_FullRing() throws IOException {
+        try (ClockJournal journal = new ClockJournal(dir.resolve("journal.dat"), 2, false)) {
+            journal.recover(0);
+            journal.append(ClockAction.CLOCK_IN, 1L, 11L, 7L, null, TIME);
+            journal.append(ClockAction.CLOCK_IN, 2L, 12L, 7L, null, TIME);
+
+            assertThrows(ServiceUnavailableException.class,
+                    () -> journal.append(ClockAction.CLOCK_IN, 3L, 13L, 7L, null, TIME));
+
+            journal.checkpoint(1);
+            assertEquals(3, journal.append(ClockAction.CLOCK_IN, 3L, 13L, 7L, null, TIME).seq());
+        }
+    }
+
+    @Test
+    @DisplayName("Should stop replay at a record with a bad checksum")
+    void recover_TornRecord() throws IOException {
+        Path file = dir.resolve("journal.dat");
+        try (ClockJournal journal = new ClockJournal(file, 8, false)) {
+            journal.recover(0);
+            for (long employeeId = 1; employeeId <= 3; employeeId++) {
+                journal.append(ClockAction.CLOCK_IN, employeeId, 10 + employeeId, 7L, null, TIME);
+            }
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            // Flip a payload byte of seq 2 (slot 2)
+            channel.write(ByteBuffer.wrap(new byte[]{42}), 2L * ClockJournal.RECORD_SIZE + 12);
+        }
+
+        try (ClockJournal journal = new ClockJournal(file, 8, false)) {
+            List<ClockJournalEntry> replay = journal.recover(0);
+
+            assertEquals(1, replay.size());
+            assertEquals(1L, replay.get(0).employeeId());
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.timetrak.service.dashboard;
+
+import com.timetrak.dto.company.AdminDashboardDTO;
+import com.timetrak.service.report.ReportDataChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AdminDashboardCache Tests")
+class AdminDashboardCacheTest {
+
+    private static final Long COMPANY_ID = 3L;
+    private static final LocalDate TODAY = LocalDate.now();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AdminDashboardCache cache = new AdminDashboardCache(meterRegistry, 60_000);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    @DisplayName("Should serve the cached dashboard until a write in the company")
+    void get_InvalidatedByWrites() {
+        assertEquals(1, load(COMPANY_ID));
+        assertEquals(1, load(COMPANY_ID));
+
+        cache.onDataChanged(new ReportDataChangedEvent(COMPANY_ID + 1, TODAY, TODAY));
+        assertEquals(1, load(COMPANY_ID));
+
+        cache.onDataChanged(new ReportDataChangedEvent(COMPANY_ID, TODAY, TODAY));
+        assertEquals(2, load(COMPANY_ID));
+
+        // Writes of unknown company count for every company
+        cache.onDataChanged(new ReportDataChangedEvent(null, TODAY, TODAY));
+        assertEquals(3, load(COMPANY_ID));
+
+        assertEquals(2.0, meterRegistry.get("dashboard.cache.requests").tag("result", "hit").counter().count());
+        assertEquals(3.0, meterRegistry.get("dashboard.cache.requests").tag("result", "miss").counter().count());
+        assertEquals(3, meterRegistry.get("dashboard.cache.load").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should recompute after the TTL")
+    void get_Expires() {
+        AdminDashboardCache shortLived = new AdminDashboardCache(new SimpleMeterRegistry(), 0);
+
+        shortLived.get(COMPANY_ID, this::dashboard);
+        shortLived.get(COMPANY_ID, this::dashboard);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should share one load between concurrent requests")
+    void get_SingleFlight() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<AdminDashboardDTO> first = CompletableFuture.supplyAsync(() -> cache.get(COMPANY_ID, () -> {
+            loading.countDown();
+            await(release);
+            return dashboard();
+        }));
+        assertTrue(loading.await(2, TimeUnit.SECONDS));
+
+        CompletableFuture<AdminDashboardDTO> second = CompletableFuture.supplyAsync(() -> cache.get(COMPANY_ID, this::dashboard));
+        release.countDown();
+
+        assertSame(first.get(2, TimeUnit.SECONDS), second.get(2, TimeUnit.SECONDS));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should not keep a failed load")
+    void get_FailureNotCached() {
+        assertThrows(IllegalStateException.class, () -> cache.get(COMPANY_ID, () -> {
+            throw new IllegalStateException("database down");
+        }));
+
+        assertEquals(1, load(COMPANY_ID));
+    }
+
+    private long load(Long companyId) {
+        return cache.get(companyId, this::dashboard).getActiveShiftsCount();
+    }
+
+    private AdminDashboardDTO dashboard() {
+        return AdminDashboardDTO.builder().activeShiftsCount(loads.incrementAndGet()).build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.timetrak.service.dashboard;
+
+import com.timetrak.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("DashboardFanOut Tests")
+class DashboardFanOutTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final DashboardFanOut fanOut = new DashboardFanOut(mock(PlatformTransactionManager.class), meterRegistry, 500, 8);
+
+    @AfterEach
+    void shutdown() {
+        fanOut.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should run reads concurrently and time each one")
+    void fork_RunsConcurrently() {
+        // Each read waits for the other, so this only finishes if both run at once
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        DashboardFanOut.Call call = fanOut.begin("admin");
+        Supplier<String> first = call.fork("first", () -> awaitOther(bothStarted, "a"));
+        Supplier<String> second = call.fork("second", () -> awaitOther(bothStarted, "b"));
+
+        assertEquals("a", first.get());
+        assertEquals("b", second.get());
+
+        Timer timer = meterRegistry.find("dashboard.query").tags("dashboard", "admin", "query", "first").timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    @DisplayName("Should fail with 503 once the deadline passes")
+    void fork_DeadlinePassed() {
+        // Waits for a second read that never comes, well past the 500 ms deadline
+        CountDownLatch never = new CountDownLatch(2);
+        DashboardFanOut.Call call = fanOut.begin("employee");
+        Supplier<String> slow = call.fork("slow", () -> awaitOther(never, "late"));
+
+        assertThrows(ServiceUnavailableException.class, slow::get);
+    }
+
+    @Test
+    @DisplayName("Should rethrow the read's own exception")
+    void fork_PropagatesFailure() {
+        DashboardFanOut.Call call = fanOut.begin("admin");
+        Supplier<String> failing = call.fork("failing", () -> {
+            throw new IllegalArgumentException("bad period");
+        });
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, failing::get);
+        assertEquals("bad period", e.getMessage());
+    }
+
+    private static String awaitOther(CountDownLatch latch, String result) {
+        latch.countDown();
+        try {
+            if (!latch.await(2, TimeUnit.SECONDS)) {
+                return "timeout";
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,102 @@
+package com.timetrak.service.report;
+
+import com.timetrak.enums.ReportType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ReportCache Tests")
+class ReportCacheTest {
+
+    private static final Long COMPANY_ID = 7L;
+    private static final LocalDate START = LocalDate.of(2024, 3, 4);
+    private static final LocalDate END = LocalDate.of(2024, 3, 17);
+    private static final ReportCache.ReportKey KEY = new ReportCache.ReportKey(
+            COMPANY_ID, ReportType.SHIFTS, START, END, List.of(2L, 1L));
+
+    private final ReportCache reportCache = new ReportCache(64, 8);
+    private final AtomicInteger renders = new AtomicInteger();
+
+    @Test
+    @DisplayName("Should serve a closed period from cache for the same department set in any order")
+    void serve_ClosedPeriodHit() {
+        assertEquals("render-1", serve(KEY));
+        assertEquals("render-1", serve(new ReportCache.ReportKey(
+                COMPANY_ID, ReportType.SHIFTS, START, END, List.of(1L, 2L, 1L))));
+        assertEquals(1, renders.get());
+
+        assertEquals("render-2", serve(new ReportCache.ReportKey(
+                COMPANY_ID, ReportType.PAYMENTS, START, END, List.of())));
+    }
+
+    @Test
+    @DisplayName("Should re-render only after a write inside the period")
+    void serve_InvalidatedByWritesInPeriod() {
+        serve(KEY);
+
+        reportCache.onReportDataChanged(new ReportDataChangedEvent(COMPANY_ID, END.plusDays(1), END.plusDays(1)));
+        reportCache.onReportDataChanged(new ReportDataChangedEvent(8L, START, END));
+        assertEquals("render-1", serve(KEY));
+
+        reportCache.onReportDataChanged(new ReportDataChangedEvent(COMPANY_ID, END, END));
+        assertEquals("render-2", serve(KEY));
+
+        // Writes of unknown company count for every company
+        reportCache.onReportDataChanged(new ReportDataChangedEvent(null, START, START));
+        assertEquals("render-3", serve(KEY));
+        assertEquals("render-3", serve(KEY));
+    }
+
+    @Test
+    @DisplayName("Should not keep a copy rendered while the period was being written")
+    void serve_WriteDuringRender() {
+        serve(KEY, out -> {
+            render(out);
+            reportCache.onReportDataChanged(new ReportDataChangedEvent(COMPANY_ID, START, START));
+        });
+
+        assertEquals("render-2", serve(KEY));
+        assertEquals("render-2", serve(KEY));
+    }
+
+    @Test
+    @DisplayName("Should always render an open period")
+    void serve_OpenPeriodNotCached() {
+        ReportCache.ReportKey open = new ReportCache.ReportKey(
+                COMPANY_ID, ReportType.PAYMENTS, LocalDate.now().minusDays(13), LocalDate.now(), List.of());
+
+        serve(open);
+        serve(open);
+
+        assertEquals(2, renders.get());
+    }
+
+    private String serve(ReportCache.ReportKey key) {
+        return serve(key, this::render);
+    }
+
+    private String serve(ReportCache.ReportKey key, Consumer<OutputStream> renderer) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        reportCache.serve(key, out, renderer);
+        return out.toString(StandardCharsets.US_ASCII);
+    }
+
+    private void render(OutputStream out) {
+        try {
+            out.write(("render-" + renders.incrementAndGet()).getBytes(StandardCharsets.US_ASCII));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
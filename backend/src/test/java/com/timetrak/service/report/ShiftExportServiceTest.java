@@ -0,0 +1,91 @@
+package com.timetrak.service.report;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.timetrak.dto.shift.ShiftRow;
+import com.timetrak.enums.ExportFormat;
+import com.timetrak.enums.ShiftStatus;
+import com.timetrak.mapper.ShiftMapper;
+import com.timetrak.repository.ShiftRepository;
+import com.timetrak.service.payment.PeriodService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ShiftExportService Tests")
+class ShiftExportServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 4);
+
+    @Mock
+    private ShiftRepository shiftRepository;
+
+    @Mock
+    private PeriodService periodService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ShiftExportService exportService;
+    private final AtomicBoolean streamClosed = new AtomicBoolean();
+
+    @BeforeEach
+    void setUp() {
+        exportService = new ShiftExportService(shiftRepository, Mappers.getMapper(ShiftMapper.class),
+                periodService, new ObjectMapper().findAndRegisterModules(), transactionManager);
+
+        ShiftRow completed = new ShiftRow(1L, DAY.atTime(7, 0), DAY.atTime(15, 30), ShiftStatus.COMPLETED, null,
+                10L, 100L, "ada", "Ada", "Lovelace, Jr", "Cook", new BigDecimal("20.00"));
+        ShiftRow active = new ShiftRow(2L, DAY.atTime(9, 0), null, ShiftStatus.ACTIVE, 5L,
+                11L, 101L, "=cmd", "Grace", "Hopper", "Server \"lead\"", new BigDecimal("15.00"));
+        when(shiftRepository.streamRowsByCompanyIdAndDateRange(7L, DAY.atStartOfDay(), DAY.plusDays(1).atStartOfDay()))
+                .thenReturn(Stream.of(completed, active).onClose(() -> streamClosed.set(true)));
+    }
+
+    @Test
+    @DisplayName("Should write a CSV header and one escaped line per shift")
+    void exportShifts_Csv() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.exportShifts(7L, DAY, DAY, ExportFormat.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(3, lines.length);
+        assertEquals("id,clockIn,clockOut,hours,status,siteId,employeeId,username,fullName,jobTitle,hourlyWage,shiftEarnings", lines[0]);
+        assertEquals("1,2024-03-04T07:00,2024-03-04T15:30,8.5,COMPLETED,,10,ada,\"Ada Lovelace, Jr\",Cook,20.00,170.00", lines[1]);
+        assertEquals("2,2024-03-04T09:00,,,ACTIVE,5,11,'=cmd,Grace Hopper,\"Server \"\"lead\"\"\",15.00,", lines[2]);
+        assertTrue(streamClosed.get());
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    @DisplayName("Should write one JSON object per line for NDJSON")
+    void exportShifts_Ndjson() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.exportShifts(7L, DAY, DAY, ExportFormat.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        ObjectMapper mapper = new ObjectMapper();
+        assertEquals(1L, mapper.readTree(lines[0]).get("id").asLong());
+        assertEquals("Grace Hopper", mapper.readTree(lines[1]).get("fullName").asText());
+        assertTrue(streamClosed.get());
+    }
+}
@@ -0,0 +1,100 @@
+package com.timetrak.service.report;
+
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.canvas.parser.PdfTextExtractor;
+import com.timetrak.dto.payment.Period;
+import com.timetrak.dto.shift.DepartmentShiftRow;
+import com.timetrak.dto.shift.ShiftRow;
+import com.timetrak.enums.ShiftStatus;
+import com.timetrak.mapper.ShiftMapper;
+import com.timetrak.repository.ShiftRepository;
+import com.timetrak.service.company.CompanyService;
+import com.timetrak.service.department.DepartmentService;
+import com.timetrak.service.payment.PeriodService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ShiftReportService Tests")
+class ShiftReportServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 4);
+
+    @Mock
+    private CompanyService companyService;
+
+    @Mock
+    private PeriodService periodService;
+
+    @Mock
+    private DepartmentService departmentService;
+
+    @Mock
+    private ShiftRepository shiftRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("Should stream job sections across table flushes and total them in the summary")
+    void exportShifts_StreamsSections() throws Exception {
+        ShiftReportService reportService = new ShiftReportService(companyService, periodService, departmentService,
+                shiftRepository, Mappers.getMapper(ShiftMapper.class), new ReportCache(0, 0), transactionManager);
+        ShiftReportService.ReportScope scope = new ShiftReportService.ReportScope(7L, "Acme",
+                Period.builder().startDate(DAY).endDate(DAY).shortDescription("Mar 4 - Mar 4").build(),
+                List.of(1L, 2L), "Multi-Department");
+
+        // More cooks than one table flush, so rows are written while the section is still open
+        int cooks = ShiftReportService.TABLE_FLUSH_ROWS + 50;
+        AtomicBoolean streamClosed = new AtomicBoolean();
+        Stream<DepartmentShiftRow> rows = Stream.concat(
+                Stream.of(row(2L, "Bar", 1, "Bartender")),
+                IntStream.range(0, cooks).mapToObj(i -> row(1L, "Kitchen", i + 2, "Cook")));
+        when(shiftRepository.streamDepartmentRowsForDateRange(List.of(1L, 2L), 7L,
+                DAY.atStartOfDay(), DAY.plusDays(1).atStartOfDay()))
+                .thenReturn(rows.onClose(() -> streamClosed.set(true)));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        reportService.exportShifts(scope, out);
+
+        assertTrue(streamClosed.get());
+        StringBuilder text = new StringBuilder();
+        try (PdfDocument pdf = new PdfDocument(new PdfReader(new ByteArrayInputStream(out.toByteArray())))) {
+            for (int page = 1; page <= pdf.getNumberOfPages(); page++) {
+                text.append(PdfTextExtractor.getTextFromPage(pdf.getPage(page))).append('\n');
+            }
+        }
+        String report = text.toString();
+        assertTrue(report.contains("Department: Bar"));
+        assertTrue(report.contains("Department: Kitchen"));
+        assertTrue(report.contains("Bartender • 1 shifts • 8.00 hrs"));
+        assertTrue(report.contains("Cook • " + cooks + " shifts • " + (cooks * 8) + ".00 hrs"));
+        assertTrue(report.contains(String.valueOf(cooks + 1)), "grand total shifts");
+    }
+
+    private static DepartmentShiftRow row(Long departmentId, String departmentName, long id, String jobTitle) {
+        LocalDateTime clockIn = DAY.atTime(7, 0);
+        return new DepartmentShiftRow(departmentId, departmentName, new ShiftRow(id, clockIn, clockIn.plusHours(8),
+                ShiftStatus.COMPLETED, null, id, id, "user" + id, "First" + id, "Last" + id, jobTitle,
+                new BigDecimal("18.50")));
+    }
+}
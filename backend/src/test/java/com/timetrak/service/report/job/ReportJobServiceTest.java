@@ -0,0 +1,170 @@
+package com.timetrak.service.report.job;
+
+import com.timetrak.dto.payment.Period;
+import com.timetrak.dto.report.ReportJobDTO;
+import com.timetrak.dto.report.ReportJobRequest;
+import com.timetrak.enums.ReportJobStatus;
+import com.timetrak.enums.ReportType;
+import com.timetrak.exception.ResourceNotFoundException;
+import com.timetrak.exception.ServiceUnavailableException;
+import com.timetrak.service.report.PaymentExporterService;
+import com.timetrak.service.report.ReportDataChangedEvent;
+import com.timetrak.service.report.ReportProgress;
+import com.timetrak.service.report.ShiftReportService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReportJobService Tests")
+class ReportJobServiceTest {
+
+    private static final Long COMPANY_ID = 7L;
+    private static final Period PERIOD = Period.builder()
+            .startDate(LocalDate.of(2024, 3, 4)).endDate(LocalDate.of(2024, 3, 17)).build();
+
+    @Mock
+    private ShiftReportService shiftReportService;
+
+    @Mock
+    private PaymentExporterService paymentExporterService;
+
+    @TempDir
+    private Path storageDir;
+
+    private ReportJobService reportJobService;
+
+    @AfterEach
+    void shutdown() {
+        reportJobService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should render in the background, store the PDF and reuse it for an identical request")
+    void submit_CompletesAndReuses() throws Exception {
+        reportJobService = service(60, 2);
+        ShiftReportService.ReportScope scope = new ShiftReportService.ReportScope(
+                COMPANY_ID, "Acme", PERIOD, List.of(2L, 1L), "Company-Wide");
+        when(shiftReportService.resolveScope(null, COMPANY_ID, null)).thenReturn(scope);
+        doAnswer(invocation -> {
+            ReportProgress progress = invocation.getArgument(2);
+            progress.start(2);
+            invocation.<OutputStream>getArgument(1).write("%PDF".getBytes(StandardCharsets.US_ASCII));
+            progress.advance(2);
+            return null;
+        }).when(shiftReportService).exportShifts(eq(scope), any(), any());
+
+        ReportJobDTO submitted = reportJobService.submit(request(ReportType.SHIFTS), COMPANY_ID);
+        ReportJobDTO finished = awaitFinished(submitted.getId());
+
+        assertEquals(ReportJobStatus.COMPLETED, finished.getStatus());
+        assertEquals(100, finished.getProgress());
+        assertEquals("shifts_2024-03-04_2024-03-17.pdf", finished.getFilename());
+        ReportJobService.ReportArtifact artifact = reportJobService.findArtifact(submitted.getId(), COMPANY_ID).orElseThrow();
+        assertEquals("%PDF", Files.readString(artifact.file(), StandardCharsets.US_ASCII));
+
+        assertEquals(submitted.getId(), reportJobService.submit(request(ReportType.SHIFTS), COMPANY_ID).getId());
+        verify(shiftReportService, times(1)).exportShifts(eq(scope), any(), any());
+        assertThrows(ResourceNotFoundException.class, () -> reportJobService.getJob(submitted.getId(), 8L));
+    }
+
+    @Test
+    @DisplayName("Should render again once a write touches the period, and always for an open period")
+    void submit_NotReusedAfterWritesOrForOpenPeriod() throws Exception {
+        reportJobService = service(60, 2);
+        Period open = Period.builder().startDate(LocalDate.now().minusDays(3)).endDate(LocalDate.now().plusDays(10)).build();
+        when(paymentExporterService.resolvePaymentPeriod(null, COMPANY_ID)).thenReturn(PERIOD);
+        when(paymentExporterService.resolvePaymentPeriod(1, COMPANY_ID)).thenReturn(open);
+
+        String first = awaitFinished(reportJobService.submit(request(ReportType.PAYMENTS), COMPANY_ID).getId()).getId();
+        reportJobService.onReportDataChanged(new ReportDataChangedEvent(8L, PERIOD.getStartDate(), PERIOD.getEndDate()));
+        reportJobService.onReportDataChanged(new ReportDataChangedEvent(COMPANY_ID, PERIOD.getEndDate().plusDays(1), PERIOD.getEndDate().plusDays(1)));
+        assertEquals(first, reportJobService.submit(request(ReportType.PAYMENTS), COMPANY_ID).getId());
+
+        reportJobService.onReportDataChanged(new ReportDataChangedEvent(COMPANY_ID, PERIOD.getEndDate(), PERIOD.getEndDate()));
+        String second = awaitFinished(reportJobService.submit(request(ReportType.PAYMENTS), COMPANY_ID).getId()).getId();
+        assertNotEquals(first, second);
+
+        ReportJobRequest openRequest = ReportJobRequest.builder().type(ReportType.PAYMENTS).periodNumber(1).build();
+        String openJob = awaitFinished(reportJobService.submit(openRequest, COMPANY_ID).getId()).getId();
+        assertNotEquals(openJob, reportJobService.submit(openRequest, COMPANY_ID).getId());
+    }
+
+    @Test
+    @DisplayName("Should reject a company's job beyond its limit while others are still running")
+    void submit_PerCompanyLimit() throws Exception {
+        reportJobService = service(60, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(paymentExporterService.resolvePaymentPeriod(null, COMPANY_ID)).thenReturn(PERIOD);
+        doAnswer(invocation -> release.await(5, TimeUnit.SECONDS))
+                .when(paymentExporterService).exportPayments(eq(PERIOD), eq(COMPANY_ID), any(), any());
+        ShiftReportService.ReportScope scope = new ShiftReportService.ReportScope(
+                COMPANY_ID, "Acme", PERIOD, List.of(1L), "Department");
+        when(shiftReportService.resolveScope(null, COMPANY_ID, null)).thenReturn(scope);
+
+        ReportJobDTO running = reportJobService.submit(request(ReportType.PAYMENTS), COMPANY_ID);
+        assertTrue(reportJobService.findArtifact(running.getId(), COMPANY_ID).isEmpty());
+        assertThrows(ServiceUnavailableException.class,
+                () -> reportJobService.submit(request(ReportType.SHIFTS), COMPANY_ID));
+
+        release.countDown();
+        assertEquals(ReportJobStatus.COMPLETED, awaitFinished(running.getId()).getStatus());
+    }
+
+    @Test
+    @DisplayName("Should delete expired files and forget their jobs")
+    void purgeExpired_DeletesFiles() throws Exception {
+        reportJobService = service(0, 2);
+        when(paymentExporterService.resolvePaymentPeriod(null, COMPANY_ID)).thenReturn(PERIOD);
+        doThrow(new RuntimeException("Failed to generate PDF file"))
+                .when(paymentExporterService).exportPayments(eq(PERIOD), eq(COMPANY_ID), any(), any());
+
+        ReportJobDTO failed = awaitFinished(reportJobService.submit(request(ReportType.PAYMENTS), COMPANY_ID).getId());
+        assertEquals(ReportJobStatus.FAILED, failed.getStatus());
+        assertEquals("Failed to generate PDF file", failed.getError());
+
+        reportJobService.purgeExpired();
+
+        assertThrows(ResourceNotFoundException.class, () -> reportJobService.getJob(failed.getId(), COMPANY_ID));
+        try (var files = Files.list(storageDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    private ReportJobService service(long ttlMinutes, int maxPerCompany) throws Exception {
+        return new ReportJobService(shiftReportService, paymentExporterService, storageDir.toString(),
+                ttlMinutes, 2, 10, maxPerCompany);
+    }
+
+    private ReportJobDTO awaitFinished(String jobId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        ReportJobDTO job = reportJobService.getJob(jobId, COMPANY_ID);
+        while (job.getStatus() != ReportJobStatus.COMPLETED && job.getStatus() != ReportJobStatus.FAILED) {
+            assertTrue(System.nanoTime() < deadline, "job did not finish");
+            Thread.sleep(10);
+            job = reportJobService.getJob(jobId, COMPANY_ID);
+        }
+        return job;
+    }
+
+    private static ReportJobRequest request(ReportType type) {
+        return ReportJobRequest.builder().type(type).build();
+    }
+}
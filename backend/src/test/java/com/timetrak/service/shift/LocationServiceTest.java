@@ -0,0 +1,149 @@
+package com.timetrak.service.shift;
+
+import com.timetrak.dto.company.CompanyResponseDTO;
+import com.timetrak.entity.CompanySite;
+import com.timetrak.entity.GeoPoint;
+import com.timetrak.enums.SiteShape;
+import com.timetrak.service.company.CompanyLocationChangedEvent;
+import com.timetrak.service.company.CompanyService;
+import com.timetrak.service.site.CompanySiteService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LocationService Tests")
+class LocationServiceTest {
+
+    @Mock
+    private CompanyService companyService;
+
+    @Mock
+    private CompanySiteService companySiteService;
+
+    @InjectMocks
+    private LocationService locationService;
+
+    @Test
+    @DisplayName("Should agree with the plain haversine check around the fence edge")
+    void isWithinAllowedRadius_MatchesHaversine() {
+        Random random = new Random(42);
+        double[][] centers = {{40.4093, 49.8671}, {59.9343, 30.3351}, {-33.8688, 151.2093}, {0.0, 179.9995}};
+        double[] radii = {25, 150, 2000};
+
+        long companyId = 0;
+        for (double[] center : centers) {
+            for (double radius : radii) {
+                companyId++;
+                when(companyService.getCompanyDTOById(companyId)).thenReturn(company(center[0], center[1], radius));
+
+                double spread = Math.toDegrees(radius * 2 / Geofence.EARTH_RADIUS);
+                for (int i = 0; i < 2000; i++) {
+                    double lat = center[0] + (random.nextDouble() * 2 - 1) * spread;
+                    double lng = center[1] + (random.nextDouble() * 2 - 1) * spread;
+                    double wrappedLng = lng > 180 ? lng - 360 : lng;
+
+                    boolean expected = locationService.calculateDistance(lat, lng, center[0], center[1]) <= radius;
+                    assertEquals(expected, locationService.isWithinAllowedRadius(lat, wrappedLng, companyId),
+                            "lat=" + lat + ", lng=" + wrappedLng + ", radius=" + radius);
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should load a company geofence once and reload it after a location change")
+    void isWithinAllowedRadius_CachesUntilLocationChanged() {
+        when(companyService.getCompanyDTOById(1L))
+                .thenReturn(company(40.0, 49.0, 100))
+                .thenReturn(company(41.0, 49.0, 100));
+
+        assertTrue(locationService.isWithinAllowedRadius(40.0, 49.0, 1L));
+        assertTrue(locationService.isWithinAllowedRadius(40.0001, 49.0, 1L));
+        verify(companyService, times(1)).getCompanyDTOById(1L);
+
+        locationService.onCompanyLocationChanged(new CompanyLocationChangedEvent(1L));
+
+        assertFalse(locationService.isWithinAllowedRadius(40.0, 49.0, 1L));
+        verify(companyService, times(2)).getCompanyDTOById(1L);
+    }
+
+    @Test
+    @DisplayName("Should resolve the containing site, preferring the closest center on overlap")
+    void resolveClockLocation_MatchesSites() {
+        CompanySite store = circleSite(10L, 40.4000, 49.8600, 100);
+        CompanySite mall = polygonSite(11L, new double[][]{{40.4100, 49.8700}, {40.4100, 49.8750}, {40.4150, 49.8750}, {40.4150, 49.8700}});
+        CompanySite wideLot = circleSite(12L, 40.4300, 49.8900, 3000);
+        when(companySiteService.getActiveSitesWithVertices(1L)).thenReturn(List.of(store, mall, wideLot));
+
+        assertEquals(10L, locationService.resolveClockLocation(40.4001, 49.8601, 1L).orElseThrow().siteId());
+        assertEquals(11L, locationService.resolveClockLocation(40.4120, 49.8720, 1L).orElseThrow().siteId());
+        assertEquals(12L, locationService.resolveClockLocation(40.4200, 49.8800, 1L).orElseThrow().siteId());
+        assertTrue(locationService.resolveClockLocation(41.0, 50.0, 1L).isEmpty());
+        verifyNoInteractions(companyService);
+    }
+
+    @Test
+    @DisplayName("Should not keep a geofence loaded while the location changed")
+    void isWithinAllowedRadius_LoadRacingEviction() {
+        when(companyService.getCompanyDTOById(1L))
+                .thenAnswer(invocation -> {
+                    // The update commits while the old coordinates are being read
+                    locationService.onCompanyLocationChanged(new CompanyLocationChangedEvent(1L));
+                    return company(40.0, 49.0, 100);
+                })
+                .thenReturn(company(41.0, 49.0, 100));
+
+        assertTrue(locationService.isWithinAllowedRadius(40.0, 49.0, 1L));
+
+        assertFalse(locationService.isWithinAllowedRadius(40.0, 49.0, 1L));
+        assertFalse(locationService.isWithinAllowedRadius(40.0, 49.0, 1L));
+        verify(companyService, times(2)).getCompanyDTOById(1L);
+    }
+
+    @Test
+    @DisplayName("Should fall back to the company geofence when the company has no sites")
+    void resolveClockLocation_NoSites_UsesCompanyGeofence() {
+        when(companySiteService.getActiveSitesWithVertices(1L)).thenReturn(List.of());
+        when(companyService.getCompanyDTOById(1L)).thenReturn(company(40.0, 49.0, 100));
+
+        Optional<LocationService.ClockLocation> location = locationService.resolveClockLocation(40.0, 49.0, 1L);
+
+        assertTrue(location.isPresent());
+        assertNull(location.get().siteId());
+    }
+
+    private CompanySite circleSite(Long id, double latitude, double longitude, double radius) {
+        CompanySite site = CompanySite.builder()
+                .shape(SiteShape.CIRCLE).latitude(latitude).longitude(longitude).radius(radius).build();
+        site.setId(id);
+        return site;
+    }
+
+    private CompanySite polygonSite(Long id, double[][] vertices) {
+        CompanySite site = CompanySite.builder().shape(SiteShape.POLYGON).build();
+        site.setId(id);
+        for (double[] vertex : vertices) {
+            site.getVertices().add(new GeoPoint(vertex[0], vertex[1]));
+        }
+        return site;
+    }
+
+    private CompanyResponseDTO company(double latitude, double longitude, double radius) {
+        return CompanyResponseDTO.builder()
+                .latitude(latitude)
+                .longitude(longitude)
+                .allowedRadius(radius)
+                .build();
+    }
+}
@@ -0,0 +1,156 @@
+package com.timetrak.service.shift.board;
+
+import com.timetrak.dto.shift.ShiftBoardChange;
+import com.timetrak.dto.shift.ShiftBoardEntry;
+import com.timetrak.enums.ShiftStatus;
+import com.timetrak.repository.ShiftRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("ShiftBoardBroadcaster Tests")
+class ShiftBoardBroadcasterTest {
+
+    private static final Long COMPANY_ID = 1L;
+    private static final Long OTHER_COMPANY_ID = 2L;
+    private static final LocalDateTime CLOCK_IN = LocalDateTime.of(2024, 3, 4, 8, 0);
+
+    private final ShiftRepository shiftRepository = mock(ShiftRepository.class);
+    private final List<RecordingEmitter> emitters = new CopyOnWriteArrayList<>();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private volatile boolean nextBlocked;
+
+    private final ShiftBoardBroadcaster broadcaster = new ShiftBoardBroadcaster(shiftRepository, 60_000, 4, 100) {
+        @Override
+        SseEmitter createEmitter() {
+            RecordingEmitter emitter = new RecordingEmitter(nextBlocked ? release : null);
+            nextBlocked = false;
+            emitters.add(emitter);
+            return emitter;
+        }
+    };
+
+    @BeforeEach
+    void start() {
+        broadcaster.start();
+    }
+
+    @AfterEach
+    void stop() {
+        release.countDown();
+        broadcaster.stop();
+    }
+
+    @Test
+    @DisplayName("Should send a snapshot, then the company's committed clock-ins and clock-outs")
+    void subscribe_SnapshotThenChanges() throws Exception {
+        when(shiftRepository.findBoardEntriesByCompanyId(COMPANY_ID)).thenReturn(List.of(
+                new ShiftBoardEntry(10L, 100L, "Ada", "Lovelace", "CREW", CLOCK_IN)));
+        RecordingEmitter board = subscribe(COMPANY_ID);
+        subscribe(OTHER_COMPANY_ID);
+        RecordingEmitter otherBoard = emitters.get(1);
+
+        String snapshot = board.next();
+        assertTrue(snapshot.startsWith("event:snapshot"), snapshot);
+        assertTrue(snapshot.contains("shiftId=10"), snapshot);
+        assertTrue(otherBoard.next().startsWith("event:snapshot"));
+
+        when(shiftRepository.findBoardChangesByIds(anyCollection())).thenReturn(List.of(
+                change(11L, ShiftStatus.ACTIVE),
+                change(10L, ShiftStatus.COMPLETED)));
+        broadcaster.onShiftActivity(new ShiftActivityEvent(List.of(11L, 10L)));
+
+        String clockOut = board.next();
+        assertTrue(clockOut.startsWith("event:clock-out") && clockOut.contains("shiftId=10"), clockOut);
+        String clockIn = board.next();
+        assertTrue(clockIn.startsWith("event:clock-in") && clockIn.contains("shiftId=11"), clockIn);
+        assertNull(otherBoard.events.poll(200, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    @DisplayName("Should disconnect a client that falls behind without holding up the others")
+    void onShiftActivity_SlowClientDropped() throws Exception {
+        when(shiftRepository.findBoardEntriesByCompanyId(COMPANY_ID)).thenReturn(List.of());
+        RecordingEmitter fast = subscribe(COMPANY_ID);
+        // The second client's first send never returns; its buffer holds 4 events
+        nextBlocked = true;
+        subscribe(COMPANY_ID);
+        assertTrue(fast.next().startsWith("event:snapshot"));
+
+        for (int i = 0; i < 6; i++) {
+            broadcaster.heartbeat();
+            assertTrue(fast.next().startsWith(":keep-alive"));
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (broadcaster.subscriberCount(COMPANY_ID) > 1 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, broadcaster.subscriberCount(COMPANY_ID));
+    }
+
+    @Test
+    @DisplayName("Should unregister the subscriber when the snapshot cannot be read")
+    void subscribe_SnapshotFails() {
+        when(shiftRepository.findBoardEntriesByCompanyId(COMPANY_ID)).thenThrow(new IllegalStateException("database down"));
+
+        assertThrows(IllegalStateException.class, () -> broadcaster.subscribe(COMPANY_ID));
+
+        assertEquals(0, broadcaster.subscriberCount(COMPANY_ID));
+    }
+
+    private RecordingEmitter subscribe(Long companyId) {
+        broadcaster.subscribe(companyId);
+        return emitters.get(emitters.size() - 1);
+    }
+
+    private static ShiftBoardChange change(Long shiftId, ShiftStatus status) {
+        return new ShiftBoardChange(COMPANY_ID, shiftId, 100L + shiftId, "First", "Last", "CREW", CLOCK_IN, status, null);
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final BlockingQueue<String> events = new LinkedBlockingQueue<>();
+        private final CountDownLatch gate;
+
+        RecordingEmitter(CountDownLatch gate) {
+            this.gate = gate;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (gate != null) {
+                try {
+                    gate.await();
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+            }
+            events.add(builder.build().stream()
+                    .map(data -> String.valueOf(data.getData()))
+                    .collect(Collectors.joining()));
+        }
+
+        String next() throws InterruptedException {
+            String event = events.poll(2, TimeUnit.SECONDS);
+            assertNotNull(event, "No event received");
+            return event;
+        }
+    }
+}